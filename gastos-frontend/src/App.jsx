@@ -25,6 +25,7 @@ function App() {
   const API_URL_GASTOS = 'http://localhost:8080/api/gastos';
   const API_URL_RECEITAS = 'http://localhost:8080/api/receitas';
   const API_URL_METAS = 'http://localhost:8080/api/metas';
+  const API_URL_EVENTOS = 'http://localhost:8080/api/eventos';
 
   const fetchGastos = async () => {
     setLoading(true);
@@ -98,6 +99,34 @@ function App() {
     fetchMetas();
   }, []);
 
+  // Alterações chegam pelo canal SSE do backend: aplica só a linha alterada, sem buscar as listas de novo
+  useEffect(() => {
+    const aplicarEvento = (setLista, recarregar) => (mensagem) => {
+      const evento = JSON.parse(mensagem.data);
+      if (evento.operacao === 'recarregar') {
+        recarregar();
+        return;
+      }
+      setLista((lista) => {
+        if (evento.operacao === 'removido') {
+          return lista.filter((item) => item.id !== evento.id);
+        }
+        // Uma edição fica no mesmo lugar da lista; só o que foi criado entra no topo
+        if (lista.some((item) => item.id === evento.id)) {
+          return lista.map((item) => (item.id === evento.id ? evento.dados : item));
+        }
+        return evento.operacao === 'criado' ? [evento.dados, ...lista] : lista;
+      });
+    };
+
+    const fonte = new EventSource(API_URL_EVENTOS);
+    fonte.addEventListener('gasto', aplicarEvento(setGastos, fetchGastos));
+    fonte.addEventListener('receita', aplicarEvento(setReceitas, fetchReceitas));
+    fonte.addEventListener('meta', aplicarEvento(setMetas, fetchMetas));
+    fonte.addEventListener('todas', () => handleDataUpdated());
+    return () => fonte.close();
+  }, []);
+
   const handleDataUpdated = () => {
     fetchGastos();
     fetchReceitas();
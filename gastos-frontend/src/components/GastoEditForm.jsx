@@ -37,6 +37,7 @@ function GastoEditForm({ gasto, onGastoUpdated, onCancelEdit }) {
 
     const gastoAtualizado = {
       id: gasto.id, // O ID é crucial para a atualização
+      versao: gasto.versao, // Versão lida: o backend recusa (409) se outra pessoa alterou o gasto nesse meio tempo
       valor: parseFloat(valor.replace(',', '.')),
       dataHora: dataHora,
       estabelecimento: estabelecimento,
@@ -55,6 +56,11 @@ function GastoEditForm({ gasto, onGastoUpdated, onCancelEdit }) {
         body: JSON.stringify(gastoAtualizado),
       });
 
+      if (response.status === 409) {
+        alert('Este gasto foi alterado em outro lugar. Recarregue a lista e edite de novo.');
+        return;
+      }
+
       if (!response.ok) {
         const errorData = await response.json();
         console.error('Erro ao atualizar gasto:', errorData);
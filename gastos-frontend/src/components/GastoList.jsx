@@ -11,8 +11,12 @@ const GastoList = forwardRef(({ gastos, onGastoUpdated }, ref) => { // <--- Rece
   const [sortBy, setSortBy] = useState('dataHora');
   const [sortOrder, setSortOrder] = useState('desc');
   const [editingGasto, setEditingGasto] = useState(null); // Estado para o gasto em edição
+  // Resultado da busca no servidor (null enquanto o termo for curto) e cursor da próxima página
+  const [resultadoBusca, setResultadoBusca] = useState(null);
+  const [proximoCursor, setProximoCursor] = useState(null);
 
   const API_URL = 'http://localhost:8080/api/gastos'; // Ainda precisa da URL para DELETE/PUT
+  const BUSCA_MINIMO = 3; // a partir daqui o termo vai para GET /api/gastos/busca (índice de trigramas no banco)
 
   // Remova a função fetchGastos daqui, pois o App.jsx vai buscá-los
   // e remova os estados loading e error se eles não forem usados apenas aqui.
@@ -46,8 +50,72 @@ const GastoList = forwardRef(({ gastos, onGastoUpdated }, ref) => { // <--- Rece
     }
   };
 
-  const handleEditClick = (gasto) => {
-    setEditingGasto(gasto);
+  // Busca no servidor por estabelecimento/descrição, 300 ms depois da última tecla
+  useEffect(() => {
+    const termo = searchTerm.trim();
+    if (termo.length < BUSCA_MINIMO) {
+      setResultadoBusca(null);
+      setProximoCursor(null);
+      return;
+    }
+    const controle = new AbortController();
+    const espera = setTimeout(async () => {
+      try {
+        const pagina = await buscarPagina(termo, null, controle.signal);
+        setResultadoBusca(pagina.itens);
+        setProximoCursor(pagina.proximoCursor);
+      } catch (error) {
+        if (error.name !== 'AbortError') {
+          console.error('Erro na busca de gastos:', error);
+          setResultadoBusca(null); // continua só com o filtro local
+        }
+      }
+    }, 300);
+    return () => {
+      clearTimeout(espera);
+      controle.abort();
+    };
+  }, [searchTerm, gastos]);
+
+  const buscarPagina = async (termo, cursor, signal) => {
+    const parametros = new URLSearchParams({ q: termo });
+    if (cursor) {
+      parametros.set('cursor', cursor);
+    }
+    const response = await fetch(`${API_URL}/busca?${parametros}`, { signal });
+    if (!response.ok) {
+      throw new Error(`Falha na busca: ${response.status}`);
+    }
+    return response.json();
+  };
+
+  const handleCarregarMais = async () => {
+    try {
+      const pagina = await buscarPagina(searchTerm.trim(), proximoCursor);
+      setResultadoBusca(atual => [...(atual || []), ...pagina.itens]);
+      setProximoCursor(pagina.proximoCursor);
+    } catch (error) {
+      console.error('Erro ao carregar mais resultados:', error);
+    }
+  };
+
+  // Os itens da busca trazem só as colunas da lista; a edição precisa do gasto completo
+  const handleEditClick = async (gasto) => {
+    const completo = gastos.find(g => g.id === gasto.id);
+    if (completo) {
+      setEditingGasto(completo);
+      return;
+    }
+    try {
+      const response = await fetch(`${API_URL}/${gasto.id}`);
+      if (!response.ok) {
+        throw new Error(`Falha ao carregar gasto: ${response.status}`);
+      }
+      setEditingGasto(await response.json());
+    } catch (error) {
+      console.error('Erro ao carregar gasto para edição:', error);
+      alert(`Erro ao carregar gasto: ${error.message}.`);
+    }
   };
 
   // onGastoUpdated já está vindo do App.jsx
@@ -82,8 +150,14 @@ const GastoList = forwardRef(({ gastos, onGastoUpdated }, ref) => { // <--- Rece
     );
   });
 
+  // Com busca no servidor, junta os resultados dela ao filtro local (que também olha categoria e SMS)
+  const idsLocais = new Set(filteredGastos.map(gasto => gasto.id));
+  const encontrados = resultadoBusca
+    ? [...filteredGastos, ...resultadoBusca.filter(gasto => !idsLocais.has(gasto.id))]
+    : filteredGastos;
+
   // 2. Lógica de ordenação
-  const sortedGastos = [...filteredGastos].sort((a, b) => {
+  const sortedGastos = [...encontrados].sort((a, b) => {
     let compareA;
     let compareB;
 
@@ -185,6 +259,10 @@ const GastoList = forwardRef(({ gastos, onGastoUpdated }, ref) => { // <--- Rece
               ))}
             </ul>
           )}
+
+          {resultadoBusca && proximoCursor && (
+            <button onClick={handleCarregarMais}>Carregar mais resultados</button>
+          )}
         </>
       )}
     </div>
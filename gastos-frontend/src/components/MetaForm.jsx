@@ -63,6 +63,12 @@ function MetaForm({ onMetaAdded, meta, onMetaUpdated, onCancelEdit }) {
                 }),
             });
 
+            // O PUT leva a versao lida (vem no ...meta); 409 se a meta mudou antes
+            if (isEditing && response.status === 409) {
+                alert('Esta meta foi alterada em outro lugar. Recarregue a lista e edite de novo.');
+                return;
+            }
+
             if (!response.ok) {
                 const errorText = await response.text();
                 throw new Error(`Falha ao ${isEditing ? 'atualizar' : 'adicionar'} meta: ${response.status} - ${errorText}`);
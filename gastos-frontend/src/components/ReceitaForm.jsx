@@ -60,6 +60,12 @@ function ReceitaForm({ onReceitaAdded, receita, onReceitaUpdated, onCancelEdit }
                 body: JSON.stringify(formData),
             });
 
+            // O PUT leva a versao lida (vem no ...receita); 409 se outra pessoa alterou a receita antes
+            if (isEditing && response.status === 409) {
+                alert('Esta receita foi alterada em outro lugar. Recarregue a lista e edite de novo.');
+                return;
+            }
+
             if (!response.ok) {
                 const errorText = await response.text();
                 throw new Error(`Falha ao ${isEditing ? 'atualizar' : 'adicionar'} receita: ${response.status} - ${errorText}`);
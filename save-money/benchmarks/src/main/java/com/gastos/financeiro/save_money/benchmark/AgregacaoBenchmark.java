@@ -0,0 +1,129 @@
+package com.gastos.financeiro.save_money.benchmark;
+
+import com.gastos.financeiro.save_money.dto.Cursor;
+import com.gastos.financeiro.save_money.dto.GastoResumo;
+import com.gastos.financeiro.save_money.dto.ParticipacaoCategoria;
+import com.gastos.financeiro.save_money.dto.ResumoFinanceiro;
+import com.gastos.financeiro.save_money.dto.TotalCategoria;
+import com.gastos.financeiro.save_money.dto.TotalMensal;
+import com.gastos.financeiro.save_money.dto.TotalOrigem;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.RollupGastoMensal;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import com.gastos.financeiro.save_money.repository.ReceitaRepository;
+import com.gastos.financeiro.save_money.repository.RollupGastoMensalRepository;
+import com.gastos.financeiro.save_money.service.AnaliticoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Consultas de leitura sobre 100k gastos e 10k receitas. Chama os repositórios direto
+// para medir o banco, sem os caches de ResumoService e RollupService, e compara com as
+// mesmas perguntas respondidas pelo motor analítico em memória (AnaliticoService).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AgregacaoBenchmark {
+
+    private static final int GASTOS = 100_000;
+    private static final int RECEITAS = 10_000;
+
+    private ConfigurableApplicationContext contexto;
+    private GastoRepository gastoRepository;
+    private ReceitaRepository receitaRepository;
+    private RollupGastoMensalRepository rollupRepository;
+    private AnaliticoService analiticoService;
+
+    private final LocalDateTime inicioAno = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private final LocalDateTime fimAno = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private final LocalDate primeiroDia = LocalDate.of(2023, 1, 1);
+    private final LocalDate ultimoDia = LocalDate.of(2023, 12, 31);
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("agregacao");
+        gastoRepository = contexto.getBean(GastoRepository.class);
+        receitaRepository = contexto.getBean(ReceitaRepository.class);
+        rollupRepository = contexto.getBean(RollupGastoMensalRepository.class);
+
+        List<Gasto> gastos = DadosBenchmark.gastos(GASTOS, 42);
+        TransactionTemplate transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        for (int i = 0; i < gastos.size(); i += 5_000) {
+            List<Gasto> bloco = gastos.subList(i, Math.min(i + 5_000, gastos.size()));
+            transacao.executeWithoutResult(status -> gastoRepository.saveAll(bloco));
+        }
+        transacao.executeWithoutResult(status -> receitaRepository.saveAll(DadosBenchmark.receitas(RECEITAS, 43)));
+        transacao.executeWithoutResult(status -> rollupRepository.saveAll(rollup(gastos)));
+
+        analiticoService = contexto.getBean(AnaliticoService.class);
+        analiticoService.recarregar();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<TotalMensal> totalGastosPorMesNoAno() {
+        return gastoRepository.totalizarPorMes(inicioAno, fimAno);
+    }
+
+    @Benchmark
+    public List<TotalMensal> totalReceitasPorMesNoAno() {
+        return receitaRepository.totalizarPorMes(inicioAno, fimAno);
+    }
+
+    @Benchmark
+    public List<TotalCategoria> totalPorCategoriaNoRollup() {
+        return rollupRepository.totalizarPorCategoria(202301, 202312);
+    }
+
+    @Benchmark
+    public List<GastoResumo> primeiraPaginaKeyset() {
+        return gastoRepository.buscarPagina(inicioAno, fimAno, Cursor.INICIO.data(), Cursor.INICIO.id(), PageRequest.of(0, 51));
+    }
+
+    @Benchmark
+    public ResumoFinanceiro resumoAnoNoMotor() {
+        return analiticoService.resumir(primeiroDia, ultimoDia);
+    }
+
+    @Benchmark
+    public List<ParticipacaoCategoria> categoriasAnoNoMotor() {
+        return analiticoService.participacaoCategorias(primeiroDia, ultimoDia);
+    }
+
+    @Benchmark
+    public List<TotalOrigem> top10EstabelecimentosAnoNoMotor() {
+        return analiticoService.maioresEstabelecimentos(primeiroDia, ultimoDia, 10);
+    }
+
+    // Monta o rollup em memória (o reconstruir nativo é específico do PostgreSQL)
+    private static List<RollupGastoMensal> rollup(List<Gasto> gastos) {
+        Map<String, RollupGastoMensal> linhas = new HashMap<>();
+        for (Gasto gasto : gastos) {
+            int ano = gasto.getDataHora().getYear();
+            int mes = gasto.getDataHora().getMonthValue();
+            RollupGastoMensal linha = linhas.computeIfAbsent(ano + "-" + mes + "-" + gasto.getCategoria(),
+                    chave -> new RollupGastoMensal(null, ano, mes, gasto.getCategoria(), BigDecimal.ZERO, 0L));
+            linha.setTotal(linha.getTotal().add(gasto.getValor()));
+            linha.setQuantidade(linha.getQuantidade() + 1);
+        }
+        return new ArrayList<>(linhas.values());
+    }
+}
@@ -0,0 +1,34 @@
+package com.gastos.financeiro.save_money.benchmark;
+
+import com.gastos.financeiro.save_money.SaveMoneyApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Sobe o contexto do save-money sem servidor web e com H2 em memória no modo PostgreSQL,
+// com as mesmas configurações de batch JDBC do application.properties. As migrações (partições,
+// triggers) são específicas do PostgreSQL; no H2 o esquema sai do próprio hibernate.
+final class ContextoBenchmark {
+
+    private ContextoBenchmark() {
+    }
+
+    static ConfigurableApplicationContext iniciar(String nomeBanco) {
+        return new SpringApplicationBuilder(SaveMoneyApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:" + nomeBanco
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.open-in-view=false",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.jpa.properties.hibernate.order_updates=true",
+                        "logging.level.root=WARN")
+                .run();
+    }
+}
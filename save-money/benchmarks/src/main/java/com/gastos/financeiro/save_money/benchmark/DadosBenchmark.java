@@ -0,0 +1,54 @@
+package com.gastos.financeiro.save_money.benchmark;
+
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Gera lançamentos parecidos com os reais (SMS de cartão, poucas categorias, muitos estabelecimentos).
+// A semente é fixa para todas as execuções medirem os mesmos dados.
+final class DadosBenchmark {
+
+    static final LocalDateTime INICIO = LocalDateTime.of(2022, 1, 1, 0, 0);
+    static final int DIAS = 3 * 365;
+
+    static final String[] CATEGORIAS = {
+            "Cartão de Credito - Bradesco", "Cartão de Crédito - Santander", "PIX ", "Mercado",
+            "Transporte", "Restaurante", "Saúde", "Lazer"
+    };
+
+    private DadosBenchmark() {
+    }
+
+    static List<Gasto> gastos(int quantidade, long semente) {
+        Random random = new Random(semente);
+        List<Gasto> gastos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            LocalDateTime dataHora = INICIO.plusDays(random.nextInt(DIAS)).plusMinutes(random.nextInt(24 * 60));
+            BigDecimal valor = BigDecimal.valueOf(100 + random.nextInt(50_000), 2);
+            String estabelecimento = "LOJA " + random.nextInt(200);
+            String sms = "BRADESCO CARTOES: COMPRA APROVADA NO CARTAO FINAL 7904 EM "
+                    + dataHora.toLocalDate() + " " + dataHora.toLocalTime() + ". VALOR DE R$ " + valor
+                    + " " + estabelecimento + " SAO PAULO.";
+            gastos.add(new Gasto(null, valor, dataHora, "Compra no cartão", estabelecimento,
+                    CATEGORIAS[random.nextInt(CATEGORIAS.length)], sms, null, null));
+        }
+        return gastos;
+    }
+
+    static List<Receita> receitas(int quantidade, long semente) {
+        Random random = new Random(semente);
+        List<Receita> receitas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            LocalDateTime dataRecebimento = INICIO.plusDays(random.nextInt(DIAS)).plusMinutes(random.nextInt(24 * 60));
+            BigDecimal valor = BigDecimal.valueOf(1_000 + random.nextInt(500_000), 2);
+            receitas.add(new Receita(null, valor, dataRecebimento, "você acaba de receber um pix!", "PIX ",
+                    "PIX", "PIX recebido em " + dataRecebimento + " no valor de R$ " + valor, null, null));
+        }
+        return receitas;
+    }
+}
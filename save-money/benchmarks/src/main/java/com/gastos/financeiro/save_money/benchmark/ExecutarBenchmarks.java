@@ -0,0 +1,24 @@
+package com.gastos.financeiro.save_money.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Igual ao org.openjdk.jmh.Main, mas por padrão grava o resultado em JSON para comparar execuções.
+// Opções passadas na linha de comando (inclusive -rf e -rff) têm prioridade.
+public class ExecutarBenchmarks {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        Options opcoes = new OptionsBuilder()
+                .parent(linhaDeComando)
+                .resultFormat(linhaDeComando.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(linhaDeComando.getResult().orElse("target/jmh-resultados.json"))
+                .build();
+        new Runner(opcoes).run();
+    }
+}
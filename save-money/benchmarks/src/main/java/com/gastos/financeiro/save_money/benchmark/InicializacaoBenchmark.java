@@ -0,0 +1,101 @@
+package com.gastos.financeiro.save_money.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Tempo até a primeira resposta: do início do processo java até o primeiro 200 da API.
+// "padrao" é o jar do build comum; "producao" é o jar extraído do mvn -Pproducao, com AOT e o arquivo CDS.
+// Precisa do PostgreSQL do application.properties no ar (a inicialização aplica migrações e o hibernate
+// lê os metadados do banco). Caminhos e argumentos extras podem ser trocados com -D na linha do JMH:
+//   -jvmArgs "-Dinicializacao.jar.padrao=... -Dinicializacao.jar.producao=... -Dinicializacao.argumentos=..."
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class InicializacaoBenchmark {
+
+    private static final int PORTA = 18080;
+    private static final URI PRIMEIRA_REQUISICAO = URI.create("http://localhost:" + PORTA + "/api/cache/versoes");
+
+    @Param({"padrao", "producao"})
+    private String build;
+
+    private List<String> comando;
+    private HttpClient cliente;
+    private Process processo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        comando = new ArrayList<>();
+        comando.add(java);
+        if ("producao".equals(build)) {
+            comando.add("-XX:SharedArchiveFile=" + System.getProperty("inicializacao.cds", "../target/cds/save-money.jsa"));
+            comando.add("-Dspring.aot.enabled=true");
+            comando.add("-jar");
+            comando.add(System.getProperty("inicializacao.jar.producao", "../target/cds/save-money-0.0.1-SNAPSHOT.jar"));
+        } else {
+            comando.add("-jar");
+            comando.add(System.getProperty("inicializacao.jar.padrao", "../target/save-money-padrao.jar"));
+        }
+        comando.add("--server.port=" + PORTA);
+        String extras = System.getProperty("inicializacao.argumentos", "");
+        if (!extras.isBlank()) {
+            comando.addAll(Arrays.asList(extras.trim().split("\\s+")));
+        }
+        cliente = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    }
+
+    @Benchmark
+    public int ateAPrimeiraRequisicao() throws IOException, InterruptedException {
+        processo = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        HttpRequest requisicao = HttpRequest.newBuilder(PRIMEIRA_REQUISICAO).timeout(Duration.ofSeconds(1)).GET().build();
+        long limite = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (System.nanoTime() < limite) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("O save-money terminou antes de responder (código " + processo.exitValue()
+                        + "): " + String.join(" ", comando));
+            }
+            try {
+                HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                if (resposta.statusCode() == 200) {
+                    return resposta.statusCode();
+                }
+            } catch (ConnectException | HttpTimeoutException e) {
+                // ainda subindo
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("O save-money não respondeu em 2 minutos");
+    }
+
+    // Cada medição começa de um processo novo
+    @TearDown(Level.Invocation)
+    public void encerrar() throws InterruptedException {
+        if (processo != null) {
+            processo.destroy();
+            if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+                processo.destroyForcibly().waitFor();
+            }
+            processo = null;
+        }
+    }
+}
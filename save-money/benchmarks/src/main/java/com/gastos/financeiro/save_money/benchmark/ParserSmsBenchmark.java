@@ -0,0 +1,88 @@
+package com.gastos.financeiro.save_money.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gastos.financeiro.save_money.sms.MotorParserSms;
+import com.gastos.financeiro.save_money.sms.RegraSms;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Mensagens por segundo no parser de SMS do POST /api/ingest/raw, com as regras do regras-sms.json
+// e com centenas de bancos fictícios a mais. A escolha por prefixo deve manter o número estável;
+// "sequencial" é o jeito antigo do app (find() em todos os padrões até um casar), para comparação.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ParserSmsBenchmark {
+
+    private static final String[] MENSAGENS = {
+            "BRADESCO CARTOES: COMPRA APROVADA NO CARTAO FINAL 7904 EM 14/07/2025 14:19. VALOR DE R$ 205.05 FLEXPAG*ENELSP SAO PAULO.",
+            "Compra no cartão final 1001, de R$ 54,34, em 21/09/2025, ás 11:36, em AUTO POSTO, aprovada.",
+            "Santander: Compra de R$ 75,90 em MERCADO X em 20/07/2025 as 15:30h. Cartao final XXXX.",
+            "PIX enviado em 19/09/2025 as 16:09 no valor de R$ 0,14.",
+            "PIX recebido em 19/09/2025 as 16:09 no valor de R$ 1.250,14.",
+            "PIX recebido de FULANO DA SILVA, CPF final 123. Valor R$ 50,00 em 20/07/2025 as 11:00h.",
+            "Seu codigo de verificacao e 483920. Nao compartilhe."
+    };
+
+    @Param({"0", "500"})
+    private int bancosExtras;
+
+    private MotorParserSms motor;
+    private List<Pattern> padroesSequenciais;
+    private LocalDateTime agora;
+    private int proxima;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        List<RegraSms> regras;
+        try (InputStream entrada = getClass().getClassLoader().getResourceAsStream("regras-sms.json")) {
+            regras = new ArrayList<>(new ObjectMapper().reader()
+                    .with(JsonParser.Feature.ALLOW_COMMENTS)
+                    .forType(new TypeReference<List<RegraSms>>() { })
+                    .readValue(entrada));
+        }
+        // Bancos fictícios entram na frente, como se tivessem sido cadastrados antes dos reais
+        List<RegraSms> ficticias = new ArrayList<>();
+        for (int i = 0; i < bancosExtras; i++) {
+            ficticias.add(new RegraSms("banco-" + i, RegraSms.TipoLancamento.GASTO, List.of("BANCO " + i + ": COMPRA"),
+                    List.of(), "COMPRA DE R\\$ (?<valor>[\\d.,]+) EM (?<estabelecimento>.+?) EM (?<data>\\d{2}/\\d{2}/\\d{4})",
+                    "Banco " + i, null, null, List.of()));
+        }
+        ficticias.addAll(regras);
+        motor = new MotorParserSms(ficticias);
+        padroesSequenciais = ficticias.stream()
+                .map(regra -> Pattern.compile(regra.padrao(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE))
+                .toList();
+        agora = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public Object porPrefixo() {
+        String mensagem = MENSAGENS[proxima++ % MENSAGENS.length];
+        return motor.interpretar("27888", mensagem, agora);
+    }
+
+    @Benchmark
+    public Object sequencial() {
+        String mensagem = MENSAGENS[proxima++ % MENSAGENS.length];
+        for (Pattern padrao : padroesSequenciais) {
+            if (padrao.matcher(mensagem).find()) {
+                return Optional.of(padrao);
+            }
+        }
+        return Optional.empty();
+    }
+}
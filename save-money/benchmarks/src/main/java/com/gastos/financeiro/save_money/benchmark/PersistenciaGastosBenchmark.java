@@ -0,0 +1,55 @@
+package com.gastos.financeiro.save_money.benchmark;
+
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Linhas gravadas por segundo: um gasto por transação (como o POST /api/gastos)
+// contra 500 por transação com batch JDBC e sequência pooled (como o POST /api/gastos/batch).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PersistenciaGastosBenchmark {
+
+    private static final int TAMANHO_LOTE = 500;
+
+    private ConfigurableApplicationContext contexto;
+    private GastoRepository gastoRepository;
+    private TransactionTemplate transacao;
+    private long semente;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("persistencia");
+        gastoRepository = contexto.getBean(GastoRepository.class);
+        transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Gasto salvarUm() {
+        Gasto gasto = DadosBenchmark.gastos(1, semente++).get(0);
+        return gastoRepository.save(gasto);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANHO_LOTE)
+    public int salvarLote() {
+        List<Gasto> gastos = DadosBenchmark.gastos(TAMANHO_LOTE, semente++);
+        transacao.executeWithoutResult(status -> gastoRepository.saveAll(gastos));
+        return gastos.size();
+    }
+}
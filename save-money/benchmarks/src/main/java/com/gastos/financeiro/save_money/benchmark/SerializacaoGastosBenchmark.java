@@ -0,0 +1,58 @@
+package com.gastos.financeiro.save_money.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gastos.financeiro.save_money.dto.GastoResumo;
+import com.gastos.financeiro.save_money.model.Gasto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Custo de escrever a resposta de GET /api/gastos: só o Jackson, sem HTTP nem banco
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializacaoGastosBenchmark {
+
+    @Param({"1000", "100000"})
+    private int linhas;
+
+    private ObjectMapper objectMapper;
+    private List<Gasto> gastos;
+    private List<GastoResumo> resumos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        // Mesmas opções de data do application.properties
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        gastos = DadosBenchmark.gastos(linhas, 42);
+        resumos = gastos.stream()
+                .map(g -> new GastoResumo(g.getId(), g.getValor(), g.getDataHora(), g.getEstabelecimento(), g.getCategoria()))
+                .toList();
+    }
+
+    @Benchmark
+    public void serializarLista() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), gastos);
+    }
+
+    @Benchmark
+    public byte[] serializarListaEmMemoria() throws IOException {
+        return objectMapper.writeValueAsBytes(gastos);
+    }
+
+    // Mesma lista na projeção de GET /api/gastos/lista, sem o SMS original
+    @Benchmark
+    public void serializarResumos() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), resumos);
+    }
+}
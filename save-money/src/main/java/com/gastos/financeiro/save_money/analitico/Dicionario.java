@@ -0,0 +1,36 @@
+package com.gastos.financeiro.save_money.analitico;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Troca cada texto repetido (categoria, estabelecimento, fonte) por um código int sequencial.
+// Os códigos nunca mudam nem são reaproveitados, então continuam válidos depois de uma recarga das tabelas.
+public class Dicionario {
+
+    private final Map<String, Integer> codigos = new HashMap<>();
+    private final List<String> valores = new ArrayList<>();
+
+    // -1 para null
+    public synchronized int codigo(String valor) {
+        if (valor == null) {
+            return -1;
+        }
+        Integer codigo = codigos.get(valor);
+        if (codigo == null) {
+            codigo = valores.size();
+            codigos.put(valor, codigo);
+            valores.add(valor);
+        }
+        return codigo;
+    }
+
+    public synchronized String valor(int codigo) {
+        return valores.get(codigo);
+    }
+
+    public synchronized int tamanho() {
+        return valores.size();
+    }
+}
@@ -0,0 +1,141 @@
+package com.gastos.financeiro.save_money.analitico;
+
+import java.util.Arrays;
+
+// Lançamentos guardados coluna a coluna em arrays primitivos, ordenados pelo dia (epoch day):
+// 28 bytes por linha e nenhum objeto por lançamento. Um filtro por período vira duas buscas binárias
+// e as somas percorrem só o trecho contíguo daquele período.
+// Não é thread-safe: quem usa controla o acesso (AnaliticoService, com trava de leitura/escrita).
+public class TabelaColunar {
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private long[] ids = new long[CAPACIDADE_INICIAL];
+    private long[] centavos = new long[CAPACIDADE_INICIAL];
+    private int[] dias = new int[CAPACIDADE_INICIAL];
+    private int[] categorias = new int[CAPACIDADE_INICIAL];
+    // Estabelecimento nos gastos, fonte nas receitas; -1 quando não informado
+    private int[] origens = new int[CAPACIDADE_INICIAL];
+    private int tamanho;
+
+    // Insere mantendo a ordem por dia; o lançamento entra depois dos que já existem no mesmo dia.
+    // Na carga as linhas chegam em ordem de data e sempre caem no fim, sem deslocar nada.
+    public void inserir(long id, long valorCentavos, int dia, int categoria, int origem) {
+        garantirCapacidade(tamanho + 1);
+        int posicao = tamanho > 0 && dias[tamanho - 1] <= dia ? tamanho : depoisDe(dia);
+        int mover = tamanho - posicao;
+        if (mover > 0) {
+            System.arraycopy(ids, posicao, ids, posicao + 1, mover);
+            System.arraycopy(centavos, posicao, centavos, posicao + 1, mover);
+            System.arraycopy(dias, posicao, dias, posicao + 1, mover);
+            System.arraycopy(categorias, posicao, categorias, posicao + 1, mover);
+            System.arraycopy(origens, posicao, origens, posicao + 1, mover);
+        }
+        ids[posicao] = id;
+        centavos[posicao] = valorCentavos;
+        dias[posicao] = dia;
+        categorias[posicao] = categoria;
+        origens[posicao] = origem;
+        tamanho++;
+    }
+
+    // Procura o id só entre as linhas do dia informado; false se ele não estiver lá
+    public boolean remover(long id, int dia) {
+        for (int i = inicioDe(dia); i < tamanho && dias[i] == dia; i++) {
+            if (ids[i] == id) {
+                int mover = tamanho - i - 1;
+                if (mover > 0) {
+                    System.arraycopy(ids, i + 1, ids, i, mover);
+                    System.arraycopy(centavos, i + 1, centavos, i, mover);
+                    System.arraycopy(dias, i + 1, dias, i, mover);
+                    System.arraycopy(categorias, i + 1, categorias, i, mover);
+                    System.arraycopy(origens, i + 1, origens, i, mover);
+                }
+                tamanho--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    // Só faz sentido com a tabela não vazia
+    public int primeiroDia() {
+        return dias[0];
+    }
+
+    public int ultimoDia() {
+        return dias[tamanho - 1];
+    }
+
+    // Lançamentos entre os dias de e ate, inclusive
+    public int contar(int de, int ate) {
+        return Math.max(0, depoisDe(ate) - inicioDe(de));
+    }
+
+    public long somarCentavos(int de, int ate) {
+        long total = 0;
+        for (int i = inicioDe(de), fim = depoisDe(ate); i < fim; i++) {
+            total += centavos[i];
+        }
+        return total;
+    }
+
+    // Acumula centavos e quantidade no índice do código da categoria; os arrays têm o tamanho do dicionário
+    public void somarPorCategoria(int de, int ate, long[] totais, long[] quantidades) {
+        somarPor(categorias, de, ate, totais, quantidades);
+    }
+
+    public void somarPorOrigem(int de, int ate, long[] totais, long[] quantidades) {
+        somarPor(origens, de, ate, totais, quantidades);
+    }
+
+    public long bytesOcupados() {
+        return (long) ids.length * (Long.BYTES * 2 + Integer.BYTES * 3);
+    }
+
+    private void somarPor(int[] codigos, int de, int ate, long[] totais, long[] quantidades) {
+        for (int i = inicioDe(de), fim = depoisDe(ate); i < fim; i++) {
+            int codigo = codigos[i];
+            if (codigo >= 0) {
+                totais[codigo] += centavos[i];
+                quantidades[codigo]++;
+            }
+        }
+    }
+
+    // Primeira linha com dia >= dia
+    private int inicioDe(int dia) {
+        int baixo = 0;
+        int alto = tamanho;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (dias[meio] < dia) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    // Primeira linha com dia > dia
+    private int depoisDe(int dia) {
+        return dia == Integer.MAX_VALUE ? tamanho : inicioDe(dia + 1);
+    }
+
+    private void garantirCapacidade(int necessaria) {
+        if (necessaria <= ids.length) {
+            return;
+        }
+        int capacidade = Math.max(necessaria, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacidade);
+        centavos = Arrays.copyOf(centavos, capacidade);
+        dias = Arrays.copyOf(dias, capacidade);
+        categorias = Arrays.copyOf(categorias, capacidade);
+        origens = Arrays.copyOf(origens, capacidade);
+    }
+}
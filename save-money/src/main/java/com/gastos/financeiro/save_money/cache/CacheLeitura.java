@@ -0,0 +1,132 @@
+package com.gastos.financeiro.save_money.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+// Cache de leitura (read-through) com limite de tamanho (LRU) e tempo de vida por entrada.
+// Quem escreve no banco invalida as chaves afetadas; o TTL só limita o estrago de alguma invalidação perdida.
+public class CacheLeitura<K, V> {
+
+    private final String nome;
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+    private final LongSupplier relogio;
+
+    // Em ordem de acesso: a primeira entrada é a menos usada recentemente
+    private final LinkedHashMap<K, Entrada<V>> entradas = new LinkedHashMap<>(64, 0.75f, true);
+
+    // Muda a cada invalidação. Um carregamento que começou antes dela não pode gravar o valor lido,
+    // senão um dado velho voltaria para o cache logo depois de ter sido invalidado.
+    private long geracao;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder expirados = new LongAdder();
+    private final LongAdder despejados = new LongAdder();
+    private final LongAdder invalidados = new LongAdder();
+
+    public CacheLeitura(String nome, int tamanhoMaximo, long ttlSegundos) {
+        this(nome, tamanhoMaximo, ttlSegundos, System::nanoTime);
+    }
+
+    // Com o relógio nas mãos do teste, para expirar sem dormir
+    CacheLeitura(String nome, int tamanhoMaximo, long ttlSegundos, LongSupplier relogio) {
+        this.nome = nome;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSegundos);
+        this.relogio = relogio;
+    }
+
+    // Devolve o valor em cache ou chama carregar (fora do lock). Resultados null não são guardados.
+    public V buscar(K chave, Function<? super K, ? extends V> carregar) {
+        long geracaoLeitura;
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada != null) {
+                if (relogio.getAsLong() - entrada.criadaEm() < ttlNanos) {
+                    acertos.increment();
+                    return entrada.valor();
+                }
+                entradas.remove(chave);
+                expirados.increment();
+            }
+            geracaoLeitura = geracao;
+        }
+        falhas.increment();
+
+        V valor = carregar.apply(chave);
+        if (valor != null) {
+            synchronized (this) {
+                if (geracaoLeitura == geracao) {
+                    entradas.put(chave, new Entrada<>(valor, relogio.getAsLong()));
+                    despejarExcedente();
+                }
+            }
+        }
+        return valor;
+    }
+
+    // Grava um valor já conhecido, sem passar pelo carregador (ex.: aprendido de uma escrita).
+    // Conta como invalidação da chave: um carregamento em andamento não sobrescreve o valor gravado.
+    public synchronized void gravar(K chave, V valor) {
+        geracao++;
+        entradas.put(chave, new Entrada<>(valor, relogio.getAsLong()));
+        despejarExcedente();
+    }
+
+    public synchronized void invalidar(K chave) {
+        geracao++;
+        if (entradas.remove(chave) != null) {
+            invalidados.increment();
+        }
+    }
+
+    // Remove só as chaves que o filtro aceitar (ex.: os períodos que contêm uma data alterada)
+    public synchronized void invalidarSe(Predicate<? super K> filtro) {
+        geracao++;
+        Iterator<K> chaves = entradas.keySet().iterator();
+        while (chaves.hasNext()) {
+            if (filtro.test(chaves.next())) {
+                chaves.remove();
+                invalidados.increment();
+            }
+        }
+    }
+
+    public synchronized void limpar() {
+        geracao++;
+        invalidados.add(entradas.size());
+        entradas.clear();
+    }
+
+    public EstatisticasCache estatisticas() {
+        int tamanho;
+        synchronized (this) {
+            tamanho = entradas.size();
+        }
+        long totalAcertos = acertos.sum();
+        long totalFalhas = falhas.sum();
+        long consultas = totalAcertos + totalFalhas;
+        return new EstatisticasCache(nome, tamanho, tamanhoMaximo, TimeUnit.NANOSECONDS.toSeconds(ttlNanos),
+                totalAcertos, totalFalhas, expirados.sum(), despejados.sum(), invalidados.sum(),
+                consultas == 0 ? 0.0 : (double) totalAcertos / consultas);
+    }
+
+    private void despejarExcedente() {
+        Iterator<Map.Entry<K, Entrada<V>>> maisAntigas = entradas.entrySet().iterator();
+        while (entradas.size() > tamanhoMaximo && maisAntigas.hasNext()) {
+            maisAntigas.next();
+            maisAntigas.remove();
+            despejados.increment();
+        }
+    }
+
+    private record Entrada<V>(V valor, long criadaEm) {
+    }
+}
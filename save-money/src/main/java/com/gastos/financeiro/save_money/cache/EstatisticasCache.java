@@ -0,0 +1,13 @@
+package com.gastos.financeiro.save_money.cache;
+
+public record EstatisticasCache(String nome,
+                                int tamanho,
+                                int tamanhoMaximo,
+                                long ttlSegundos,
+                                long acertos,
+                                long falhas,
+                                long expirados,
+                                long despejados,
+                                long invalidados,
+                                double taxaAcerto) {
+}
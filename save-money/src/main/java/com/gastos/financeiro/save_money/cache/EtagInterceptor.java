@@ -0,0 +1,68 @@
+package com.gastos.financeiro.save_money.cache;
+
+import com.gastos.financeiro.save_money.replica.RoteamentoLeitura;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// GET condicional para as leituras de uma ou mais tabelas: a ETag é montada com as versões de
+// VersaoTabelas e a URL pedida, então um If-None-Match igual responde 304 antes do controller rodar,
+// sem consulta nem serialização. As versões são as que os caches desta instância já refletem (só memória):
+// a de outra instância só entra depois de os caches da tabela serem limpos, então a ETag pode ficar mais
+// velha que os dados, nunca à frente de um valor em cache. Elas vêm de versao_tabela, então qualquer
+// instância atrás do balanceador chega à mesma ETag para os mesmos dados, no máximo um intervalo depois.
+// A data entra na ETag porque algumas leituras dependem de hoje (período padrão, projeção de metas).
+// Com réplica, uma tabela alterada dentro da tolerância de atraso é lida do primário, para a
+// resposta não sair com a ETag nova e os dados velhos.
+public class EtagInterceptor implements HandlerInterceptor {
+
+    private final VersaoTabelas versaoTabelas;
+    private final RoteamentoLeitura roteamentoLeitura;
+    private final VersaoTabelas.Tabela[] tabelas;
+
+    public EtagInterceptor(VersaoTabelas versaoTabelas, RoteamentoLeitura roteamentoLeitura, VersaoTabelas.Tabela... tabelas) {
+        this.versaoTabelas = versaoTabelas;
+        this.roteamentoLeitura = roteamentoLeitura;
+        this.tabelas = tabelas;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        // Antes da primeira leitura de versao_tabela não há versão que valha como ETag
+        if (!versaoTabelas.pronto()) {
+            return true;
+        }
+        List<VersaoTabelas.Versao> versoes = versaoTabelas.versoes(tabelas);
+        String etag = etag(request, versoes);
+        boolean naoModificado = new ServletWebRequest(request, response).checkNotModified(etag);
+        versaoTabelas.registrarValidacao(naoModificado);
+        // checkNotModified já gravou o ETag e, quando bate, o status 304
+        if (naoModificado) {
+            return false;
+        }
+        if (roteamentoLeitura.habilitado()
+                && VersaoTabelas.alteradaHaMenosDe(TimeUnit.NANOSECONDS.toMillis(roteamentoLeitura.toleranciaNanos()), versoes)) {
+            roteamentoLeitura.exigirPrimario();
+        }
+        return true;
+    }
+
+    private static String etag(HttpServletRequest request, List<VersaoTabelas.Versao> versoes) {
+        StringBuilder etag = new StringBuilder(64).append('"').append(LocalDate.now().toEpochDay());
+        for (VersaoTabelas.Versao versao : versoes) {
+            etag.append('-').append(versao.numero());
+        }
+        String consulta = request.getQueryString();
+        int url = consulta != null ? (request.getRequestURI() + '?' + consulta).hashCode() : request.getRequestURI().hashCode();
+        return etag.append('-').append(Integer.toHexString(url)).append('"').toString();
+    }
+}
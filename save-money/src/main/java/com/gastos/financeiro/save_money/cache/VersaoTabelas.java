@@ -0,0 +1,293 @@
+package com.gastos.financeiro.save_money.cache;
+
+import com.gastos.financeiro.save_money.event.GastoEvent;
+import com.gastos.financeiro.save_money.event.GastoLoteEvent;
+import com.gastos.financeiro.save_money.event.MetaEvent;
+import com.gastos.financeiro.save_money.event.MetaProgressoEvent;
+import com.gastos.financeiro.save_money.event.ReceitaEvent;
+import com.gastos.financeiro.save_money.event.ReceitaLoteEvent;
+import com.gastos.financeiro.save_money.event.TabelaAlteradaEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Versão de cada tabela, guardada no banco (versao_tabela, migração V10) para que todas as instâncias
+// montem a mesma ETag. Os eventos de escrita (controllers, lotes, importação e o progresso das metas)
+// marcam a tabela; depois do commit, a thread versao-tabelas sobe a linha uma vez por todas as escritas
+// marcadas desde a última rodada, fora das transações de escrita: nenhuma delas espera o lock da linha.
+// Cada instância confere as versões de tempos em tempos. Se a tabela andou além das escritas desta
+// instância, outra escreveu: publica TabelaAlteradaEvent e os caches de leitura da tabela são limpos.
+// As ETags usam só a versão em memória, que avança depois da limpeza: um GET condicional não vai ao banco.
+// Sem as migrações (spring.flyway.enabled=false) não há versao_tabela e as versões ficam só na memória.
+@Component
+public class VersaoTabelas {
+
+    private static final Logger log = LoggerFactory.getLogger(VersaoTabelas.class);
+
+    private static final long NUNCA = Long.MIN_VALUE;
+
+    public enum Tabela { GASTOS, RECEITAS, METAS }
+
+    // numero é a versão; alteradaHaMs, quanto tempo faz que esta instância viu a tabela mudar
+    public record Versao(Tabela tabela, long numero, long alteradaHaMs) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${spring.flyway.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${save-money.cache.versoes.intervalo-ms:1000}")
+    private long intervaloMs;
+
+    // Até que versão os caches desta instância já refletem as escritas de cada tabela
+    private final AtomicLongArray sincronizadas = new AtomicLongArray(Tabela.values().length);
+    // System.nanoTime() da última mudança vista em cada tabela (escrita local ou de outra instância)
+    private final AtomicLongArray alteradasEm = new AtomicLongArray(Tabela.values().length);
+    // 1 quando há escrita local confirmada que ainda não subiu a linha no banco
+    private final AtomicIntegerArray pendentes = new AtomicIntegerArray(Tabela.values().length);
+    private volatile boolean pronto;
+    private volatile ScheduledExecutorService verificador;
+
+    private final LongAdder validacoes = new LongAdder();
+    private final LongAdder naoModificados = new LongAdder();
+    private final LongAdder alteracoesExternas = new LongAdder();
+
+    public VersaoTabelas() {
+        for (int i = 0; i < alteradasEm.length(); i++) {
+            alteradasEm.set(i, NUNCA);
+        }
+    }
+
+    // Depois do ApplicationReady, não no @PostConstruct: subir o contexto (e o treino do CDS) não lê as tabelas
+    @EventListener(ApplicationReadyEvent.class)
+    void iniciar() {
+        if (!habilitado) {
+            pronto = true;
+            return;
+        }
+        // Os caches começam vazios: tudo o que já está no banco conta como visto
+        for (Versao versao : lerDoBanco()) {
+            sincronizadas.accumulateAndGet(versao.tabela().ordinal(), versao.numero(), Math::max);
+        }
+        pronto = true;
+        verificador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "versao-tabelas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        verificador.scheduleWithFixedDelay(this::verificar, 0, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (verificador != null) {
+            verificador.shutdownNow();
+        }
+    }
+
+    // false até a primeira leitura do banco: antes dela as versões em memória não valem como ETag
+    public boolean pronto() {
+        return pronto;
+    }
+
+    // Só memória: é o que roda a cada GET condicional
+    public List<Versao> versoes(Tabela... tabelas) {
+        long agora = System.nanoTime();
+        return Arrays.stream(tabelas)
+                .map(tabela -> {
+                    long alteradaEm = alteradasEm.get(tabela.ordinal());
+                    long haMs = alteradaEm == NUNCA ? Long.MAX_VALUE : TimeUnit.NANOSECONDS.toMillis(agora - alteradaEm);
+                    return new Versao(tabela, sincronizadas.get(tabela.ordinal()), haMs);
+                })
+                .toList();
+    }
+
+    // true se alguma das versões mudou há menos de intervaloMs (usado pelo roteamento de leituras)
+    public static boolean alteradaHaMenosDe(long intervaloMs, List<Versao> versoes) {
+        return versoes.stream().anyMatch(versao -> versao.alteradaHaMs() < intervaloMs);
+    }
+
+    public void registrarValidacao(boolean naoModificado) {
+        validacoes.increment();
+        if (naoModificado) {
+            naoModificados.increment();
+        }
+    }
+
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        Map<Tabela, Long> atuais = new EnumMap<>(Tabela.class);
+        for (Versao versao : versoes(Tabela.values())) {
+            atuais.put(versao.tabela(), versao.numero());
+        }
+        estatisticas.put("versoes", atuais);
+        estatisticas.put("validacoes", validacoes.sum());
+        estatisticas.put("naoModificados", naoModificados.sum());
+        estatisticas.put("alteracoesExternas", alteracoesExternas.sum());
+        return estatisticas;
+    }
+
+    // Síncronos: rodam dentro da transação que publicou o evento, só para marcar a tabela
+    @EventListener
+    public void aoAlterarGasto(GastoEvent evento) {
+        incrementar(Tabela.GASTOS);
+    }
+
+    @EventListener
+    public void aoCriarLoteGastos(GastoLoteEvent evento) {
+        incrementar(Tabela.GASTOS);
+    }
+
+    @EventListener
+    public void aoAlterarReceita(ReceitaEvent evento) {
+        incrementar(Tabela.RECEITAS);
+    }
+
+    @EventListener
+    public void aoCriarLoteReceitas(ReceitaLoteEvent evento) {
+        incrementar(Tabela.RECEITAS);
+    }
+
+    @EventListener
+    public void aoAlterarMeta(MetaEvent evento) {
+        incrementar(Tabela.METAS);
+    }
+
+    @EventListener
+    public void aoAtualizarProgresso(MetaProgressoEvent evento) {
+        incrementar(Tabela.METAS);
+    }
+
+    // Também para escritas que não passam pelos eventos (ex.: partição desanexada pelo ParticaoService).
+    // Dentro de uma transação conta só no commit (uma escrita desfeita não muda a versão); fora dela, na hora.
+    public void incrementar(Tabela tabela) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            registrarEscritaLocal(tabela);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Tabela> marcadas = (Set<Tabela>) TransactionSynchronizationManager.getResource(this);
+        if (marcadas == null) {
+            Set<Tabela> novas = EnumSet.noneOf(Tabela.class);
+            TransactionSynchronizationManager.bindResource(this, novas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    novas.forEach(VersaoTabelas.this::registrarEscritaLocal);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(VersaoTabelas.this);
+                }
+            });
+            marcadas = novas;
+        }
+        marcadas.add(tabela);
+    }
+
+    // Sobe no banco as tabelas com escrita local pendente e confere as demais; package-private para os testes
+    synchronized void verificar() {
+        publicar();
+        List<Versao> versoes;
+        try {
+            versoes = lerDoBanco();
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível conferir as versões das tabelas: {}", e.getMessage());
+            return;
+        }
+        for (Versao versao : versoes) {
+            if (versao.numero() > sincronizadas.get(versao.tabela().ordinal())) {
+                alteracaoExterna(versao.tabela(), versao.numero());
+            }
+        }
+    }
+
+    // Uma linha por comando, em autocommit: o lock de cada linha dura só o UPDATE dela
+    synchronized void publicar() {
+        for (Tabela tabela : Tabela.values()) {
+            if (pendentes.getAndSet(tabela.ordinal(), 0) == 0) {
+                continue;
+            }
+            long versao;
+            try {
+                versao = jdbcTemplate.queryForObject("""
+                        UPDATE versao_tabela SET versao = versao + 1, alterada_em = clock_timestamp()
+                        WHERE tabela = ?
+                        RETURNING versao
+                        """, Long.class, tabela.name());
+            } catch (DataAccessException e) {
+                // Fica para a próxima rodada do verificador
+                pendentes.set(tabela.ordinal(), 1);
+                log.warn("Não foi possível subir a versão de {}: {}", tabela, e.getMessage());
+                continue;
+            }
+            // Os caches já foram invalidados pelos eventos locais. Se a versão pulou, outra instância
+            // escreveu no meio e a tabela é limpa antes de avançar.
+            if (!sincronizadas.compareAndSet(tabela.ordinal(), versao - 1, versao)) {
+                alteracaoExterna(tabela, versao);
+            }
+        }
+    }
+
+    private void registrarEscritaLocal(Tabela tabela) {
+        alteradasEm.set(tabela.ordinal(), System.nanoTime());
+        if (!habilitado) {
+            sincronizadas.incrementAndGet(tabela.ordinal());
+            return;
+        }
+        // Várias escritas antes da rodada viram uma subida só
+        ScheduledExecutorService executor = verificador;
+        if (pendentes.getAndSet(tabela.ordinal(), 1) == 0 && executor != null) {
+            try {
+                executor.execute(this::publicar);
+            } catch (RejectedExecutionException e) {
+                // Encerrando: as outras instâncias só veem esta escrita pela próxima subida ou pelo TTL dos caches
+                log.debug("Versão de {} não publicada: verificador encerrado", tabela);
+            }
+        }
+    }
+
+    // Limpa antes de avançar: uma ETag com a versão nova nunca acompanha um valor velho do cache
+    private void alteracaoExterna(Tabela tabela, long versao) {
+        alteracoesExternas.increment();
+        eventPublisher.publishEvent(new TabelaAlteradaEvent(tabela));
+        alteradasEm.set(tabela.ordinal(), System.nanoTime());
+        sincronizadas.accumulateAndGet(tabela.ordinal(), versao, Math::max);
+    }
+
+    private List<Versao> lerDoBanco() {
+        return jdbcTemplate.query("SELECT tabela, versao FROM versao_tabela",
+                (linha, numero) -> new Versao(Tabela.valueOf(linha.getString(1)), linha.getLong(2), 0));
+    }
+}
@@ -0,0 +1,190 @@
+package com.gastos.financeiro.save_money.categorizacao;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Aho-Corasick: acha, numa única passada pelo texto, qual das palavras-chave aparece nele, não importa
+// quantas estejam cadastradas. A trie das palavras vira uma tabela de transições completa (um int por
+// estado e caractere do alfabeto das palavras), então cada caractere do texto custa uma leitura de array.
+// Sem diferenciar maiúsculas nem acentos. A palavra precisa começar uma palavra do texto (ENEL acha
+// FLEXPAG*ENELSP, mas não PANELA); se várias aparecem, vence a mais longa (UBER EATS ganha de UBER).
+// Imutável depois de construído; pode ser usado por várias threads ao mesmo tempo.
+public class AutomatoPalavrasChave<T> {
+
+    // Coluna 0: qualquer caractere que não aparece em nenhuma palavra
+    private final int[] colunaAscii = new int[128];
+    private final Map<Character, Integer> colunaOutros = new HashMap<>();
+    private final int colunas;
+
+    private final int[] transicoes;
+    // Palavra mais longa que termina em cada estado, -1 se nenhuma
+    private final int[] saida;
+    // Para cada palavra, a próxima mais curta que termina no mesmo ponto (sufixo dela), -1 se nenhuma
+    private final int[] proximaSaida;
+    private final int[] comprimentos;
+    private final List<T> valores;
+
+    public AutomatoPalavrasChave(Map<String, T> palavras) {
+        TreeSet<Character> alfabeto = new TreeSet<>();
+        List<String> normalizadas = new ArrayList<>(palavras.size());
+        valores = new ArrayList<>(palavras.size());
+        for (Map.Entry<String, T> palavra : palavras.entrySet()) {
+            String normalizada = normalizar(palavra.getKey());
+            if (normalizada.isEmpty()) {
+                throw new IllegalArgumentException("palavra-chave vazia para " + palavra.getValue());
+            }
+            normalizadas.add(normalizada);
+            valores.add(palavra.getValue());
+            for (int i = 0; i < normalizada.length(); i++) {
+                alfabeto.add(normalizada.charAt(i));
+            }
+        }
+        int coluna = 1;
+        for (char c : alfabeto) {
+            if (c < 128) {
+                colunaAscii[c] = coluna++;
+            } else {
+                colunaOutros.put(c, coluna++);
+            }
+        }
+        colunas = coluna;
+        comprimentos = normalizadas.stream().mapToInt(String::length).toArray();
+
+        // Trie: -1 onde não há filho
+        List<int[]> linhas = new ArrayList<>();
+        List<Integer> palavraDoEstado = new ArrayList<>();
+        linhas.add(linhaVazia());
+        palavraDoEstado.add(-1);
+        for (int p = 0; p < normalizadas.size(); p++) {
+            String normalizada = normalizadas.get(p);
+            int estado = 0;
+            for (int i = 0; i < normalizada.length(); i++) {
+                int c = coluna(normalizada.charAt(i));
+                if (linhas.get(estado)[c] < 0) {
+                    linhas.get(estado)[c] = linhas.size();
+                    linhas.add(linhaVazia());
+                    palavraDoEstado.add(-1);
+                }
+                estado = linhas.get(estado)[c];
+            }
+            if (palavraDoEstado.get(estado) >= 0) {
+                throw new IllegalArgumentException("palavra-chave \"" + normalizada + "\" repetida");
+            }
+            palavraDoEstado.set(estado, p);
+        }
+
+        // Ligações de falha em largura; as transições que faltam passam a apontar para onde a falha levaria
+        int estados = linhas.size();
+        transicoes = new int[estados * colunas];
+        saida = new int[estados];
+        proximaSaida = new int[normalizadas.size()];
+        int[] falha = new int[estados];
+        Arrays.fill(proximaSaida, -1);
+        saida[0] = -1;
+        ArrayDeque<Integer> fila = new ArrayDeque<>();
+        for (int c = 0; c < colunas; c++) {
+            int filho = linhas.get(0)[c];
+            if (filho > 0) {
+                transicoes[c] = filho;
+                falha[filho] = 0;
+                fila.add(filho);
+            }
+        }
+        while (!fila.isEmpty()) {
+            int estado = fila.poll();
+            int palavra = palavraDoEstado.get(estado);
+            int herdada = saida[falha[estado]];
+            saida[estado] = palavra >= 0 ? palavra : herdada;
+            if (palavra >= 0) {
+                proximaSaida[palavra] = herdada;
+            }
+            for (int c = 0; c < colunas; c++) {
+                int filho = linhas.get(estado)[c];
+                if (filho > 0) {
+                    transicoes[estado * colunas + c] = filho;
+                    falha[filho] = transicoes[falha[estado] * colunas + c];
+                    fila.add(filho);
+                } else {
+                    transicoes[estado * colunas + c] = transicoes[falha[estado] * colunas + c];
+                }
+            }
+        }
+    }
+
+    // null se nenhuma palavra aparecer no texto
+    public T buscar(CharSequence texto) {
+        if (texto == null) {
+            return null;
+        }
+        int estado = 0;
+        int melhor = -1;
+        for (int i = 0; i < texto.length(); i++) {
+            estado = transicoes[estado * colunas + coluna(normalizar(texto.charAt(i)))];
+            for (int palavra = saida[estado]; palavra >= 0; palavra = proximaSaida[palavra]) {
+                int inicio = i - comprimentos[palavra] + 1;
+                if (inicio == 0 || !Character.isLetterOrDigit(texto.charAt(inicio - 1))) {
+                    if (melhor < 0 || comprimentos[palavra] > comprimentos[melhor]) {
+                        melhor = palavra;
+                    }
+                    break;
+                }
+            }
+        }
+        return melhor >= 0 ? valores.get(melhor) : null;
+    }
+
+    public int estados() {
+        return saida.length;
+    }
+
+    // Maiúsculas, sem acento e sem espaços repetidos ou nas pontas
+    public static String normalizar(String texto) {
+        StringBuilder normalizado = new StringBuilder(texto.length());
+        boolean espaco = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = normalizar(texto.charAt(i));
+            if (Character.isWhitespace(c)) {
+                espaco = normalizado.length() > 0;
+                continue;
+            }
+            if (espaco) {
+                normalizado.append(' ');
+                espaco = false;
+            }
+            normalizado.append(c);
+        }
+        return normalizado.toString();
+    }
+
+    private static char normalizar(char c) {
+        char maiuscula = Character.toUpperCase(c);
+        return switch (maiuscula) {
+            case 'Á', 'À', 'Â', 'Ã', 'Ä' -> 'A';
+            case 'É', 'È', 'Ê', 'Ë' -> 'E';
+            case 'Í', 'Ì', 'Î', 'Ï' -> 'I';
+            case 'Ó', 'Ò', 'Ô', 'Õ', 'Ö' -> 'O';
+            case 'Ú', 'Ù', 'Û', 'Ü' -> 'U';
+            case 'Ç' -> 'C';
+            default -> maiuscula;
+        };
+    }
+
+    private int coluna(char c) {
+        if (c < 128) {
+            return colunaAscii[c];
+        }
+        Integer coluna = colunaOutros.get(c);
+        return coluna != null ? coluna : 0;
+    }
+
+    private int[] linhaVazia() {
+        int[] linha = new int[colunas];
+        Arrays.fill(linha, -1);
+        return linha;
+    }
+}
@@ -0,0 +1,53 @@
+package com.gastos.financeiro.save_money.categorizacao;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Categorias por palavra-chave, montadas a partir de RegrasCategorizacao.
+// Imutável; o CategorizacaoService troca o motor inteiro ao recarregar o arquivo.
+public class MotorCategorizacao {
+
+    private final AutomatoPalavrasChave<String> palavras;
+    private final Set<String> canais;
+    private final int quantidadePalavras;
+
+    public MotorCategorizacao(RegrasCategorizacao regras) {
+        Map<String, String> categoriaPorPalavra = new HashMap<>();
+        for (RegrasCategorizacao.Categoria categoria : regras.categorias()) {
+            if (categoria.nome() == null || categoria.nome().isBlank()) {
+                throw new IllegalArgumentException("categoria sem nome em categorias.json");
+            }
+            for (String palavra : categoria.palavras()) {
+                String anterior = categoriaPorPalavra.put(palavra, categoria.nome());
+                if (anterior != null) {
+                    throw new IllegalArgumentException("palavra-chave \"" + palavra + "\" repetida nas categorias "
+                            + anterior + " e " + categoria.nome());
+                }
+            }
+        }
+        palavras = new AutomatoPalavrasChave<>(categoriaPorPalavra);
+        quantidadePalavras = categoriaPorPalavra.size();
+        canais = regras.canais().stream().map(AutomatoPalavrasChave::normalizar).collect(Collectors.toUnmodifiableSet());
+    }
+
+    // Sem categoria ou com uma que só diz o canal de pagamento
+    public boolean precisaCategorizar(String categoria) {
+        return categoria == null || categoria.isBlank() || canais.contains(AutomatoPalavrasChave.normalizar(categoria));
+    }
+
+    // O estabelecimento decide antes da descrição; null se nenhuma palavra-chave aparecer
+    public String porPalavraChave(String estabelecimento, String descricao) {
+        String categoria = palavras.buscar(estabelecimento);
+        return categoria != null ? categoria : palavras.buscar(descricao);
+    }
+
+    public int quantidadePalavras() {
+        return quantidadePalavras;
+    }
+
+    public int estados() {
+        return palavras.estados();
+    }
+}
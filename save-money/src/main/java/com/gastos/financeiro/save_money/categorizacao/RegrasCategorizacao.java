@@ -0,0 +1,24 @@
+package com.gastos.financeiro.save_money.categorizacao;
+
+import java.util.List;
+
+// Conteúdo do arquivo categorias.json. canais são as categorias que só dizem o meio de pagamento
+// (as que o app e as regras de SMS gravam, como "PIX "); um gasto com uma delas, ou sem categoria,
+// é categorizado na ingestão. Cada categoria traz as palavras-chave que a identificam.
+public record RegrasCategorizacao(List<String> canais, List<Categoria> categorias) {
+
+    public record Categoria(String nome, List<String> palavras) {
+
+        public List<String> palavras() {
+            return palavras != null ? palavras : List.of();
+        }
+    }
+
+    public List<String> canais() {
+        return canais != null ? canais : List.of();
+    }
+
+    public List<Categoria> categorias() {
+        return categorias != null ? categorias : List.of();
+    }
+}
@@ -0,0 +1,63 @@
+package com.gastos.financeiro.save_money.config;
+
+import com.gastos.financeiro.save_money.cache.CacheLeitura;
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.dto.ResumoFinanceiro;
+import com.gastos.financeiro.save_money.dto.TotalCategoria;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.MetaFinanceira;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.model.RollupGastoMensal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+// Caches de leitura das entidades (por id) e das consultas agregadas (por período).
+// A invalidação fica no InvalidacaoCacheService, que escuta os eventos de escrita dos controllers.
+@Configuration
+public class CacheConfig {
+
+    @Value("${save-money.cache.entidades.tamanho-maximo:10000}")
+    private int tamanhoEntidades;
+
+    @Value("${save-money.cache.entidades.ttl-segundos:600}")
+    private long ttlEntidades;
+
+    @Value("${save-money.cache.agregados.tamanho-maximo:500}")
+    private int tamanhoAgregados;
+
+    @Value("${save-money.cache.agregados.ttl-segundos:300}")
+    private long ttlAgregados;
+
+    @Bean
+    public CacheLeitura<Long, Gasto> cacheGastos() {
+        return new CacheLeitura<>("gastos", tamanhoEntidades, ttlEntidades);
+    }
+
+    @Bean
+    public CacheLeitura<Long, Receita> cacheReceitas() {
+        return new CacheLeitura<>("receitas", tamanhoEntidades, ttlEntidades);
+    }
+
+    @Bean
+    public CacheLeitura<Long, MetaFinanceira> cacheMetas() {
+        return new CacheLeitura<>("metas", tamanhoEntidades, ttlEntidades);
+    }
+
+    @Bean
+    public CacheLeitura<Periodo, ResumoFinanceiro> cacheResumos() {
+        return new CacheLeitura<>("resumos", tamanhoAgregados, ttlAgregados);
+    }
+
+    @Bean
+    public CacheLeitura<Periodo, List<TotalCategoria>> cacheRelatorioCategorias() {
+        return new CacheLeitura<>("relatorio-categorias", tamanhoAgregados, ttlAgregados);
+    }
+
+    @Bean
+    public CacheLeitura<Periodo, List<RollupGastoMensal>> cacheRelatorioMensal() {
+        return new CacheLeitura<>("relatorio-mensal", tamanhoAgregados, ttlAgregados);
+    }
+}
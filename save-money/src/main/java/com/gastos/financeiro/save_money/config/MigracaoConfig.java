@@ -0,0 +1,23 @@
+package com.gastos.financeiro.save_money.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// O flyway do Spring Boot aplica db/migration antes do hibernate subir. Esta estratégia só lê
+// spring.flyway.enabled em tempo de execução: no build AOT a autoconfiguração do flyway já foi
+// decidida, e o treino do CDS (spring.flyway.enabled=false) precisa subir o contexto sem banco.
+@Configuration
+public class MigracaoConfig {
+
+    @Bean
+    public FlywayMigrationStrategy estrategiaMigracao(Environment environment) {
+        return flyway -> {
+            if (!environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
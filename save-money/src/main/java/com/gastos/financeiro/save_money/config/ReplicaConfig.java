@@ -0,0 +1,76 @@
+package com.gastos.financeiro.save_money.config;
+
+import com.gastos.financeiro.save_money.replica.MonitorReplica;
+import com.gastos.financeiro.save_money.replica.RoteamentoDataSource;
+import com.gastos.financeiro.save_money.replica.RoteamentoLeitura;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Com save-money.replica.habilitada=true, troca o DataSource único por dois pools (primário e réplica)
+// atrás de um DataSource de roteamento. O primário continua vindo de spring.datasource.*; a réplica,
+// de save-money.replica.*. Desligado, o Spring Boot monta o DataSource de sempre.
+@Configuration
+@ConditionalOnProperty(prefix = "save-money.replica", name = "habilitada", havingValue = "true")
+public class ReplicaConfig {
+
+    public static final String NOME_POOL_REPLICA = "dataSourceReplica";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+        HikariDataSource dataSource = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("save-money-primario");
+        return dataSource;
+    }
+
+    @Bean(NOME_POOL_REPLICA)
+    public HikariDataSource dataSourceReplica(@Value("${save-money.replica.url}") String url,
+                                              @Value("${save-money.replica.username:${spring.datasource.username}}") String usuario,
+                                              @Value("${save-money.replica.password:${spring.datasource.password}}") String senha,
+                                              @Value("${save-money.replica.tamanho-pool:10}") int tamanhoPool) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(usuario);
+        dataSource.setPassword(senha);
+        dataSource.setMaximumPoolSize(tamanhoPool);
+        dataSource.setPoolName("save-money-replica");
+        // Proteção extra: nada escrito por engano chega à réplica
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean(initMethod = "iniciar", destroyMethod = "encerrar")
+    public MonitorReplica monitorReplica(@Qualifier(NOME_POOL_REPLICA) HikariDataSource replica,
+                                         RoteamentoLeitura roteamentoLeitura,
+                                         @Value("${save-money.replica.consulta-atraso:}") String consultaAtraso,
+                                         @Value("${save-money.replica.atraso-maximo-ms:2000}") long toleranciaMs,
+                                         @Value("${save-money.replica.intervalo-verificacao-ms:1000}") long intervaloMs) {
+        return new MonitorReplica(replica, roteamentoLeitura, consultaAtraso, toleranciaMs, intervaloMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") HikariDataSource primario,
+                                 @Qualifier(NOME_POOL_REPLICA) HikariDataSource replica,
+                                 RoteamentoLeitura roteamentoLeitura) {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(roteamentoLeitura);
+        roteamento.setTargetDataSources(Map.of(
+                RoteamentoDataSource.Destino.PRIMARIO, primario,
+                RoteamentoDataSource.Destino.REPLICA, replica));
+        roteamento.setDefaultTargetDataSource(primario);
+        roteamento.afterPropertiesSet();
+        // O proxy adia a conexão real até o primeiro comando SQL, quando o readOnly da transação já vale
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+}
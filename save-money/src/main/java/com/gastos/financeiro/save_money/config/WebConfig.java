@@ -1,18 +1,50 @@
 package com.gastos.financeiro.save_money.config;
 
+import com.gastos.financeiro.save_money.cache.EtagInterceptor;
+import com.gastos.financeiro.save_money.cache.VersaoTabelas;
+import com.gastos.financeiro.save_money.limite.LimiteIngestaoInterceptor;
+import com.gastos.financeiro.save_money.replica.RoteamentoLeitura;
+import com.gastos.financeiro.save_money.replica.RoteamentoLeituraInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration // Indica que esta é uma classe de configuração Spring
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
+    @Autowired
+    private RoteamentoLeitura roteamentoLeitura;
+
+    @Autowired
+    private RoteamentoLeituraInterceptor roteamentoLeituraInterceptor;
+
+    @Autowired
+    private LimiteIngestaoInterceptor limiteIngestaoInterceptor;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**") // Permite CORS para todos os endpoints sob /api/
                 .allowedOrigins("http://localhost:5173") // A origem do seu frontend (ou a porta que seu Vite está usando)
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // Métodos HTTP permitidos
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS") // Métodos HTTP permitidos
                 .allowedHeaders("*") // Permite todos os cabeçalhos
+                .exposedHeaders("ETag", "Location", "Retry-After") // Cabeçalhos que o frontend pode ler nas respostas
                 .allowCredentials(true); // Se você usar cookies ou autenticação baseada em sessão, isso é necessário
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Escritas acima do limite do dispositivo param aqui, antes de qualquer outro interceptor
+        registry.addInterceptor(limiteIngestaoInterceptor).addPathPatterns("/api/gastos/**", "/api/receitas/**", "/api/ingest/**", "/api/importacao/**");
+        registry.addInterceptor(roteamentoLeituraInterceptor).addPathPatterns("/api/**"); // GETs podem ir para a réplica
+        // ETag + 304 nas leituras, a partir das versões de cada tabela que o endpoint lê
+        registry.addInterceptor(new EtagInterceptor(versaoTabelas, roteamentoLeitura, VersaoTabelas.Tabela.GASTOS)).addPathPatterns("/api/gastos/**", "/api/relatorios/**");
+        registry.addInterceptor(new EtagInterceptor(versaoTabelas, roteamentoLeitura, VersaoTabelas.Tabela.RECEITAS)).addPathPatterns("/api/receitas/**");
+        registry.addInterceptor(new EtagInterceptor(versaoTabelas, roteamentoLeitura, VersaoTabelas.Tabela.METAS)).addPathPatterns("/api/meta_financeira/**");
+        registry.addInterceptor(new EtagInterceptor(versaoTabelas, roteamentoLeitura, VersaoTabelas.Tabela.GASTOS, VersaoTabelas.Tabela.RECEITAS)).addPathPatterns("/api/resumo/**");
+    }
 }
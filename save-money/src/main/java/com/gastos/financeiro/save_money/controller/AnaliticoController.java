@@ -0,0 +1,95 @@
+package com.gastos.financeiro.save_money.controller;
+
+import com.gastos.financeiro.save_money.dto.ParticipacaoCategoria;
+import com.gastos.financeiro.save_money.dto.ResumoFinanceiro;
+import com.gastos.financeiro.save_money.dto.TotalOrigem;
+import com.gastos.financeiro.save_money.service.AnaliticoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+// Consultas analíticas respondidas pelo motor em memória. Enquanto a primeira carga não termina
+// (ou com o motor desligado) respondem 503; /api/resumo e /api/relatorios continuam indo ao banco.
+@RestController
+@RequestMapping("/api/analitico")
+public class AnaliticoController {
+
+    private static final int LIMITE_PADRAO = 10;
+    private static final int LIMITE_MAXIMO = 100;
+
+    @Autowired
+    private AnaliticoService analiticoService;
+
+    // Mesmo formato do GET /api/resumo (padrão: mês atual)
+    @GetMapping("/resumo")
+    public ResponseEntity<ResumoFinanceiro> resumo(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim){
+        return consultar(inicio, fim, analiticoService::resumir);
+    }
+
+    // Gastos por categoria, com o percentual de cada uma no total do período
+    @GetMapping("/categorias")
+    public ResponseEntity<List<ParticipacaoCategoria>> participacaoCategorias(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim){
+        return consultar(inicio, fim, analiticoService::participacaoCategorias);
+    }
+
+    // Estabelecimentos com maior gasto no período
+    @GetMapping("/estabelecimentos")
+    public ResponseEntity<List<TotalOrigem>> maioresEstabelecimentos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "" + LIMITE_PADRAO) int limite){
+        int quantos = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        return consultar(inicio, fim, (de, ate) -> analiticoService.maioresEstabelecimentos(de, ate, quantos));
+    }
+
+    // Fontes de receita com maior valor no período
+    @GetMapping("/fontes")
+    public ResponseEntity<List<TotalOrigem>> maioresFontes(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "" + LIMITE_PADRAO) int limite){
+        int quantos = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        return consultar(inicio, fim, (de, ate) -> analiticoService.maioresFontes(de, ate, quantos));
+    }
+
+    // Linhas carregadas, memória das colunas, tamanho dos dicionários e duração da última carga
+    @GetMapping("/estatisticas")
+    public ResponseEntity<Map<String, Object>> estatisticas(){
+        return new ResponseEntity<>(analiticoService.estatisticas(), HttpStatus.OK);
+    }
+
+    // Recarrega do banco agora (a recarga periódica continua)
+    @PostMapping("/recarregar")
+    public ResponseEntity<Map<String, Object>> recarregar(){
+        if (!analiticoService.habilitado()) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        analiticoService.recarregar();
+        return new ResponseEntity<>(analiticoService.estatisticas(), HttpStatus.OK);
+    }
+
+    private <T> ResponseEntity<T> consultar(LocalDate inicio, LocalDate fim, BiFunction<LocalDate, LocalDate, T> consulta) {
+        if (!analiticoService.pronto()) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        YearMonth mesAtual = YearMonth.now();
+        LocalDate de = inicio != null ? inicio : mesAtual.atDay(1);
+        LocalDate ate = fim != null ? fim : mesAtual.atEndOfMonth();
+        if (ate.isBefore(de)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(consulta.apply(de, ate), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,40 @@
+package com.gastos.financeiro.save_money.controller;
+
+import com.gastos.financeiro.save_money.cache.CacheLeitura;
+import com.gastos.financeiro.save_money.cache.EstatisticasCache;
+import com.gastos.financeiro.save_money.cache.VersaoTabelas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private List<CacheLeitura<?, ?>> caches;
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
+    // Acertos, falhas e despejos de cada cache, para ajustar tamanho e TTL
+    @GetMapping("/estatisticas")
+    public ResponseEntity<List<EstatisticasCache>> estatisticasCache(){
+        List<EstatisticasCache> estatisticas = caches.stream()
+                .map(CacheLeitura::estatisticas)
+                .sorted(Comparator.comparing(EstatisticasCache::nome))
+                .toList();
+        return new ResponseEntity<>(estatisticas, HttpStatus.OK);
+    }
+
+    // Versão atual de cada tabela e quantos GETs condicionais responderam 304
+    @GetMapping("/versoes")
+    public ResponseEntity<Map<String, Object>> versoesTabelas(){
+        return new ResponseEntity<>(versaoTabelas.estatisticas(), HttpStatus.OK);
+    }
+}
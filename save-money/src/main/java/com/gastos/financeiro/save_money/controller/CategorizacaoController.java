@@ -0,0 +1,45 @@
+package com.gastos.financeiro.save_money.controller;
+
+import com.gastos.financeiro.save_money.service.CategorizacaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/categorizacao")
+public class CategorizacaoController {
+
+    @Autowired
+    private CategorizacaoService categorizacaoService;
+
+    // Quantos gastos foram categorizados por correção, por palavra-chave ou ficaram sem categoria
+    @GetMapping("/estatisticas")
+    public ResponseEntity<Map<String, Object>> estatisticas(){
+        return new ResponseEntity<>(categorizacaoService.estatisticas(), HttpStatus.OK);
+    }
+
+    // Categoria que um gasto com esse estabelecimento/descrição receberia (null se nenhuma)
+    @GetMapping("/sugestao")
+    public ResponseEntity<Map<String, Object>> sugerir(
+            @RequestParam(required = false) String estabelecimento,
+            @RequestParam(required = false) String descricao){
+        Map<String, Object> sugestao = new HashMap<>();
+        sugestao.put("categoria", categorizacaoService.sugerir(estabelecimento, descricao));
+        return new ResponseEntity<>(sugestao, HttpStatus.OK);
+    }
+
+    // Relê categorias.json sem reiniciar a aplicação; com erro no arquivo, as palavras atuais continuam valendo
+    @PostMapping("/regras/recarregar")
+    public ResponseEntity<Map<String, Object>> recarregarRegras(){
+        try {
+            return new ResponseEntity<>(Map.of("quantidade", categorizacaoService.recarregar()), HttpStatus.OK);
+        } catch (IllegalArgumentException | IOException e) {
+            return new ResponseEntity<>(Map.of("erro", String.valueOf(e.getMessage())), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
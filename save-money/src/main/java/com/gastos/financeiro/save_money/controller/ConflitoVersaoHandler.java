@@ -0,0 +1,17 @@
+package com.gastos.financeiro.save_money.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// Duas escritas na mesma linha: o @Version barrou a segunda. O cliente relê e tenta de novo, então é 409, não 500.
+@RestControllerAdvice
+public class ConflitoVersaoHandler {
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Void> conflito(ObjectOptimisticLockingFailureException e) {
+        return new ResponseEntity<>(HttpStatus.CONFLICT);
+    }
+}
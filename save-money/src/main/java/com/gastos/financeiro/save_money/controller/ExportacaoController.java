@@ -0,0 +1,62 @@
+package com.gastos.financeiro.save_money.controller;
+
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.exportacao.FormatoExportacao;
+import com.gastos.financeiro.save_money.service.ExportacaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/exportacao")
+public class ExportacaoController {
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    // Exporta gastos e receitas para a contabilidade: /api/exportacao/csv ou /api/exportacao/ofx,
+    // com inicio/fim (yyyy-MM-dd) opcionais. Com compactar=true o arquivo sai em .gz.
+    @GetMapping("/{formato}")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @PathVariable String formato,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "false") boolean compactar){
+        FormatoExportacao tipo;
+        try {
+            tipo = FormatoExportacao.valueOf(formato.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        if (inicio != null && fim != null && fim.isBefore(inicio)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Periodo periodo = Periodo.de(inicio, fim);
+
+        String arquivo = "transacoes." + tipo.extensao() + (compactar ? ".gz" : "");
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.setContentType(MediaType.parseMediaType(compactar ? "application/gzip" : tipo.tipoConteudo() + ";charset=UTF-8"));
+        cabecalhos.setContentDisposition(ContentDisposition.attachment().filename(arquivo).build());
+
+        StreamingResponseBody corpo = saida -> {
+            if (compactar) {
+                GZIPOutputStream gzip = new GZIPOutputStream(saida, 8192);
+                exportacaoService.exportar(tipo, periodo, gzip);
+                // Escreve o rodapé do gzip sem fechar a resposta, que é do container
+                gzip.finish();
+            } else {
+                exportacaoService.exportar(tipo, periodo, saida);
+            }
+        };
+        return new ResponseEntity<>(corpo, cabecalhos, HttpStatus.OK);
+    }
+}
@@ -1,12 +1,30 @@
 package com.gastos.financeiro.save_money.controller;
 
+import com.gastos.financeiro.save_money.cache.CacheLeitura;
+import com.gastos.financeiro.save_money.dto.Cursor;
+import com.gastos.financeiro.save_money.dto.GastoResumo;
+import com.gastos.financeiro.save_money.dto.PaginaCursor;
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.dto.ResultadoLote;
 import com.gastos.financeiro.save_money.model.Gasto;
 import com.gastos.financeiro.save_money.repository.GastoRepository;
+import com.gastos.financeiro.save_money.service.DeduplicacaoService;
+import com.gastos.financeiro.save_money.service.GastoService;
+import com.gastos.financeiro.save_money.service.JsonStreamService;
+import com.gastos.financeiro.save_money.service.LoteService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,23 +32,205 @@ import java.util.Optional;
 @RequestMapping("/api/gastos")
 public class GastoController {
 
+    private static final int TAMANHO_PAGINA_PADRAO = 50;
+    private static final int TAMANHO_PAGINA_MAXIMO = 500;
+    private static final int TAMANHO_LOTE_MAXIMO = 5000;
+    private static final int TAMANHO_TERMO_MAXIMO = 100;
+
     @Autowired
     private GastoRepository gastoRepository;
 
-    // Endpoint para criar um novo gasto
+    @Autowired
+    private JsonStreamService jsonStreamService;
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    private DeduplicacaoService deduplicacaoService;
+
+    // Escritas de um gasto por vez, cada uma na mesma transação dos seus eventos (rollup, metas)
+    @Autowired
+    private GastoService gastoService;
+
+    // Cache das leituras por id, invalidado pelos eventos de escrita
+    @Autowired
+    private CacheLeitura<Long, Gasto> cacheGastos;
+
+    // Endpoint para criar um novo gasto.
+    // Se o mesmo SMS já foi gravado (reenvio do app), devolve o gasto existente com 200 em vez de 201.
+    // Sem categoria (ou só com o canal, como "PIX"), recebe a sugerida pelo CategorizacaoService.
     @PostMapping
     public ResponseEntity<Gasto> criarGasto(@RequestBody Gasto gasto){
-        Gasto novoGasto = gastoRepository.save(gasto);
+        String hash = DeduplicacaoService.calcularHash(gasto);
+        gasto.setHashConteudo(hash);
+        if (hash != null) {
+            Optional<Gasto> existente = deduplicacaoService.buscarExistente(hash);
+            if (existente.isPresent()) {
+                return new ResponseEntity<>(existente.get(), HttpStatus.OK);
+            }
+        }
+
+        Gasto novoGasto;
+        try {
+            novoGasto = gastoService.criar(gasto);
+        } catch (DataIntegrityViolationException e) {
+            // Dois envios iguais ao mesmo tempo: o índice único barrou o segundo
+            if (hash == null) {
+                throw e;
+            }
+            return gastoRepository.findByHashConteudo(hash)
+                    .map(valor -> new ResponseEntity<>(valor, HttpStatus.OK))
+                    .orElseThrow(() -> e);
+        }
         return new ResponseEntity<>(novoGasto, HttpStatus.CREATED);
     }
 
-    // Endpoint para listar todos os gastos
+    // Endpoint para criar vários gastos de uma vez (backfill do celular, importação de extrato).
+    // Responde com o resultado de cada item, na mesma ordem do array recebido.
+    @PostMapping("/batch")
+    public ResponseEntity<ResultadoLote> criarGastosEmLote(@RequestBody List<Gasto> gastos){
+        if (gastos.size() > TAMANHO_LOTE_MAXIMO) {
+            return new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        ResultadoLote resultado = loteService.salvarGastos(gastos);
+        return new ResponseEntity<>(resultado, HttpStatus.CREATED);
+    }
+
+    // Endpoint para listar os gastos. Sem parâmetros devolve todos, como antes;
+    // com inicio/fim (yyyy-MM-dd), categoria e/ou estabelecimento o filtro é feito no banco, pelos índices.
     @GetMapping
-    public ResponseEntity<List<Gasto>> listarTodosGastos(){
-        List<Gasto> gastos = gastoRepository.findAll();
+    public ResponseEntity<List<Gasto>> listarTodosGastos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) String estabelecimento){
+        if (inicio == null && fim == null && categoria == null && estabelecimento == null) {
+            return new ResponseEntity<>(gastoRepository.findAll(), HttpStatus.OK);
+        }
+        Periodo periodo = Periodo.de(inicio, fim);
+        List<Gasto> gastos;
+        if (categoria != null && estabelecimento != null) {
+            gastos = gastoRepository.findByCategoriaAndEstabelecimentoAndDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHoraDescIdDesc(
+                    categoria, estabelecimento, periodo.inicioOuMinimo(), periodo.fimOuMaximo());
+        } else if (categoria != null) {
+            gastos = gastoRepository.findByCategoriaAndDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHoraDescIdDesc(
+                    categoria, periodo.inicioOuMinimo(), periodo.fimOuMaximo());
+        } else if (estabelecimento != null) {
+            gastos = gastoRepository.findByEstabelecimentoAndDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHoraDescIdDesc(
+                    estabelecimento, periodo.inicioOuMinimo(), periodo.fimOuMaximo());
+        } else {
+            gastos = gastoRepository.findByDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHoraDescIdDesc(
+                    periodo.inicioOuMinimo(), periodo.fimOuMaximo());
+        }
+        return new ResponseEntity<>(gastos, HttpStatus.OK);
+    }
+
+    // Endpoint para a tabela de gastos: mesma filtragem do GET /api/gastos, mas só com as colunas exibidas
+    @GetMapping("/lista")
+    public ResponseEntity<List<GastoResumo>> listarResumoGastos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String categoria){
+        Periodo periodo = Periodo.de(inicio, fim);
+        List<GastoResumo> gastos = categoria != null
+                ? gastoRepository.listarResumosPorCategoria(categoria, periodo.inicioOuMinimo(), periodo.fimOuMaximo())
+                : gastoRepository.listarResumos(periodo.inicioOuMinimo(), periodo.fimOuMaximo());
         return new ResponseEntity<>(gastos, HttpStatus.OK);
     }
 
+    // Endpoint para listar os gastos em páginas, do mais recente para o mais antigo.
+    // Para a próxima página basta repassar o proximoCursor recebido.
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaCursor<GastoResumo>> listarGastosPaginados(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TAMANHO_PAGINA_PADRAO) int tamanho,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String categoria){
+        Cursor posicao;
+        try {
+            posicao = cursor != null ? Cursor.decodificar(cursor) : Cursor.INICIO;
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int limite = Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+        Periodo periodo = Periodo.de(inicio, fim);
+
+        // Busca um item a mais só para saber se existe próxima página
+        PageRequest primeiros = PageRequest.of(0, limite + 1);
+        List<GastoResumo> gastos = categoria != null
+                ? gastoRepository.buscarPaginaPorCategoria(categoria, periodo.inicioOuMinimo(), periodo.fimOuMaximo(),
+                        posicao.data(), posicao.id(), primeiros)
+                : gastoRepository.buscarPagina(periodo.inicioOuMinimo(), periodo.fimOuMaximo(),
+                        posicao.data(), posicao.id(), primeiros);
+        String proximoCursor = null;
+        if (gastos.size() > limite) {
+            gastos = gastos.subList(0, limite);
+            GastoResumo ultimo = gastos.get(limite - 1);
+            proximoCursor = new Cursor(ultimo.dataHora(), ultimo.id()).codificar();
+        }
+        return new ResponseEntity<>(new PaginaCursor<>(gastos, proximoCursor), HttpStatus.OK);
+    }
+
+    // Endpoint de busca por estabelecimento e descrição, paginado como o /pagina.
+    // modo: "substring" (padrão, o termo em qualquer posição), "prefixo" ou "aproximado" (tolera erro de digitação).
+    @GetMapping("/busca")
+    public ResponseEntity<PaginaCursor<GastoResumo>> buscarGastos(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "substring") String modo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TAMANHO_PAGINA_PADRAO) int tamanho){
+        String termo = q.strip();
+        if (termo.isEmpty() || termo.length() > TAMANHO_TERMO_MAXIMO) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Cursor posicao;
+        try {
+            posicao = cursor != null ? Cursor.decodificar(cursor) : Cursor.INICIO;
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int limite = Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+
+        List<Gasto> gastos;
+        switch (modo) {
+            case "substring" -> gastos = gastoRepository.buscarPorPadrao("%" + escaparLike(termo) + "%",
+                    posicao.data(), posicao.id(), limite + 1);
+            case "prefixo" -> gastos = gastoRepository.buscarPorPadrao(escaparLike(termo) + "%",
+                    posicao.data(), posicao.id(), limite + 1);
+            case "aproximado" -> gastos = gastoRepository.buscarAproximado(termo, posicao.data(), posicao.id(), limite + 1);
+            default -> {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        }
+        String proximoCursor = null;
+        if (gastos.size() > limite) {
+            gastos = gastos.subList(0, limite);
+            Gasto ultimo = gastos.get(limite - 1);
+            proximoCursor = new Cursor(ultimo.getDataHora(), ultimo.getId()).codificar();
+        }
+        List<GastoResumo> itens = gastos.stream()
+                .map(gasto -> new GastoResumo(gasto.getId(), gasto.getValor(), gasto.getDataHora(),
+                        gasto.getEstabelecimento(), gasto.getCategoria()))
+                .toList();
+        return new ResponseEntity<>(new PaginaCursor<>(itens, proximoCursor), HttpStatus.OK);
+    }
+
+    // Endpoint para listar os gastos em fluxo: o JSON é escrito enquanto as linhas são lidas do banco
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> listarGastosEmFluxo(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String categoria){
+        Periodo periodo = Periodo.de(inicio, fim);
+        StreamingResponseBody corpo = saida -> jsonStreamService.escreverArray(
+                () -> categoria != null
+                        ? gastoRepository.streamFiltradoPorCategoria(categoria, periodo.inicioOuMinimo(), periodo.fimOuMaximo())
+                        : gastoRepository.streamFiltrado(periodo.inicioOuMinimo(), periodo.fimOuMaximo()), saida);
+        return new ResponseEntity<>(corpo, HttpStatus.OK);
+    }
+
     // Endpoint para buscar um gasto por ID
     @GetMapping("/{id}")
     /*
@@ -40,7 +240,7 @@ public class GastoController {
     Optional = é uma classe do Java 8 que é um container que pode ou não conter um valor não nulo.
     * */
     public ResponseEntity<Gasto> buscarGastoPorId(@PathVariable Long id){
-        Optional<Gasto> gasto = gastoRepository.findById(id);
+        Optional<Gasto> gasto = Optional.ofNullable(cacheGastos.buscar(id, chave -> gastoRepository.findById(chave).orElse(null)));
         /*
         Se o Optional (gasto) contiver um valor, A função lambda
         valar -> new ResponseEntity<>(value, HttpStatus.OK) é executada.
@@ -57,32 +257,45 @@ public class GastoController {
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
-    // Endpoint para atualizar um gasto existente
+    // Endpoint para atualizar um gasto existente. Exige a versão lida (If-Match ou "versao" no corpo):
+    // sem ela responde 428; com uma versão velha, 412 pelo If-Match ou 409 pelo corpo.
     @PutMapping("/{id}")
-    public ResponseEntity<Gasto> atualizarGasto(@PathVariable Long id, @RequestBody Gasto gastoAtualizado){
-        return gastoRepository.findById(id)
-                .map(gasto -> {
-                    gasto.setDescricao(gastoAtualizado.getDescricao());
-                    gasto.setValor(gastoAtualizado.getValor());
-                    gasto.setCategoria(gastoAtualizado.getCategoria());
-                    gasto.setEstabelecimento(gastoAtualizado.getEstabelecimento());
-                    gasto.setDataHora(gastoAtualizado.getDataHora());
-                    gasto.setSmsOriginal(gastoAtualizado.getSmsOriginal());
-                    Gasto salvo = gastoRepository.save(gasto);
-                    return new ResponseEntity<>(salvo, HttpStatus.OK);
-                })
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    public ResponseEntity<Gasto> atualizarGasto(@PathVariable Long id, @RequestBody Gasto gastoAtualizado,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        Optional<VersaoEsperada> versao = VersaoEsperada.de(ifMatch, gastoAtualizado.getVersao());
+        if (versao.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_REQUIRED);
+        }
+        try {
+            return gastoService.atualizar(id, gastoAtualizado, versao.get().numero())
+                    .map(salvo -> new ResponseEntity<>(salvo, HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return new ResponseEntity<>(versao.get().statusVersaoVelha());
+        }
+    }
+
+    // Endpoint para alterar só alguns campos de um gasto, com um único UPDATE.
+    // Campos ausentes ficam como estão. Com "versao" no corpo, responde 409 se o gasto mudou nesse meio tempo.
+    @PatchMapping("/{id}")
+    public ResponseEntity<Gasto> alterarGasto(@PathVariable Long id, @RequestBody Gasto alteracao){
+        return gastoService.alterar(id, alteracao)
+                .map(salvo -> new ResponseEntity<>(salvo, HttpStatus.OK))
+                // Só no caminho de erro: descobre se o gasto não existe ou se a versão estava velha
+                .orElseGet(() -> new ResponseEntity<>(gastoRepository.existsById(id) ? HttpStatus.CONFLICT : HttpStatus.NOT_FOUND));
     }
 
     // Endpoint para deletar um gasto por ID
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletarGasto(@PathVariable Long id) {
-        if (gastoRepository.existsById(id)) {
-            gastoRepository.deleteById(id);
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        } else {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+        return gastoService.remover(id)
+                .map(gasto -> new ResponseEntity<Void>(HttpStatus.NO_CONTENT))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    // O termo digitado é literal: % e _ não viram curingas do ILIKE (a barra é o escape padrão do PostgreSQL)
+    private static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
 }
@@ -0,0 +1,72 @@
+package com.gastos.financeiro.save_money.controller;
+
+import com.gastos.financeiro.save_money.importacao.FormatoImportacao;
+import com.gastos.financeiro.save_money.importacao.Importacao;
+import com.gastos.financeiro.save_money.service.ImportacaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/importacao")
+public class ImportacaoController {
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    // Recebe um extrato (multipart, campo "arquivo") e responde 202 com o id para acompanhar o progresso.
+    // O formato sai da extensão (.csv/.ofx) ou do parâmetro formato; charset padrão UTF-8.
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Importacao> importarExtrato(@RequestParam("arquivo") MultipartFile arquivo,
+                                                      @RequestParam(required = false) String formato,
+                                                      @RequestParam(defaultValue = "UTF-8") String charset) throws IOException {
+        if (arquivo.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Optional<FormatoImportacao> tipo;
+        Charset codificacao;
+        try {
+            tipo = formato != null
+                    ? Optional.of(FormatoImportacao.valueOf(formato.toUpperCase()))
+                    : FormatoImportacao.deArquivo(arquivo.getOriginalFilename());
+            codificacao = Charset.forName(charset);
+        } catch (IllegalArgumentException e) {
+            // formato desconhecido, ou charset inválido (IllegalCharsetNameException/UnsupportedCharsetException)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (tipo.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Importacao importacao;
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            importacao = importacaoService.importar(arquivo.getOriginalFilename(), tipo.get(), codificacao, conteudo);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.LOCATION, "/api/importacao/" + importacao.getId());
+        return new ResponseEntity<>(importacao, headers, HttpStatus.ACCEPTED);
+    }
+
+    // Progresso e erros por linha de uma importação
+    @GetMapping("/{id}")
+    public ResponseEntity<Importacao> buscarImportacao(@PathVariable String id){
+        return importacaoService.buscar(id)
+                .map(importacao -> new ResponseEntity<>(importacao, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    // Importações recentes, da mais antiga para a mais nova
+    @GetMapping
+    public ResponseEntity<List<Importacao>> listarImportacoes(){
+        return new ResponseEntity<>(importacaoService.listar(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,69 @@
+package com.gastos.financeiro.save_money.controller;
+
+import com.gastos.financeiro.save_money.dto.ItemRejeitado;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.service.IngestaoAssincronaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+// Só existe com save-money.ingestao.assincrona.habilitada=true
+@RestController
+@RequestMapping("/api/ingest")
+@ConditionalOnProperty(prefix = "save-money.ingestao.assincrona", name = "habilitada", havingValue = "true")
+public class IngestaoAssincronaController {
+
+    private static final int LIMITE_REJEITADOS_MAXIMO = 1000;
+
+    @Autowired
+    private IngestaoAssincronaService ingestaoService;
+
+    // Enfileira o gasto e responde 202; a gravação acontece em lote logo em seguida
+    @PostMapping("/gastos")
+    public ResponseEntity<Void> enfileirarGasto(@RequestBody Gasto gasto){
+        return ingestaoService.enfileirar(gasto) ? aceito() : filaCheia();
+    }
+
+    @PostMapping("/receitas")
+    public ResponseEntity<Void> enfileirarReceita(@RequestBody Receita receita){
+        return ingestaoService.enfileirar(receita) ? aceito() : filaCheia();
+    }
+
+    // Situação da fila, para acompanhar rajadas
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Number>> statusFila(){
+        Map<String, Number> status = Map.of(
+                "pendentes", ingestaoService.pendentes(),
+                "capacidade", ingestaoService.capacidade(),
+                "gravados", ingestaoService.gravados(),
+                "duplicados", ingestaoService.duplicados(),
+                "recusados", ingestaoService.recusados(),
+                "falhas", ingestaoService.falhas());
+        return new ResponseEntity<>(status, HttpStatus.OK);
+    }
+
+    // Itens aceitos com 202 que não foram gravados, com o motivo, dos mais recentes para os mais antigos
+    @GetMapping("/rejeitados")
+    public ResponseEntity<List<ItemRejeitado>> listarRejeitados(@RequestParam(defaultValue = "50") int limite){
+        int quantidade = Math.max(1, Math.min(limite, LIMITE_REJEITADOS_MAXIMO));
+        return new ResponseEntity<>(ingestaoService.listarRejeitados(quantidade), HttpStatus.OK);
+    }
+
+    private static ResponseEntity<Void> aceito() {
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+
+    // O app deve tentar de novo depois de Retry-After segundos
+    private static ResponseEntity<Void> filaCheia() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<>(headers, HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
@@ -0,0 +1,89 @@
+package com.gastos.financeiro.save_money.controller;
+
+import com.gastos.financeiro.save_money.dto.ResultadoIngestaoTexto;
+import com.gastos.financeiro.save_money.dto.ResultadoItem;
+import com.gastos.financeiro.save_money.dto.TextoBruto;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.sms.MensagemInterpretada;
+import com.gastos.financeiro.save_money.sms.MotorParserSms;
+import com.gastos.financeiro.save_money.sms.RegraSms;
+import com.gastos.financeiro.save_money.service.LoteService;
+import com.gastos.financeiro.save_money.service.ParserSmsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/ingest/raw")
+public class IngestaoTextoController {
+
+    @Autowired
+    private ParserSmsService parserSmsService;
+
+    @Autowired
+    private LoteService loteService;
+
+    // Recebe o texto cru do SMS ou da notificação e grava o gasto/receita reconhecido.
+    // 201 quando grava, 200 quando o mesmo SMS já tinha sido gravado e 422 quando nenhuma regra reconhece o texto.
+    // 400 quando o texto não traz a data e o corpo não traz recebidoEm: com o relógio do servidor no hash,
+    // o mesmo aviso reenviado num minuto seguinte viraria um segundo lançamento.
+    @PostMapping
+    public ResponseEntity<ResultadoIngestaoTexto> ingerirTexto(@RequestBody TextoBruto entrada){
+        Optional<MensagemInterpretada> interpretada = parserSmsService.interpretar(entrada.remetente(), entrada.texto(), entrada.recebidoEm());
+        if (interpretada.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        MensagemInterpretada mensagem = interpretada.get();
+        if (mensagem.dataHora() == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Object lancamento;
+        ResultadoItem item;
+        // Passa pelo mesmo caminho do envio em lote: validação, deduplicação por hash e eventos de escrita
+        if (mensagem.tipo() == RegraSms.TipoLancamento.GASTO) {
+            Gasto gasto = mensagem.paraGasto();
+            lancamento = gasto;
+            item = loteService.salvarGastos(List.of(gasto)).itens().get(0);
+        } else {
+            Receita receita = mensagem.paraReceita();
+            lancamento = receita;
+            item = loteService.salvarReceitas(List.of(receita)).itens().get(0);
+        }
+        ResultadoIngestaoTexto resultado = new ResultadoIngestaoTexto(mensagem.regra(), mensagem.tipo(), item.id(),
+                item.status(), lancamento);
+        HttpStatus status = switch (item.status()) {
+            case CRIADO -> HttpStatus.CREATED;
+            case DUPLICADO -> HttpStatus.OK;
+            case REJEITADO -> HttpStatus.UNPROCESSABLE_ENTITY;
+        };
+        return new ResponseEntity<>(resultado, status);
+    }
+
+    // Regras carregadas e quantas mensagens cada uma reconheceu
+    @GetMapping("/regras")
+    public ResponseEntity<Map<String, Object>> estatisticasRegras(){
+        MotorParserSms motor = parserSmsService.motor();
+        Map<String, Object> estatisticas = Map.of(
+                "quantidade", motor.quantidadeRegras(),
+                "naoReconhecidas", motor.naoReconhecidas(),
+                "regras", motor.estatisticas());
+        return new ResponseEntity<>(estatisticas, HttpStatus.OK);
+    }
+
+    // Relê o arquivo de regras sem reiniciar a aplicação; com erro no arquivo, as regras atuais continuam valendo
+    @PostMapping("/regras/recarregar")
+    public ResponseEntity<Map<String, Object>> recarregarRegras(){
+        try {
+            return new ResponseEntity<>(Map.of("quantidade", parserSmsService.recarregar()), HttpStatus.OK);
+        } catch (IllegalArgumentException | IOException e) {
+            return new ResponseEntity<>(Map.of("erro", String.valueOf(e.getMessage())), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
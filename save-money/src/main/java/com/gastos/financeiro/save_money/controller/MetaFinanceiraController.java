@@ -1,12 +1,18 @@
 package com.gastos.financeiro.save_money.controller;
 
+import com.gastos.financeiro.save_money.cache.CacheLeitura;
+import com.gastos.financeiro.save_money.dto.ProjecaoMeta;
 import com.gastos.financeiro.save_money.model.MetaFinanceira;
 import com.gastos.financeiro.save_money.repository.MetaFinanceiraRepository;
+import com.gastos.financeiro.save_money.service.MetaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,10 +24,18 @@ public class MetaFinanceiraController {
     @Autowired
     private MetaFinanceiraRepository metaFinanceiraRepository;
 
+    // Escritas na mesma transação do recálculo de progresso
+    @Autowired
+    private MetaService metaService;
+
+    // Cache das leituras por id, invalidado pelos eventos de escrita
+    @Autowired
+    private CacheLeitura<Long, MetaFinanceira> cacheMetas;
+
     // Criar uma nova meta
     @PostMapping
     public ResponseEntity<MetaFinanceira> criarMeta(@RequestBody MetaFinanceira meta){
-        MetaFinanceira novaMeta = metaFinanceiraRepository.save(meta);
+        MetaFinanceira novaMeta = metaService.criar(meta);
         return new ResponseEntity<>(novaMeta, HttpStatus.CREATED);
     }
 
@@ -35,37 +49,51 @@ public class MetaFinanceiraController {
     // Buscar por uma meta especifica
     @GetMapping("/{id}")
     public ResponseEntity<MetaFinanceira> listarMetaPorId(@PathVariable Long id){
-        Optional<MetaFinanceira> meta = metaFinanceiraRepository.findById(id);
+        Optional<MetaFinanceira> meta = Optional.ofNullable(cacheMetas.buscar(id, chave -> metaFinanceiraRepository.findById(chave).orElse(null)));
         return meta.map(valor -> new ResponseEntity<>(valor, HttpStatus.OK))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
-    // Atualizar uma meta
-    @PutMapping("/{id}")
-    public ResponseEntity<MetaFinanceira> atualizarMeta(@PathVariable Long id, @RequestBody MetaFinanceira metaAtualizada){
-        return metaFinanceiraRepository.findById(id)
-                .map(meta -> {
-                    meta.setNome(metaAtualizada.getNome());
-                    meta.setValorAlvo(metaAtualizada.getValorAlvo());
-                    meta.setValorAtual(metaAtualizada.getValorAtual());
-                    meta.setDataAlvo(metaAtualizada.getDataAlvo());
-                    meta.setStatus(metaAtualizada.getStatus());
-                    meta.setDescricao(metaAtualizada.getDescricao());
-                    MetaFinanceira salvar = metaFinanceiraRepository.save(meta);
-                    return new ResponseEntity<>(salvar, HttpStatus.OK);
-                })
+    // Projeção da meta: ritmo médio de aporte desde a criação e data estimada para chegar ao valor alvo.
+    // Usa só os valores guardados na meta, sem varrer lançamentos.
+    @GetMapping("/{id}/projecao")
+    public ResponseEntity<ProjecaoMeta> projetarMeta(@PathVariable Long id){
+        Optional<MetaFinanceira> meta = Optional.ofNullable(cacheMetas.buscar(id, chave -> metaFinanceiraRepository.findById(chave).orElse(null)));
+        return meta.map(valor -> new ResponseEntity<>(ProjecaoMeta.de(valor, LocalDate.now()), HttpStatus.OK))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
-    // Deletar uma meta
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletaMeta(@PathVariable Long id){
-        if (metaFinanceiraRepository.existsById(id)){
-            metaFinanceiraRepository.deleteById(id);
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        }else {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    // Atualizar uma meta. Exige a versão lida (If-Match ou "versao" no corpo): 428 sem ela, 412/409 se velha
+    @PutMapping("/{id}")
+    public ResponseEntity<MetaFinanceira> atualizarMeta(@PathVariable Long id, @RequestBody MetaFinanceira metaAtualizada,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        Optional<VersaoEsperada> versao = VersaoEsperada.de(ifMatch, metaAtualizada.getVersao());
+        if (versao.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_REQUIRED);
         }
+        try {
+            return metaService.atualizar(id, metaAtualizada, versao.get().numero())
+                    .map(salvar -> new ResponseEntity<>(salvar, HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return new ResponseEntity<>(versao.get().statusVersaoVelha());
+        }
+    }
+
+    // Alterar só alguns campos de uma meta (ex.: valorAtual), com um único UPDATE.
+    // Com "versao" no corpo, responde 409 se a meta mudou nesse meio tempo.
+    @PatchMapping("/{id}")
+    public ResponseEntity<MetaFinanceira> alterarMeta(@PathVariable Long id, @RequestBody MetaFinanceira alteracao){
+        return metaService.alterar(id, alteracao)
+                .map(salvar -> new ResponseEntity<>(salvar, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(metaFinanceiraRepository.existsById(id) ? HttpStatus.CONFLICT : HttpStatus.NOT_FOUND));
+    }
 
+    // Deletar uma meta (um único DELETE, que devolve a linha apagada)
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletaMeta(@PathVariable Long id){
+        return metaService.remover(id)
+                .map(meta -> new ResponseEntity<Void>(HttpStatus.NO_CONTENT))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 }
@@ -0,0 +1,35 @@
+package com.gastos.financeiro.save_money.controller;
+
+import com.gastos.financeiro.save_money.service.PainelEventosService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/eventos")
+public class PainelEventosController {
+
+    @Autowired
+    private PainelEventosService painelEventosService;
+
+    // Canal SSE com as criações, alterações e remoções de gastos, receitas e metas.
+    // O EventSource do navegador reconecta sozinho mandando Last-Event-ID; 503 quando há painéis demais.
+    // O id é "instancia-sequencia"; um id de antes de um restart faz o painel recarregar tudo.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> assinar(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoEvento){
+        return painelEventosService.conectar(ultimoEvento)
+                .map(emitter -> new ResponseEntity<>(emitter, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    // Clientes conectados e eventos enviados/descartados
+    @GetMapping("/estatisticas")
+    public ResponseEntity<Map<String, Object>> estatisticas(){
+        return new ResponseEntity<>(painelEventosService.estatisticas(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,51 @@
+package com.gastos.financeiro.save_money.controller;
+
+import com.gastos.financeiro.save_money.dto.ParticaoInfo;
+import com.gastos.financeiro.save_money.service.ParticaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DateTimeException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/particoes")
+public class ParticaoController {
+
+    @Autowired
+    private ParticaoService particaoService;
+
+    // Partições mensais de gastos e receitas, com linhas e bytes estimados
+    @GetMapping
+    public ResponseEntity<List<ParticaoInfo>> listarParticoes(){
+        return new ResponseEntity<>(particaoService.listar(), HttpStatus.OK);
+    }
+
+    // Cria agora as partições dos próximos meses (o serviço já faz isso uma vez por dia)
+    @PostMapping("/manutencao")
+    public ResponseEntity<Map<String, Integer>> criarParticoesFuturas(){
+        return new ResponseEntity<>(Map.of("criadas", particaoService.criarParticoesFuturas()), HttpStatus.OK);
+    }
+
+    // Retenção: desanexa um mês de gastos ou receitas. Os dados saem das consultas, mas a tabela
+    // do mês continua no banco para ser arquivada; os totais já somados no rollup não mudam.
+    @PostMapping("/{tabela}/{ano}/{mes}/desanexar")
+    public ResponseEntity<Void> desanexarParticao(@PathVariable String tabela, @PathVariable int ano, @PathVariable int mes){
+        if (!particaoService.tabelaParticionada(tabela)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        YearMonth periodo;
+        try {
+            periodo = YearMonth.of(ano, mes);
+        } catch (DateTimeException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return particaoService.desanexar(tabela, periodo)
+                ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+}
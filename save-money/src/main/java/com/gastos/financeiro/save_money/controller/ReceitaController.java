@@ -1,12 +1,30 @@
 package com.gastos.financeiro.save_money.controller;
 
+import com.gastos.financeiro.save_money.cache.CacheLeitura;
+import com.gastos.financeiro.save_money.dto.Cursor;
+import com.gastos.financeiro.save_money.dto.PaginaCursor;
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.dto.ReceitaResumo;
+import com.gastos.financeiro.save_money.dto.ResultadoLote;
 import com.gastos.financeiro.save_money.model.Receita;
 import com.gastos.financeiro.save_money.repository.ReceitaRepository;
+import com.gastos.financeiro.save_money.service.DeduplicacaoService;
+import com.gastos.financeiro.save_money.service.JsonStreamService;
+import com.gastos.financeiro.save_money.service.LoteService;
+import com.gastos.financeiro.save_money.service.ReceitaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,51 +32,176 @@ import java.util.Optional;
 @RequestMapping("/api/receitas")
 public class ReceitaController {
 
+    private static final int TAMANHO_PAGINA_PADRAO = 50;
+    private static final int TAMANHO_PAGINA_MAXIMO = 500;
+    private static final int TAMANHO_LOTE_MAXIMO = 5000;
+
     @Autowired
     private ReceitaRepository receitaRepository;
 
+    @Autowired
+    private JsonStreamService jsonStreamService;
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    private ReceitaService receitaService;
+
+    @Autowired
+    private CacheLeitura<Long, Receita> cacheReceitas;
+
+    // Se a mesma notificação já foi gravada (reenvio do app), devolve a receita existente com 200 em vez de 201
     @PostMapping
     public ResponseEntity<Receita> criarReceita(@RequestBody Receita receita){
-        Receita novaReceita = receitaRepository.save(receita);
+        String hash = DeduplicacaoService.calcularHash(receita);
+        receita.setHashConteudo(hash);
+        if (hash != null) {
+            Optional<Receita> existente = receitaRepository.findByHashConteudo(hash);
+            if (existente.isPresent()) {
+                return new ResponseEntity<>(existente.get(), HttpStatus.OK);
+            }
+        }
+
+        Receita novaReceita;
+        try {
+            novaReceita = receitaService.criar(receita);
+        } catch (DataIntegrityViolationException e) {
+            // Dois envios iguais ao mesmo tempo: a tabela receita_hash barrou o segundo
+            if (hash == null) {
+                throw e;
+            }
+            return receitaRepository.findByHashConteudo(hash)
+                    .map(valor -> new ResponseEntity<>(valor, HttpStatus.OK))
+                    .orElseThrow(() -> e);
+        }
         return new ResponseEntity<>(novaReceita, HttpStatus.CREATED);
     }
 
+    // Cria várias receitas numa só transação, com o resultado de cada item
+    @PostMapping("/batch")
+    public ResponseEntity<ResultadoLote> criarReceitasEmLote(@RequestBody List<Receita> receitas){
+        if (receitas.size() > TAMANHO_LOTE_MAXIMO) {
+            return new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        ResultadoLote resultado = loteService.salvarReceitas(receitas);
+        return new ResponseEntity<>(resultado, HttpStatus.CREATED);
+    }
+
+    // Sem parâmetros devolve todas; com inicio/fim e/ou categoria filtra no banco, pelos índices
     @GetMapping
-    public ResponseEntity<List<Receita>> listarTodasRceitas(){
-        List<Receita> receitas = receitaRepository.findAll();
+    public ResponseEntity<List<Receita>> listarTodasRceitas(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String categoria){
+        if (inicio == null && fim == null && categoria == null) {
+            return new ResponseEntity<>(receitaRepository.findAll(), HttpStatus.OK);
+        }
+        Periodo periodo = Periodo.de(inicio, fim);
+        List<Receita> receitas = categoria != null
+                ? receitaRepository.findByCategoriaAndDataRecebimentoGreaterThanEqualAndDataRecebimentoLessThanOrderByDataRecebimentoDescIdDesc(
+                        categoria, periodo.inicioOuMinimo(), periodo.fimOuMaximo())
+                : receitaRepository.findByDataRecebimentoGreaterThanEqualAndDataRecebimentoLessThanOrderByDataRecebimentoDescIdDesc(
+                        periodo.inicioOuMinimo(), periodo.fimOuMaximo());
         return new ResponseEntity<>(receitas, HttpStatus.OK);
     }
+
+    // Listagem leve para a tabela de receitas, sem descricao e notificacao
+    @GetMapping("/lista")
+    public ResponseEntity<List<ReceitaResumo>> listarResumoReceitas(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String categoria){
+        Periodo periodo = Periodo.de(inicio, fim);
+        List<ReceitaResumo> receitas = categoria != null
+                ? receitaRepository.listarResumosPorCategoria(categoria, periodo.inicioOuMinimo(), periodo.fimOuMaximo())
+                : receitaRepository.listarResumos(periodo.inicioOuMinimo(), periodo.fimOuMaximo());
+        return new ResponseEntity<>(receitas, HttpStatus.OK);
+    }
+
+    // Listagem paginada por cursor, do recebimento mais recente para o mais antigo
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaCursor<ReceitaResumo>> listarReceitasPaginadas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TAMANHO_PAGINA_PADRAO) int tamanho,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String categoria){
+        Cursor posicao;
+        try {
+            posicao = cursor != null ? Cursor.decodificar(cursor) : Cursor.INICIO;
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int limite = Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+        Periodo periodo = Periodo.de(inicio, fim);
+
+        PageRequest primeiras = PageRequest.of(0, limite + 1);
+        List<ReceitaResumo> receitas = categoria != null
+                ? receitaRepository.buscarPaginaPorCategoria(categoria, periodo.inicioOuMinimo(), periodo.fimOuMaximo(),
+                        posicao.data(), posicao.id(), primeiras)
+                : receitaRepository.buscarPagina(periodo.inicioOuMinimo(), periodo.fimOuMaximo(),
+                        posicao.data(), posicao.id(), primeiras);
+        String proximoCursor = null;
+        if (receitas.size() > limite) {
+            receitas = receitas.subList(0, limite);
+            ReceitaResumo ultima = receitas.get(limite - 1);
+            proximoCursor = new Cursor(ultima.dataRecebimento(), ultima.id()).codificar();
+        }
+        return new ResponseEntity<>(new PaginaCursor<>(receitas, proximoCursor), HttpStatus.OK);
+    }
+
+    // Listagem em fluxo, sem montar a lista em memória
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> listarReceitasEmFluxo(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String categoria){
+        Periodo periodo = Periodo.de(inicio, fim);
+        StreamingResponseBody corpo = saida -> jsonStreamService.escreverArray(
+                () -> categoria != null
+                        ? receitaRepository.streamFiltradoPorCategoria(categoria, periodo.inicioOuMinimo(), periodo.fimOuMaximo())
+                        : receitaRepository.streamFiltrado(periodo.inicioOuMinimo(), periodo.fimOuMaximo()), saida);
+        return new ResponseEntity<>(corpo, HttpStatus.OK);
+    }
     @GetMapping("/{id}")
     public ResponseEntity<Receita> buscaReceitaPorId(@PathVariable Long id){
-        Optional<Receita> receita = receitaRepository.findById(id);
+        Optional<Receita> receita = Optional.ofNullable(cacheReceitas.buscar(id, chave -> receitaRepository.findById(chave).orElse(null)));
         return receita.map(valor -> new ResponseEntity<>(valor, HttpStatus.OK))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    // Exige a versão lida (If-Match ou "versao" no corpo), como o PUT de gastos: 428 sem ela, 412/409 se velha
     @PutMapping("/{id}")
-    public ResponseEntity<Receita> atualizarReceita(@PathVariable Long id, @RequestBody Receita receitaAtualizada){
-        return receitaRepository.findById(id)
-                .map(receita -> {
-                    receita.setCategoria(receitaAtualizada.getCategoria());
-                    receita.setValor(receitaAtualizada.getValor());
-                    receita.setFonte(receitaAtualizada.getFonte());
-                    receita.setDescricao(receitaAtualizada.getDescricao());
-                    receita.setDataRecebimento(receitaAtualizada.getDataRecebimento());
-                    receita.setNotificacao(receitaAtualizada.getNotificacao());
-                    Receita salvo = receitaRepository.save(receita);
-                    return new ResponseEntity<>(salvo, HttpStatus.OK);
-                })
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    public ResponseEntity<Receita> atualizarReceita(@PathVariable Long id, @RequestBody Receita receitaAtualizada,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        Optional<VersaoEsperada> versao = VersaoEsperada.de(ifMatch, receitaAtualizada.getVersao());
+        if (versao.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_REQUIRED);
+        }
+        try {
+            return receitaService.atualizar(id, receitaAtualizada, versao.get().numero())
+                    .map(salvo -> new ResponseEntity<>(salvo, HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return new ResponseEntity<>(versao.get().statusVersaoVelha());
+        }
     }
 
 
+    // Alteração parcial com um único UPDATE; campos ausentes ficam como estão.
+    // Com "versao" no corpo, responde 409 se a receita mudou nesse meio tempo.
+    @PatchMapping("/{id}")
+    public ResponseEntity<Receita> alterarReceita(@PathVariable Long id, @RequestBody Receita alteracao){
+        return receitaService.alterar(id, alteracao)
+                .map(salvo -> new ResponseEntity<>(salvo, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(receitaRepository.existsById(id) ? HttpStatus.CONFLICT : HttpStatus.NOT_FOUND));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletaReceitaPorId(@PathVariable Long id){
-        if (receitaRepository.existsById(id)){
-            receitaRepository.deleteById(id);
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        }else {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+        return receitaService.remover(id)
+                .map(receita -> new ResponseEntity<Void>(HttpStatus.NO_CONTENT))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 }
@@ -0,0 +1,52 @@
+package com.gastos.financeiro.save_money.controller;
+
+import com.gastos.financeiro.save_money.dto.TotalCategoria;
+import com.gastos.financeiro.save_money.model.RollupGastoMensal;
+import com.gastos.financeiro.save_money.service.RollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/relatorios")
+public class RelatorioController {
+
+    @Autowired
+    private RollupService rollupService;
+
+    // Total de gastos por categoria entre dois meses (ex.: ?inicio=2025-01&fim=2025-07), padrão: mês atual
+    @GetMapping("/categorias")
+    public ResponseEntity<List<TotalCategoria>> gastosPorCategoria(@RequestParam(required = false) YearMonth inicio,
+                                                                   @RequestParam(required = false) YearMonth fim){
+        YearMonth de = inicio != null ? inicio : YearMonth.now();
+        YearMonth ate = fim != null ? fim : de;
+        if (ate.isBefore(de)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(rollupService.totalizarPorCategoria(de, ate), HttpStatus.OK);
+    }
+
+    // Linhas do rollup (mês x categoria) entre dois meses
+    @GetMapping("/mensal")
+    public ResponseEntity<List<RollupGastoMensal>> gastosPorMes(@RequestParam(required = false) YearMonth inicio,
+                                                               @RequestParam(required = false) YearMonth fim){
+        YearMonth de = inicio != null ? inicio : YearMonth.now();
+        YearMonth ate = fim != null ? fim : de;
+        if (ate.isBefore(de)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(rollupService.buscarMeses(de, ate), HttpStatus.OK);
+    }
+
+    // Recalcula o rollup inteiro a partir da tabela gastos
+    @PostMapping("/reconstruir")
+    public ResponseEntity<Map<String, Integer>> reconstruirRollup(){
+        int linhas = rollupService.reconstruir();
+        return new ResponseEntity<>(Map.of("linhas", linhas), HttpStatus.OK);
+    }
+}
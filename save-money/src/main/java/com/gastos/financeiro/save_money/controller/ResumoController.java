@@ -0,0 +1,34 @@
+package com.gastos.financeiro.save_money.controller;
+
+import com.gastos.financeiro.save_money.dto.ResumoFinanceiro;
+import com.gastos.financeiro.save_money.service.ResumoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/resumo")
+public class ResumoController {
+
+    @Autowired
+    private ResumoService resumoService;
+
+    // Totais de receitas, gastos e saldo do período (por padrão, o mês atual)
+    @GetMapping
+    public ResponseEntity<ResumoFinanceiro> resumoFinanceiro(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim){
+        YearMonth mesAtual = YearMonth.now();
+        LocalDate de = inicio != null ? inicio : mesAtual.atDay(1);
+        LocalDate ate = fim != null ? fim : mesAtual.atEndOfMonth();
+        if (ate.isBefore(de)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(resumoService.resumir(de, ate), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,34 @@
+package com.gastos.financeiro.save_money.controller;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.Optional;
+
+// Versão que o cliente leu antes de um PUT, para a substituição não apagar uma escrita que ele não viu.
+// Vem do If-Match ("3", W/"3" ou 3) ou, sem ele, do campo versao do corpo. If-Match: * não diz versão
+// nenhuma. Um If-Match que não é uma versão de linha (ex.: a ETag de uma listagem) nunca bate.
+record VersaoEsperada(long numero, boolean doIfMatch) {
+
+    static Optional<VersaoEsperada> de(String ifMatch, Long versaoCorpo) {
+        if (ifMatch != null && !ifMatch.isBlank() && !"*".equals(ifMatch.strip())) {
+            String valor = ifMatch.strip();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.length() >= 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+                valor = valor.substring(1, valor.length() - 1);
+            }
+            try {
+                return Optional.of(new VersaoEsperada(Long.parseLong(valor), true));
+            } catch (NumberFormatException e) {
+                return Optional.of(new VersaoEsperada(-1, true));
+            }
+        }
+        return Optional.ofNullable(versaoCorpo).map(versao -> new VersaoEsperada(versao, false));
+    }
+
+    // Pelo If-Match, uma versão velha é uma pré-condição que falhou (412); pelo corpo, um conflito (409)
+    HttpStatus statusVersaoVelha() {
+        return doIfMatch ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+    }
+}
@@ -0,0 +1,29 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Posição da paginação por chave (keyset): a data e o id do último item devolvido.
+// O cliente recebe o cursor codificado em base64 e só precisa devolvê-lo na próxima chamada.
+public record Cursor(LocalDateTime data, Long id) {
+
+    // Primeira página: uma posição depois de qualquer lançamento, para a consulta sempre ter o limite
+    public static final Cursor INICIO = new Cursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    public String codificar() {
+        String bruto = data + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Lança IllegalArgumentException se o cursor não foi gerado por este backend
+    public static Cursor decodificar(String cursor) {
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = bruto.indexOf('|');
+            return new Cursor(LocalDateTime.parse(bruto.substring(0, separador)), Long.parseLong(bruto.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+}
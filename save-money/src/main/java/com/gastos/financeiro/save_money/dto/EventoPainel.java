@@ -0,0 +1,7 @@
+package com.gastos.financeiro.save_money.dto;
+
+// Uma alteração enviada aos painéis conectados em /api/eventos.
+// entidade: gasto, receita ou meta; operacao: criado, atualizado, removido ou recarregar
+// (quando o painel deve buscar a lista de novo). dados é null na remoção e no recarregar.
+public record EventoPainel(long sequencia, String entidade, String operacao, Long id, Object dados) {
+}
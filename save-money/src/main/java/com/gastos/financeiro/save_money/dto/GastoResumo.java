@@ -0,0 +1,9 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Linha das listagens de gastos: só as colunas que a tabela da tela mostra.
+// smsOriginal e descricao ficam para o GET /api/gastos/{id}.
+public record GastoResumo(Long id, BigDecimal valor, LocalDateTime dataHora, String estabelecimento, String categoria) {
+}
@@ -0,0 +1,9 @@
+package com.gastos.financeiro.save_money.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+// Linha de ingestao_rejeitada: o item como chegou na fila (JSON) e o motivo de não ter sido gravado
+public record ItemRejeitado(Long id, String tipo, @JsonRawValue String conteudo, String erro, LocalDateTime criadaEm) {
+}
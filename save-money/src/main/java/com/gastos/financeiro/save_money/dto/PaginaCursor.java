@@ -0,0 +1,7 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.util.List;
+
+// Resposta das listagens paginadas. proximoCursor é null quando não há mais itens.
+public record PaginaCursor<T>(List<T> itens, String proximoCursor) {
+}
@@ -0,0 +1,5 @@
+package com.gastos.financeiro.save_money.dto;
+
+// Uma partição mensal (ou a padrão) de gastos/receitas, com o tamanho estimado pelas estatísticas do PostgreSQL
+public record ParticaoInfo(String tabela, String nome, String limites, long linhasEstimadas, long bytes) {
+}
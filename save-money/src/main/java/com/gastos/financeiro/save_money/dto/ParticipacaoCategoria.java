@@ -0,0 +1,7 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.math.BigDecimal;
+
+// Total de uma categoria no período e quanto ele representa (em %) do total gasto
+public record ParticipacaoCategoria(String categoria, BigDecimal total, long quantidade, double percentual) {
+}
@@ -0,0 +1,37 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Intervalo [inicio, fim) usado nos filtros por data. Os limites podem ser null (sem filtro naquele lado).
+public record Periodo(LocalDateTime inicio, LocalDateTime fim) {
+
+    // Converte as datas recebidas na URL: o dia "fim" entra inteiro no intervalo
+    public static Periodo de(LocalDate inicio, LocalDate fim) {
+        return new Periodo(
+                inicio != null ? inicio.atStartOfDay() : null,
+                fim != null ? fim.plusDays(1).atStartOfDay() : null);
+    }
+
+    // Limites usados quando o filtro não informa um dos lados: as consultas derivadas
+    // precisam de valores concretos para fazer a varredura por faixa no índice
+    private static final LocalDateTime MAIS_ANTIGO = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime MAIS_RECENTE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    public LocalDateTime inicioOuMinimo() {
+        return inicio != null ? inicio : MAIS_ANTIGO;
+    }
+
+    public LocalDateTime fimOuMaximo() {
+        return fim != null ? fim : MAIS_RECENTE;
+    }
+
+    public boolean contem(LocalDateTime data) {
+        return sobrepoe(data, data);
+    }
+
+    // Verdadeiro se algum instante entre menor e maior (inclusive) cai dentro do período
+    public boolean sobrepoe(LocalDateTime menor, LocalDateTime maior) {
+        return (inicio == null || !maior.isBefore(inicio)) && (fim == null || menor.isBefore(fim));
+    }
+}
@@ -0,0 +1,60 @@
+package com.gastos.financeiro.save_money.dto;
+
+import com.gastos.financeiro.save_money.model.MetaFinanceira;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// Progresso e projeção de uma meta calculados só com os campos da própria meta.
+// ritmoDiario considera o que veio dos lançamentos vinculados desde a dataCriacao;
+// dataEstimada é null quando ainda não há ritmo para projetar, ou quando o ritmo levaria mais de
+// HORIZONTE_DIAS (um ritmo de centavos por dia contra um alvo grande daria um ano fora do LocalDate).
+public record ProjecaoMeta(Long id,
+                           BigDecimal valorAlvo,
+                           BigDecimal valorAtual,
+                           BigDecimal restante,
+                           BigDecimal percentual,
+                           BigDecimal ritmoDiario,
+                           LocalDate dataEstimada,
+                           Boolean noPrazo,
+                           BigDecimal aporteMensalNecessario) {
+
+    private static final BigDecimal HORIZONTE_DIAS = BigDecimal.valueOf(100 * 366);
+
+    public static ProjecaoMeta de(MetaFinanceira meta, LocalDate hoje) {
+        BigDecimal alvo = meta.getValorAlvo() != null ? meta.getValorAlvo() : BigDecimal.ZERO;
+        BigDecimal atual = meta.getValorAtual() != null ? meta.getValorAtual() : BigDecimal.ZERO;
+        BigDecimal aportado = meta.getValorAportado() != null ? meta.getValorAportado() : BigDecimal.ZERO;
+        BigDecimal restante = alvo.subtract(atual).max(BigDecimal.ZERO);
+
+        BigDecimal percentual = alvo.signum() > 0
+                ? atual.multiply(BigDecimal.valueOf(100)).divide(alvo, 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        LocalDate criacao = meta.getDataCriacao() != null ? meta.getDataCriacao() : hoje;
+        long dias = Math.max(1, ChronoUnit.DAYS.between(criacao, hoje) + 1);
+        BigDecimal ritmo = aportado.divide(BigDecimal.valueOf(dias), 2, RoundingMode.HALF_UP);
+
+        LocalDate estimada = null;
+        if (restante.signum() == 0) {
+            estimada = hoje;
+        } else if (ritmo.signum() > 0) {
+            BigDecimal diasFaltando = restante.divide(ritmo, 0, RoundingMode.CEILING);
+            if (diasFaltando.compareTo(HORIZONTE_DIAS) <= 0) {
+                estimada = hoje.plusDays(diasFaltando.longValue());
+            }
+        }
+
+        Boolean noPrazo = null;
+        BigDecimal aporteMensal = null;
+        if (meta.getDataAlvo() != null) {
+            noPrazo = estimada != null && !estimada.isAfter(meta.getDataAlvo());
+            long meses = Math.max(1, ChronoUnit.MONTHS.between(hoje.withDayOfMonth(1), meta.getDataAlvo().withDayOfMonth(1)) + 1);
+            aporteMensal = restante.divide(BigDecimal.valueOf(meses), 2, RoundingMode.HALF_UP);
+        }
+
+        return new ProjecaoMeta(meta.getId(), alvo, atual, restante, percentual, ritmo, estimada, noPrazo, aporteMensal);
+    }
+}
@@ -0,0 +1,8 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Linha das listagens de receitas, sem descricao e notificacao
+public record ReceitaResumo(Long id, BigDecimal valor, LocalDateTime dataRecebimento, String fonte, String categoria) {
+}
@@ -0,0 +1,8 @@
+package com.gastos.financeiro.save_money.dto;
+
+import com.gastos.financeiro.save_money.sms.RegraSms;
+
+// Resposta do POST /api/ingest/raw: o que foi reconhecido e o lançamento gravado (ou o que já existia)
+public record ResultadoIngestaoTexto(String regra, RegraSms.TipoLancamento tipo, Long id, ResultadoItem.Status status,
+                                     Object lancamento) {
+}
@@ -0,0 +1,20 @@
+package com.gastos.financeiro.save_money.dto;
+
+// Resultado de um item de um envio em lote. indice é a posição do item no array recebido.
+// Para DUPLICADO, id é o do lançamento que já existia.
+public record ResultadoItem(int indice, Long id, Status status, String erro) {
+
+    public enum Status { CRIADO, DUPLICADO, REJEITADO }
+
+    public static ResultadoItem criado(int indice, Long id) {
+        return new ResultadoItem(indice, id, Status.CRIADO, null);
+    }
+
+    public static ResultadoItem duplicado(int indice, Long id) {
+        return new ResultadoItem(indice, id, Status.DUPLICADO, null);
+    }
+
+    public static ResultadoItem rejeitado(int indice, String erro) {
+        return new ResultadoItem(indice, null, Status.REJEITADO, erro);
+    }
+}
@@ -0,0 +1,19 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.util.List;
+
+public record ResultadoLote(int total, int inseridos, int duplicados, int rejeitados, List<ResultadoItem> itens) {
+
+    public static ResultadoLote de(List<ResultadoItem> itens) {
+        int inseridos = 0;
+        int duplicados = 0;
+        for (ResultadoItem item : itens) {
+            if (item.status() == ResultadoItem.Status.CRIADO) {
+                inseridos++;
+            } else if (item.status() == ResultadoItem.Status.DUPLICADO) {
+                duplicados++;
+            }
+        }
+        return new ResultadoLote(itens.size(), inseridos, duplicados, itens.size() - inseridos - duplicados, itens);
+    }
+}
@@ -0,0 +1,16 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Totais de receitas, gastos e saldo do período pedido, com a quebra por mês
+public record ResumoFinanceiro(LocalDate inicio,
+                               LocalDate fim,
+                               BigDecimal totalReceitas,
+                               long quantidadeReceitas,
+                               BigDecimal totalGastos,
+                               long quantidadeGastos,
+                               BigDecimal saldo,
+                               List<ResumoMensal> meses) {
+}
@@ -0,0 +1,12 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.math.BigDecimal;
+
+public record ResumoMensal(int ano,
+                           int mes,
+                           BigDecimal totalReceitas,
+                           long quantidadeReceitas,
+                           BigDecimal totalGastos,
+                           long quantidadeGastos,
+                           BigDecimal saldo) {
+}
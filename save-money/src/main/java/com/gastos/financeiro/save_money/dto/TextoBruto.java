@@ -0,0 +1,9 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.time.LocalDateTime;
+
+// Corpo do POST /api/ingest/raw: o SMS ou a notificação exatamente como o celular recebeu.
+// remetente é o número/nome de quem enviou o SMS ou o título da notificação. recebidoEm é o horário em que o
+// celular recebeu o aviso, o mesmo em cada reenvio; obrigatório quando o texto não traz a data.
+public record TextoBruto(String remetente, String texto, LocalDateTime recebidoEm) {
+}
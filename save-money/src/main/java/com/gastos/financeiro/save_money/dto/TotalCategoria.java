@@ -0,0 +1,6 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.math.BigDecimal;
+
+public record TotalCategoria(String categoria, BigDecimal total, Long quantidade) {
+}
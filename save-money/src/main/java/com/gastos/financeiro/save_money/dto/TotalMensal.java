@@ -0,0 +1,7 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.math.BigDecimal;
+
+// Linha agregada pelo banco: soma e quantidade de lançamentos de um mês
+public record TotalMensal(Integer ano, Integer mes, BigDecimal total, Long quantidade) {
+}
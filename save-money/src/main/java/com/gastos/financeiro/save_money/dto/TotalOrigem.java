@@ -0,0 +1,7 @@
+package com.gastos.financeiro.save_money.dto;
+
+import java.math.BigDecimal;
+
+// Linha dos rankings: estabelecimento (gastos) ou fonte (receitas), com soma e quantidade no período
+public record TotalOrigem(String origem, BigDecimal total, long quantidade) {
+}
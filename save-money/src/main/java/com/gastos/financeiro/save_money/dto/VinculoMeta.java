@@ -0,0 +1,9 @@
+package com.gastos.financeiro.save_money.dto;
+
+import com.gastos.financeiro.save_money.model.TipoVinculoMeta;
+
+import java.time.LocalDate;
+
+// Só o que o MetaProgressoService precisa de uma meta vinculada para repassar os lançamentos a ela
+public record VinculoMeta(Long id, TipoVinculoMeta tipoVinculo, String vinculo, LocalDate dataCriacao) {
+}
@@ -0,0 +1,29 @@
+package com.gastos.financeiro.save_money.event;
+
+import com.gastos.financeiro.save_money.model.Gasto;
+
+// Publicado pelo GastoService dentro da transação de cada escrita.
+// anterior é null na criação e atual é null na remoção.
+public record GastoEvent(Tipo tipo, Gasto anterior, Gasto atual) {
+
+    public enum Tipo { CRIADO, ATUALIZADO, REMOVIDO }
+
+    public static GastoEvent criado(Gasto atual) {
+        return new GastoEvent(Tipo.CRIADO, null, atual);
+    }
+
+    public static GastoEvent atualizado(Gasto anterior, Gasto atual) {
+        return new GastoEvent(Tipo.ATUALIZADO, anterior, atual);
+    }
+
+    public static GastoEvent removido(Gasto anterior) {
+        return new GastoEvent(Tipo.REMOVIDO, anterior, null);
+    }
+
+    // Cópia desligada do contexto JPA, para guardar os valores de antes de uma alteração
+    public static Gasto copia(Gasto gasto) {
+        return new Gasto(gasto.getId(), gasto.getValor(), gasto.getDataHora(), gasto.getDescricao(),
+                gasto.getEstabelecimento(), gasto.getCategoria(), gasto.getSmsOriginal(), gasto.getHashConteudo(),
+                gasto.getVersao());
+    }
+}
@@ -0,0 +1,9 @@
+package com.gastos.financeiro.save_money.event;
+
+import com.gastos.financeiro.save_money.model.Gasto;
+
+import java.util.List;
+
+// Publicado uma vez por envio em lote, para os ouvintes agregarem o lote inteiro de uma vez
+public record GastoLoteEvent(List<Gasto> criados) {
+}
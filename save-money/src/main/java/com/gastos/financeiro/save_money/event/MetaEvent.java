@@ -0,0 +1,29 @@
+package com.gastos.financeiro.save_money.event;
+
+import com.gastos.financeiro.save_money.model.MetaFinanceira;
+
+// Publicado pelo MetaService dentro da transação de cada escrita.
+// anterior é null na criação e atual é null na remoção.
+public record MetaEvent(Tipo tipo, MetaFinanceira anterior, MetaFinanceira atual) {
+
+    public enum Tipo { CRIADO, ATUALIZADO, REMOVIDO }
+
+    public static MetaEvent criado(MetaFinanceira atual) {
+        return new MetaEvent(Tipo.CRIADO, null, atual);
+    }
+
+    public static MetaEvent atualizado(MetaFinanceira anterior, MetaFinanceira atual) {
+        return new MetaEvent(Tipo.ATUALIZADO, anterior, atual);
+    }
+
+    public static MetaEvent removido(MetaFinanceira anterior) {
+        return new MetaEvent(Tipo.REMOVIDO, anterior, null);
+    }
+
+    // Cópia desligada do contexto JPA, para guardar os valores de antes de uma alteração
+    public static MetaFinanceira copia(MetaFinanceira meta) {
+        return new MetaFinanceira(meta.getId(), meta.getNome(), meta.getValorAlvo(), meta.getValorAtual(),
+                meta.getDataAlvo(), meta.getDataCriacao(), meta.getStatus(), meta.getDescricao(), meta.getTipoVinculo(),
+                meta.getVinculo(), meta.getValorAportado(), meta.getVersao());
+    }
+}
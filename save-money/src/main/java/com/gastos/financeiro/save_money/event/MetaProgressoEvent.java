@@ -0,0 +1,7 @@
+package com.gastos.financeiro.save_money.event;
+
+import java.util.Set;
+
+// Publicado pelo MetaProgressoService quando lançamentos vinculados mudam o valorAtual de metas
+public record MetaProgressoEvent(Set<Long> ids) {
+}
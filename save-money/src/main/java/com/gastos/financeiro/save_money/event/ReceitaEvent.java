@@ -0,0 +1,29 @@
+package com.gastos.financeiro.save_money.event;
+
+import com.gastos.financeiro.save_money.model.Receita;
+
+// Publicado pelo ReceitaService dentro da transação de cada escrita.
+// anterior é null na criação e atual é null na remoção.
+public record ReceitaEvent(Tipo tipo, Receita anterior, Receita atual) {
+
+    public enum Tipo { CRIADO, ATUALIZADO, REMOVIDO }
+
+    public static ReceitaEvent criado(Receita atual) {
+        return new ReceitaEvent(Tipo.CRIADO, null, atual);
+    }
+
+    public static ReceitaEvent atualizado(Receita anterior, Receita atual) {
+        return new ReceitaEvent(Tipo.ATUALIZADO, anterior, atual);
+    }
+
+    public static ReceitaEvent removido(Receita anterior) {
+        return new ReceitaEvent(Tipo.REMOVIDO, anterior, null);
+    }
+
+    // Cópia desligada do contexto JPA, para guardar os valores de antes de uma alteração
+    public static Receita copia(Receita receita) {
+        return new Receita(receita.getId(), receita.getValor(), receita.getDataRecebimento(), receita.getDescricao(),
+                receita.getFonte(), receita.getCategoria(), receita.getNotificacao(), receita.getHashConteudo(),
+                receita.getVersao());
+    }
+}
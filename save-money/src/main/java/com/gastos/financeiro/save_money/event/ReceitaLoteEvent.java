@@ -0,0 +1,9 @@
+package com.gastos.financeiro.save_money.event;
+
+import com.gastos.financeiro.save_money.model.Receita;
+
+import java.util.List;
+
+// Publicado uma vez por envio em lote de receitas
+public record ReceitaLoteEvent(List<Receita> criadas) {
+}
@@ -0,0 +1,8 @@
+package com.gastos.financeiro.save_money.event;
+
+import com.gastos.financeiro.save_money.cache.VersaoTabelas;
+
+// Publicado pelo VersaoTabelas quando outra instância escreveu na tabela: os caches de leitura
+// desta instância não viram os eventos dessa escrita e são limpos por inteiro
+public record TabelaAlteradaEvent(VersaoTabelas.Tabela tabela) {
+}
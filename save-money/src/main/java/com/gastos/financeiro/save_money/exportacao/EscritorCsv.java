@@ -0,0 +1,75 @@
+package com.gastos.financeiro.save_money.exportacao;
+
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// CSV (RFC 4180) com gastos e receitas na mesma planilha, separados pela coluna tipo.
+// Gastos saem com valor negativo, para a soma da coluna dar o saldo do período.
+public class EscritorCsv implements EscritorTransacoes {
+
+    private static final String CABECALHO = "tipo,id,data,valor,categoria,origem,descricao\r\n";
+
+    private final Writer saida;
+
+    public EscritorCsv(Writer saida) {
+        this.saida = saida;
+    }
+
+    @Override
+    public void inicio(Periodo periodo) throws IOException {
+        saida.write(CABECALHO);
+    }
+
+    @Override
+    public void gasto(Gasto gasto) throws IOException {
+        linha("GASTO", gasto.getId(), gasto.getDataHora().toString(), gasto.getValor().negate().toPlainString(),
+                gasto.getCategoria(), gasto.getEstabelecimento(), gasto.getDescricao());
+    }
+
+    @Override
+    public void receita(Receita receita) throws IOException {
+        linha("RECEITA", receita.getId(), receita.getDataRecebimento().toString(), receita.getValor().toPlainString(),
+                receita.getCategoria(), receita.getFonte(), receita.getDescricao());
+    }
+
+    @Override
+    public void fim() throws IOException {
+        saida.flush();
+    }
+
+    private void linha(String tipo, Long id, String data, String valor, String categoria, String origem,
+                       String descricao) throws IOException {
+        saida.write(tipo);
+        saida.write(',');
+        saida.write(String.valueOf(id));
+        saida.write(',');
+        saida.write(data);
+        saida.write(',');
+        saida.write(valor);
+        saida.write(',');
+        campo(categoria);
+        saida.write(',');
+        campo(origem);
+        saida.write(',');
+        campo(descricao);
+        saida.write("\r\n");
+    }
+
+    // Texto livre vai entre aspas quando tem separador, aspas ou quebra de linha
+    private void campo(String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            saida.write(valor);
+            return;
+        }
+        saida.write('"');
+        saida.write(valor.replace("\"", "\"\""));
+        saida.write('"');
+    }
+}
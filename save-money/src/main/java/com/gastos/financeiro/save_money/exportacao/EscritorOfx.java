@@ -0,0 +1,97 @@
+package com.gastos.financeiro.save_money.exportacao;
+
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Extrato OFX 2.2 (XML), o formato que os programas de contabilidade importam.
+// Gastos viram DEBIT e receitas CREDIT; o saldo do período é somado durante a escrita
+// e sai no LEDGERBAL, que o OFX põe depois da lista de transações.
+public class EscritorOfx implements EscritorTransacoes {
+
+    private static final DateTimeFormatter DATA_OFX = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    // Limite do campo NAME na especificação
+    private static final int TAMANHO_NOME = 32;
+
+    private final Writer saida;
+    private BigDecimal saldo = BigDecimal.ZERO;
+
+    public EscritorOfx(Writer saida) {
+        this.saida = saida;
+    }
+
+    @Override
+    public void inicio(Periodo periodo) throws IOException {
+        String agora = LocalDateTime.now().format(DATA_OFX);
+        saida.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+        saida.write("<?OFX OFXHEADER=\"200\" VERSION=\"220\" SECURITY=\"NONE\" OLDFILEUID=\"NONE\" NEWFILEUID=\"NONE\"?>\n");
+        saida.write("<OFX>\n");
+        saida.write("<SIGNONMSGSRSV1><SONRS><STATUS><CODE>0</CODE><SEVERITY>INFO</SEVERITY></STATUS>"
+                + "<DTSERVER>" + agora + "</DTSERVER><LANGUAGE>POR</LANGUAGE></SONRS></SIGNONMSGSRSV1>\n");
+        saida.write("<BANKMSGSRSV1><STMTTRNRS><TRNUID>1</TRNUID><STATUS><CODE>0</CODE><SEVERITY>INFO</SEVERITY></STATUS>\n");
+        saida.write("<STMTRS><CURDEF>BRL</CURDEF>"
+                + "<BANKACCTFROM><BANKID>0000</BANKID><ACCTID>save-money</ACCTID><ACCTTYPE>CHECKING</ACCTTYPE></BANKACCTFROM>\n");
+        saida.write("<BANKTRANLIST><DTSTART>" + periodo.inicioOuMinimo().format(DATA_OFX) + "</DTSTART>"
+                + "<DTEND>" + (periodo.fim() != null ? periodo.fim().format(DATA_OFX) : agora) + "</DTEND>\n");
+    }
+
+    @Override
+    public void gasto(Gasto gasto) throws IOException {
+        saldo = saldo.subtract(gasto.getValor());
+        transacao("DEBIT", gasto.getDataHora(), gasto.getValor().negate(), "G" + gasto.getId(),
+                gasto.getEstabelecimento(), gasto.getDescricao());
+    }
+
+    @Override
+    public void receita(Receita receita) throws IOException {
+        saldo = saldo.add(receita.getValor());
+        transacao("CREDIT", receita.getDataRecebimento(), receita.getValor(), "R" + receita.getId(),
+                receita.getFonte(), receita.getDescricao());
+    }
+
+    @Override
+    public void fim() throws IOException {
+        saida.write("</BANKTRANLIST>\n");
+        saida.write("<LEDGERBAL><BALAMT>" + saldo.toPlainString() + "</BALAMT>"
+                + "<DTASOF>" + LocalDateTime.now().format(DATA_OFX) + "</DTASOF></LEDGERBAL>\n");
+        saida.write("</STMTRS></STMTTRNRS></BANKMSGSRSV1>\n");
+        saida.write("</OFX>\n");
+        saida.flush();
+    }
+
+    // FITID leva o prefixo do tipo porque gastos e receitas têm sequências de id separadas
+    private void transacao(String tipo, LocalDateTime data, BigDecimal valor, String fitId, String nome,
+                           String memo) throws IOException {
+        saida.write("<STMTTRN><TRNTYPE>");
+        saida.write(tipo);
+        saida.write("</TRNTYPE><DTPOSTED>");
+        saida.write(data.format(DATA_OFX));
+        saida.write("</DTPOSTED><TRNAMT>");
+        saida.write(valor.toPlainString());
+        saida.write("</TRNAMT><FITID>");
+        saida.write(fitId);
+        saida.write("</FITID>");
+        if (nome != null && !nome.isBlank()) {
+            String curto = nome.strip();
+            saida.write("<NAME>");
+            saida.write(escapar(curto.length() > TAMANHO_NOME ? curto.substring(0, TAMANHO_NOME) : curto));
+            saida.write("</NAME>");
+        }
+        if (memo != null && !memo.isBlank()) {
+            saida.write("<MEMO>");
+            saida.write(escapar(memo.strip()));
+            saida.write("</MEMO>");
+        }
+        saida.write("</STMTTRN>\n");
+    }
+
+    private static String escapar(String texto) {
+        return texto.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,19 @@
+package com.gastos.financeiro.save_money.exportacao;
+
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+
+import java.io.IOException;
+
+// Escreve um arquivo de exportação linha a linha: nada é acumulado, cada transação vai direto para o Writer
+public interface EscritorTransacoes {
+
+    void inicio(Periodo periodo) throws IOException;
+
+    void gasto(Gasto gasto) throws IOException;
+
+    void receita(Receita receita) throws IOException;
+
+    void fim() throws IOException;
+}
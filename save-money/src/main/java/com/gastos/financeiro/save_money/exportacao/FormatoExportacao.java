@@ -0,0 +1,32 @@
+package com.gastos.financeiro.save_money.exportacao;
+
+import java.io.Writer;
+import java.util.function.Function;
+
+public enum FormatoExportacao {
+
+    CSV("text/csv", "csv", EscritorCsv::new),
+    OFX("application/x-ofx", "ofx", EscritorOfx::new);
+
+    private final String tipoConteudo;
+    private final String extensao;
+    private final Function<Writer, EscritorTransacoes> fabrica;
+
+    FormatoExportacao(String tipoConteudo, String extensao, Function<Writer, EscritorTransacoes> fabrica) {
+        this.tipoConteudo = tipoConteudo;
+        this.extensao = extensao;
+        this.fabrica = fabrica;
+    }
+
+    public String tipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public String extensao() {
+        return extensao;
+    }
+
+    public EscritorTransacoes criarEscritor(Writer saida) {
+        return fabrica.apply(saida);
+    }
+}
@@ -0,0 +1,126 @@
+package com.gastos.financeiro.save_money.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Primeiro estágio da importação: lê o arquivo em sequência e entrega os registros em blocos
+// de tamanho fixo, que são interpretados em paralelo. Só o bloco atual fica em memória aqui.
+// No CSV cada linha não vazia é um registro; no OFX, cada <STMTTRN>...</STMTTRN>,
+// mesmo quando o banco escreve o arquivo todo numa linha só.
+public class DivisorExtrato {
+
+    private static final String ABRE_TRANSACAO = "<STMTTRN>";
+    private static final String FECHA_TRANSACAO = "</STMTTRN>";
+
+    private final FormatoImportacao formato;
+    private final BufferedReader leitor;
+    private final int tamanhoBloco;
+
+    private int numeroLinha;
+    private int registros;
+    private boolean terminou;
+
+    // Estado do OFX: transação aberta em andamento e as já fechadas que ainda não foram entregues
+    private StringBuilder transacaoAtual;
+    private int linhaTransacao;
+    private final Deque<RegistroExtrato> prontos = new ArrayDeque<>();
+
+    public DivisorExtrato(FormatoImportacao formato, BufferedReader leitor, int tamanhoBloco) {
+        this.formato = formato;
+        this.leitor = leitor;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    // Primeira linha não vazia do CSV. Precisa ser chamado antes de proximoBloco.
+    public String cabecalho() throws IOException {
+        RegistroExtrato primeira = proximaLinha();
+        if (primeira == null) {
+            throw new IllegalArgumentException("arquivo vazio");
+        }
+        // Remove o BOM que o Excel coloca no começo de arquivos UTF-8
+        String texto = primeira.texto();
+        return !texto.isEmpty() && texto.charAt(0) == '\uFEFF' ? texto.substring(1) : texto;
+    }
+
+    // Próximo bloco de registros, ou lista vazia no fim do arquivo
+    public List<RegistroExtrato> proximoBloco() throws IOException {
+        List<RegistroExtrato> bloco = new ArrayList<>(tamanhoBloco);
+        while (bloco.size() < tamanhoBloco) {
+            RegistroExtrato registro = formato == FormatoImportacao.CSV ? proximaLinha() : proximaTransacaoOfx();
+            if (registro == null) {
+                break;
+            }
+            bloco.add(registro);
+        }
+        return bloco;
+    }
+
+    public int linhasLidas() {
+        return numeroLinha;
+    }
+
+    private RegistroExtrato proximaLinha() throws IOException {
+        while (!terminou) {
+            String linha = leitor.readLine();
+            if (linha == null) {
+                terminou = true;
+                return null;
+            }
+            numeroLinha++;
+            if (!linha.isBlank()) {
+                return new RegistroExtrato(numeroLinha, ++registros, linha);
+            }
+        }
+        return null;
+    }
+
+    private RegistroExtrato proximaTransacaoOfx() throws IOException {
+        while (prontos.isEmpty() && !terminou) {
+            String linha = leitor.readLine();
+            if (linha == null) {
+                terminou = true;
+                break;
+            }
+            numeroLinha++;
+            separarTransacoes(linha);
+        }
+        return prontos.poll();
+    }
+
+    private void separarTransacoes(String linha) {
+        int posicao = 0;
+        while (posicao < linha.length()) {
+            if (transacaoAtual == null) {
+                int abertura = indiceTag(linha, ABRE_TRANSACAO, posicao);
+                if (abertura < 0) {
+                    return;
+                }
+                transacaoAtual = new StringBuilder(256);
+                linhaTransacao = numeroLinha;
+                posicao = abertura + ABRE_TRANSACAO.length();
+            }
+            int fechamento = indiceTag(linha, FECHA_TRANSACAO, posicao);
+            if (fechamento < 0) {
+                transacaoAtual.append(linha, posicao, linha.length()).append('\n');
+                return;
+            }
+            transacaoAtual.append(linha, posicao, fechamento);
+            prontos.add(new RegistroExtrato(linhaTransacao, ++registros, transacaoAtual.toString()));
+            transacaoAtual = null;
+            posicao = fechamento + FECHA_TRANSACAO.length();
+        }
+    }
+
+    private static int indiceTag(String linha, String tag, int de) {
+        for (int i = linha.indexOf('<', de); i >= 0; i = linha.indexOf('<', i + 1)) {
+            if (linha.regionMatches(true, i, tag, 0, tag.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
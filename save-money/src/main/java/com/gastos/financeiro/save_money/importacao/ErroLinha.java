@@ -0,0 +1,4 @@
+package com.gastos.financeiro.save_money.importacao;
+
+public record ErroLinha(int linha, String erro) {
+}
@@ -0,0 +1,24 @@
+package com.gastos.financeiro.save_money.importacao;
+
+import java.util.Locale;
+import java.util.Optional;
+
+public enum FormatoImportacao {
+
+    CSV, OFX;
+
+    // Deduz o formato pela extensão do arquivo enviado
+    public static Optional<FormatoImportacao> deArquivo(String nome) {
+        if (nome == null) {
+            return Optional.empty();
+        }
+        String minusculo = nome.toLowerCase(Locale.ROOT);
+        if (minusculo.endsWith(".csv") || minusculo.endsWith(".txt")) {
+            return Optional.of(CSV);
+        }
+        if (minusculo.endsWith(".ofx")) {
+            return Optional.of(OFX);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,125 @@
+package com.gastos.financeiro.save_money.importacao;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Progresso de uma importação, consultado pelo GET /api/importacao/{id} enquanto ela roda.
+// Só o coordenador da importação escreve; os contadores são atômicos para a leitura concorrente.
+public class Importacao {
+
+    public enum Estado { AGUARDANDO, PROCESSANDO, CONCLUIDA, FALHOU }
+
+    // Acima disso só conta os erros, para um arquivo inteiro no formato errado não encher a memória
+    private static final int MAXIMO_ERROS = 1000;
+
+    private final String id;
+    private final String arquivo;
+    private final FormatoImportacao formato;
+    private final LocalDateTime criadaEm = LocalDateTime.now();
+    private volatile LocalDateTime concluidaEm;
+    private volatile Estado estado = Estado.AGUARDANDO;
+    private volatile String falha;
+
+    private final AtomicLong linhasLidas = new AtomicLong();
+    private final AtomicLong registrosProcessados = new AtomicLong();
+    private final AtomicLong inseridos = new AtomicLong();
+    private final AtomicLong duplicados = new AtomicLong();
+    private final AtomicLong rejeitados = new AtomicLong();
+    private final List<ErroLinha> erros = new ArrayList<>();
+
+    public Importacao(String id, String arquivo, FormatoImportacao formato) {
+        this.id = id;
+        this.arquivo = arquivo;
+        this.formato = formato;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getArquivo() {
+        return arquivo;
+    }
+
+    public FormatoImportacao getFormato() {
+        return formato;
+    }
+
+    public LocalDateTime getCriadaEm() {
+        return criadaEm;
+    }
+
+    public LocalDateTime getConcluidaEm() {
+        return concluidaEm;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public String getFalha() {
+        return falha;
+    }
+
+    public long getLinhasLidas() {
+        return linhasLidas.get();
+    }
+
+    public long getRegistrosProcessados() {
+        return registrosProcessados.get();
+    }
+
+    public long getInseridos() {
+        return inseridos.get();
+    }
+
+    public long getDuplicados() {
+        return duplicados.get();
+    }
+
+    public long getRejeitados() {
+        return rejeitados.get();
+    }
+
+    public List<ErroLinha> getErros() {
+        synchronized (erros) {
+            return List.copyOf(erros);
+        }
+    }
+
+    public void iniciar() {
+        estado = Estado.PROCESSANDO;
+    }
+
+    public void atualizarLinhasLidas(long linhas) {
+        linhasLidas.set(linhas);
+    }
+
+    public void somarProcessados(long registros, long inseridosNoBloco, long duplicadosNoBloco) {
+        registrosProcessados.addAndGet(registros);
+        inseridos.addAndGet(inseridosNoBloco);
+        duplicados.addAndGet(duplicadosNoBloco);
+    }
+
+    public void rejeitar(ErroLinha erro) {
+        rejeitados.incrementAndGet();
+        synchronized (erros) {
+            if (erros.size() < MAXIMO_ERROS) {
+                erros.add(erro);
+            }
+        }
+    }
+
+    public void concluir() {
+        concluidaEm = LocalDateTime.now();
+        estado = Estado.CONCLUIDA;
+    }
+
+    public void falhar(String motivo) {
+        falha = motivo;
+        concluidaEm = LocalDateTime.now();
+        estado = Estado.FALHOU;
+    }
+}
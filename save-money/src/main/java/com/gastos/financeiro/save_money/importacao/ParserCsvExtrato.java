@@ -0,0 +1,151 @@
+package com.gastos.financeiro.save_money.importacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Lê as linhas de um extrato CSV. O layout (separador e posição de cada coluna) sai do cabeçalho,
+// reconhecendo os nomes que os bancos costumam usar e também o CSV da nossa própria exportação.
+public class ParserCsvExtrato implements ParserExtrato {
+
+    private static final Map<String, String> COLUNAS = Map.ofEntries(
+            Map.entry("data", "data"), Map.entry("date", "data"), Map.entry("data lancamento", "data"),
+            Map.entry("data movimento", "data"), Map.entry("data da transacao", "data"), Map.entry("dt", "data"),
+            Map.entry("valor", "valor"), Map.entry("amount", "valor"), Map.entry("value", "valor"),
+            Map.entry("valor (r$)", "valor"), Map.entry("valor r$", "valor"),
+            Map.entry("descricao", "descricao"), Map.entry("historico", "descricao"), Map.entry("description", "descricao"),
+            Map.entry("lancamento", "descricao"), Map.entry("memo", "descricao"),
+            Map.entry("origem", "origem"), Map.entry("estabelecimento", "origem"), Map.entry("fonte", "origem"),
+            Map.entry("favorecido", "origem"), Map.entry("payee", "origem"),
+            Map.entry("categoria", "categoria"), Map.entry("category", "categoria"),
+            Map.entry("tipo", "tipo"), Map.entry("type", "tipo"), Map.entry("d/c", "tipo"));
+
+    private final char separador;
+    private int colunaData = -1;
+    private int colunaValor = -1;
+    private int colunaDescricao = -1;
+    private int colunaOrigem = -1;
+    private int colunaCategoria = -1;
+    private int colunaTipo = -1;
+
+    public ParserCsvExtrato(String cabecalho) {
+        separador = detectarSeparador(cabecalho);
+        List<String> nomes = dividir(cabecalho, separador);
+        for (int i = 0; i < nomes.size(); i++) {
+            String coluna = COLUNAS.get(ValoresExtrato.normalizarCabecalho(nomes.get(i)));
+            if (coluna == null) {
+                continue;
+            }
+            // Se o nome se repetir, vale a primeira coluna
+            switch (coluna) {
+                case "data" -> colunaData = colunaData < 0 ? i : colunaData;
+                case "valor" -> colunaValor = colunaValor < 0 ? i : colunaValor;
+                case "descricao" -> colunaDescricao = colunaDescricao < 0 ? i : colunaDescricao;
+                case "origem" -> colunaOrigem = colunaOrigem < 0 ? i : colunaOrigem;
+                case "categoria" -> colunaCategoria = colunaCategoria < 0 ? i : colunaCategoria;
+                case "tipo" -> colunaTipo = colunaTipo < 0 ? i : colunaTipo;
+                default -> { }
+            }
+        }
+        if (colunaData < 0 || colunaValor < 0) {
+            throw new IllegalArgumentException("cabeçalho do CSV precisa das colunas de data e valor: " + cabecalho.strip());
+        }
+    }
+
+    @Override
+    public TransacaoExtrato interpretar(RegistroExtrato registro) {
+        List<String> campos = dividir(registro.texto(), separador);
+        LocalDateTime data = ValoresExtrato.data(campo(campos, colunaData));
+        BigDecimal valor = ValoresExtrato.valor(campo(campos, colunaValor));
+        if (colunaTipo >= 0) {
+            valor = aplicarTipo(valor, campo(campos, colunaTipo));
+        }
+        if (valor.signum() == 0) {
+            throw new IllegalArgumentException("valor zerado");
+        }
+        String descricao = campo(campos, colunaDescricao);
+        String origem = campo(campos, colunaOrigem);
+        return new TransacaoExtrato(registro.linha(), registro.posicao(), data, valor,
+                origem != null ? origem : descricao, descricao, campo(campos, colunaCategoria), registro.texto(), null);
+    }
+
+    // Extratos com coluna de débito/crédito costumam trazer o valor sempre positivo
+    private static BigDecimal aplicarTipo(BigDecimal valor, String tipo) {
+        if (tipo == null) {
+            return valor;
+        }
+        String normalizado = ValoresExtrato.normalizarCabecalho(tipo);
+        if (normalizado.startsWith("d") || normalizado.startsWith("gasto") || normalizado.startsWith("saida")) {
+            return valor.abs().negate();
+        }
+        if (normalizado.startsWith("c") || normalizado.startsWith("receita") || normalizado.startsWith("entrada")) {
+            return valor.abs();
+        }
+        return valor;
+    }
+
+    private static String campo(List<String> campos, int coluna) {
+        if (coluna < 0 || coluna >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(coluna).strip();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // O separador é o que mais aparece no cabeçalho fora de aspas (bancos brasileiros costumam usar ';')
+    private static char detectarSeparador(String cabecalho) {
+        int virgulas = 0;
+        int pontoEVirgulas = 0;
+        int tabs = 0;
+        boolean entreAspas = false;
+        for (int i = 0; i < cabecalho.length(); i++) {
+            char c = cabecalho.charAt(i);
+            if (c == '"') {
+                entreAspas = !entreAspas;
+            } else if (!entreAspas) {
+                if (c == ',') {
+                    virgulas++;
+                } else if (c == ';') {
+                    pontoEVirgulas++;
+                } else if (c == '\t') {
+                    tabs++;
+                }
+            }
+        }
+        if (pontoEVirgulas >= virgulas && pontoEVirgulas >= tabs && pontoEVirgulas > 0) {
+            return ';';
+        }
+        return tabs > virgulas ? '\t' : ',';
+    }
+
+    // Divide respeitando campos entre aspas, com "" como aspas escapadas (RFC 4180)
+    static List<String> dividir(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+}
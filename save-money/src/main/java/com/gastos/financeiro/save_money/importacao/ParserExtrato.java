@@ -0,0 +1,9 @@
+package com.gastos.financeiro.save_money.importacao;
+
+// Converte um registro do extrato em transação. Lança IllegalArgumentException com a mensagem
+// que vai para o relatório de erros da importação. As implementações não guardam estado,
+// porque vários blocos são interpretados ao mesmo tempo.
+public interface ParserExtrato {
+
+    TransacaoExtrato interpretar(RegistroExtrato registro);
+}
@@ -0,0 +1,61 @@
+package com.gastos.financeiro.save_money.importacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Lê um bloco <STMTTRN> de OFX. Serve tanto para o OFX 1.x (SGML, sem tags de fechamento nos campos)
+// quanto para o 2.x (XML): o valor de cada campo é o texto logo depois da tag.
+public class ParserOfxExtrato implements ParserExtrato {
+
+    private static final Pattern CAMPO = Pattern.compile("<([A-Za-z.]+)>([^<\\r\\n]*)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    @Override
+    public TransacaoExtrato interpretar(RegistroExtrato registro) {
+        String data = null;
+        String valor = null;
+        String nome = null;
+        String memo = null;
+        String fitid = null;
+        Matcher matcher = CAMPO.matcher(registro.texto());
+        while (matcher.find()) {
+            String conteudo = desescapar(matcher.group(2).strip());
+            switch (matcher.group(1).toUpperCase(Locale.ROOT)) {
+                case "DTPOSTED" -> data = conteudo;
+                case "TRNAMT" -> valor = conteudo;
+                case "NAME", "PAYEE" -> nome = conteudo;
+                case "MEMO" -> memo = conteudo;
+                case "FITID" -> fitid = conteudo;
+                default -> { }
+            }
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("transação sem DTPOSTED");
+        }
+        if (valor == null) {
+            throw new IllegalArgumentException("transação sem TRNAMT");
+        }
+        LocalDateTime dataHora = ValoresExtrato.dataOfx(data);
+        // No OFX o sinal do TRNAMT já diz se é débito ou crédito
+        BigDecimal montante = ValoresExtrato.valor(valor);
+        if (montante.signum() == 0) {
+            throw new IllegalArgumentException("valor zerado");
+        }
+        String origem = nome != null && !nome.isEmpty() ? nome : memo;
+        String descricao = memo != null && !memo.isEmpty() ? memo : nome;
+        String original = ESPACOS.matcher(registro.texto()).replaceAll(" ").strip();
+        return new TransacaoExtrato(registro.linha(), registro.posicao(), dataHora, montante, origem, descricao, null,
+                original, fitid);
+    }
+
+    private static String desescapar(String texto) {
+        if (texto.indexOf('&') < 0) {
+            return texto;
+        }
+        return texto.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,8 @@
+package com.gastos.financeiro.save_money.importacao;
+
+// Um lançamento ainda em texto: a linha do CSV ou o bloco <STMTTRN> do OFX.
+// linha é a posição no arquivo (a primeira linha é 1), usada nos erros.
+// posicao é a ordem do registro no arquivo (o OFX pode ter várias transações numa linha só);
+// é a mesma a cada reimportação do arquivo e entra na chave de deduplicação.
+public record RegistroExtrato(int linha, int posicao, String texto) {
+}
@@ -0,0 +1,51 @@
+package com.gastos.financeiro.save_money.importacao;
+
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.service.DeduplicacaoService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Lançamento do extrato já normalizado. valor vem com sinal: negativo é gasto, positivo é receita.
+// textoOriginal é o registro como estava no arquivo e vai para smsOriginal/notificacao.
+// A chave de deduplicação é o FITID do OFX quando o banco manda; sem ele, a posição do registro no arquivo
+// junto com o texto. Só o texto juntaria dois lançamentos iguais no mesmo dia (dois cafés de R$ 5,00)
+// num só, e a posição se repete a cada reimportação do mesmo arquivo, que continua sem duplicar nada.
+public record TransacaoExtrato(int linha, int posicao, LocalDateTime data, BigDecimal valor, String origem,
+                               String descricao, String categoria, String textoOriginal, String fitid) {
+
+    // O valor e a data entram no hash junto com a chave (DeduplicacaoService.calcularHash)
+    public String hashConteudo() {
+        String chave = fitid != null && !fitid.isEmpty() ? "FITID " + fitid : "#" + posicao + " " + textoOriginal;
+        return DeduplicacaoService.calcularHash(chave, valor.abs(), data);
+    }
+
+    public boolean isGasto() {
+        return valor.signum() < 0;
+    }
+
+    public Gasto paraGasto() {
+        Gasto gasto = new Gasto();
+        gasto.setValor(valor.negate());
+        gasto.setDataHora(data);
+        gasto.setDescricao(ValoresExtrato.truncar(descricao, 255));
+        gasto.setEstabelecimento(ValoresExtrato.truncar(origem, 100));
+        gasto.setCategoria(categoria);
+        gasto.setSmsOriginal(ValoresExtrato.truncar(textoOriginal, 255));
+        gasto.setHashConteudo(hashConteudo());
+        return gasto;
+    }
+
+    public Receita paraReceita() {
+        Receita receita = new Receita();
+        receita.setValor(valor);
+        receita.setDataRecebimento(data);
+        receita.setDescricao(ValoresExtrato.truncar(descricao, 255));
+        receita.setFonte(ValoresExtrato.truncar(origem, 255));
+        receita.setCategoria(categoria);
+        receita.setNotificacao(ValoresExtrato.truncar(textoOriginal, 255));
+        receita.setHashConteudo(hashConteudo());
+        return receita;
+    }
+}
@@ -0,0 +1,135 @@
+package com.gastos.financeiro.save_money.importacao;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Locale;
+
+// Normalização dos campos que cada banco escreve de um jeito: valores com vírgula ou ponto decimal,
+// "R$", sinal no fim ou entre parênteses, datas dd/MM/yyyy ou yyyy-MM-dd, com ou sem hora.
+// Decide o formato olhando o texto em vez de tentar vários parsers e capturar exceções.
+// Também usado pelo parser de SMS, que recebe valores nos mesmos formatos.
+public final class ValoresExtrato {
+
+    private ValoresExtrato() {
+    }
+
+    public static BigDecimal valor(String texto) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("valor vazio");
+        }
+        String limpo = texto.replace("R$", "").replace(" ", "").replace("\u00A0", "").strip();
+        boolean negativo = false;
+        if (limpo.startsWith("(") && limpo.endsWith(")")) {
+            negativo = true;
+            limpo = limpo.substring(1, limpo.length() - 1);
+        }
+        char ultimo = limpo.isEmpty() ? ' ' : Character.toUpperCase(limpo.charAt(limpo.length() - 1));
+        if (ultimo == 'D' || ultimo == '-') {
+            negativo = true;
+            limpo = limpo.substring(0, limpo.length() - 1);
+        } else if (ultimo == 'C' || ultimo == '+') {
+            limpo = limpo.substring(0, limpo.length() - 1);
+        }
+        if (limpo.startsWith("-")) {
+            negativo = !negativo;
+            limpo = limpo.substring(1);
+        } else if (limpo.startsWith("+")) {
+            limpo = limpo.substring(1);
+        }
+
+        // Pontuação da frase grudada no número ("R$ 0,14.")
+        while (limpo.endsWith(".") || limpo.endsWith(",")) {
+            limpo = limpo.substring(0, limpo.length() - 1);
+        }
+
+        // O separador decimal é o último entre vírgula e ponto; o outro é de milhar.
+        // Com um só tipo, repetido ("1.234.567") ou ponto seguido de três dígitos ("1.234"), é de milhar.
+        int virgula = limpo.lastIndexOf(',');
+        int ponto = limpo.lastIndexOf('.');
+        if (virgula >= 0 && ponto < 0 && limpo.indexOf(',') != virgula) {
+            limpo = limpo.replace(",", "");
+        } else if (ponto >= 0 && virgula < 0 && (limpo.indexOf('.') != ponto || limpo.length() - ponto == 4)) {
+            limpo = limpo.replace(".", "");
+        } else if (virgula > ponto) {
+            limpo = limpo.replace(".", "").replace(',', '.');
+        } else if (ponto > virgula && virgula >= 0) {
+            limpo = limpo.replace(",", "");
+        }
+        try {
+            BigDecimal valor = new BigDecimal(limpo);
+            return negativo ? valor.negate() : valor;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("valor inválido: " + texto.strip());
+        }
+    }
+
+    static LocalDateTime data(String texto) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("data vazia");
+        }
+        String limpo = texto.strip();
+        int separadorHora = limpo.indexOf('T') > 0 ? limpo.indexOf('T') : limpo.indexOf(' ');
+        String dia = separadorHora > 0 ? limpo.substring(0, separadorHora) : limpo;
+        String hora = separadorHora > 0 ? limpo.substring(separadorHora + 1).strip() : null;
+        String[] partes = dia.split(dia.indexOf('/') >= 0 ? "/" : "-");
+        try {
+            if (partes.length != 3) {
+                throw new IllegalArgumentException("data inválida: " + limpo);
+            }
+            LocalDate data;
+            if (partes[0].length() == 4) {
+                data = LocalDate.of(Integer.parseInt(partes[0]), Integer.parseInt(partes[1]), Integer.parseInt(partes[2]));
+            } else {
+                int ano = Integer.parseInt(partes[2]);
+                data = LocalDate.of(ano < 100 ? 2000 + ano : ano, Integer.parseInt(partes[1]), Integer.parseInt(partes[0]));
+            }
+            return hora != null && !hora.isEmpty() ? data.atTime(LocalTime.parse(hora)) : data.atStartOfDay();
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException("data inválida: " + limpo);
+        }
+    }
+
+    // Datas do OFX: yyyyMMdd[HHmmss[.XXX]][[-3:BRT]]
+    static LocalDateTime dataOfx(String texto) {
+        String digitos = texto == null ? "" : texto.strip();
+        int fim = 0;
+        while (fim < digitos.length() && Character.isDigit(digitos.charAt(fim))) {
+            fim++;
+        }
+        try {
+            if (fim < 8) {
+                throw new IllegalArgumentException("data inválida: " + texto);
+            }
+            LocalDate data = LocalDate.of(Integer.parseInt(digitos.substring(0, 4)),
+                    Integer.parseInt(digitos.substring(4, 6)), Integer.parseInt(digitos.substring(6, 8)));
+            if (fim < 14) {
+                return data.atStartOfDay();
+            }
+            return data.atTime(Integer.parseInt(digitos.substring(8, 10)), Integer.parseInt(digitos.substring(10, 12)),
+                    Integer.parseInt(digitos.substring(12, 14)));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("data inválida: " + texto);
+        }
+    }
+
+    // Nome de coluna sem acento, em minúsculas e sem espaços nas pontas ("Histórico " -> "historico")
+    static String normalizarCabecalho(String nome) {
+        String semAcento = Normalizer.normalize(nome.strip(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return semAcento.toLowerCase(Locale.ROOT);
+    }
+
+    static String truncar(String texto, int tamanho) {
+        if (texto == null) {
+            return null;
+        }
+        String limpo = texto.strip();
+        if (limpo.isEmpty()) {
+            return null;
+        }
+        return limpo.length() > tamanho ? limpo.substring(0, tamanho) : limpo;
+    }
+}
@@ -0,0 +1,109 @@
+package com.gastos.financeiro.save_money.limite;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Balde de fichas por cliente (dispositivo ou endereço) para as escritas da API.
+// Cada cliente cai numa de FAIXAS posições de um AtomicLongArray, pelo hash do nome: a memória é fixa,
+// não importa quantos X-Dispositivo diferentes apareçam, e dois clientes só dividem o balde numa colisão.
+// A posição guarda o instante teórico em que o balde volta a estar cheio (GCRA, equivalente ao balde de
+// fichas): consumir uma ficha é um compareAndSet, sem lock e sem agendador para repor as fichas.
+@Component
+public class LimitadorIngestao implements MeterBinder {
+
+    private static final int FAIXAS = 4096;
+
+    private final boolean habilitado;
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+
+    private final LongSupplier relogio;
+    private final long base;
+    private final AtomicLongArray cheioEm = new AtomicLongArray(FAIXAS);
+
+    private final LongAdder permitidas = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+
+    @Autowired
+    public LimitadorIngestao(@Value("${save-money.limite.habilitado:false}") boolean habilitado,
+                             @Value("${save-money.limite.requisicoes-por-segundo:5}") double porSegundo,
+                             @Value("${save-money.limite.rajada:30}") int capacidade) {
+        this(habilitado, porSegundo, capacidade, System::nanoTime);
+    }
+
+    // Com o relógio nas mãos do teste, sem dormir
+    LimitadorIngestao(boolean habilitado, double porSegundo, int capacidade, LongSupplier relogio) {
+        if (porSegundo <= 0 || capacidade < 1) {
+            throw new IllegalArgumentException("save-money.limite: requisicoes-por-segundo e rajada precisam ser positivos");
+        }
+        this.habilitado = habilitado;
+        this.intervaloNanos = (long) (TimeUnit.SECONDS.toNanos(1) / porSegundo);
+        this.toleranciaNanos = intervaloNanos * (capacidade - 1);
+        this.relogio = relogio;
+        this.base = relogio.getAsLong();
+    }
+
+    // 0 quando a requisição pode seguir; senão, em quantos nanossegundos haverá uma ficha para o cliente
+    public long consumir(String cliente) {
+        if (!habilitado) {
+            return 0;
+        }
+        int faixa = faixa(cliente);
+        long agora = relogio.getAsLong() - base;
+        while (true) {
+            long atual = cheioEm.get(faixa);
+            long cheio = Math.max(atual, agora);
+            long espera = cheio - agora - toleranciaNanos;
+            if (espera > 0) {
+                rejeitadas.increment();
+                return espera;
+            }
+            if (cheioEm.compareAndSet(faixa, atual, cheio + intervaloNanos)) {
+                permitidas.increment();
+                return 0;
+            }
+        }
+    }
+
+    // save_money.limite.requisicoes (resultado=permitida|rejeitada) e os baldes que ainda não se encheram
+    // de novo (em uso) ou estão sem ficha agora (esgotados)
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("save_money.limite.requisicoes", permitidas, LongAdder::sum)
+                .tag("resultado", "permitida").register(registry);
+        FunctionCounter.builder("save_money.limite.requisicoes", rejeitadas, LongAdder::sum)
+                .tag("resultado", "rejeitada").register(registry);
+        Gauge.builder("save_money.limite.baldes", this, limitador -> limitador.contarBaldes(false))
+                .tag("estado", "em_uso").register(registry);
+        Gauge.builder("save_money.limite.baldes", this, limitador -> limitador.contarBaldes(true))
+                .tag("estado", "esgotado").register(registry);
+    }
+
+    private int contarBaldes(boolean soEsgotados) {
+        long agora = relogio.getAsLong() - base;
+        int contagem = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            long cheio = cheioEm.get(i);
+            if (cheio > agora && (!soEsgotados || cheio - agora > toleranciaNanos)) {
+                contagem++;
+            }
+        }
+        return contagem;
+    }
+
+    // Package-private para os testes acharem clientes que colidem
+    static int faixa(String cliente) {
+        int hash = cliente.hashCode();
+        return (hash ^ (hash >>> 16)) & (FAIXAS - 1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.gastos.financeiro.save_money.limite;
+
+import com.gastos.financeiro.save_money.replica.RoteamentoLeituraInterceptor;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+// Recusa com 429 e Retry-After as escritas de um cliente que passou do seu limite, antes de chegar ao banco.
+// Leituras não passam por aqui. O cliente é o mesmo do roteamento de leitura: X-Dispositivo ou o endereço de origem.
+@Component
+public class LimiteIngestaoInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private LimitadorIngestao limitadorIngestao;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !escrita(request.getMethod())) {
+            return true;
+        }
+        long esperaNanos = limitadorIngestao.consumir(cliente(request));
+        if (esperaNanos == 0) {
+            return true;
+        }
+        // Retry-After só aceita segundos inteiros; arredonda para cima para o cliente não voltar cedo demais
+        long segundos = Math.max(1, (esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        return false;
+    }
+
+    private static boolean escrita(String metodo) {
+        return "POST".equals(metodo) || "PUT".equals(metodo) || "PATCH".equals(metodo) || "DELETE".equals(metodo);
+    }
+
+    private static String cliente(HttpServletRequest request) {
+        String dispositivo = request.getHeader(RoteamentoLeituraInterceptor.CABECALHO_DISPOSITIVO);
+        return dispositivo != null && !dispositivo.isBlank() ? dispositivo : request.getRemoteAddr();
+    }
+}
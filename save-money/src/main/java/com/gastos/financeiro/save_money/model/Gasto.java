@@ -1,5 +1,6 @@
 package com.gastos.financeiro.save_money.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,12 +13,18 @@ import java.time.LocalDateTime;
 @NoArgsConstructor // Gera construtor sem argumentos (Lombok)
 @AllArgsConstructor // Gera construtor com todos os argumentos (Lombok)
 @Entity // Indica que esta classe é uma entidade JPA e será mapeada para uma tabela no DB
-@Table(name = "gastos") // Nome da tabela no banco de dados
+@Table(name = "gastos", // Nome da tabela no banco de dados
+        // Índices para os filtros por período, categoria e estabelecimento (e para a paginação por dataHora, id)
+        indexes = {
+                @Index(name = "idx_gastos_data_hora_id", columnList = "dataHora, id"),
+                @Index(name = "idx_gastos_categoria_data_hora", columnList = "categoria, dataHora"),
+                @Index(name = "idx_gastos_estabelecimento_data_hora", columnList = "estabelecimento, dataHora")
+        })
 public class Gasto {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "gasto_id_seq")
-    @SequenceGenerator(name = "gasto_id_seq", sequenceName = "gasto_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "gasto_id_seq", sequenceName = "gasto_id_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     private BigDecimal valor;
@@ -29,4 +36,16 @@ public class Gasto {
     private String estabelecimento;
     private String categoria;
     private String smsOriginal;
+    // SHA-256 do SMS original + valor + dataHora, calculado na ingestão. Evita gravar duas vezes o mesmo aviso do banco.
+    // Na importação de extratos, o FITID do OFX ou a posição do registro no arquivo entra no lugar do SMS.
+    // Com gastos particionada, a unicidade no banco fica na tabela gasto_hash (migração V2).
+    // Calculado no servidor: o que vier no JSON é ignorado.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(length = 64)
+    private String hashConteudo;
+    // Versão para o controle otimista de concorrência; sobe a cada alteração.
+    // O default preenche as linhas que já existiam quando a coluna foi criada.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long versao;
 }
@@ -17,7 +17,7 @@ public class MetaFinanceira {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meta_financeira_id_seq")
-    @SequenceGenerator(name = "meta_financeira_id_seq", sequenceName = "meta_financeira_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "meta_financeira_id_seq", sequenceName = "meta_financeira_id_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     private String nome;
@@ -30,4 +30,17 @@ public class MetaFinanceira {
     private LocalDate dataCriacao;
     private String status;
     private String descricao;
+    // Vínculo opcional: com ele, valorAtual acompanha os lançamentos vinculados feitos a partir de dataCriacao
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private TipoVinculoMeta tipoVinculo;
+    private String vinculo;
+    // Parte de valorAtual que veio dos lançamentos vinculados; mantida pelo MetaProgressoService
+    @Column(nullable = false, columnDefinition = "numeric(38,2) default 0")
+    private BigDecimal valorAportado = BigDecimal.ZERO;
+    // Versão para o controle otimista de concorrência; sobe a cada alteração.
+    // O default preenche as linhas que já existiam quando a coluna foi criada.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long versao;
 }
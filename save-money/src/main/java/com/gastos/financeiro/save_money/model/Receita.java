@@ -1,5 +1,6 @@
 package com.gastos.financeiro.save_money.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,12 +13,16 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "receitas")
+@Table(name = "receitas",
+        indexes = {
+                @Index(name = "idx_receitas_data_recebimento_id", columnList = "dataRecebimento, id"),
+                @Index(name = "idx_receitas_categoria_data_recebimento", columnList = "categoria, dataRecebimento")
+        })
 public class Receita {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "receita_id_seq")
-    @SequenceGenerator(name = "receita_id_seq", sequenceName = "receita_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "receita_id_seq", sequenceName = "receita_id_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     private BigDecimal valor;
@@ -28,5 +33,16 @@ public class Receita {
     private String fonte;
     private String categoria;
     private String notificacao;
+    // SHA-256 da notificação + valor + dataRecebimento, como o hashConteudo do Gasto: o mesmo aviso de PIX
+    // enviado duas vezes vira uma receita só. Na importação de extratos entra o FITID ou a posição no arquivo.
+    // A unicidade no banco fica na tabela receita_hash (migração V9). Calculado no servidor.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(length = 64)
+    private String hashConteudo;
+    // Versão para o controle otimista de concorrência; sobe a cada alteração.
+    // O default preenche as linhas que já existiam quando a coluna foi criada.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long versao;
 
 }
@@ -0,0 +1,34 @@
+package com.gastos.financeiro.save_money.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Total e quantidade de gastos por mês e categoria, mantidos a cada escrita em Gasto.
+// Os relatórios leem daqui em vez de varrer a tabela gastos.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "rollup_gasto_mensal",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"ano", "mes", "categoria"}))
+public class RollupGastoMensal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rollup_gasto_mensal_id_seq")
+    @SequenceGenerator(name = "rollup_gasto_mensal_id_seq", sequenceName = "rollup_gasto_mensal_id_seq", allocationSize = 1)
+    private Long id;
+    @Column(nullable = false)
+    private Integer ano;
+    @Column(nullable = false)
+    private Integer mes;
+    @Column(nullable = false)
+    private String categoria;
+    @Column(nullable = false)
+    private BigDecimal total;
+    @Column(nullable = false)
+    private Long quantidade;
+}
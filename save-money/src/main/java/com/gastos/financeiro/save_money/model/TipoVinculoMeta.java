@@ -0,0 +1,9 @@
+package com.gastos.financeiro.save_money.model;
+
+// O que faz uma meta andar sozinha: gastos de uma categoria (ex.: "Investimentos", transferências para a reserva)
+// ou receitas de uma categoria ou fonte (ex.: parte do salário)
+public enum TipoVinculoMeta {
+    CATEGORIA_GASTO,
+    CATEGORIA_RECEITA,
+    FONTE_RECEITA
+}
@@ -0,0 +1,84 @@
+package com.gastos.financeiro.save_money.replica;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Mede periodicamente o atraso de replicação e avisa o RoteamentoLeitura. Atraso acima da tolerância,
+// ou falha ao consultar a réplica, manda todas as leituras para o primário até a próxima medição boa.
+// Sem consulta configurada (ex.: um H2 fazendo papel de réplica), a réplica é considerada em dia.
+public class MonitorReplica {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplica.class);
+
+    private final DataSource replica;
+    private final RoteamentoLeitura roteamentoLeitura;
+    private final String consultaAtraso;
+    private final long toleranciaMs;
+    private final long intervaloMs;
+
+    private ScheduledExecutorService agendador;
+    private volatile boolean ultimaDisponivel = true;
+
+    public MonitorReplica(DataSource replica, RoteamentoLeitura roteamentoLeitura, String consultaAtraso,
+                          long toleranciaMs, long intervaloMs) {
+        this.replica = replica;
+        this.roteamentoLeitura = roteamentoLeitura;
+        this.consultaAtraso = consultaAtraso;
+        this.toleranciaMs = toleranciaMs;
+        this.intervaloMs = intervaloMs;
+    }
+
+    public void iniciar() {
+        medir();
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "monitor-replica");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::medir, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void encerrar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+    }
+
+    void medir() {
+        long atraso;
+        try (Connection conexao = replica.getConnection()) {
+            atraso = consultaAtraso == null || consultaAtraso.isBlank() ? 0 : consultar(conexao);
+        } catch (SQLException | RuntimeException e) {
+            informar(false, -1);
+            log.warn("Réplica indisponível, leituras seguem para o primário: {}", e.getMessage());
+            return;
+        }
+        informar(atraso <= toleranciaMs, atraso);
+    }
+
+    private long consultar(Connection conexao) throws SQLException {
+        try (Statement comando = conexao.createStatement();
+             ResultSet resultado = comando.executeQuery(consultaAtraso)) {
+            // Sem valor (réplica recém-iniciada, nada aplicado ainda) conta como atrasada
+            return resultado.next() && resultado.getObject(1) != null ? resultado.getLong(1) : Long.MAX_VALUE;
+        }
+    }
+
+    private void informar(boolean disponivel, long atraso) {
+        if (disponivel != ultimaDisponivel) {
+            log.info("Réplica {} (atraso {} ms, tolerância {} ms)", disponivel ? "liberada para leituras" : "fora do roteamento",
+                    atraso, toleranciaMs);
+            ultimaDisponivel = disponivel;
+        }
+        roteamentoLeitura.atualizarEstadoReplica(disponivel, atraso);
+    }
+}
@@ -0,0 +1,25 @@
+package com.gastos.financeiro.save_money.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Escolhe o pool na hora em que a conexão é de fato aberta. Fica atrás de um LazyConnectionDataSourceProxy,
+// para que a transação já esteja marcada como somente leitura quando a decisão for tomada.
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIO, REPLICA }
+
+    private final RoteamentoLeitura roteamentoLeitura;
+
+    public RoteamentoDataSource(RoteamentoLeitura roteamentoLeitura) {
+        this.roteamentoLeitura = roteamentoLeitura;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && roteamentoLeitura.usarReplica()) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIO;
+    }
+}
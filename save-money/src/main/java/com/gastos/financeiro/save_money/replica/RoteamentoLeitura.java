@@ -0,0 +1,114 @@
+package com.gastos.financeiro.save_money.replica;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Decide, por thread, se uma leitura pode ir para a réplica. Só os GETs da API ganham permissão
+// (RoteamentoLeituraInterceptor); escritas, workers de importação/ingestão e respostas assíncronas
+// ficam sempre no primário. A permissão é negada quando:
+//  - o cliente escreveu há menos que a tolerância de atraso (read-your-writes);
+//  - alguma tabela lida pelo endpoint mudou nesse intervalo (a ETag não pode ficar à frente dos dados);
+//  - o MonitorReplica mediu atraso acima da tolerância ou não conseguiu consultar a réplica.
+// Uma réplica dentro da tolerância já aplicou tudo o que foi gravado antes dela, por isso o mesmo
+// intervalo serve para a fixação no primário.
+@Component
+public class RoteamentoLeitura implements MeterBinder {
+
+    private static final int MAX_CLIENTES_FIXADOS = 10_000;
+
+    private final ThreadLocal<Boolean> replicaPermitida = new ThreadLocal<>();
+    private final Map<String, Long> fixadosAte = new ConcurrentHashMap<>();
+
+    private final boolean habilitado;
+    private final long toleranciaNanos;
+
+    private volatile boolean replicaDisponivel;
+    private volatile long atrasoMs = -1;
+
+    private final LongAdder leiturasReplica = new LongAdder();
+    private final LongAdder leiturasPrimario = new LongAdder();
+    private final LongAdder fixacoes = new LongAdder();
+
+    public RoteamentoLeitura(@Value("${save-money.replica.habilitada:false}") boolean habilitado,
+                             @Value("${save-money.replica.atraso-maximo-ms:2000}") long toleranciaMs) {
+        this.habilitado = habilitado;
+        this.toleranciaNanos = TimeUnit.MILLISECONDS.toNanos(toleranciaMs);
+    }
+
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    public long toleranciaNanos() {
+        return toleranciaNanos;
+    }
+
+    // Início de um GET: libera a réplica, a não ser que o cliente tenha escrito há pouco
+    public void iniciarLeitura(String cliente) {
+        if (!habilitado) {
+            return;
+        }
+        Long ate = fixadosAte.get(cliente);
+        if (ate != null && ate - System.nanoTime() > 0) {
+            fixacoes.increment();
+            return;
+        }
+        replicaPermitida.set(Boolean.TRUE);
+    }
+
+    public void exigirPrimario() {
+        replicaPermitida.remove();
+    }
+
+    public void encerrar() {
+        replicaPermitida.remove();
+    }
+
+    // Depois de uma escrita bem-sucedida, as leituras desse cliente ficam no primário pela tolerância de atraso
+    public void registrarEscrita(String cliente) {
+        if (!habilitado) {
+            return;
+        }
+        long agora = System.nanoTime();
+        if (fixadosAte.size() >= MAX_CLIENTES_FIXADOS) {
+            fixadosAte.values().removeIf(ate -> ate - agora <= 0);
+        }
+        fixadosAte.put(cliente, agora + toleranciaNanos);
+    }
+
+    // Consultado pelo RoteamentoDataSource quando a conexão de uma transação somente leitura é aberta
+    public boolean usarReplica() {
+        boolean replica = replicaPermitida.get() != null && replicaDisponivel;
+        (replica ? leiturasReplica : leiturasPrimario).increment();
+        return replica;
+    }
+
+    void atualizarEstadoReplica(boolean disponivel, long atrasoMs) {
+        this.replicaDisponivel = disponivel;
+        this.atrasoMs = atrasoMs;
+    }
+
+    // save_money.replica.leituras (destino=replica|primario), leituras fixadas no primário e o último atraso medido
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("save_money.replica.leituras", leiturasReplica, LongAdder::sum)
+                .tag("destino", "replica").register(registry);
+        FunctionCounter.builder("save_money.replica.leituras", leiturasPrimario, LongAdder::sum)
+                .tag("destino", "primario").register(registry);
+        FunctionCounter.builder("save_money.replica.fixacoes", fixacoes, LongAdder::sum)
+                .description("Leituras mantidas no primário por read-your-writes").register(registry);
+        Gauge.builder("save_money.replica.disponivel", this, roteamento -> roteamento.replicaDisponivel ? 1 : 0)
+                .register(registry);
+        Gauge.builder("save_money.replica.atraso", this, roteamento -> roteamento.atrasoMs)
+                .baseUnit("milliseconds").register(registry);
+    }
+}
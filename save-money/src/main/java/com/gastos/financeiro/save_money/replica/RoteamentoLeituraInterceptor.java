@@ -0,0 +1,42 @@
+package com.gastos.financeiro.save_money.replica;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Marca os GETs da API como elegíveis para a réplica e registra as escritas de cada cliente.
+// O cliente é o cabeçalho X-Dispositivo, quando enviado, ou o endereço de origem.
+@Component
+public class RoteamentoLeituraInterceptor implements HandlerInterceptor {
+
+    public static final String CABECALHO_DISPOSITIVO = "X-Dispositivo";
+
+    @Autowired
+    private RoteamentoLeitura roteamentoLeitura;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.REQUEST && "GET".equals(request.getMethod())) {
+            roteamentoLeitura.iniciarLeitura(cliente(request));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        roteamentoLeitura.encerrar();
+        boolean escrita = !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())
+                && !"OPTIONS".equals(request.getMethod());
+        if (escrita && ex == null && response.getStatus() < 400) {
+            roteamentoLeitura.registrarEscrita(cliente(request));
+        }
+    }
+
+    private static String cliente(HttpServletRequest request) {
+        String dispositivo = request.getHeader(CABECALHO_DISPOSITIVO);
+        return dispositivo != null && !dispositivo.isBlank() ? dispositivo : request.getRemoteAddr();
+    }
+}
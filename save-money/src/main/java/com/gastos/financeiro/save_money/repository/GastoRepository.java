@@ -1,9 +1,206 @@
 package com.gastos.financeiro.save_money.repository;
 
+import com.gastos.financeiro.save_money.dto.GastoResumo;
+import com.gastos.financeiro.save_money.dto.TotalMensal;
 import com.gastos.financeiro.save_money.model.Gasto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Consultas em transação somente leitura (podem ir para a réplica); as escritas declaram @Transactional próprio
 @Repository
+@Transactional(readOnly = true)
 public interface GastoRepository  extends JpaRepository<Gasto, Long> {
+
+    Optional<Gasto> findByHashConteudo(String hashConteudo);
+
+    List<Gasto> findByHashConteudoIn(Collection<String> hashes);
+
+    // PATCH em uma única instrução: campos nulos ficam como estão e a versão sobe junto.
+    // Com versao informada, só altera se ela ainda for a atual. Devolve a linha como era antes
+    // da alteração (o rollup precisa dos valores antigos), ou vazio se nada foi alterado.
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE gastos g
+            SET valor = COALESCE(CAST(:valor AS numeric), g.valor),
+                data_hora = COALESCE(CAST(:dataHora AS timestamp), g.data_hora),
+                descricao = COALESCE(CAST(:descricao AS varchar), g.descricao),
+                estabelecimento = COALESCE(CAST(:estabelecimento AS varchar), g.estabelecimento),
+                categoria = COALESCE(CAST(:categoria AS varchar), g.categoria),
+                sms_original = COALESCE(CAST(:smsOriginal AS varchar), g.sms_original),
+                versao = g.versao + 1
+            FROM (SELECT * FROM gastos WHERE id = :id FOR UPDATE) antigo
+            WHERE g.id = antigo.id
+              AND (CAST(:versao AS bigint) IS NULL OR g.versao = CAST(:versao AS bigint))
+            RETURNING antigo.*
+            """)
+    Optional<Gasto> atualizarParcial(@Param("id") Long id,
+                                     @Param("versao") Long versao,
+                                     @Param("valor") BigDecimal valor,
+                                     @Param("dataHora") LocalDateTime dataHora,
+                                     @Param("descricao") String descricao,
+                                     @Param("estabelecimento") String estabelecimento,
+                                     @Param("categoria") String categoria,
+                                     @Param("smsOriginal") String smsOriginal);
+
+    // Remove sem consultar antes: a linha apagada volta no RETURNING, vazio se o id não existia
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM gastos WHERE id = :id RETURNING *")
+    Optional<Gasto> removerPorId(@Param("id") Long id);
+
+    // Consultas por faixa de data [inicio, fim), cada uma servida por um dos índices declarados em Gasto
+    List<Gasto> findByDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHoraDescIdDesc(
+            LocalDateTime inicio, LocalDateTime fim);
+
+    List<Gasto> findByCategoriaAndDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHoraDescIdDesc(
+            String categoria, LocalDateTime inicio, LocalDateTime fim);
+
+    List<Gasto> findByEstabelecimentoAndDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHoraDescIdDesc(
+            String estabelecimento, LocalDateTime inicio, LocalDateTime fim);
+
+    List<Gasto> findByCategoriaAndEstabelecimentoAndDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHoraDescIdDesc(
+            String categoria, String estabelecimento, LocalDateTime inicio, LocalDateTime fim);
+
+    // Listagem leve: seleciona só as colunas de GastoResumo, sem trazer o texto do SMS
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.GastoResumo(
+                g.id, g.valor, g.dataHora, g.estabelecimento, g.categoria)
+            FROM Gasto g
+            WHERE g.dataHora >= :inicio AND g.dataHora < :fim
+            ORDER BY g.dataHora DESC, g.id DESC
+            """)
+    List<GastoResumo> listarResumos(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.GastoResumo(
+                g.id, g.valor, g.dataHora, g.estabelecimento, g.categoria)
+            FROM Gasto g
+            WHERE g.categoria = :categoria AND g.dataHora >= :inicio AND g.dataHora < :fim
+            ORDER BY g.dataHora DESC, g.id DESC
+            """)
+    List<GastoResumo> listarResumosPorCategoria(@Param("categoria") String categoria,
+                                                @Param("inicio") LocalDateTime inicio,
+                                                @Param("fim") LocalDateTime fim);
+
+    // Paginação por chave (dataHora, id), do mais recente para o mais antigo.
+    // O cursor substitui o OFFSET: o banco continua do ponto onde a página anterior parou.
+    // Todos os limites são obrigatórios (Periodo e Cursor dão valores extremos aos que faltam): com
+    // "(:x IS NULL OR ...)" o plano genérico do PostgreSQL vira filtro e perde a faixa no índice (data_hora, id).
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.GastoResumo(
+                g.id, g.valor, g.dataHora, g.estabelecimento, g.categoria)
+            FROM Gasto g
+            WHERE g.dataHora >= :inicio AND g.dataHora < :fim
+              AND g.dataHora <= :cursorData AND (g.dataHora < :cursorData OR g.id < :cursorId)
+            ORDER BY g.dataHora DESC, g.id DESC
+            """)
+    List<GastoResumo> buscarPagina(@Param("inicio") LocalDateTime inicio,
+                                   @Param("fim") LocalDateTime fim,
+                                   @Param("cursorData") LocalDateTime cursorData,
+                                   @Param("cursorId") long cursorId,
+                                   Pageable limite);
+
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.GastoResumo(
+                g.id, g.valor, g.dataHora, g.estabelecimento, g.categoria)
+            FROM Gasto g
+            WHERE g.categoria = :categoria
+              AND g.dataHora >= :inicio AND g.dataHora < :fim
+              AND g.dataHora <= :cursorData AND (g.dataHora < :cursorData OR g.id < :cursorId)
+            ORDER BY g.dataHora DESC, g.id DESC
+            """)
+    List<GastoResumo> buscarPaginaPorCategoria(@Param("categoria") String categoria,
+                                               @Param("inicio") LocalDateTime inicio,
+                                               @Param("fim") LocalDateTime fim,
+                                               @Param("cursorData") LocalDateTime cursorData,
+                                               @Param("cursorId") long cursorId,
+                                               Pageable limite);
+
+    // Busca por padrão ILIKE (prefixo ou substring, já escapado) em estabelecimento ou descrição, do mais recente
+    // para o mais antigo, com o mesmo cursor de buscarPagina. Os índices de trigramas (migração V3) evitam a
+    // varredura. Nativa por causa dos índices GIN.
+    @Query(nativeQuery = true, value = """
+            SELECT g.* FROM gastos g
+            WHERE (g.estabelecimento ILIKE :padrao OR g.descricao ILIKE :padrao)
+              AND g.data_hora <= :cursorData AND (g.data_hora < :cursorData OR g.id < :cursorId)
+            ORDER BY g.data_hora DESC, g.id DESC
+            LIMIT :limite
+            """)
+    List<Gasto> buscarPorPadrao(@Param("padrao") String padrao,
+                                @Param("cursorData") LocalDateTime cursorData,
+                                @Param("cursorId") long cursorId,
+                                @Param("limite") int limite);
+
+    // Busca aproximada: o termo parecido com alguma palavra do estabelecimento ou da descrição
+    // (word_similarity do pg_trgm acima de pg_trgm.word_similarity_threshold, 0.6 por padrão).
+    // Tolera letra trocada ou faltando ("ifod" acha "IFOOD *IFD"); mesma ordem e cursor da busca por padrão.
+    @Query(nativeQuery = true, value = """
+            SELECT g.* FROM gastos g
+            WHERE (:termo <% g.estabelecimento OR :termo <% g.descricao)
+              AND g.data_hora <= :cursorData AND (g.data_hora < :cursorData OR g.id < :cursorId)
+            ORDER BY g.data_hora DESC, g.id DESC
+            LIMIT :limite
+            """)
+    List<Gasto> buscarAproximado(@Param("termo") String termo,
+                                 @Param("cursorData") LocalDateTime cursorData,
+                                 @Param("cursorId") long cursorId,
+                                 @Param("limite") int limite);
+
+    // Leitura em fluxo: o driver traz as linhas em blocos (fetch size) em vez de carregar a tabela inteira.
+    // Precisa ser consumido dentro de uma transação e o Stream deve ser fechado.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT g FROM Gasto g
+            WHERE g.dataHora >= :inicio AND g.dataHora < :fim
+            ORDER BY g.dataHora DESC, g.id DESC
+            """)
+    Stream<Gasto> streamFiltrado(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT g FROM Gasto g
+            WHERE g.categoria = :categoria AND g.dataHora >= :inicio AND g.dataHora < :fim
+            ORDER BY g.dataHora DESC, g.id DESC
+            """)
+    Stream<Gasto> streamFiltradoPorCategoria(@Param("categoria") String categoria,
+                                             @Param("inicio") LocalDateTime inicio,
+                                             @Param("fim") LocalDateTime fim);
+
+    // Carga do motor analítico: a tabela inteira, só com as colunas de GastoResumo, em ordem de data
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "2000"))
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.GastoResumo(
+                g.id, g.valor, g.dataHora, g.estabelecimento, g.categoria)
+            FROM Gasto g
+            ORDER BY g.dataHora, g.id
+            """)
+    Stream<GastoResumo> streamResumosPorData();
+
+    // Soma e contagem por mês calculadas no banco; só as linhas agregadas trafegam
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.TotalMensal(
+                year(g.dataHora), month(g.dataHora), SUM(g.valor), COUNT(g))
+            FROM Gasto g
+            WHERE g.dataHora >= :inicio AND g.dataHora < :fim
+            GROUP BY year(g.dataHora), month(g.dataHora)
+            ORDER BY year(g.dataHora), month(g.dataHora)
+            """)
+    List<TotalMensal> totalizarPorMes(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    // Total de uma categoria a partir de uma data; usado só ao (re)vincular uma meta
+    @Query("SELECT COALESCE(SUM(g.valor), 0) FROM Gasto g WHERE g.categoria = :categoria AND g.dataHora >= :desde")
+    BigDecimal somarCategoriaDesde(@Param("categoria") String categoria, @Param("desde") LocalDateTime desde);
 }
@@ -1,10 +1,91 @@
 package com.gastos.financeiro.save_money.repository;
 
+import com.gastos.financeiro.save_money.dto.VinculoMeta;
 import com.gastos.financeiro.save_money.model.MetaFinanceira;
+import com.gastos.financeiro.save_money.model.TipoVinculoMeta;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface MetaFinanceiraRepository extends JpaRepository<MetaFinanceira, Long> {
 
+    // PATCH em uma única instrução: campos nulos ficam como estão, a versão sobe junto e,
+    // com versao informada, só altera se ela ainda for a atual. Devolve a meta como era antes.
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE meta_financeira m
+            SET nome = COALESCE(CAST(:nome AS varchar), m.nome),
+                valor_alvo = COALESCE(CAST(:valorAlvo AS numeric), m.valor_alvo),
+                valor_atual = COALESCE(CAST(:valorAtual AS numeric), m.valor_atual),
+                data_alvo = COALESCE(CAST(:dataAlvo AS date), m.data_alvo),
+                status = COALESCE(CAST(:status AS varchar), m.status),
+                descricao = COALESCE(CAST(:descricao AS varchar), m.descricao),
+                tipo_vinculo = COALESCE(CAST(:tipoVinculo AS varchar), m.tipo_vinculo),
+                vinculo = COALESCE(CAST(:vinculo AS varchar), m.vinculo),
+                versao = m.versao + 1
+            FROM (SELECT * FROM meta_financeira WHERE id = :id FOR UPDATE) antiga
+            WHERE m.id = antiga.id
+              AND (CAST(:versao AS bigint) IS NULL OR m.versao = CAST(:versao AS bigint))
+            RETURNING antiga.*
+            """)
+    Optional<MetaFinanceira> atualizarParcial(@Param("id") Long id,
+                                              @Param("versao") Long versao,
+                                              @Param("nome") String nome,
+                                              @Param("valorAlvo") BigDecimal valorAlvo,
+                                              @Param("valorAtual") BigDecimal valorAtual,
+                                              @Param("dataAlvo") LocalDate dataAlvo,
+                                              @Param("status") String status,
+                                              @Param("descricao") String descricao,
+                                              @Param("tipoVinculo") String tipoVinculo,
+                                              @Param("vinculo") String vinculo);
+
+    // Metas vinculadas a algum dos valores (categoria ou fonte) dos lançamentos de uma escrita.
+    // Lida dentro da transação da escrita, pelo índice parcial da migração V7.
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.VinculoMeta(m.id, m.tipoVinculo, m.vinculo, m.dataCriacao)
+            FROM MetaFinanceira m
+            WHERE m.vinculo IN :vinculos AND m.tipoVinculo IN :tipos
+            """)
+    List<VinculoMeta> buscarVinculadas(@Param("tipos") Collection<TipoVinculoMeta> tipos,
+                                       @Param("vinculos") Collection<String> vinculos);
+
+    // Soma (ou subtrai) um aporte vindo de lançamento vinculado, sem ler a meta antes
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE MetaFinanceira m
+            SET m.valorAtual = m.valorAtual + :delta,
+                m.valorAportado = m.valorAportado + :delta,
+                m.versao = m.versao + 1
+            WHERE m.id = :id
+            """)
+    int acumularAporte(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    // Troca a parte aportada por um total recalculado (quando o vínculo muda), preservando a parte manual
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE MetaFinanceira m
+            SET m.valorAtual = m.valorAtual - m.valorAportado + :aportado,
+                m.valorAportado = :aportado,
+                m.versao = m.versao + 1
+            WHERE m.id = :id
+            """)
+    int redefinirAportado(@Param("id") Long id, @Param("aportado") BigDecimal aportado);
+
+    // Remove sem consultar antes; devolve a meta apagada, vazio se o id não existia
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM meta_financeira WHERE id = :id RETURNING *")
+    Optional<MetaFinanceira> removerPorId(@Param("id") Long id);
 }
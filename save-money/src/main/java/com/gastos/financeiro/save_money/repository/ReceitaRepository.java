@@ -1,9 +1,167 @@
 package com.gastos.financeiro.save_money.repository;
 
+import com.gastos.financeiro.save_money.dto.ReceitaResumo;
+import com.gastos.financeiro.save_money.dto.TotalMensal;
 import com.gastos.financeiro.save_money.model.Receita;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ReceitaRepository extends JpaRepository<Receita, Long> {
+
+    // PATCH em uma única instrução, com a mesma regra do GastoRepository.atualizarParcial
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE receitas r
+            SET valor = COALESCE(CAST(:valor AS numeric), r.valor),
+                data_recebimento = COALESCE(CAST(:dataRecebimento AS timestamp), r.data_recebimento),
+                descricao = COALESCE(CAST(:descricao AS varchar), r.descricao),
+                fonte = COALESCE(CAST(:fonte AS varchar), r.fonte),
+                categoria = COALESCE(CAST(:categoria AS varchar), r.categoria),
+                notificacao = COALESCE(CAST(:notificacao AS varchar), r.notificacao),
+                versao = r.versao + 1
+            FROM (SELECT * FROM receitas WHERE id = :id FOR UPDATE) antiga
+            WHERE r.id = antiga.id
+              AND (CAST(:versao AS bigint) IS NULL OR r.versao = CAST(:versao AS bigint))
+            RETURNING antiga.*
+            """)
+    Optional<Receita> atualizarParcial(@Param("id") Long id,
+                                       @Param("versao") Long versao,
+                                       @Param("valor") BigDecimal valor,
+                                       @Param("dataRecebimento") LocalDateTime dataRecebimento,
+                                       @Param("descricao") String descricao,
+                                       @Param("fonte") String fonte,
+                                       @Param("categoria") String categoria,
+                                       @Param("notificacao") String notificacao);
+
+    Optional<Receita> findByHashConteudo(String hashConteudo);
+
+    List<Receita> findByHashConteudoIn(Collection<String> hashes);
+
+    // Remove sem consultar antes; devolve a linha apagada, vazio se o id não existia
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM receitas WHERE id = :id RETURNING *")
+    Optional<Receita> removerPorId(@Param("id") Long id);
+
+    // Consultas por faixa de data [inicio, fim), servidas pelos índices declarados em Receita
+    List<Receita> findByDataRecebimentoGreaterThanEqualAndDataRecebimentoLessThanOrderByDataRecebimentoDescIdDesc(
+            LocalDateTime inicio, LocalDateTime fim);
+
+    List<Receita> findByCategoriaAndDataRecebimentoGreaterThanEqualAndDataRecebimentoLessThanOrderByDataRecebimentoDescIdDesc(
+            String categoria, LocalDateTime inicio, LocalDateTime fim);
+
+    // Listagem leve, só com as colunas de ReceitaResumo
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.ReceitaResumo(
+                r.id, r.valor, r.dataRecebimento, r.fonte, r.categoria)
+            FROM Receita r
+            WHERE r.dataRecebimento >= :inicio AND r.dataRecebimento < :fim
+            ORDER BY r.dataRecebimento DESC, r.id DESC
+            """)
+    List<ReceitaResumo> listarResumos(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.ReceitaResumo(
+                r.id, r.valor, r.dataRecebimento, r.fonte, r.categoria)
+            FROM Receita r
+            WHERE r.categoria = :categoria AND r.dataRecebimento >= :inicio AND r.dataRecebimento < :fim
+            ORDER BY r.dataRecebimento DESC, r.id DESC
+            """)
+    List<ReceitaResumo> listarResumosPorCategoria(@Param("categoria") String categoria,
+                                                  @Param("inicio") LocalDateTime inicio,
+                                                  @Param("fim") LocalDateTime fim);
+
+    // Paginação por chave (dataRecebimento, id), do mais recente para o mais antigo; limites sempre
+    // informados, como no GastoRepository.buscarPagina
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.ReceitaResumo(
+                r.id, r.valor, r.dataRecebimento, r.fonte, r.categoria)
+            FROM Receita r
+            WHERE r.dataRecebimento >= :inicio AND r.dataRecebimento < :fim
+              AND r.dataRecebimento <= :cursorData AND (r.dataRecebimento < :cursorData OR r.id < :cursorId)
+            ORDER BY r.dataRecebimento DESC, r.id DESC
+            """)
+    List<ReceitaResumo> buscarPagina(@Param("inicio") LocalDateTime inicio,
+                                     @Param("fim") LocalDateTime fim,
+                                     @Param("cursorData") LocalDateTime cursorData,
+                                     @Param("cursorId") long cursorId,
+                                     Pageable limite);
+
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.ReceitaResumo(
+                r.id, r.valor, r.dataRecebimento, r.fonte, r.categoria)
+            FROM Receita r
+            WHERE r.categoria = :categoria
+              AND r.dataRecebimento >= :inicio AND r.dataRecebimento < :fim
+              AND r.dataRecebimento <= :cursorData AND (r.dataRecebimento < :cursorData OR r.id < :cursorId)
+            ORDER BY r.dataRecebimento DESC, r.id DESC
+            """)
+    List<ReceitaResumo> buscarPaginaPorCategoria(@Param("categoria") String categoria,
+                                                 @Param("inicio") LocalDateTime inicio,
+                                                 @Param("fim") LocalDateTime fim,
+                                                 @Param("cursorData") LocalDateTime cursorData,
+                                                 @Param("cursorId") long cursorId,
+                                                 Pageable limite);
+
+    // Leitura em fluxo, usada pelo modo stream da listagem
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT r FROM Receita r
+            WHERE r.dataRecebimento >= :inicio AND r.dataRecebimento < :fim
+            ORDER BY r.dataRecebimento DESC, r.id DESC
+            """)
+    Stream<Receita> streamFiltrado(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT r FROM Receita r
+            WHERE r.categoria = :categoria AND r.dataRecebimento >= :inicio AND r.dataRecebimento < :fim
+            ORDER BY r.dataRecebimento DESC, r.id DESC
+            """)
+    Stream<Receita> streamFiltradoPorCategoria(@Param("categoria") String categoria,
+                                               @Param("inicio") LocalDateTime inicio,
+                                               @Param("fim") LocalDateTime fim);
+
+    // Carga do motor analítico, em ordem de data
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "2000"))
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.ReceitaResumo(
+                r.id, r.valor, r.dataRecebimento, r.fonte, r.categoria)
+            FROM Receita r
+            ORDER BY r.dataRecebimento, r.id
+            """)
+    Stream<ReceitaResumo> streamResumosPorData();
+
+    // Soma e contagem por mês calculadas no banco
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.TotalMensal(
+                year(r.dataRecebimento), month(r.dataRecebimento), SUM(r.valor), COUNT(r))
+            FROM Receita r
+            WHERE r.dataRecebimento >= :inicio AND r.dataRecebimento < :fim
+            GROUP BY year(r.dataRecebimento), month(r.dataRecebimento)
+            ORDER BY year(r.dataRecebimento), month(r.dataRecebimento)
+            """)
+    List<TotalMensal> totalizarPorMes(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    // Totais a partir de uma data; usados só ao (re)vincular uma meta
+    @Query("SELECT COALESCE(SUM(r.valor), 0) FROM Receita r WHERE r.categoria = :categoria AND r.dataRecebimento >= :desde")
+    BigDecimal somarCategoriaDesde(@Param("categoria") String categoria, @Param("desde") LocalDateTime desde);
+
+    @Query("SELECT COALESCE(SUM(r.valor), 0) FROM Receita r WHERE r.fonte = :fonte AND r.dataRecebimento >= :desde")
+    BigDecimal somarFonteDesde(@Param("fonte") String fonte, @Param("desde") LocalDateTime desde);
 }
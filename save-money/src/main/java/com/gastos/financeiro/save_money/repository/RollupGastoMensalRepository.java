@@ -0,0 +1,68 @@
+package com.gastos.financeiro.save_money.repository;
+
+import com.gastos.financeiro.save_money.dto.TotalCategoria;
+import com.gastos.financeiro.save_money.model.RollupGastoMensal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface RollupGastoMensalRepository extends JpaRepository<RollupGastoMensal, Long> {
+
+    // Soma (ou subtrai, com valores negativos) na linha do mês/categoria, criando a linha se não existir.
+    // O upsert é atômico, então escritas concorrentes na mesma categoria não se perdem.
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO rollup_gasto_mensal (id, ano, mes, categoria, total, quantidade)
+            VALUES (nextval('rollup_gasto_mensal_id_seq'), :ano, :mes, :categoria, :valor, :quantidade)
+            ON CONFLICT (ano, mes, categoria) DO UPDATE
+            SET total = rollup_gasto_mensal.total + EXCLUDED.total,
+                quantidade = rollup_gasto_mensal.quantidade + EXCLUDED.quantidade
+            """)
+    void acumular(@Param("ano") int ano,
+                  @Param("mes") int mes,
+                  @Param("categoria") String categoria,
+                  @Param("valor") BigDecimal valor,
+                  @Param("quantidade") long quantidade);
+
+    @Modifying
+    @Query("DELETE FROM RollupGastoMensal r WHERE r.quantidade <= 0")
+    void removerVazios();
+
+    // Recalcula tudo a partir da tabela gastos (usado depois de limpar o rollup)
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO rollup_gasto_mensal (id, ano, mes, categoria, total, quantidade)
+            SELECT nextval('rollup_gasto_mensal_id_seq'), t.ano, t.mes, t.categoria, t.total, t.quantidade
+            FROM (SELECT CAST(EXTRACT(YEAR FROM g.data_hora) AS INTEGER) AS ano,
+                         CAST(EXTRACT(MONTH FROM g.data_hora) AS INTEGER) AS mes,
+                         COALESCE(g.categoria, :semCategoria) AS categoria,
+                         SUM(g.valor) AS total,
+                         COUNT(*) AS quantidade
+                  FROM gastos g
+                  GROUP BY 1, 2, 3) t
+            """)
+    int reconstruir(@Param("semCategoria") String semCategoria);
+
+    // Meses codificados como ano * 100 + mes (ex.: 202507) para comparar intervalos
+    @Query("""
+            SELECT r FROM RollupGastoMensal r
+            WHERE (r.ano * 100 + r.mes) BETWEEN :de AND :ate
+            ORDER BY r.ano, r.mes, r.total DESC
+            """)
+    List<RollupGastoMensal> buscarMeses(@Param("de") int de, @Param("ate") int ate);
+
+    @Query("""
+            SELECT new com.gastos.financeiro.save_money.dto.TotalCategoria(r.categoria, SUM(r.total), SUM(r.quantidade))
+            FROM RollupGastoMensal r
+            WHERE (r.ano * 100 + r.mes) BETWEEN :de AND :ate
+            GROUP BY r.categoria
+            ORDER BY SUM(r.total) DESC
+            """)
+    List<TotalCategoria> totalizarPorCategoria(@Param("de") int de, @Param("ate") int ate);
+}
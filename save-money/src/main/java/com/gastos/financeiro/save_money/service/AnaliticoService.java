@@ -0,0 +1,465 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.analitico.Dicionario;
+import com.gastos.financeiro.save_money.analitico.TabelaColunar;
+import com.gastos.financeiro.save_money.dto.GastoResumo;
+import com.gastos.financeiro.save_money.dto.ParticipacaoCategoria;
+import com.gastos.financeiro.save_money.dto.ReceitaResumo;
+import com.gastos.financeiro.save_money.dto.ResumoFinanceiro;
+import com.gastos.financeiro.save_money.dto.ResumoMensal;
+import com.gastos.financeiro.save_money.dto.TotalOrigem;
+import com.gastos.financeiro.save_money.event.GastoEvent;
+import com.gastos.financeiro.save_money.event.GastoLoteEvent;
+import com.gastos.financeiro.save_money.event.ReceitaEvent;
+import com.gastos.financeiro.save_money.event.ReceitaLoteEvent;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import com.gastos.financeiro.save_money.repository.ReceitaRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Motor analítico em memória: gastos e receitas em TabelaColunar (centavos, dia, categoria e
+// estabelecimento/fonte codificados), carregados do banco depois que a aplicação sobe e mantidos
+// pelos mesmos eventos de escrita que invalidam os caches. Resumo, participação por categoria e
+// rankings são somas sobre arrays, sem ir ao banco e sem criar objeto por lançamento.
+// Cada instância só vê as próprias escritas; a recarga periódica traz as feitas por outras instâncias.
+@Service
+public class AnaliticoService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnaliticoService.class);
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${save-money.analitico.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${save-money.analitico.recarga-minutos:30}")
+    private long recargaMinutos;
+
+    // Compartilhados entre as gerações de tabelas: uma recarga não muda os códigos já emitidos
+    private final Dicionario categorias = new Dicionario();
+    private final Dicionario estabelecimentos = new Dicionario();
+    private final Dicionario fontes = new Dicionario();
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    // Protegidos pela trava
+    private Tabelas tabelas = new Tabelas();
+    // Alterações recebidas durante uma recarga, reaplicadas sobre as tabelas novas antes da troca
+    private List<Consumer<Tabelas>> pendentes;
+
+    private volatile boolean pronto;
+    private volatile long ultimaCargaMs;
+    private volatile LocalDateTime ultimaCargaEm;
+
+    private ScheduledExecutorService agendador;
+
+    // Depois do ApplicationReady, não no @PostConstruct: subir o contexto (e o treino do CDS) não lê as tabelas
+    @EventListener(ApplicationReadyEvent.class)
+    void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "carga-analitico");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::recarregarRegistrandoFalha, 0, recargaMinutos, TimeUnit.MINUTES);
+    }
+
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    public boolean pronto() {
+        return pronto;
+    }
+
+    // Para escritas que não publicam evento (DETACH de partição): recarrega fora da thread da requisição
+    public void agendarRecarga() {
+        if (agendador != null) {
+            agendador.execute(this::recarregarRegistrandoFalha);
+        }
+    }
+
+    // Lê as duas tabelas do banco em colunas novas e troca de uma vez. As escritas que chegam durante a
+    // leitura continuam indo para as tabelas atuais e ficam guardadas para serem reaplicadas nas novas;
+    // como toda alteração remove antes de inserir, reaplicar algo que a leitura já trouxe não duplica.
+    public synchronized void recarregar() {
+        long inicio = System.nanoTime();
+        trava.writeLock().lock();
+        try {
+            pendentes = new ArrayList<>();
+        } finally {
+            trava.writeLock().unlock();
+        }
+        Tabelas novas = new Tabelas();
+        try {
+            TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+            transacao.setReadOnly(true);
+            transacao.executeWithoutResult(status -> {
+                try (Stream<GastoResumo> linhas = gastoRepository.streamResumosPorData()) {
+                    linhas.forEach(gasto -> novas.gastos.inserir(gasto.id(), centavos(gasto.valor()), dia(gasto.dataHora()),
+                            codigoCategoria(gasto.categoria()), estabelecimentos.codigo(gasto.estabelecimento())));
+                }
+                try (Stream<ReceitaResumo> linhas = receitaRepository.streamResumosPorData()) {
+                    linhas.forEach(receita -> novas.receitas.inserir(receita.id(), centavos(receita.valor()),
+                            dia(receita.dataRecebimento()), codigoCategoria(receita.categoria()), fontes.codigo(receita.fonte())));
+                }
+            });
+        } catch (RuntimeException e) {
+            trava.writeLock().lock();
+            try {
+                pendentes = null;
+            } finally {
+                trava.writeLock().unlock();
+            }
+            throw e;
+        }
+        trava.writeLock().lock();
+        try {
+            pendentes.forEach(alteracao -> alteracao.accept(novas));
+            pendentes = null;
+            tabelas = novas;
+            pronto = true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+        ultimaCargaMs = (System.nanoTime() - inicio) / 1_000_000;
+        ultimaCargaEm = LocalDateTime.now();
+        log.info("Motor analítico carregado: {} gastos e {} receitas em {} ms",
+                novas.gastos.tamanho(), novas.receitas.tamanho(), ultimaCargaMs);
+    }
+
+    // Escritas: depois do commit, como a invalidação dos caches
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarGasto(GastoEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        Consumer<Tabelas> remocao = removerGasto(evento.anterior());
+        Consumer<Tabelas> gravacao = gravarGasto(evento.atual());
+        aplicar(destino -> {
+            remocao.accept(destino);
+            gravacao.accept(destino);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarLoteGastos(GastoLoteEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        List<Consumer<Tabelas>> gravacoes = evento.criados().stream().map(this::gravarGasto).toList();
+        aplicar(destino -> gravacoes.forEach(gravacao -> gravacao.accept(destino)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarReceita(ReceitaEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        Consumer<Tabelas> remocao = removerReceita(evento.anterior());
+        Consumer<Tabelas> gravacao = gravarReceita(evento.atual());
+        aplicar(destino -> {
+            remocao.accept(destino);
+            gravacao.accept(destino);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarLoteReceitas(ReceitaLoteEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        List<Consumer<Tabelas>> gravacoes = evento.criadas().stream().map(this::gravarReceita).toList();
+        aplicar(destino -> gravacoes.forEach(gravacao -> gravacao.accept(destino)));
+    }
+
+    // Consultas
+
+    // Mesmo formato do GET /api/resumo; só entram os meses com algum lançamento
+    public ResumoFinanceiro resumir(LocalDate inicio, LocalDate fim) {
+        List<ResumoMensal> meses = new ArrayList<>();
+        long centavosReceitas = 0;
+        long centavosGastos = 0;
+        long quantidadeReceitas = 0;
+        long quantidadeGastos = 0;
+        trava.readLock().lock();
+        try {
+            int de = (int) inicio.toEpochDay();
+            int ate = (int) fim.toEpochDay();
+            // Um período aberto demais (desde 1900, por exemplo) não percorre mês a mês o que está vazio
+            if (tabelas.gastos.tamanho() + tabelas.receitas.tamanho() == 0) {
+                ate = de - 1;
+            } else {
+                de = Math.max(de, tabelas.primeiroDia());
+                ate = Math.min(ate, tabelas.ultimoDia());
+            }
+            for (YearMonth mes = YearMonth.from(LocalDate.ofEpochDay(de)); de <= ate; mes = mes.plusMonths(1)) {
+                int fimMes = Math.min(ate, (int) mes.atEndOfMonth().toEpochDay());
+                int qtdReceitas = tabelas.receitas.contar(de, fimMes);
+                int qtdGastos = tabelas.gastos.contar(de, fimMes);
+                if (qtdReceitas + qtdGastos > 0) {
+                    long receitasMes = qtdReceitas > 0 ? tabelas.receitas.somarCentavos(de, fimMes) : 0;
+                    long gastosMes = qtdGastos > 0 ? tabelas.gastos.somarCentavos(de, fimMes) : 0;
+                    meses.add(new ResumoMensal(mes.getYear(), mes.getMonthValue(), reais(receitasMes), qtdReceitas,
+                            reais(gastosMes), qtdGastos, reais(receitasMes - gastosMes)));
+                    centavosReceitas += receitasMes;
+                    centavosGastos += gastosMes;
+                    quantidadeReceitas += qtdReceitas;
+                    quantidadeGastos += qtdGastos;
+                }
+                de = fimMes + 1;
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+        return new ResumoFinanceiro(inicio, fim, reais(centavosReceitas), quantidadeReceitas, reais(centavosGastos),
+                quantidadeGastos, reais(centavosReceitas - centavosGastos), meses);
+    }
+
+    // Gastos por categoria no período, do maior para o menor total
+    public List<ParticipacaoCategoria> participacaoCategorias(LocalDate inicio, LocalDate fim) {
+        int tamanho = categorias.tamanho();
+        long[] totais = new long[tamanho];
+        long[] quantidades = new long[tamanho];
+        trava.readLock().lock();
+        try {
+            tabelas.gastos.somarPorCategoria((int) inicio.toEpochDay(), (int) fim.toEpochDay(), totais, quantidades);
+        } finally {
+            trava.readLock().unlock();
+        }
+        long geral = 0;
+        for (long total : totais) {
+            geral += total;
+        }
+        int[] ordem = maiores(totais, quantidades, tamanho);
+        List<ParticipacaoCategoria> resultado = new ArrayList<>(ordem.length);
+        for (int codigo : ordem) {
+            double percentual = geral != 0 ? Math.round(totais[codigo] * 10_000.0 / geral) / 100.0 : 0;
+            resultado.add(new ParticipacaoCategoria(categorias.valor(codigo), reais(totais[codigo]), quantidades[codigo],
+                    percentual));
+        }
+        return resultado;
+    }
+
+    public List<TotalOrigem> maioresEstabelecimentos(LocalDate inicio, LocalDate fim, int limite) {
+        return maioresOrigens(estabelecimentos, true, inicio, fim, limite);
+    }
+
+    public List<TotalOrigem> maioresFontes(LocalDate inicio, LocalDate fim, int limite) {
+        return maioresOrigens(fontes, false, inicio, fim, limite);
+    }
+
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("habilitado", habilitado);
+        estatisticas.put("pronto", pronto);
+        trava.readLock().lock();
+        try {
+            estatisticas.put("gastos", tabelas.gastos.tamanho());
+            estatisticas.put("receitas", tabelas.receitas.tamanho());
+            estatisticas.put("bytes", tabelas.gastos.bytesOcupados() + tabelas.receitas.bytesOcupados());
+        } finally {
+            trava.readLock().unlock();
+        }
+        estatisticas.put("categorias", categorias.tamanho());
+        estatisticas.put("estabelecimentos", estabelecimentos.tamanho());
+        estatisticas.put("fontes", fontes.tamanho());
+        estatisticas.put("ultimaCargaMs", ultimaCargaMs);
+        estatisticas.put("ultimaCargaEm", ultimaCargaEm);
+        return estatisticas;
+    }
+
+    private List<TotalOrigem> maioresOrigens(Dicionario dicionario, boolean deGastos, LocalDate inicio, LocalDate fim,
+                                             int limite) {
+        int tamanho = dicionario.tamanho();
+        long[] totais = new long[tamanho];
+        long[] quantidades = new long[tamanho];
+        trava.readLock().lock();
+        try {
+            TabelaColunar tabela = deGastos ? tabelas.gastos : tabelas.receitas;
+            tabela.somarPorOrigem((int) inicio.toEpochDay(), (int) fim.toEpochDay(), totais, quantidades);
+        } finally {
+            trava.readLock().unlock();
+        }
+        int[] ordem = maiores(totais, quantidades, limite);
+        List<TotalOrigem> resultado = new ArrayList<>(ordem.length);
+        for (int codigo : ordem) {
+            resultado.add(new TotalOrigem(dicionario.valor(codigo), reais(totais[codigo]), quantidades[codigo]));
+        }
+        return resultado;
+    }
+
+    // Códigos dos até "limite" maiores totais (só os que têm lançamento no período), em ordem decrescente.
+    // Inserção num array pequeno: o número de categorias/estabelecimentos é bem menor que o de lançamentos.
+    private static int[] maiores(long[] totais, long[] quantidades, int limite) {
+        int[] melhores = new int[Math.max(0, Math.min(limite, totais.length))];
+        if (melhores.length == 0) {
+            return melhores;
+        }
+        int usados = 0;
+        for (int codigo = 0; codigo < totais.length; codigo++) {
+            if (quantidades[codigo] == 0 || (usados == melhores.length && totais[codigo] <= totais[melhores[usados - 1]])) {
+                continue;
+            }
+            int posicao = usados < melhores.length ? usados++ : usados - 1;
+            while (posicao > 0 && totais[melhores[posicao - 1]] < totais[codigo]) {
+                melhores[posicao] = melhores[posicao - 1];
+                posicao--;
+            }
+            melhores[posicao] = codigo;
+        }
+        return usados == melhores.length ? melhores : Arrays.copyOf(melhores, usados);
+    }
+
+    private void aplicar(Consumer<Tabelas> alteracao) {
+        trava.writeLock().lock();
+        try {
+            alteracao.accept(tabelas);
+            if (pendentes != null) {
+                pendentes.add(alteracao);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // As conversões (códigos, centavos, dia) acontecem fora da trava; a alteração só guarda primitivos
+
+    private Consumer<Tabelas> gravarGasto(Gasto gasto) {
+        if (gasto == null) {
+            return destino -> { };
+        }
+        long id = gasto.getId();
+        long valor = centavos(gasto.getValor());
+        int dia = dia(gasto.getDataHora());
+        int categoria = codigoCategoria(gasto.getCategoria());
+        int estabelecimento = estabelecimentos.codigo(gasto.getEstabelecimento());
+        return destino -> {
+            destino.gastos.remover(id, dia);
+            destino.gastos.inserir(id, valor, dia, categoria, estabelecimento);
+        };
+    }
+
+    private Consumer<Tabelas> removerGasto(Gasto gasto) {
+        if (gasto == null) {
+            return destino -> { };
+        }
+        long id = gasto.getId();
+        int dia = dia(gasto.getDataHora());
+        return destino -> destino.gastos.remover(id, dia);
+    }
+
+    private Consumer<Tabelas> gravarReceita(Receita receita) {
+        if (receita == null) {
+            return destino -> { };
+        }
+        long id = receita.getId();
+        long valor = centavos(receita.getValor());
+        int dia = dia(receita.getDataRecebimento());
+        int categoria = codigoCategoria(receita.getCategoria());
+        int fonte = fontes.codigo(receita.getFonte());
+        return destino -> {
+            destino.receitas.remover(id, dia);
+            destino.receitas.inserir(id, valor, dia, categoria, fonte);
+        };
+    }
+
+    private Consumer<Tabelas> removerReceita(Receita receita) {
+        if (receita == null) {
+            return destino -> { };
+        }
+        long id = receita.getId();
+        int dia = dia(receita.getDataRecebimento());
+        return destino -> destino.receitas.remover(id, dia);
+    }
+
+    private int codigoCategoria(String categoria) {
+        return categorias.codigo(categoria != null ? categoria : RollupService.SEM_CATEGORIA);
+    }
+
+    private void recarregarRegistrandoFalha() {
+        try {
+            recarregar();
+        } catch (RuntimeException e) {
+            log.error("Falha ao carregar o motor analítico", e);
+        }
+    }
+
+    // Arredonda como o numeric(38,2) do PostgreSQL (meio centavo para longe do zero): o valor que chega pelo
+    // evento ainda não passou pelo banco, e a soma daqui tem de bater com a do GET /api/resumo
+    private static long centavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal reais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    private static int dia(LocalDateTime data) {
+        return (int) data.toLocalDate().toEpochDay();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+    }
+
+    private static final class Tabelas {
+        final TabelaColunar gastos = new TabelaColunar();
+        final TabelaColunar receitas = new TabelaColunar();
+
+        int primeiroDia() {
+            if (gastos.tamanho() == 0) {
+                return receitas.primeiroDia();
+            }
+            return receitas.tamanho() == 0 ? gastos.primeiroDia() : Math.min(gastos.primeiroDia(), receitas.primeiroDia());
+        }
+
+        int ultimoDia() {
+            if (gastos.tamanho() == 0) {
+                return receitas.ultimoDia();
+            }
+            return receitas.tamanho() == 0 ? gastos.ultimoDia() : Math.max(gastos.ultimoDia(), receitas.ultimoDia());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gastos.financeiro.save_money.cache.CacheLeitura;
+import com.gastos.financeiro.save_money.categorizacao.AutomatoPalavrasChave;
+import com.gastos.financeiro.save_money.categorizacao.MotorCategorizacao;
+import com.gastos.financeiro.save_money.categorizacao.RegrasCategorizacao;
+import com.gastos.financeiro.save_money.event.GastoEvent;
+import com.gastos.financeiro.save_money.model.Gasto;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+// Dá uma categoria de verdade aos gastos que chegam sem categoria ou só com o canal de pagamento.
+// Primeiro vale o que o usuário já corrigiu para o mesmo estabelecimento (cache LRU em memória,
+// alimentado pelas correções e, ao subir, pela tabela categoria_aprendida); depois, as palavras-chave
+// de categorias.json. Nenhum dos dois vai ao banco no caminho da ingestão.
+@Service
+public class CategorizacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategorizacaoService.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${save-money.categorizacao.regras:classpath:categorias.json}")
+    private String localRegras;
+
+    // A tabela categoria_aprendida vem das migrações; sem elas as correções ficam só em memória
+    @Value("${spring.flyway.enabled:true}")
+    private boolean persistirCorrecoes;
+
+    @Value("${save-money.categorizacao.aprendidas.tamanho-maximo:5000}")
+    private int tamanhoAprendidas;
+
+    private volatile MotorCategorizacao motor;
+
+    // Estabelecimento normalizado -> categoria. Sem TTL: uma correção só sai pelo LRU.
+    // Fica fora dos beans de cache de propósito, para limpezas gerais (DETACH de partição) não apagarem o aprendido.
+    private CacheLeitura<String, String> aprendidas;
+
+    private final LongAdder porCorrecao = new LongAdder();
+    private final LongAdder porPalavraChave = new LongAdder();
+    private final LongAdder semCategoria = new LongAdder();
+    private final LongAdder correcoesRegistradas = new LongAdder();
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        aprendidas = new CacheLeitura<>("categorias-aprendidas", tamanhoAprendidas, Long.MAX_VALUE);
+        recarregar();
+    }
+
+    // Lança IllegalArgumentException (palavra repetida, categoria sem nome) ou IOException, mantendo o motor atual
+    public int recarregar() throws IOException {
+        Resource arquivo = resourceLoader.getResource(localRegras);
+        RegrasCategorizacao regras;
+        try (InputStream entrada = arquivo.getInputStream()) {
+            regras = objectMapper.reader()
+                    .with(JsonParser.Feature.ALLOW_COMMENTS)
+                    .forType(RegrasCategorizacao.class)
+                    .readValue(entrada);
+        }
+        MotorCategorizacao novo = new MotorCategorizacao(regras);
+        motor = novo;
+        log.info("{} palavras-chave de {} categorias carregadas de {}", novo.quantidadePalavras(),
+                regras.categorias().size(), localRegras);
+        return novo.quantidadePalavras();
+    }
+
+    // Depois do ApplicationReady: subir o contexto não consulta o banco
+    @EventListener(ApplicationReadyEvent.class)
+    void carregarCorrecoes() {
+        if (!persistirCorrecoes) {
+            return;
+        }
+        try {
+            List<Map.Entry<String, String>> recentes = jdbcTemplate.query(
+                    "SELECT estabelecimento, categoria FROM categoria_aprendida ORDER BY atualizada_em DESC LIMIT ?",
+                    (linha, numero) -> Map.entry(linha.getString(1), linha.getString(2)), tamanhoAprendidas);
+            // Da mais antiga para a mais recente, para a ordem do LRU refletir a das correções
+            for (int i = recentes.size() - 1; i >= 0; i--) {
+                aprendidas.gravar(recentes.get(i).getKey(), recentes.get(i).getValue());
+            }
+            log.info("{} correções de categoria carregadas", recentes.size());
+        } catch (DataAccessException e) {
+            log.warn("Correções de categoria não carregadas: {}", e.getMessage());
+        }
+    }
+
+    // Chamado antes de gravar um gasto novo; altera o próprio gasto
+    public void categorizar(Gasto gasto) {
+        MotorCategorizacao atual = motor;
+        if (!atual.precisaCategorizar(gasto.getCategoria())) {
+            return;
+        }
+        String categoria = sugerir(atual, gasto.getEstabelecimento(), gasto.getDescricao(), true);
+        if (categoria != null) {
+            gasto.setCategoria(categoria);
+        }
+    }
+
+    // A categoria que um gasto com esse estabelecimento/descrição receberia, ou null. Não entra nas estatísticas.
+    public String sugerir(String estabelecimento, String descricao) {
+        return sugerir(motor, estabelecimento, descricao, false);
+    }
+
+    // Uma troca de categoria feita pelo usuário vale para os próximos gastos do mesmo estabelecimento.
+    // Trocas para um canal (ou para vazio) não são aprendidas.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarGasto(GastoEvent evento) {
+        if (evento.tipo() != GastoEvent.Tipo.ATUALIZADO) {
+            return;
+        }
+        Gasto atual = evento.atual();
+        if (atual.getEstabelecimento() == null || atual.getEstabelecimento().isBlank()
+                || Objects.equals(atual.getCategoria(), evento.anterior().getCategoria())
+                || motor.precisaCategorizar(atual.getCategoria())) {
+            return;
+        }
+        String chave = AutomatoPalavrasChave.normalizar(atual.getEstabelecimento());
+        aprendidas.gravar(chave, atual.getCategoria());
+        correcoesRegistradas.increment();
+        if (persistirCorrecoes) {
+            try {
+                jdbcTemplate.update("""
+                        INSERT INTO categoria_aprendida (estabelecimento, categoria) VALUES (?, ?)
+                        ON CONFLICT (estabelecimento) DO UPDATE
+                        SET categoria = EXCLUDED.categoria,
+                            correcoes = categoria_aprendida.correcoes + 1,
+                            atualizada_em = now()
+                        """, chave, atual.getCategoria());
+            } catch (DataAccessException e) {
+                // A correção continua valendo nesta instância; só não sobrevive a um reinício
+                log.warn("Correção de categoria de {} não gravada: {}", chave, e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Object> estatisticas() {
+        MotorCategorizacao atual = motor;
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("palavrasChave", atual.quantidadePalavras());
+        estatisticas.put("estadosAutomato", atual.estados());
+        estatisticas.put("porCorrecao", porCorrecao.sum());
+        estatisticas.put("porPalavraChave", porPalavraChave.sum());
+        estatisticas.put("semCategoria", semCategoria.sum());
+        estatisticas.put("correcoesRegistradas", correcoesRegistradas.sum());
+        estatisticas.put("cacheCorrecoes", aprendidas.estatisticas());
+        return estatisticas;
+    }
+
+    private String sugerir(MotorCategorizacao atual, String estabelecimento, String descricao, boolean contar) {
+        if (estabelecimento != null && !estabelecimento.isBlank()) {
+            // Carregador vazio: o que não está no cache não foi corrigido (ou saiu pelo LRU)
+            String corrigida = aprendidas.buscar(AutomatoPalavrasChave.normalizar(estabelecimento), chave -> null);
+            if (corrigida != null) {
+                if (contar) {
+                    porCorrecao.increment();
+                }
+                return corrigida;
+            }
+        }
+        String categoria = atual.porPalavraChave(estabelecimento, descricao);
+        if (contar) {
+            (categoria != null ? porPalavraChave : semCategoria).increment();
+        }
+        return categoria;
+    }
+}
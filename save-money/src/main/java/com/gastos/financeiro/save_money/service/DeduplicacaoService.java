@@ -0,0 +1,143 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.cache.VersaoTabelas;
+import com.gastos.financeiro.save_money.event.GastoEvent;
+import com.gastos.financeiro.save_money.event.GastoLoteEvent;
+import com.gastos.financeiro.save_money.event.TabelaAlteradaEvent;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// O SmsReceiver e o MyNotificationListener do app costumam mandar o mesmo aviso do banco mais de uma vez.
+// Cada gasto vindo de SMS ganha um hash de conteúdo (único via tabela gasto_hash) e os hashes recentes ficam
+// num cache LRU, então um reenvio devolve o gasto existente sem INSERT e, quase sempre, sem ir ao banco.
+@Service
+public class DeduplicacaoService {
+
+    private static final int CAPACIDADE_CACHE = 10_000;
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    // hash -> cópia do gasto gravado, em ordem de acesso (a entrada menos usada sai primeiro)
+    private final Map<String, Gasto> recentes = Collections.synchronizedMap(
+            new LinkedHashMap<>(1024, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Gasto> maisAntiga) {
+                    return size() > CAPACIDADE_CACHE;
+                }
+            });
+
+    // Retorna null para gastos sem SMS original (lançados à mão), que não são deduplicados
+    public static String calcularHash(Gasto gasto) {
+        return calcularHash(gasto.getSmsOriginal(), gasto.getValor(), gasto.getDataHora());
+    }
+
+    // Mesma regra para receitas, com a notificação no lugar do SMS
+    public static String calcularHash(Receita receita) {
+        return calcularHash(receita.getNotificacao(), receita.getValor(), receita.getDataRecebimento());
+    }
+
+    // texto é o que identifica o lançamento na origem: o SMS, ou a chave do registro no extrato
+    public static String calcularHash(String texto, BigDecimal valor, LocalDateTime dataHora) {
+        if (texto == null || texto.isBlank() || valor == null || dataHora == null) {
+            return null;
+        }
+        String conteudo = texto.trim()
+                + "|" + valor.stripTrailingZeros().toPlainString()
+                + "|" + dataHora.truncatedTo(ChronoUnit.MINUTES);
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(conteudo.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+
+    // Procura primeiro no cache e só depois no índice único do banco
+    public Optional<Gasto> buscarExistente(String hash) {
+        Gasto recente = recentes.get(hash);
+        if (recente != null) {
+            return Optional.of(recente);
+        }
+        Optional<Gasto> existente = gastoRepository.findByHashConteudo(hash);
+        existente.ifPresent(this::lembrar);
+        return existente;
+    }
+
+    // Versão para lotes: o que não estiver no cache é buscado numa única consulta
+    public Map<String, Gasto> buscarExistentes(Collection<String> hashes) {
+        Map<String, Gasto> existentes = new HashMap<>();
+        List<String> naoEncontrados = new ArrayList<>();
+        for (String hash : hashes) {
+            Gasto recente = recentes.get(hash);
+            if (recente != null) {
+                existentes.put(hash, recente);
+            } else {
+                naoEncontrados.add(hash);
+            }
+        }
+        if (!naoEncontrados.isEmpty()) {
+            for (Gasto gasto : gastoRepository.findByHashConteudoIn(naoEncontrados)) {
+                existentes.put(gasto.getHashConteudo(), gasto);
+                lembrar(gasto);
+            }
+        }
+        return existentes;
+    }
+
+    // Só depois do commit: um lote desfeito não pode deixar hashes de gastos que não existem
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarGasto(GastoEvent evento) {
+        if (evento.anterior() != null && evento.anterior().getHashConteudo() != null) {
+            recentes.remove(evento.anterior().getHashConteudo());
+        }
+        if (evento.atual() != null) {
+            lembrar(evento.atual());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarLote(GastoLoteEvent evento) {
+        evento.criados().forEach(this::lembrar);
+    }
+
+    // Gastos apagados ou editados em outra instância: sem o evento dela, não dá para saber quais hashes saíram
+    @EventListener
+    public void aoAlterarTabelaEmOutraInstancia(TabelaAlteradaEvent evento) {
+        if (evento.tabela() == VersaoTabelas.Tabela.GASTOS) {
+            limpar();
+        }
+    }
+
+    // Também depois de desanexar uma partição (ParticaoService): os gastos arquivados saem da tabela
+    public void limpar() {
+        recentes.clear();
+    }
+
+    private void lembrar(Gasto gasto) {
+        if (gasto.getHashConteudo() != null) {
+            recentes.put(gasto.getHashConteudo(), GastoEvent.copia(gasto));
+        }
+    }
+}
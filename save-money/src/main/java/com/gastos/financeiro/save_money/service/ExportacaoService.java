@@ -0,0 +1,64 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.exportacao.EscritorTransacoes;
+import com.gastos.financeiro.save_money.exportacao.FormatoExportacao;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import com.gastos.financeiro.save_money.repository.ReceitaRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Exporta gastos e receitas de um período lendo os dois cursores do banco em sequência
+// e escrevendo cada linha assim que ela chega: a memória usada não depende do tamanho do período.
+@Service
+public class ExportacaoService {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // A transação mantém os cursores abertos; o fetch size das consultas faz o driver buscar aos poucos
+    @Transactional(readOnly = true)
+    public void exportar(FormatoExportacao formato, Periodo periodo, OutputStream saida) throws IOException {
+        // O Writer não é fechado aqui: quem abriu a saída (a resposta, o gzip) é quem fecha
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        EscritorTransacoes escritor = formato.criarEscritor(writer);
+        escritor.inicio(periodo);
+        try (Stream<Gasto> gastos = gastoRepository.streamFiltrado(periodo.inicioOuMinimo(), periodo.fimOuMaximo())) {
+            Iterator<Gasto> iterator = gastos.iterator();
+            while (iterator.hasNext()) {
+                Gasto gasto = iterator.next();
+                escritor.gasto(gasto);
+                entityManager.detach(gasto);
+            }
+        }
+        try (Stream<Receita> receitas = receitaRepository.streamFiltrado(periodo.inicioOuMinimo(), periodo.fimOuMaximo())) {
+            Iterator<Receita> iterator = receitas.iterator();
+            while (iterator.hasNext()) {
+                Receita receita = iterator.next();
+                escritor.receita(receita);
+                entityManager.detach(receita);
+            }
+        }
+        escritor.fim();
+    }
+}
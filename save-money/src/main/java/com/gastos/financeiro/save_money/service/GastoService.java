@@ -0,0 +1,96 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.event.GastoEvent;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Escritas de um gasto por vez. A gravação e o evento ficam na mesma transação: os ouvintes síncronos
+// (rollup, progresso das metas) entram nela, e uma falha em qualquer um desfaz a escrita junto.
+// Os ouvintes de depois do commit (caches, painel) só rodam se tudo foi gravado.
+@Service
+public class GastoService {
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @Autowired
+    private CategorizacaoService categorizacaoService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Descarrega o INSERT aqui, para o índice único de hash_conteudo barrar um reenvio simultâneo
+    // com DataIntegrityViolationException antes do rollup ser acumulado
+    @Transactional
+    public Gasto criar(Gasto gasto) {
+        categorizacaoService.categorizar(gasto);
+        Gasto novo = gastoRepository.saveAndFlush(gasto);
+        eventPublisher.publishEvent(GastoEvent.criado(novo));
+        return novo;
+    }
+
+    // Substitui os campos editáveis; vazio se o gasto não existe. Se a versão gravada não é a que o cliente
+    // leu, lança ObjectOptimisticLockingFailureException; o @Version cobre uma escrita entre a leitura e o flush.
+    @Transactional
+    public Optional<Gasto> atualizar(Long id, Gasto gastoAtualizado, long versaoEsperada) {
+        return gastoRepository.findById(id)
+                .map(gasto -> {
+                    if (gasto.getVersao() != versaoEsperada) {
+                        throw new ObjectOptimisticLockingFailureException(Gasto.class, id);
+                    }
+                    Gasto anterior = GastoEvent.copia(gasto);
+                    gasto.setDescricao(gastoAtualizado.getDescricao());
+                    gasto.setValor(gastoAtualizado.getValor());
+                    gasto.setCategoria(gastoAtualizado.getCategoria());
+                    gasto.setEstabelecimento(gastoAtualizado.getEstabelecimento());
+                    gasto.setDataHora(gastoAtualizado.getDataHora());
+                    gasto.setSmsOriginal(gastoAtualizado.getSmsOriginal());
+                    Gasto salvo = gastoRepository.saveAndFlush(gasto);
+                    eventPublisher.publishEvent(GastoEvent.atualizado(anterior, salvo));
+                    return salvo;
+                });
+    }
+
+    // PATCH com um único UPDATE; vazio se o gasto não existe ou se a versão informada estava velha
+    @Transactional
+    public Optional<Gasto> alterar(Long id, Gasto alteracao) {
+        return gastoRepository.atualizarParcial(id, alteracao.getVersao(), alteracao.getValor(),
+                        alteracao.getDataHora(), alteracao.getDescricao(), alteracao.getEstabelecimento(),
+                        alteracao.getCategoria(), alteracao.getSmsOriginal())
+                .map(anterior -> {
+                    Gasto salvo = aplicarAlteracao(anterior, alteracao);
+                    eventPublisher.publishEvent(GastoEvent.atualizado(anterior, salvo));
+                    return salvo;
+                });
+    }
+
+    // O DELETE devolve a linha apagada, que o rollup usa para descontar o valor e a categoria
+    @Transactional
+    public Optional<Gasto> remover(Long id) {
+        return gastoRepository.removerPorId(id)
+                .map(gasto -> {
+                    eventPublisher.publishEvent(GastoEvent.removido(gasto));
+                    return gasto;
+                });
+    }
+
+    // Monta o estado gravado pelo PATCH a partir da linha anterior, sem ler de novo do banco
+    private static Gasto aplicarAlteracao(Gasto anterior, Gasto alteracao) {
+        Gasto salvo = GastoEvent.copia(anterior);
+        Optional.ofNullable(alteracao.getValor()).ifPresent(salvo::setValor);
+        Optional.ofNullable(alteracao.getDataHora()).ifPresent(salvo::setDataHora);
+        Optional.ofNullable(alteracao.getDescricao()).ifPresent(salvo::setDescricao);
+        Optional.ofNullable(alteracao.getEstabelecimento()).ifPresent(salvo::setEstabelecimento);
+        Optional.ofNullable(alteracao.getCategoria()).ifPresent(salvo::setCategoria);
+        Optional.ofNullable(alteracao.getSmsOriginal()).ifPresent(salvo::setSmsOriginal);
+        salvo.setVersao(anterior.getVersao() + 1);
+        return salvo;
+    }
+}
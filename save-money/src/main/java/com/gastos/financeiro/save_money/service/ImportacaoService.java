@@ -0,0 +1,215 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.dto.ResultadoItem;
+import com.gastos.financeiro.save_money.dto.ResultadoLote;
+import com.gastos.financeiro.save_money.importacao.DivisorExtrato;
+import com.gastos.financeiro.save_money.importacao.ErroLinha;
+import com.gastos.financeiro.save_money.importacao.FormatoImportacao;
+import com.gastos.financeiro.save_money.importacao.Importacao;
+import com.gastos.financeiro.save_money.importacao.ParserCsvExtrato;
+import com.gastos.financeiro.save_money.importacao.ParserExtrato;
+import com.gastos.financeiro.save_money.importacao.ParserOfxExtrato;
+import com.gastos.financeiro.save_money.importacao.RegistroExtrato;
+import com.gastos.financeiro.save_money.importacao.TransacaoExtrato;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Importação de extratos bancários (CSV/OFX) em três estágios:
+// 1. o coordenador lê o arquivo em sequência e corta em blocos (DivisorExtrato);
+// 2. cada bloco é interpretado e normalizado num ForkJoinPool, em paralelo com a leitura e a gravação;
+// 3. os blocos interpretados são gravados na ordem do arquivo, uma transação em lote por bloco (LoteService),
+//    com gastos e receitas deduplicados pelo hash da chave de cada registro (TransacaoExtrato.hashConteudo).
+// Só alguns blocos ficam em voo ao mesmo tempo, então a memória não cresce com o tamanho do arquivo.
+@Service
+public class ImportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoService.class);
+
+    @Autowired
+    private LoteService loteService;
+
+    @Value("${save-money.importacao.tamanho-bloco:2000}")
+    private int tamanhoBloco;
+
+    // 0 usa um interpretador por núcleo
+    @Value("${save-money.importacao.paralelismo:0}")
+    private int paralelismo;
+
+    // Quantas importações (em andamento ou terminadas) ficam consultáveis
+    @Value("${save-money.importacao.historico:50}")
+    private int tamanhoHistorico;
+
+    private ForkJoinPool interpretadores;
+    // Uma importação por vez: duas gravando ao mesmo tempo só disputariam o banco
+    private ExecutorService coordenador;
+    private Map<String, Importacao> importacoes;
+
+    private record BlocoInterpretado(List<TransacaoExtrato> transacoes, List<ErroLinha> erros) {
+    }
+
+    @PostConstruct
+    void iniciar() {
+        int nucleos = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        interpretadores = new ForkJoinPool(nucleos);
+        coordenador = Executors.newSingleThreadExecutor(tarefa -> new Thread(tarefa, "importacao-extrato"));
+        importacoes = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Importacao> maisAntiga) {
+                return size() > tamanhoHistorico;
+            }
+        });
+    }
+
+    @PreDestroy
+    void parar() {
+        coordenador.shutdownNow();
+        interpretadores.shutdownNow();
+    }
+
+    // Copia o arquivo para o disco (o upload some quando a requisição termina) e agenda o processamento
+    public Importacao importar(String nomeArquivo, FormatoImportacao formato, Charset charset, InputStream conteudo)
+            throws IOException {
+        Path temporario = Files.createTempFile("importacao-", "." + formato.name().toLowerCase());
+        try {
+            Files.copy(conteudo, temporario, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporario);
+            throw e;
+        }
+        Importacao importacao = new Importacao(UUID.randomUUID().toString(), nomeArquivo, formato);
+        importacoes.put(importacao.getId(), importacao);
+        coordenador.submit(() -> processar(importacao, temporario, charset));
+        return importacao;
+    }
+
+    public Optional<Importacao> buscar(String id) {
+        return Optional.ofNullable(importacoes.get(id));
+    }
+
+    public List<Importacao> listar() {
+        synchronized (importacoes) {
+            return new ArrayList<>(importacoes.values());
+        }
+    }
+
+    private void processar(Importacao importacao, Path arquivo, Charset charset) {
+        importacao.iniciar();
+        long inicio = System.nanoTime();
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, charset)) {
+            DivisorExtrato divisor = new DivisorExtrato(importacao.getFormato(), leitor, tamanhoBloco);
+            ParserExtrato parser = importacao.getFormato() == FormatoImportacao.CSV
+                    ? new ParserCsvExtrato(divisor.cabecalho())
+                    : new ParserOfxExtrato();
+
+            // Enquanto um bloco é gravado, os seguintes já estão sendo interpretados
+            int maximoEmVoo = interpretadores.getParallelism() * 2;
+            Deque<ForkJoinTask<BlocoInterpretado>> emVoo = new ArrayDeque<>();
+            List<RegistroExtrato> bloco = divisor.proximoBloco();
+            while (!bloco.isEmpty()) {
+                List<RegistroExtrato> registros = bloco;
+                emVoo.add(interpretadores.submit(() -> interpretar(parser, registros)));
+                importacao.atualizarLinhasLidas(divisor.linhasLidas());
+                if (emVoo.size() >= maximoEmVoo) {
+                    gravar(importacao, emVoo.poll().join());
+                }
+                bloco = divisor.proximoBloco();
+            }
+            importacao.atualizarLinhasLidas(divisor.linhasLidas());
+            while (!emVoo.isEmpty()) {
+                gravar(importacao, emVoo.poll().join());
+            }
+            importacao.concluir();
+            log.info("Importação {} ({}) concluída em {} ms: {} inseridos, {} duplicados, {} rejeitados",
+                    importacao.getId(), importacao.getArquivo(), (System.nanoTime() - inicio) / 1_000_000,
+                    importacao.getInseridos(), importacao.getDuplicados(), importacao.getRejeitados());
+        } catch (CharacterCodingException e) {
+            importacao.falhar("o arquivo não está em " + charset.name() + "; informe o charset (ex.: ISO-8859-1)");
+        } catch (IllegalArgumentException e) {
+            importacao.falhar(e.getMessage());
+        } catch (Exception e) {
+            log.warn("Falha na importação {} ({})", importacao.getId(), importacao.getArquivo(), e);
+            importacao.falhar("erro ao processar o arquivo: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException e) {
+                log.warn("Não foi possível apagar {}", arquivo, e);
+            }
+        }
+    }
+
+    // Segundo estágio: roda nas threads do ForkJoinPool, sem tocar no banco
+    private static BlocoInterpretado interpretar(ParserExtrato parser, List<RegistroExtrato> registros) {
+        List<TransacaoExtrato> transacoes = new ArrayList<>(registros.size());
+        List<ErroLinha> erros = new ArrayList<>();
+        for (RegistroExtrato registro : registros) {
+            try {
+                transacoes.add(parser.interpretar(registro));
+            } catch (IllegalArgumentException e) {
+                erros.add(new ErroLinha(registro.linha(), e.getMessage()));
+            }
+        }
+        return new BlocoInterpretado(transacoes, erros);
+    }
+
+    // Terceiro estágio: gastos e receitas do bloco, cada grupo numa transação em lote
+    private void gravar(Importacao importacao, BlocoInterpretado bloco) {
+        bloco.erros().forEach(importacao::rejeitar);
+        List<TransacaoExtrato> gastos = new ArrayList<>();
+        List<TransacaoExtrato> receitas = new ArrayList<>();
+        for (TransacaoExtrato transacao : bloco.transacoes()) {
+            (transacao.isGasto() ? gastos : receitas).add(transacao);
+        }
+        long inseridos = 0;
+        long duplicados = 0;
+        if (!gastos.isEmpty()) {
+            ResultadoLote resultado = loteService.salvarGastos(gastos.stream().map(TransacaoExtrato::paraGasto).toList());
+            registrarRejeitados(importacao, resultado, gastos);
+            inseridos += resultado.inseridos();
+            duplicados += resultado.duplicados();
+        }
+        if (!receitas.isEmpty()) {
+            ResultadoLote resultado = loteService.salvarReceitas(receitas.stream().map(TransacaoExtrato::paraReceita).toList());
+            registrarRejeitados(importacao, resultado, receitas);
+            inseridos += resultado.inseridos();
+            duplicados += resultado.duplicados();
+        }
+        importacao.somarProcessados(bloco.transacoes().size() + bloco.erros().size(), inseridos, duplicados);
+    }
+
+    // O índice de cada item do lote aponta de volta para a linha do arquivo
+    private static void registrarRejeitados(Importacao importacao, ResultadoLote resultado, List<TransacaoExtrato> origem) {
+        for (ResultadoItem item : resultado.itens()) {
+            if (item.status() == ResultadoItem.Status.REJEITADO) {
+                importacao.rejeitar(new ErroLinha(origem.get(item.indice()).linha(), item.erro()));
+            }
+        }
+    }
+}
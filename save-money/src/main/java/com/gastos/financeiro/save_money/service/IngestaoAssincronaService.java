@@ -0,0 +1,273 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.gastos.financeiro.save_money.dto.ItemRejeitado;
+import com.gastos.financeiro.save_money.dto.ResultadoItem;
+import com.gastos.financeiro.save_money.dto.ResultadoLote;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Ingestão write-behind: o POST só enfileira e responde 202; poucas threads de trabalho esvaziam a fila
+// e gravam o que encontrarem em uma transação por lote (via LoteService). Em rajadas de avisos do banco,
+// as threads do Tomcat não ficam presas esperando o PostgreSQL. Com a fila cheia, o cliente recebe 429.
+// Como o cliente já recebeu 202, nada é descartado em silêncio: um lote que falha é tentado de novo com
+// espera crescente e depois item a item, e o item que não grava vai para a tabela ingestao_rejeitada.
+@Service
+@ConditionalOnProperty(prefix = "save-money.ingestao.assincrona", name = "habilitada", havingValue = "true")
+public class IngestaoAssincronaService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestaoAssincronaService.class);
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${save-money.ingestao.assincrona.capacidade-fila:10000}")
+    private int capacidadeFila;
+
+    @Value("${save-money.ingestao.assincrona.workers:2}")
+    private int quantidadeWorkers;
+
+    @Value("${save-money.ingestao.assincrona.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${save-money.ingestao.assincrona.tentativas:3}")
+    private int tentativas;
+
+    @Value("${save-money.ingestao.assincrona.espera-inicial-ms:200}")
+    private long esperaInicialMs;
+
+    // Guarda Gasto e Receita na mesma fila; o worker separa na hora de gravar
+    private BlockingQueue<Object> fila;
+    private ExecutorService workers;
+    private volatile boolean rodando;
+
+    private final AtomicLong gravados = new AtomicLong();
+    private final AtomicLong duplicados = new AtomicLong();
+    private final AtomicLong recusados = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+
+    @PostConstruct
+    void iniciar() {
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+        AtomicInteger contador = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(quantidadeWorkers,
+                tarefa -> new Thread(tarefa, "ingestao-" + contador.incrementAndGet()));
+        rodando = true;
+        for (int i = 0; i < quantidadeWorkers; i++) {
+            workers.submit(this::consumir);
+        }
+    }
+
+    // Retorna false quando a fila está cheia (backpressure)
+    public boolean enfileirar(Gasto gasto) {
+        return oferecer(gasto);
+    }
+
+    public boolean enfileirar(Receita receita) {
+        return oferecer(receita);
+    }
+
+    public int pendentes() {
+        return fila.size();
+    }
+
+    public int capacidade() {
+        return capacidadeFila;
+    }
+
+    public long gravados() {
+        return gravados.get();
+    }
+
+    public long duplicados() {
+        return duplicados.get();
+    }
+
+    public long recusados() {
+        return recusados.get();
+    }
+
+    // Itens que não foram gravados (e estão em ingestao_rejeitada, ou no log se nem lá deu para guardar)
+    public long falhas() {
+        return falhas.get();
+    }
+
+    // Os mais recentes primeiro
+    public List<ItemRejeitado> listarRejeitados(int limite) {
+        return jdbcTemplate.query("""
+                SELECT id, tipo, conteudo::text, erro, criada_em FROM ingestao_rejeitada
+                ORDER BY id DESC LIMIT ?
+                """, (linha, numero) -> new ItemRejeitado(linha.getLong(1), linha.getString(2), linha.getString(3),
+                linha.getString(4), linha.getTimestamp(5).toLocalDateTime()), limite);
+    }
+
+    private boolean oferecer(Object item) {
+        boolean aceito = rodando && fila.offer(item);
+        if (!aceito) {
+            recusados.incrementAndGet();
+        }
+        return aceito;
+    }
+
+    private void consumir() {
+        List<Object> lote = new ArrayList<>(tamanhoLote);
+        while (rodando || !fila.isEmpty()) {
+            try {
+                Object primeiro = fila.poll(500, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+                gravar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void gravar(List<Object> lote) {
+        List<Gasto> gastos = new ArrayList<>();
+        List<Receita> receitas = new ArrayList<>();
+        for (Object item : lote) {
+            if (item instanceof Gasto gasto) {
+                gastos.add(gasto);
+            } else if (item instanceof Receita receita) {
+                receitas.add(receita);
+            }
+        }
+        if (!gastos.isEmpty()) {
+            gravar("gasto", gastos, loteService::salvarGastos);
+        }
+        if (!receitas.isEmpty()) {
+            gravar("receita", receitas, loteService::salvarReceitas);
+        }
+    }
+
+    private <T> void gravar(String tipo, List<T> itens, Function<List<T>, ResultadoLote> salvar) {
+        ResultadoLote resultado = comNovasTentativas(tipo, itens, salvar);
+        if (resultado != null) {
+            contabilizar(tipo, itens, resultado);
+            return;
+        }
+        // O lote não passou nem depois das novas tentativas: um por um, para só o item com problema ficar de fora
+        for (T item : itens) {
+            try {
+                contabilizar(tipo, List.of(item), salvar.apply(List.of(item)));
+            } catch (RuntimeException e) {
+                rejeitar(tipo, item, causa(e));
+            }
+        }
+    }
+
+    // null se todas as tentativas falharam (ou a thread foi interrompida no encerramento)
+    private <T> ResultadoLote comNovasTentativas(String tipo, List<T> itens, Function<List<T>, ResultadoLote> salvar) {
+        long espera = esperaInicialMs;
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return salvar.apply(itens);
+            } catch (RuntimeException e) {
+                if (tentativa >= tentativas) {
+                    log.error("Lote assíncrono de {} itens ({}) falhou {} vezes, gravando item a item",
+                            itens.size(), tipo, tentativa, e);
+                    return null;
+                }
+                log.warn("Lote assíncrono de {} itens ({}) falhou na tentativa {}, nova tentativa em {} ms: {}",
+                        itens.size(), tipo, tentativa, espera, causa(e));
+                if (!esperar(espera)) {
+                    return null;
+                }
+                espera *= 2;
+            }
+        }
+    }
+
+    private static boolean esperar(long milissegundos) {
+        try {
+            Thread.sleep(milissegundos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // gravados e duplicados vêm do resultado de cada item; só os REJEITADO contam como falha
+    private <T> void contabilizar(String tipo, List<T> itens, ResultadoLote resultado) {
+        gravados.addAndGet(resultado.inseridos());
+        duplicados.addAndGet(resultado.duplicados());
+        for (ResultadoItem item : resultado.itens()) {
+            if (item.status() == ResultadoItem.Status.REJEITADO) {
+                rejeitar(tipo, itens.get(item.indice()), item.erro());
+            }
+        }
+    }
+
+    // O contador só sobe depois do INSERT: quem vê a falha no status já encontra o item em ingestao_rejeitada
+    private void rejeitar(String tipo, Object item, String erro) {
+        String conteudo;
+        try {
+            conteudo = objectMapper.writeValueAsString(item);
+        } catch (JsonProcessingException e) {
+            conteudo = JsonNodeFactory.instance.textNode(String.valueOf(item)).toString();
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO ingestao_rejeitada (tipo, conteudo, erro) VALUES (?, CAST(? AS jsonb), ?)",
+                    tipo, conteudo, erro);
+        } catch (DataAccessException e) {
+            // Último recurso: o item fica no log para ser reenviado à mão
+            log.error("Item rejeitado ({}: {}) não guardado em ingestao_rejeitada: {}", tipo, erro, conteudo, e);
+        } finally {
+            falhas.incrementAndGet();
+        }
+    }
+
+    private static String causa(Exception e) {
+        String mensagem = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return mensagem != null ? mensagem.lines().findFirst().orElse(mensagem) : e.getClass().getSimpleName();
+    }
+
+    // Para de aceitar novos itens e dá um tempo para os workers gravarem o que ficou na fila
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        rodando = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Encerrando ingestão assíncrona com {} itens ainda na fila", fila.size());
+            workers.shutdownNow();
+        }
+    }
+}
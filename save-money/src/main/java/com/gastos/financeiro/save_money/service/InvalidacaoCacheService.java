@@ -0,0 +1,114 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.cache.CacheLeitura;
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.dto.ResumoFinanceiro;
+import com.gastos.financeiro.save_money.dto.TotalCategoria;
+import com.gastos.financeiro.save_money.event.GastoEvent;
+import com.gastos.financeiro.save_money.event.GastoLoteEvent;
+import com.gastos.financeiro.save_money.event.MetaEvent;
+import com.gastos.financeiro.save_money.event.ReceitaEvent;
+import com.gastos.financeiro.save_money.event.ReceitaLoteEvent;
+import com.gastos.financeiro.save_money.event.TabelaAlteradaEvent;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.MetaFinanceira;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.model.RollupGastoMensal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Invalida exatamente o que uma escrita torna velho: a entidade pelo id e os agregados cujo período
+// contém as datas alteradas. Nos lotes (que publicam dentro da transação) roda só depois do commit;
+// nas escritas simples dos controllers, que não têm transação aberta, roda na hora (fallbackExecution).
+@Service
+public class InvalidacaoCacheService {
+
+    @Autowired
+    private CacheLeitura<Long, Gasto> cacheGastos;
+
+    @Autowired
+    private CacheLeitura<Long, Receita> cacheReceitas;
+
+    @Autowired
+    private CacheLeitura<Long, MetaFinanceira> cacheMetas;
+
+    @Autowired
+    private CacheLeitura<Periodo, ResumoFinanceiro> cacheResumos;
+
+    @Autowired
+    private CacheLeitura<Periodo, List<TotalCategoria>> cacheRelatorioCategorias;
+
+    @Autowired
+    private CacheLeitura<Periodo, List<RollupGastoMensal>> cacheRelatorioMensal;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarGasto(GastoEvent evento) {
+        Gasto gasto = evento.atual() != null ? evento.atual() : evento.anterior();
+        cacheGastos.invalidar(gasto.getId());
+        Stream.of(evento.anterior(), evento.atual())
+                .filter(alterado -> alterado != null)
+                .map(Gasto::getDataHora)
+                .forEach(data -> invalidarGastosEm(data, data));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarLoteGastos(GastoLoteEvent evento) {
+        // Ids novos não estão no cache; só os agregados do intervalo de datas do lote ficam velhos
+        LocalDateTime menor = evento.criados().stream().map(Gasto::getDataHora).min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime maior = evento.criados().stream().map(Gasto::getDataHora).max(LocalDateTime::compareTo).orElseThrow();
+        invalidarGastosEm(menor, maior);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarReceita(ReceitaEvent evento) {
+        Receita receita = evento.atual() != null ? evento.atual() : evento.anterior();
+        cacheReceitas.invalidar(receita.getId());
+        Stream.of(evento.anterior(), evento.atual())
+                .filter(alterada -> alterada != null)
+                .map(Receita::getDataRecebimento)
+                .forEach(data -> cacheResumos.invalidarSe(periodo -> periodo.contem(data)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarLoteReceitas(ReceitaLoteEvent evento) {
+        LocalDateTime menor = evento.criadas().stream().map(Receita::getDataRecebimento).min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime maior = evento.criadas().stream().map(Receita::getDataRecebimento).max(LocalDateTime::compareTo).orElseThrow();
+        cacheResumos.invalidarSe(periodo -> periodo.sobrepoe(menor, maior));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarMeta(MetaEvent evento) {
+        MetaFinanceira meta = evento.atual() != null ? evento.atual() : evento.anterior();
+        cacheMetas.invalidar(meta.getId());
+    }
+
+    // Escrita de outra instância: sem o evento dela, não dá para saber as chaves, então a tabela sai inteira
+    @EventListener
+    public void aoAlterarTabelaEmOutraInstancia(TabelaAlteradaEvent evento) {
+        switch (evento.tabela()) {
+            case GASTOS -> {
+                cacheGastos.limpar();
+                cacheResumos.limpar();
+                cacheRelatorioCategorias.limpar();
+                cacheRelatorioMensal.limpar();
+            }
+            case RECEITAS -> {
+                cacheReceitas.limpar();
+                cacheResumos.limpar();
+            }
+            case METAS -> cacheMetas.limpar();
+        }
+    }
+
+    private void invalidarGastosEm(LocalDateTime menor, LocalDateTime maior) {
+        cacheResumos.invalidarSe(periodo -> periodo.sobrepoe(menor, maior));
+        cacheRelatorioCategorias.invalidarSe(periodo -> periodo.sobrepoe(menor, maior));
+        cacheRelatorioMensal.invalidarSe(periodo -> periodo.sobrepoe(menor, maior));
+    }
+}
@@ -0,0 +1,44 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Escreve um array JSON direto na resposta HTTP à medida que as linhas chegam do banco,
+// sem montar a lista inteira em memória.
+@Service
+public class JsonStreamService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // A transação mantém o cursor do banco aberto enquanto o Stream é consumido
+    @Transactional(readOnly = true)
+    public <T> void escreverArray(Supplier<Stream<T>> consulta, OutputStream saida) throws IOException {
+        try (Stream<T> linhas = consulta.get();
+             JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gerador.writeStartArray();
+            Iterator<T> iterator = linhas.iterator();
+            while (iterator.hasNext()) {
+                T item = iterator.next();
+                gerador.writeObject(item);
+                // Tira a entidade do contexto de persistência para ele não crescer com a tabela
+                entityManager.detach(item);
+            }
+            gerador.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.dto.ResultadoItem;
+import com.gastos.financeiro.save_money.dto.ResultadoLote;
+import com.gastos.financeiro.save_money.event.GastoLoteEvent;
+import com.gastos.financeiro.save_money.event.ReceitaLoteEvent;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.repository.ReceitaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Grava envios em lote numa única transação. Com hibernate.jdbc.batch_size e a sequência pooled,
+// cada bloco de itens vira um INSERT em batch no JDBC e um nextval a cada 50 ids.
+// Se o banco recusar algum item (coluna maior que o limite, hash repetido por um envio simultâneo), a
+// transação do lote é desfeita e os itens são gravados de novo, cada um na sua transação: só o recusado
+// fica REJEITADO. Savepoints não servem aqui: o Hibernate marca a transação inteira para rollback quando
+// um flush falha. Os eventos são publicados dentro da transação, como no GastoService.
+@Service
+public class LoteService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoteService.class);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DeduplicacaoService deduplicacaoService;
+
+    @Autowired
+    private CategorizacaoService categorizacaoService;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    // Mesmo tamanho do batch JDBC: a cada bloco o contexto é descarregado e limpo
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int tamanhoBloco;
+
+    public ResultadoLote salvarGastos(List<Gasto> gastos) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        try {
+            return transacao.execute(status -> gravarGastos(gastos));
+        } catch (PersistenceException | DataAccessException e) {
+            log.warn("Lote com {} gastos recusado pelo banco, gravando item a item: {}", gastos.size(), causa(e));
+            return itemAItem(gastos, gasto -> {
+                try {
+                    return transacao.execute(status -> gravarGastos(List.of(gasto))).itens().get(0);
+                } catch (PersistenceException | DataIntegrityViolationException duplicado) {
+                    // O mesmo SMS gravado por outro envio entre a checagem de hash e o INSERT
+                    String hash = gasto.getHashConteudo();
+                    Optional<Gasto> existente = hash != null ? deduplicacaoService.buscarExistente(hash) : Optional.empty();
+                    if (existente.isEmpty()) {
+                        throw duplicado;
+                    }
+                    return ResultadoItem.duplicado(0, existente.get().getId());
+                }
+            });
+        }
+    }
+
+    public ResultadoLote salvarReceitas(List<Receita> receitas) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        try {
+            return transacao.execute(status -> gravarReceitas(receitas));
+        } catch (PersistenceException | DataAccessException e) {
+            log.warn("Lote com {} receitas recusado pelo banco, gravando item a item: {}", receitas.size(), causa(e));
+            return itemAItem(receitas, receita -> {
+                try {
+                    return transacao.execute(status -> gravarReceitas(List.of(receita))).itens().get(0);
+                } catch (PersistenceException | DataIntegrityViolationException duplicado) {
+                    // A mesma notificação gravada por outro envio entre a checagem de hash e o INSERT
+                    String hash = receita.getHashConteudo();
+                    Optional<Receita> existente = hash != null ? receitaRepository.findByHashConteudo(hash) : Optional.empty();
+                    if (existente.isEmpty()) {
+                        throw duplicado;
+                    }
+                    return ResultadoItem.duplicado(0, existente.get().getId());
+                }
+            });
+        }
+    }
+
+    // Segunda passada: uma transação por item. O índice de cada resultado volta a ser a posição no lote original.
+    private static <T> ResultadoLote itemAItem(List<T> itens, Function<T, ResultadoItem> gravar) {
+        List<ResultadoItem> resultados = new ArrayList<>(itens.size());
+        for (int i = 0; i < itens.size(); i++) {
+            ResultadoItem resultado;
+            try {
+                resultado = gravar.apply(itens.get(i));
+            } catch (PersistenceException | DataAccessException e) {
+                resultado = ResultadoItem.rejeitado(i, "recusado pelo banco: " + causa(e));
+            }
+            resultados.add(new ResultadoItem(i, resultado.id(), resultado.status(), resultado.erro()));
+        }
+        return ResultadoLote.de(resultados);
+    }
+
+    private ResultadoLote gravarGastos(List<Gasto> gastos) {
+        List<ResultadoItem> resultados = new ArrayList<>(gastos.size());
+        List<Gasto> criados = new ArrayList<>(gastos.size());
+
+        // Gastos de SMS já gravados (ou repetidos dentro do próprio lote) não são inseridos de novo
+        List<String> hashes = gastos.stream()
+                .filter(gasto -> validar(gasto) == null)
+                .map(LoteService::hash)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<String, Long> idsPorHash = new HashMap<>();
+        deduplicacaoService.buscarExistentes(hashes).forEach((hash, gasto) -> idsPorHash.put(hash, gasto.getId()));
+
+        for (int i = 0; i < gastos.size(); i++) {
+            Gasto gasto = gastos.get(i);
+            String erro = validar(gasto);
+            if (erro != null) {
+                resultados.add(ResultadoItem.rejeitado(i, erro));
+                continue;
+            }
+            String hash = hash(gasto);
+            if (hash != null && idsPorHash.containsKey(hash)) {
+                resultados.add(ResultadoItem.duplicado(i, idsPorHash.get(hash)));
+                continue;
+            }
+            gasto.setId(null);
+            gasto.setHashConteudo(hash);
+            categorizacaoService.categorizar(gasto);
+            entityManager.persist(gasto);
+            if (hash != null) {
+                idsPorHash.put(hash, gasto.getId());
+            }
+            criados.add(gasto);
+            resultados.add(ResultadoItem.criado(i, gasto.getId()));
+            descarregarSeBlocoCompleto(criados.size());
+        }
+        entityManager.flush();
+        if (!criados.isEmpty()) {
+            eventPublisher.publishEvent(new GastoLoteEvent(criados));
+        }
+        return ResultadoLote.de(resultados);
+    }
+
+    private ResultadoLote gravarReceitas(List<Receita> receitas) {
+        List<ResultadoItem> resultados = new ArrayList<>(receitas.size());
+        List<Receita> criadas = new ArrayList<>(receitas.size());
+
+        // Receitas de notificação já gravadas (ou repetidas no lote) seguem a mesma regra dos gastos
+        List<String> hashes = receitas.stream()
+                .filter(receita -> validar(receita) == null)
+                .map(LoteService::hash)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<String, Long> idsPorHash = new HashMap<>();
+        if (!hashes.isEmpty()) {
+            receitaRepository.findByHashConteudoIn(hashes).forEach(receita -> idsPorHash.put(receita.getHashConteudo(), receita.getId()));
+        }
+
+        for (int i = 0; i < receitas.size(); i++) {
+            Receita receita = receitas.get(i);
+            String erro = validar(receita);
+            if (erro != null) {
+                resultados.add(ResultadoItem.rejeitado(i, erro));
+                continue;
+            }
+            String hash = hash(receita);
+            if (hash != null && idsPorHash.containsKey(hash)) {
+                resultados.add(ResultadoItem.duplicado(i, idsPorHash.get(hash)));
+                continue;
+            }
+            receita.setId(null);
+            receita.setHashConteudo(hash);
+            entityManager.persist(receita);
+            if (hash != null) {
+                idsPorHash.put(hash, receita.getId());
+            }
+            criadas.add(receita);
+            resultados.add(ResultadoItem.criado(i, receita.getId()));
+            descarregarSeBlocoCompleto(criadas.size());
+        }
+        entityManager.flush();
+        if (!criadas.isEmpty()) {
+            eventPublisher.publishEvent(new ReceitaLoteEvent(criadas));
+        }
+        return ResultadoLote.de(resultados);
+    }
+
+    // A importação de extratos já manda o hash calculado com a chave do registro; os demais vêm do SMS
+    private static String hash(Gasto gasto) {
+        return gasto.getHashConteudo() != null ? gasto.getHashConteudo() : DeduplicacaoService.calcularHash(gasto);
+    }
+
+    private static String hash(Receita receita) {
+        return receita.getHashConteudo() != null ? receita.getHashConteudo() : DeduplicacaoService.calcularHash(receita);
+    }
+
+    private static String causa(Exception e) {
+        String mensagem = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return mensagem != null ? mensagem.lines().findFirst().orElse(mensagem) : e.getClass().getSimpleName();
+    }
+
+    private void descarregarSeBlocoCompleto(int quantidade) {
+        if (quantidade % tamanhoBloco == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    // Checa as colunas NOT NULL antes, para um item ruim não derrubar o lote inteiro no banco
+    private static String validar(Gasto gasto) {
+        if (gasto == null) {
+            return "item vazio";
+        }
+        if (gasto.getValor() == null) {
+            return "valor é obrigatório";
+        }
+        if (gasto.getDataHora() == null) {
+            return "dataHora é obrigatório";
+        }
+        return null;
+    }
+
+    private static String validar(Receita receita) {
+        if (receita == null) {
+            return "item vazio";
+        }
+        if (receita.getValor() == null) {
+            return "valor é obrigatório";
+        }
+        if (receita.getDataRecebimento() == null) {
+            return "dataRecebimento é obrigatório";
+        }
+        return null;
+    }
+}
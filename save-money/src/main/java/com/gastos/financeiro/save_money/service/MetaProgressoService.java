@@ -0,0 +1,266 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.cache.CacheLeitura;
+import com.gastos.financeiro.save_money.dto.VinculoMeta;
+import com.gastos.financeiro.save_money.event.GastoEvent;
+import com.gastos.financeiro.save_money.event.GastoLoteEvent;
+import com.gastos.financeiro.save_money.event.MetaEvent;
+import com.gastos.financeiro.save_money.event.MetaProgressoEvent;
+import com.gastos.financeiro.save_money.event.ReceitaEvent;
+import com.gastos.financeiro.save_money.event.ReceitaLoteEvent;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.MetaFinanceira;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.model.TipoVinculoMeta;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import com.gastos.financeiro.save_money.repository.MetaFinanceiraRepository;
+import com.gastos.financeiro.save_money.repository.ReceitaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+// Mantém o valorAtual das metas vinculadas a uma categoria/fonte em dia a partir dos eventos de escrita:
+// cada gasto ou receita vira um delta somado direto na meta, então ler o progresso não varre lançamentos.
+// Os ouvintes são síncronos e rodam na transação da escrita (GastoService, ReceitaService, LoteService,
+// MetaService): o lançamento e o aporte na meta são gravados ou desfeitos juntos. As metas vinculadas são
+// buscadas no banco a cada escrita, só para os vínculos dos lançamentos dela, então todas as instâncias
+// enxergam o mesmo vínculo. A soma completa só acontece quando o vínculo (ou a data de criação) de uma meta
+// é definido ou alterado.
+@Service
+public class MetaProgressoService {
+
+    // Metas antigas, sem dataCriacao, contam todo o histórico
+    private static final LocalDateTime SEM_DATA = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final Set<TipoVinculoMeta> VINCULOS_GASTO = EnumSet.of(TipoVinculoMeta.CATEGORIA_GASTO);
+    private static final Set<TipoVinculoMeta> VINCULOS_RECEITA =
+            EnumSet.of(TipoVinculoMeta.CATEGORIA_RECEITA, TipoVinculoMeta.FONTE_RECEITA);
+
+    @Autowired
+    private MetaFinanceiraRepository metaFinanceiraRepository;
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private CacheLeitura<Long, MetaFinanceira> cacheMetas;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @EventListener
+    @Transactional
+    public void aoAlterarMeta(MetaEvent evento) {
+        MetaFinanceira anterior = evento.anterior();
+        MetaFinanceira atual = evento.atual();
+        if (atual == null || !vinculada(atual)) {
+            if (anterior != null && atual != null && vinculada(anterior)) {
+                // Perdeu o vínculo: o que foi aportado automaticamente sai do valorAtual
+                redefinir(atual.getId(), BigDecimal.ZERO);
+                eventPublisher.publishEvent(new MetaProgressoEvent(Set.of(atual.getId())));
+            }
+            return;
+        }
+        boolean mudouVinculo = anterior == null
+                || anterior.getTipoVinculo() != atual.getTipoVinculo()
+                || !Objects.equals(anterior.getVinculo(), atual.getVinculo())
+                || !Objects.equals(anterior.getDataCriacao(), atual.getDataCriacao());
+        if (mudouVinculo) {
+            redefinir(atual.getId(), somarHistorico(atual.getTipoVinculo(), atual.getVinculo(),
+                    desde(atual.getDataCriacao())));
+            eventPublisher.publishEvent(new MetaProgressoEvent(Set.of(atual.getId())));
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void aoAlterarGasto(GastoEvent evento) {
+        List<Gasto> gastos = new ArrayList<>(2);
+        Optional.ofNullable(evento.anterior()).ifPresent(gastos::add);
+        Optional.ofNullable(evento.atual()).ifPresent(gastos::add);
+        Map<ChaveVinculo, List<MetaVinculada>> metas = metasDosGastos(gastos);
+        Map<Long, BigDecimal> deltas = new HashMap<>();
+        if (evento.anterior() != null) {
+            acumularGasto(metas, deltas, evento.anterior(), -1);
+        }
+        if (evento.atual() != null) {
+            acumularGasto(metas, deltas, evento.atual(), 1);
+        }
+        aplicar(deltas);
+    }
+
+    @EventListener
+    @Transactional
+    public void aoCriarLoteGastos(GastoLoteEvent evento) {
+        Map<ChaveVinculo, List<MetaVinculada>> metas = metasDosGastos(evento.criados());
+        Map<Long, BigDecimal> deltas = new HashMap<>();
+        for (Gasto gasto : evento.criados()) {
+            acumularGasto(metas, deltas, gasto, 1);
+        }
+        aplicar(deltas);
+    }
+
+    @EventListener
+    @Transactional
+    public void aoAlterarReceita(ReceitaEvent evento) {
+        List<Receita> receitas = new ArrayList<>(2);
+        Optional.ofNullable(evento.anterior()).ifPresent(receitas::add);
+        Optional.ofNullable(evento.atual()).ifPresent(receitas::add);
+        Map<ChaveVinculo, List<MetaVinculada>> metas = metasDasReceitas(receitas);
+        Map<Long, BigDecimal> deltas = new HashMap<>();
+        if (evento.anterior() != null) {
+            acumularReceita(metas, deltas, evento.anterior(), -1);
+        }
+        if (evento.atual() != null) {
+            acumularReceita(metas, deltas, evento.atual(), 1);
+        }
+        aplicar(deltas);
+    }
+
+    @EventListener
+    @Transactional
+    public void aoCriarLoteReceitas(ReceitaLoteEvent evento) {
+        Map<ChaveVinculo, List<MetaVinculada>> metas = metasDasReceitas(evento.criadas());
+        Map<Long, BigDecimal> deltas = new HashMap<>();
+        for (Receita receita : evento.criadas()) {
+            acumularReceita(metas, deltas, receita, 1);
+        }
+        aplicar(deltas);
+    }
+
+    private Map<ChaveVinculo, List<MetaVinculada>> metasDosGastos(Collection<Gasto> gastos) {
+        Set<String> vinculos = new HashSet<>();
+        for (Gasto gasto : gastos) {
+            Optional.ofNullable(gasto.getCategoria()).ifPresent(vinculos::add);
+        }
+        return buscarMetas(VINCULOS_GASTO, vinculos);
+    }
+
+    private Map<ChaveVinculo, List<MetaVinculada>> metasDasReceitas(Collection<Receita> receitas) {
+        Set<String> vinculos = new HashSet<>();
+        for (Receita receita : receitas) {
+            Optional.ofNullable(receita.getCategoria()).ifPresent(vinculos::add);
+            Optional.ofNullable(receita.getFonte()).ifPresent(vinculos::add);
+        }
+        return buscarMetas(VINCULOS_RECEITA, vinculos);
+    }
+
+    // Uma consulta por escrita, mesmo num lote com milhares de lançamentos: só os vínculos distintos vão ao banco
+    private Map<ChaveVinculo, List<MetaVinculada>> buscarMetas(Set<TipoVinculoMeta> tipos, Set<String> vinculos) {
+        if (vinculos.isEmpty()) {
+            return Map.of();
+        }
+        Map<ChaveVinculo, List<MetaVinculada>> metas = new HashMap<>();
+        for (VinculoMeta meta : metaFinanceiraRepository.buscarVinculadas(tipos, vinculos)) {
+            metas.computeIfAbsent(new ChaveVinculo(meta.tipoVinculo(), meta.vinculo()), chave -> new ArrayList<>())
+                    .add(new MetaVinculada(meta.id(), desde(meta.dataCriacao())));
+        }
+        return metas;
+    }
+
+    private void acumularGasto(Map<ChaveVinculo, List<MetaVinculada>> metas, Map<Long, BigDecimal> deltas,
+                               Gasto gasto, int sinal) {
+        acumular(metas, deltas, TipoVinculoMeta.CATEGORIA_GASTO, gasto.getCategoria(), gasto.getDataHora(),
+                gasto.getValor(), sinal);
+    }
+
+    private void acumularReceita(Map<ChaveVinculo, List<MetaVinculada>> metas, Map<Long, BigDecimal> deltas,
+                                 Receita receita, int sinal) {
+        acumular(metas, deltas, TipoVinculoMeta.CATEGORIA_RECEITA, receita.getCategoria(),
+                receita.getDataRecebimento(), receita.getValor(), sinal);
+        acumular(metas, deltas, TipoVinculoMeta.FONTE_RECEITA, receita.getFonte(),
+                receita.getDataRecebimento(), receita.getValor(), sinal);
+    }
+
+    private static void acumular(Map<ChaveVinculo, List<MetaVinculada>> metas, Map<Long, BigDecimal> deltas,
+                                 TipoVinculoMeta tipo, String vinculo, LocalDateTime data, BigDecimal valor, int sinal) {
+        if (vinculo == null || valor == null || data == null) {
+            return;
+        }
+        List<MetaVinculada> vinculadas = metas.get(new ChaveVinculo(tipo, vinculo));
+        if (vinculadas == null) {
+            return;
+        }
+        BigDecimal delta = sinal < 0 ? valor.negate() : valor;
+        for (MetaVinculada meta : vinculadas) {
+            if (!data.isBefore(meta.desde())) {
+                deltas.merge(meta.id(), delta, BigDecimal::add);
+            }
+        }
+    }
+
+    // Uma atualização por meta afetada, mesmo que o lote tenha milhares de lançamentos da mesma categoria
+    private void aplicar(Map<Long, BigDecimal> deltas) {
+        deltas.values().removeIf(delta -> delta.signum() == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        deltas.forEach((id, delta) -> {
+            metaFinanceiraRepository.acumularAporte(id, delta);
+            invalidarDepoisDoCommit(id);
+        });
+        eventPublisher.publishEvent(new MetaProgressoEvent(Set.copyOf(deltas.keySet())));
+    }
+
+    private void redefinir(Long id, BigDecimal aportado) {
+        metaFinanceiraRepository.redefinirAportado(id, aportado);
+        invalidarDepoisDoCommit(id);
+    }
+
+    private BigDecimal somarHistorico(TipoVinculoMeta tipo, String vinculo, LocalDateTime desde) {
+        return switch (tipo) {
+            case CATEGORIA_GASTO -> gastoRepository.somarCategoriaDesde(vinculo, desde);
+            case CATEGORIA_RECEITA -> receitaRepository.somarCategoriaDesde(vinculo, desde);
+            case FONTE_RECEITA -> receitaRepository.somarFonteDesde(vinculo, desde);
+        };
+    }
+
+    // O cache da meta só pode ser limpo com o novo valor já visível; sem transação, limpa na hora
+    private void invalidarDepoisDoCommit(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheMetas.invalidar(id);
+                }
+            });
+        } else {
+            cacheMetas.invalidar(id);
+        }
+    }
+
+    private static boolean vinculada(MetaFinanceira meta) {
+        return meta.getTipoVinculo() != null && meta.getVinculo() != null;
+    }
+
+    private static LocalDateTime desde(LocalDate dataCriacao) {
+        return dataCriacao != null ? dataCriacao.atStartOfDay() : SEM_DATA;
+    }
+
+    private record ChaveVinculo(TipoVinculoMeta tipo, String vinculo) {
+    }
+
+    private record MetaVinculada(Long id, LocalDateTime desde) {
+    }
+}
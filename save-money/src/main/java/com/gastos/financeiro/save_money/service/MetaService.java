@@ -0,0 +1,105 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.event.MetaEvent;
+import com.gastos.financeiro.save_money.model.MetaFinanceira;
+import com.gastos.financeiro.save_money.repository.MetaFinanceiraRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+// Escritas de metas, com o evento publicado na mesma transação: o MetaProgressoService recalcula o aportado
+// de uma meta que ganhou ou trocou de vínculo dentro dela, como o GastoService faz com o rollup
+@Service
+public class MetaService {
+
+    @Autowired
+    private MetaFinanceiraRepository metaFinanceiraRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // dataCriacao marca a partir de quando os lançamentos vinculados contam; o aportado é calculado aqui
+    @Transactional
+    public MetaFinanceira criar(MetaFinanceira meta) {
+        if (meta.getDataCriacao() == null) {
+            meta.setDataCriacao(LocalDate.now());
+        }
+        meta.setValorAportado(BigDecimal.ZERO);
+        MetaFinanceira nova = metaFinanceiraRepository.saveAndFlush(meta);
+        eventPublisher.publishEvent(MetaEvent.criado(nova));
+        return recarregar(nova.getId());
+    }
+
+    @Transactional
+    public Optional<MetaFinanceira> atualizar(Long id, MetaFinanceira metaAtualizada, long versaoEsperada) {
+        return metaFinanceiraRepository.findById(id)
+                .map(meta -> {
+                    if (meta.getVersao() != versaoEsperada) {
+                        throw new ObjectOptimisticLockingFailureException(MetaFinanceira.class, id);
+                    }
+                    MetaFinanceira anterior = MetaEvent.copia(meta);
+                    meta.setNome(metaAtualizada.getNome());
+                    meta.setValorAlvo(metaAtualizada.getValorAlvo());
+                    meta.setValorAtual(metaAtualizada.getValorAtual());
+                    meta.setDataAlvo(metaAtualizada.getDataAlvo());
+                    meta.setStatus(metaAtualizada.getStatus());
+                    meta.setDescricao(metaAtualizada.getDescricao());
+                    meta.setTipoVinculo(metaAtualizada.getTipoVinculo());
+                    meta.setVinculo(metaAtualizada.getVinculo());
+                    MetaFinanceira salva = metaFinanceiraRepository.saveAndFlush(meta);
+                    eventPublisher.publishEvent(MetaEvent.atualizado(anterior, salva));
+                    return recarregar(id);
+                });
+    }
+
+    // PATCH com um único UPDATE; vazio se a meta não existe ou se a versão informada estava velha
+    @Transactional
+    public Optional<MetaFinanceira> alterar(Long id, MetaFinanceira alteracao) {
+        return metaFinanceiraRepository.atualizarParcial(id, alteracao.getVersao(),
+                        alteracao.getNome(), alteracao.getValorAlvo(), alteracao.getValorAtual(), alteracao.getDataAlvo(),
+                        alteracao.getStatus(), alteracao.getDescricao(),
+                        alteracao.getTipoVinculo() != null ? alteracao.getTipoVinculo().name() : null, alteracao.getVinculo())
+                .map(anterior -> {
+                    MetaFinanceira salva = MetaEvent.copia(anterior);
+                    Optional.ofNullable(alteracao.getNome()).ifPresent(salva::setNome);
+                    Optional.ofNullable(alteracao.getValorAlvo()).ifPresent(salva::setValorAlvo);
+                    Optional.ofNullable(alteracao.getValorAtual()).ifPresent(salva::setValorAtual);
+                    Optional.ofNullable(alteracao.getDataAlvo()).ifPresent(salva::setDataAlvo);
+                    Optional.ofNullable(alteracao.getStatus()).ifPresent(salva::setStatus);
+                    Optional.ofNullable(alteracao.getDescricao()).ifPresent(salva::setDescricao);
+                    Optional.ofNullable(alteracao.getTipoVinculo()).ifPresent(salva::setTipoVinculo);
+                    Optional.ofNullable(alteracao.getVinculo()).ifPresent(salva::setVinculo);
+                    salva.setVersao(anterior.getVersao() + 1);
+                    eventPublisher.publishEvent(MetaEvent.atualizado(anterior, salva));
+                    return recarregar(id);
+                });
+    }
+
+    // Um único DELETE, que devolve a linha apagada
+    @Transactional
+    public Optional<MetaFinanceira> remover(Long id) {
+        return metaFinanceiraRepository.removerPorId(id)
+                .map(meta -> {
+                    eventPublisher.publishEvent(MetaEvent.removido(meta));
+                    return meta;
+                });
+    }
+
+    // O MetaProgressoService pode ter redefinido o aportado (e subido a versão) com um UPDATE em massa,
+    // que não passa pelo contexto JPA: a resposta lê a linha de novo
+    private MetaFinanceira recarregar(Long id) {
+        entityManager.flush();
+        entityManager.clear();
+        return metaFinanceiraRepository.findById(id).orElseThrow();
+    }
+}
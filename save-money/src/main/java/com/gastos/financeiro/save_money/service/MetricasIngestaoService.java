@@ -0,0 +1,61 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.event.GastoEvent;
+import com.gastos.financeiro.save_money.event.GastoLoteEvent;
+import com.gastos.financeiro.save_money.event.ReceitaEvent;
+import com.gastos.financeiro.save_money.event.ReceitaLoteEvent;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Contador save_money.ingestao (tags tipo=gasto|receita e categoria) dos lançamentos gravados.
+// A taxa por minuto sai da própria série: rate(save_money_ingestao_total[1m]) no Prometheus.
+@Service
+public class MetricasIngestaoService {
+
+    private static final String SEM_CATEGORIA = "Sem Categoria";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarGasto(GastoEvent evento) {
+        if (evento.tipo() == GastoEvent.Tipo.CRIADO) {
+            registrar("gasto", evento.atual().getCategoria());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarLoteGastos(GastoLoteEvent evento) {
+        for (Gasto gasto : evento.criados()) {
+            registrar("gasto", gasto.getCategoria());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarReceita(ReceitaEvent evento) {
+        if (evento.tipo() == ReceitaEvent.Tipo.CRIADO) {
+            registrar("receita", evento.atual().getCategoria());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarLoteReceitas(ReceitaLoteEvent evento) {
+        for (Receita receita : evento.criadas()) {
+            registrar("receita", receita.getCategoria());
+        }
+    }
+
+    private void registrar(String tipo, String categoria) {
+        Counter.builder("save_money.ingestao")
+                .description("Lançamentos gravados")
+                .tag("tipo", tipo)
+                .tag("categoria", categoria != null ? categoria : SEM_CATEGORIA)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,336 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.cache.VersaoTabelas;
+import com.gastos.financeiro.save_money.dto.EventoPainel;
+import com.gastos.financeiro.save_money.event.GastoEvent;
+import com.gastos.financeiro.save_money.event.GastoLoteEvent;
+import com.gastos.financeiro.save_money.event.MetaEvent;
+import com.gastos.financeiro.save_money.event.MetaProgressoEvent;
+import com.gastos.financeiro.save_money.event.ReceitaEvent;
+import com.gastos.financeiro.save_money.event.ReceitaLoteEvent;
+import com.gastos.financeiro.save_money.event.TabelaAlteradaEvent;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.MetaFinanceira;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.repository.MetaFinanceiraRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Difunde as escritas de gastos, receitas e metas para os painéis conectados via Server-Sent Events,
+// para o frontend aplicar a linha alterada em vez de buscar as listas inteiras de novo.
+// Cada cliente tem um buffer limitado e é esvaziado por um pool pequeno de envio: um painel lento
+// não segura a thread que gravou nem os outros painéis. Se o buffer encher, o cliente perde os eventos
+// pendentes e recebe um "recarregar" no lugar. Os últimos eventos ficam num histórico curto para
+// a reconexão automática do EventSource (cabeçalho Last-Event-ID) não perder nada.
+// Escritas de outras instâncias (TabelaAlteradaEvent) e partições desanexadas não trazem as linhas:
+// viram um "recarregar" da entidade.
+// O id de cada evento leva o instante em que esta instância subiu ("instancia-sequencia"): a sequência
+// recomeça num restart e é outra em cada instância, então um Last-Event-ID de outra origem vira "recarregar".
+@Service
+public class PainelEventosService {
+
+    private static final Logger log = LoggerFactory.getLogger(PainelEventosService.class);
+
+    private static final String TODAS = "todas";
+
+    @Autowired
+    private MetaFinanceiraRepository metaFinanceiraRepository;
+
+    @Value("${save-money.painel.buffer-por-cliente:256}")
+    private int bufferPorCliente;
+
+    @Value("${save-money.painel.max-clientes:100}")
+    private int maxClientes;
+
+    @Value("${save-money.painel.historico:1000}")
+    private int tamanhoHistorico;
+
+    // Lotes maiores que isso viram um único "recarregar", em vez de milhares de eventos
+    @Value("${save-money.painel.max-eventos-lote:50}")
+    private int maxEventosLote;
+
+    @Value("${save-money.painel.timeout-minutos:30}")
+    private long timeoutMinutos;
+
+    private final List<ClientePainel> clientes = new CopyOnWriteArrayList<>();
+    private final ArrayDeque<EventoPainel> historico = new ArrayDeque<>();
+    private final AtomicLong sequencia = new AtomicLong();
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36);
+
+    private final LongAdder enviados = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+    private final LongAdder desconectados = new LongAdder();
+
+    private ExecutorService envio;
+    private ScheduledExecutorService batimento;
+
+    @PostConstruct
+    void iniciar() {
+        AtomicInteger contador = new AtomicInteger();
+        envio = Executors.newFixedThreadPool(2, tarefa -> {
+            Thread thread = new Thread(tarefa, "painel-sse-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        batimento = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "painel-sse-batimento");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Comentário SSE periódico: mantém proxies abertos e revela conexões mortas
+        batimento.scheduleAtFixedRate(this::enviarBatimento, 20, 20, TimeUnit.SECONDS);
+    }
+
+    // Registra um painel; vazio quando já há clientes demais. ultimoEventoRecebido é o Last-Event-ID, se houver
+    public Optional<SseEmitter> conectar(String ultimoEventoRecebido) {
+        if (clientes.size() >= maxClientes) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutos));
+        ClientePainel cliente = new ClientePainel(emitter, bufferPorCliente);
+        emitter.onCompletion(() -> remover(cliente));
+        emitter.onTimeout(() -> remover(cliente));
+        emitter.onError(erro -> remover(cliente));
+        clientes.add(cliente);
+        if (ultimoEventoRecebido != null) {
+            reenviarDesde(cliente, ultimoEventoRecebido);
+        }
+        return Optional.of(emitter);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarGasto(GastoEvent evento) {
+        Gasto gasto = evento.atual() != null ? evento.atual() : evento.anterior();
+        difundir("gasto", evento.tipo().name(), gasto.getId(), evento.atual());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarLoteGastos(GastoLoteEvent evento) {
+        if (evento.criados().size() > maxEventosLote) {
+            difundir("gasto", null, null, null);
+            return;
+        }
+        for (Gasto gasto : evento.criados()) {
+            difundir("gasto", GastoEvent.Tipo.CRIADO.name(), gasto.getId(), gasto);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarReceita(ReceitaEvent evento) {
+        Receita receita = evento.atual() != null ? evento.atual() : evento.anterior();
+        difundir("receita", evento.tipo().name(), receita.getId(), evento.atual());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarLoteReceitas(ReceitaLoteEvent evento) {
+        if (evento.criadas().size() > maxEventosLote) {
+            difundir("receita", null, null, null);
+            return;
+        }
+        for (Receita receita : evento.criadas()) {
+            difundir("receita", ReceitaEvent.Tipo.CRIADO.name(), receita.getId(), receita);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarMeta(MetaEvent evento) {
+        MetaFinanceira meta = evento.atual() != null ? evento.atual() : evento.anterior();
+        difundir("meta", evento.tipo().name(), meta.getId(), evento.atual());
+    }
+
+    // O progresso automático muda a meta por UPDATE direto; relê as metas afetadas depois do commit
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAtualizarProgresso(MetaProgressoEvent evento) {
+        if (clientes.isEmpty()) {
+            return;
+        }
+        for (MetaFinanceira meta : metaFinanceiraRepository.findAllById(evento.ids())) {
+            difundir("meta", MetaEvent.Tipo.ATUALIZADO.name(), meta.getId(), meta);
+        }
+    }
+
+    // Escrita de outra instância: os eventos dela ficaram lá, então o painel relê a lista da entidade
+    @EventListener
+    public void aoAlterarTabelaEmOutraInstancia(TabelaAlteradaEvent evento) {
+        recarregar(evento.tabela());
+    }
+
+    // Também depois de desanexar uma partição (ParticaoService), que tira o mês inteiro sem evento por linha
+    public void recarregar(VersaoTabelas.Tabela tabela) {
+        String entidade = switch (tabela) {
+            case GASTOS -> "gasto";
+            case RECEITAS -> "receita";
+            case METAS -> "meta";
+        };
+        difundir(entidade, null, null, null);
+    }
+
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("clientes", clientes.size());
+        estatisticas.put("maxClientes", maxClientes);
+        estatisticas.put("bufferPorCliente", bufferPorCliente);
+        estatisticas.put("ultimaSequencia", sequencia.get());
+        estatisticas.put("enviados", enviados.sum());
+        estatisticas.put("descartados", descartados.sum());
+        estatisticas.put("desconectados", desconectados.sum());
+        return estatisticas;
+    }
+
+    // operacao null = recarregar a lista da entidade
+    private void difundir(String entidade, String operacao, Long id, Object dados) {
+        EventoPainel evento;
+        // A sequência e o histórico andam juntos para a reconexão reenviar na ordem certa
+        synchronized (historico) {
+            evento = new EventoPainel(sequencia.incrementAndGet(), entidade,
+                    operacao != null ? operacao.toLowerCase() : "recarregar", id, dados);
+            historico.addLast(evento);
+            while (historico.size() > tamanhoHistorico) {
+                historico.removeFirst();
+            }
+        }
+        for (ClientePainel cliente : clientes) {
+            entregar(cliente, evento);
+        }
+    }
+
+    private void reenviarDesde(ClientePainel cliente, String ultimoEventoRecebido) {
+        long ultimo = sequenciaDestaInstancia(ultimoEventoRecebido);
+        List<EventoPainel> perdidos;
+        synchronized (historico) {
+            long atual = sequencia.get();
+            if (ultimo == atual) {
+                return;
+            }
+            EventoPainel maisAntigo = historico.peekFirst();
+            if (ultimo < 0 || ultimo > atual || maisAntigo == null || ultimo < maisAntigo.sequencia() - 1) {
+                // Id de antes de um restart ou de outra instância, ou fora tempo demais: o histórico não cobre
+                perdidos = List.of(new EventoPainel(atual, TODAS, "recarregar", null, null));
+            } else {
+                perdidos = historico.stream().filter(evento -> evento.sequencia() > ultimo).toList();
+            }
+        }
+        perdidos.forEach(evento -> entregar(cliente, evento));
+    }
+
+    // -1 quando o id não foi gerado por esta instância desde que ela subiu
+    private long sequenciaDestaInstancia(String id) {
+        String prefixo = instancia + "-";
+        if (!id.startsWith(prefixo)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.substring(prefixo.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void entregar(ClientePainel cliente, EventoPainel evento) {
+        if (!cliente.fila.offer(evento)) {
+            // Buffer cheio: descarta o que estava pendente e pede para o painel recarregar tudo
+            descartados.add(cliente.fila.size());
+            cliente.fila.clear();
+            cliente.fila.offer(new EventoPainel(evento.sequencia(), TODAS, "recarregar", null, null));
+        }
+        agendar(cliente);
+    }
+
+    // No máximo uma tarefa de envio por cliente, o que mantém a ordem dos eventos
+    private void agendar(ClientePainel cliente) {
+        if (cliente.agendado.compareAndSet(false, true)) {
+            envio.execute(() -> esvaziar(cliente));
+        }
+    }
+
+    private void esvaziar(ClientePainel cliente) {
+        try {
+            EventoPainel evento;
+            while ((evento = cliente.fila.poll()) != null) {
+                cliente.emitter.send(SseEmitter.event()
+                        .id(instancia + "-" + evento.sequencia())
+                        .name(evento.entidade())
+                        .data(evento, MediaType.APPLICATION_JSON));
+                enviados.increment();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Painel desconectado durante o envio: {}", e.getMessage());
+            cliente.emitter.completeWithError(e);
+            remover(cliente);
+            return;
+        } finally {
+            cliente.agendado.set(false);
+        }
+        // Um evento pode ter chegado entre o último poll e a liberação da flag
+        if (!cliente.fila.isEmpty()) {
+            agendar(cliente);
+        }
+    }
+
+    private void enviarBatimento() {
+        for (ClientePainel cliente : clientes) {
+            envio.execute(() -> {
+                try {
+                    cliente.emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    cliente.emitter.completeWithError(e);
+                    remover(cliente);
+                }
+            });
+        }
+    }
+
+    private void remover(ClientePainel cliente) {
+        if (clientes.remove(cliente)) {
+            desconectados.increment();
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        batimento.shutdownNow();
+        envio.shutdownNow();
+        for (ClientePainel cliente : clientes) {
+            cliente.emitter.complete();
+        }
+        clientes.clear();
+    }
+
+    private static final class ClientePainel {
+        private final SseEmitter emitter;
+        private final BlockingQueue<EventoPainel> fila;
+        private final AtomicBoolean agendado = new AtomicBoolean();
+
+        private ClientePainel(SseEmitter emitter, int capacidade) {
+            this.emitter = emitter;
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+        }
+    }
+}
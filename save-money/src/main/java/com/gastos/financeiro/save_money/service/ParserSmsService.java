@@ -0,0 +1,69 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gastos.financeiro.save_money.sms.MensagemInterpretada;
+import com.gastos.financeiro.save_money.sms.MotorParserSms;
+import com.gastos.financeiro.save_money.sms.RegraSms;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// Carrega as regras de SMS do arquivo configurado e mantém o motor compilado.
+// Recarregar troca o motor inteiro de uma vez; quem está interpretando continua com o anterior.
+@Service
+public class ParserSmsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParserSmsService.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Value("${save-money.sms.regras:classpath:regras-sms.json}")
+    private String localRegras;
+
+    private volatile MotorParserSms motor;
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        recarregar();
+    }
+
+    // Lança IllegalArgumentException (regra inválida) ou IOException, mantendo o motor atual
+    public int recarregar() throws IOException {
+        Resource arquivo = resourceLoader.getResource(localRegras);
+        List<RegraSms> regras;
+        try (InputStream entrada = arquivo.getInputStream()) {
+            regras = objectMapper.reader()
+                    .with(JsonParser.Feature.ALLOW_COMMENTS)
+                    .forType(new TypeReference<List<RegraSms>>() { })
+                    .readValue(entrada);
+        }
+        motor = new MotorParserSms(regras);
+        log.info("{} regras de SMS carregadas de {}", regras.size(), localRegras);
+        return regras.size();
+    }
+
+    public Optional<MensagemInterpretada> interpretar(String remetente, String texto, LocalDateTime recebidoEm) {
+        return motor.interpretar(remetente, texto, recebidoEm);
+    }
+
+    public MotorParserSms motor() {
+        return motor;
+    }
+}
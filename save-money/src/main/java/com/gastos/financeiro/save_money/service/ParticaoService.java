@@ -0,0 +1,169 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.cache.CacheLeitura;
+import com.gastos.financeiro.save_money.cache.VersaoTabelas;
+import com.gastos.financeiro.save_money.dto.ParticaoInfo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Manutenção das partições mensais de gastos e receitas (criadas pela migração V2):
+// mantém sempre alguns meses à frente criados, para nada novo cair na partição padrão,
+// e desanexa meses antigos. DETACH só mexe no catálogo; a partição vira uma tabela comum
+// (gastos_AAAA_MM) que pode ser arquivada com pg_dump e apagada sem DELETE linha a linha.
+@Service
+public class ParticaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParticaoService.class);
+
+    private static final Map<String, VersaoTabelas.Tabela> TABELAS = Map.of(
+            "gastos", VersaoTabelas.Tabela.GASTOS,
+            "receitas", VersaoTabelas.Tabela.RECEITAS);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
+    @Autowired
+    private List<CacheLeitura<?, ?>> caches;
+
+    @Autowired
+    private AnaliticoService analiticoService;
+
+    @Autowired
+    private DeduplicacaoService deduplicacaoService;
+
+    @Autowired
+    private PainelEventosService painelEventosService;
+
+    // Só faz sentido com o esquema das migrações (PostgreSQL); desligado junto com elas
+    @Value("${spring.flyway.enabled:true}")
+    private boolean habilitada;
+
+    @Value("${save-money.particoes.meses-a-frente:3}")
+    private int mesesAFrente;
+
+    private ScheduledExecutorService agendador;
+
+    @PostConstruct
+    void iniciar() {
+        if (!habilitada) {
+            return;
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "manutencao-particoes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(() -> {
+            try {
+                criarParticoesFuturas();
+            } catch (RuntimeException e) {
+                log.error("Falha ao criar partições futuras", e);
+            }
+        }, 0, 1, TimeUnit.DAYS);
+    }
+
+    // Retorna quantas partições foram criadas
+    public int criarParticoesFuturas() {
+        LocalDate hoje = LocalDate.now();
+        LocalDate ate = hoje.plusMonths(mesesAFrente);
+        int criadas = 0;
+        for (String tabela : TABELAS.keySet()) {
+            Integer quantidade = jdbcTemplate.queryForObject("SELECT criar_particoes_mensais(?, ?, ?)",
+                    Integer.class, tabela, hoje.withDayOfMonth(1), ate);
+            criadas += quantidade != null ? quantidade : 0;
+        }
+        if (criadas > 0) {
+            log.info("{} partição(ões) mensal(is) criada(s) até {}", criadas, YearMonth.from(ate));
+        }
+        return criadas;
+    }
+
+    public List<ParticaoInfo> listar() {
+        List<ParticaoInfo> particoes = new ArrayList<>();
+        for (String tabela : TABELAS.keySet().stream().sorted().toList()) {
+            particoes.addAll(jdbcTemplate.query("""
+                    SELECT c.relname, pg_get_expr(c.relpartbound, c.oid), GREATEST(c.reltuples, 0)::bigint,
+                           pg_total_relation_size(c.oid)
+                    FROM pg_inherits i
+                    JOIN pg_class c ON c.oid = i.inhrelid
+                    JOIN pg_class p ON p.oid = i.inhparent
+                    WHERE p.relname = ?
+                    ORDER BY c.relname
+                    """, (linha, numero) -> new ParticaoInfo(tabela, linha.getString(1), linha.getString(2),
+                    linha.getLong(3), linha.getLong(4)), tabela));
+        }
+        return particoes;
+    }
+
+    public boolean tabelaParticionada(String tabela) {
+        return TABELAS.containsKey(tabela);
+    }
+
+    // Tira o mês da tabela; false se a partição não existir (ou já tiver sido desanexada)
+    @Transactional
+    public boolean desanexar(String tabela, YearMonth mes) {
+        VersaoTabelas.Tabela versionada = TABELAS.get(tabela);
+        if (versionada == null) {
+            throw new IllegalArgumentException("Tabela sem partições: " + tabela);
+        }
+        String particao = String.format("%s_%04d_%02d", tabela, mes.getYear(), mes.getMonthValue());
+        Boolean anexada = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_inherits i
+                               JOIN pg_class c ON c.oid = i.inhrelid
+                               JOIN pg_class p ON p.oid = i.inhparent
+                               WHERE p.relname = ? AND c.relname = ?)
+                """, Boolean.class, tabela, particao);
+        if (!Boolean.TRUE.equals(anexada)) {
+            return false;
+        }
+        // Os SMS e lançamentos de extrato arquivados podem voltar a ser importados
+        if (versionada == VersaoTabelas.Tabela.GASTOS) {
+            jdbcTemplate.update("DELETE FROM gasto_hash h USING " + particao + " g WHERE h.hash_conteudo = g.hash_conteudo");
+        } else {
+            jdbcTemplate.update("DELETE FROM receita_hash h USING " + particao + " r WHERE h.hash_conteudo = r.hash_conteudo");
+        }
+        // Nome vem do formato acima, não da requisição
+        jdbcTemplate.execute("ALTER TABLE " + tabela + " DETACH PARTITION " + particao);
+        // A versão sobe no commit do DETACH; os caches desta instância só são limpos depois dele
+        versaoTabelas.incrementar(versionada);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                caches.forEach(CacheLeitura::limpar);
+                deduplicacaoService.limpar();
+                painelEventosService.recarregar(versionada);
+                analiticoService.agendarRecarga();
+            }
+        });
+        log.info("Partição {} desanexada de {}", particao, tabela);
+        return true;
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.event.ReceitaEvent;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.repository.ReceitaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Escritas de uma receita por vez, com o evento publicado na mesma transação, como no GastoService
+@Service
+public class ReceitaService {
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public Receita criar(Receita receita) {
+        Receita nova = receitaRepository.saveAndFlush(receita);
+        eventPublisher.publishEvent(ReceitaEvent.criado(nova));
+        return nova;
+    }
+
+    @Transactional
+    public Optional<Receita> atualizar(Long id, Receita receitaAtualizada, long versaoEsperada) {
+        return receitaRepository.findById(id)
+                .map(receita -> {
+                    if (receita.getVersao() != versaoEsperada) {
+                        throw new ObjectOptimisticLockingFailureException(Receita.class, id);
+                    }
+                    Receita anterior = ReceitaEvent.copia(receita);
+                    receita.setCategoria(receitaAtualizada.getCategoria());
+                    receita.setValor(receitaAtualizada.getValor());
+                    receita.setFonte(receitaAtualizada.getFonte());
+                    receita.setDescricao(receitaAtualizada.getDescricao());
+                    receita.setDataRecebimento(receitaAtualizada.getDataRecebimento());
+                    receita.setNotificacao(receitaAtualizada.getNotificacao());
+                    Receita salvo = receitaRepository.saveAndFlush(receita);
+                    eventPublisher.publishEvent(ReceitaEvent.atualizado(anterior, salvo));
+                    return salvo;
+                });
+    }
+
+    // Vazio se a receita não existe ou se a versão informada estava velha
+    @Transactional
+    public Optional<Receita> alterar(Long id, Receita alteracao) {
+        return receitaRepository.atualizarParcial(id, alteracao.getVersao(), alteracao.getValor(),
+                        alteracao.getDataRecebimento(), alteracao.getDescricao(), alteracao.getFonte(),
+                        alteracao.getCategoria(), alteracao.getNotificacao())
+                .map(anterior -> {
+                    Receita salvo = aplicarAlteracao(anterior, alteracao);
+                    eventPublisher.publishEvent(ReceitaEvent.atualizado(anterior, salvo));
+                    return salvo;
+                });
+    }
+
+    @Transactional
+    public Optional<Receita> remover(Long id) {
+        return receitaRepository.removerPorId(id)
+                .map(receita -> {
+                    eventPublisher.publishEvent(ReceitaEvent.removido(receita));
+                    return receita;
+                });
+    }
+
+    // Estado gravado pelo PATCH, montado a partir da linha anterior
+    private static Receita aplicarAlteracao(Receita anterior, Receita alteracao) {
+        Receita salvo = ReceitaEvent.copia(anterior);
+        Optional.ofNullable(alteracao.getValor()).ifPresent(salvo::setValor);
+        Optional.ofNullable(alteracao.getDataRecebimento()).ifPresent(salvo::setDataRecebimento);
+        Optional.ofNullable(alteracao.getDescricao()).ifPresent(salvo::setDescricao);
+        Optional.ofNullable(alteracao.getFonte()).ifPresent(salvo::setFonte);
+        Optional.ofNullable(alteracao.getCategoria()).ifPresent(salvo::setCategoria);
+        Optional.ofNullable(alteracao.getNotificacao()).ifPresent(salvo::setNotificacao);
+        salvo.setVersao(anterior.getVersao() + 1);
+        return salvo;
+    }
+}
@@ -0,0 +1,76 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.cache.CacheLeitura;
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.dto.ResumoFinanceiro;
+import com.gastos.financeiro.save_money.dto.ResumoMensal;
+import com.gastos.financeiro.save_money.dto.TotalMensal;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import com.gastos.financeiro.save_money.repository.ReceitaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Monta o resumo financeiro a partir das somas feitas no banco, sem carregar os lançamentos
+@Service
+public class ResumoService {
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private CacheLeitura<Periodo, ResumoFinanceiro> cacheResumos;
+
+    // Sem @Transactional de propósito: um acerto no cache não deve nem pegar conexão do pool
+    public ResumoFinanceiro resumir(LocalDate inicio, LocalDate fim) {
+        return cacheResumos.buscar(Periodo.de(inicio, fim), periodo -> calcular(inicio, fim, periodo));
+    }
+
+    private ResumoFinanceiro calcular(LocalDate inicio, LocalDate fim, Periodo periodo) {
+        List<TotalMensal> gastos = gastoRepository.totalizarPorMes(periodo.inicio(), periodo.fim());
+        List<TotalMensal> receitas = receitaRepository.totalizarPorMes(periodo.inicio(), periodo.fim());
+
+        // Junta as duas listas pelo mês; um mês pode ter só gastos ou só receitas
+        Map<YearMonth, TotalMensal[]> porMes = new TreeMap<>();
+        for (TotalMensal total : receitas) {
+            porMes.computeIfAbsent(YearMonth.of(total.ano(), total.mes()), m -> new TotalMensal[2])[0] = total;
+        }
+        for (TotalMensal total : gastos) {
+            porMes.computeIfAbsent(YearMonth.of(total.ano(), total.mes()), m -> new TotalMensal[2])[1] = total;
+        }
+
+        BigDecimal totalReceitas = BigDecimal.ZERO;
+        BigDecimal totalGastos = BigDecimal.ZERO;
+        long quantidadeReceitas = 0;
+        long quantidadeGastos = 0;
+        List<ResumoMensal> meses = new ArrayList<>(porMes.size());
+        for (Map.Entry<YearMonth, TotalMensal[]> entrada : porMes.entrySet()) {
+            TotalMensal receita = entrada.getValue()[0];
+            TotalMensal gasto = entrada.getValue()[1];
+            BigDecimal valorReceitas = receita != null ? receita.total() : BigDecimal.ZERO;
+            BigDecimal valorGastos = gasto != null ? gasto.total() : BigDecimal.ZERO;
+            long qtdReceitas = receita != null ? receita.quantidade() : 0;
+            long qtdGastos = gasto != null ? gasto.quantidade() : 0;
+
+            meses.add(new ResumoMensal(entrada.getKey().getYear(), entrada.getKey().getMonthValue(),
+                    valorReceitas, qtdReceitas, valorGastos, qtdGastos, valorReceitas.subtract(valorGastos)));
+            totalReceitas = totalReceitas.add(valorReceitas);
+            totalGastos = totalGastos.add(valorGastos);
+            quantidadeReceitas += qtdReceitas;
+            quantidadeGastos += qtdGastos;
+        }
+
+        return new ResumoFinanceiro(inicio, fim, totalReceitas, quantidadeReceitas, totalGastos, quantidadeGastos,
+                totalReceitas.subtract(totalGastos), meses);
+    }
+}
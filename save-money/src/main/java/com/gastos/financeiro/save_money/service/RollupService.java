@@ -0,0 +1,112 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.cache.CacheLeitura;
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.dto.TotalCategoria;
+import com.gastos.financeiro.save_money.event.GastoEvent;
+import com.gastos.financeiro.save_money.event.GastoLoteEvent;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.RollupGastoMensal;
+import com.gastos.financeiro.save_money.repository.RollupGastoMensalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Mantém a tabela rollup_gasto_mensal em dia: cada escrita em Gasto vira um ou dois upserts
+// de poucos bytes, e os relatórios custam o número de categorias, não o de lançamentos.
+@Service
+public class RollupService {
+
+    public static final String SEM_CATEGORIA = "Sem Categoria";
+
+    @Autowired
+    private RollupGastoMensalRepository rollupRepository;
+
+    @Autowired
+    private CacheLeitura<Periodo, List<TotalCategoria>> cacheRelatorioCategorias;
+
+    @Autowired
+    private CacheLeitura<Periodo, List<RollupGastoMensal>> cacheRelatorioMensal;
+
+    // Roda antes dos outros ouvintes, para o cache dos relatórios ser invalidado com o rollup já atualizado
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void aoAlterarGasto(GastoEvent evento) {
+        if (evento.anterior() != null) {
+            acumular(evento.anterior(), -1);
+        }
+        if (evento.atual() != null) {
+            acumular(evento.atual(), 1);
+        }
+        if (evento.anterior() != null) {
+            rollupRepository.removerVazios();
+        }
+    }
+
+    // Num lote, agrupa primeiro em memória: um upsert por mês/categoria, não por gasto
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void aoCriarLote(GastoLoteEvent evento) {
+        Map<ChaveRollup, BigDecimal> totais = new HashMap<>();
+        Map<ChaveRollup, Long> quantidades = new HashMap<>();
+        for (Gasto gasto : evento.criados()) {
+            ChaveRollup chave = new ChaveRollup(gasto.getDataHora().getYear(), gasto.getDataHora().getMonthValue(),
+                    categoriaDe(gasto));
+            totais.merge(chave, gasto.getValor(), BigDecimal::add);
+            quantidades.merge(chave, 1L, Long::sum);
+        }
+        totais.forEach((chave, total) ->
+                rollupRepository.acumular(chave.ano(), chave.mes(), chave.categoria(), total, quantidades.get(chave)));
+    }
+
+    // Descarta o rollup e recalcula a partir da tabela gastos
+    @Transactional
+    public int reconstruir() {
+        rollupRepository.deleteAllInBatch();
+        int linhas = rollupRepository.reconstruir(SEM_CATEGORIA);
+        cacheRelatorioCategorias.limpar();
+        cacheRelatorioMensal.limpar();
+        return linhas;
+    }
+
+    public List<RollupGastoMensal> buscarMeses(YearMonth inicio, YearMonth fim) {
+        return cacheRelatorioMensal.buscar(periodo(inicio, fim),
+                periodo -> rollupRepository.buscarMeses(chave(inicio), chave(fim)));
+    }
+
+    public List<TotalCategoria> totalizarPorCategoria(YearMonth inicio, YearMonth fim) {
+        return cacheRelatorioCategorias.buscar(periodo(inicio, fim),
+                periodo -> rollupRepository.totalizarPorCategoria(chave(inicio), chave(fim)));
+    }
+
+    private void acumular(Gasto gasto, int sinal) {
+        rollupRepository.acumular(gasto.getDataHora().getYear(), gasto.getDataHora().getMonthValue(), categoriaDe(gasto),
+                sinal > 0 ? gasto.getValor() : gasto.getValor().negate(), sinal);
+    }
+
+    private static String categoriaDe(Gasto gasto) {
+        return gasto.getCategoria() != null ? gasto.getCategoria() : SEM_CATEGORIA;
+    }
+
+    private static Periodo periodo(YearMonth inicio, YearMonth fim) {
+        return Periodo.de(inicio.atDay(1), fim.atEndOfMonth());
+    }
+
+    private static int chave(YearMonth mes) {
+        return mes.getYear() * 100 + mes.getMonthValue();
+    }
+
+    private record ChaveRollup(int ano, int mes, String categoria) {
+    }
+}
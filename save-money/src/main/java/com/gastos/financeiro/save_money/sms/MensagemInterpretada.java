@@ -0,0 +1,34 @@
+package com.gastos.financeiro.save_money.sms;
+
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Resultado do parser: os campos do lançamento e o nome da regra que reconheceu o texto
+public record MensagemInterpretada(String regra, RegraSms.TipoLancamento tipo, BigDecimal valor, LocalDateTime dataHora,
+                                   String estabelecimento, String descricao, String categoria, String textoOriginal) {
+
+    public Gasto paraGasto() {
+        Gasto gasto = new Gasto();
+        gasto.setValor(valor);
+        gasto.setDataHora(dataHora);
+        gasto.setEstabelecimento(estabelecimento);
+        gasto.setDescricao(descricao);
+        gasto.setCategoria(categoria);
+        gasto.setSmsOriginal(textoOriginal);
+        return gasto;
+    }
+
+    public Receita paraReceita() {
+        Receita receita = new Receita();
+        receita.setValor(valor);
+        receita.setDataRecebimento(dataHora);
+        receita.setFonte(estabelecimento);
+        receita.setDescricao(descricao);
+        receita.setCategoria(categoria);
+        receita.setNotificacao(textoOriginal);
+        return receita;
+    }
+}
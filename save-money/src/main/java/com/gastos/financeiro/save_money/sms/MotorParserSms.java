@@ -0,0 +1,180 @@
+package com.gastos.financeiro.save_money.sms;
+
+import com.gastos.financeiro.save_money.importacao.ValoresExtrato;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Parser de SMS e notificações de banco montado a partir de um conjunto de regras.
+// Em vez de testar todos os padrões um depois do outro, escolhe a regra pelo prefixo literal do texto
+// (o mais longo que casar) ou, se nenhum casar, pelo remetente. Assim cada mensagem roda no máximo
+// uma expressão regular e o custo não cresce com o número de bancos cadastrados.
+// Imutável depois de construído; pode ser usado por várias threads ao mesmo tempo.
+public class MotorParserSms {
+
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final List<RegraCompilada> regras = new ArrayList<>();
+    private final PrefixosRegra<RegraCompilada> porPrefixo = new PrefixosRegra<>();
+    private final Map<String, RegraCompilada> porRemetente = new HashMap<>();
+    private final LongAdder naoReconhecidas = new LongAdder();
+
+    private static final class RegraCompilada {
+        private final RegraSms regra;
+        private final Pattern padrao;
+        private final boolean temData;
+        private final boolean temHora;
+        private final boolean temEstabelecimento;
+        private final LongAdder reconhecidas = new LongAdder();
+        private final LongAdder falhas = new LongAdder();
+
+        private RegraCompilada(RegraSms regra) {
+            this.regra = regra;
+            // Sem diferenciar maiúsculas, como a escolha pelo prefixo
+            this.padrao = Pattern.compile(regra.padrao(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            this.temData = regra.padrao().contains("?<data>");
+            this.temHora = regra.padrao().contains("?<hora>");
+            this.temEstabelecimento = regra.padrao().contains("?<estabelecimento>");
+        }
+    }
+
+    // Contadores por regra, para ver quais bancos estão chegando e quais padrões estão falhando
+    public record EstatisticaRegra(String regra, long reconhecidas, long falhas) {
+    }
+
+    public MotorParserSms(List<RegraSms> definicoes) {
+        for (RegraSms definicao : definicoes) {
+            validar(definicao);
+            RegraCompilada regra = new RegraCompilada(definicao);
+            regras.add(regra);
+            for (String prefixo : definicao.prefixos()) {
+                RegraCompilada anterior = porPrefixo.adicionar(prefixo, regra);
+                if (anterior != null) {
+                    throw new IllegalArgumentException("prefixo \"" + prefixo + "\" repetido nas regras "
+                            + anterior.regra.nome() + " e " + definicao.nome());
+                }
+            }
+            for (String remetente : definicao.remetentes()) {
+                RegraCompilada anterior = porRemetente.put(normalizarRemetente(remetente), regra);
+                if (anterior != null) {
+                    throw new IllegalArgumentException("remetente \"" + remetente + "\" repetido nas regras "
+                            + anterior.regra.nome() + " e " + definicao.nome());
+                }
+            }
+        }
+    }
+
+    // recebidoEm é usado quando o texto não traz a data (algumas notificações de app); sem ele, dataHora fica null
+    public Optional<MensagemInterpretada> interpretar(String remetente, String texto, LocalDateTime recebidoEm) {
+        if (texto == null || texto.isBlank()) {
+            naoReconhecidas.increment();
+            return Optional.empty();
+        }
+        RegraCompilada regra = escolherRegra(remetente, texto);
+        if (regra == null) {
+            naoReconhecidas.increment();
+            return Optional.empty();
+        }
+        Matcher matcher = regra.padrao.matcher(texto);
+        if (!matcher.find()) {
+            regra.falhas.increment();
+            return Optional.empty();
+        }
+        try {
+            MensagemInterpretada mensagem = extrair(regra, matcher, texto, recebidoEm);
+            regra.reconhecidas.increment();
+            return Optional.of(mensagem);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            regra.falhas.increment();
+            return Optional.empty();
+        }
+    }
+
+    public int quantidadeRegras() {
+        return regras.size();
+    }
+
+    public long naoReconhecidas() {
+        return naoReconhecidas.sum();
+    }
+
+    public List<EstatisticaRegra> estatisticas() {
+        return regras.stream()
+                .map(regra -> new EstatisticaRegra(regra.regra.nome(), regra.reconhecidas.sum(), regra.falhas.sum()))
+                .toList();
+    }
+
+    private RegraCompilada escolherRegra(String remetente, String texto) {
+        int inicio = 0;
+        while (inicio < texto.length() && Character.isWhitespace(texto.charAt(inicio))) {
+            inicio++;
+        }
+        RegraCompilada regra = porPrefixo.buscarMaisLongo(texto, inicio);
+        if (regra == null && remetente != null) {
+            regra = porRemetente.get(normalizarRemetente(remetente));
+        }
+        return regra;
+    }
+
+    private static MensagemInterpretada extrair(RegraCompilada regra, Matcher matcher, String texto,
+                                                LocalDateTime recebidoEm) {
+        BigDecimal valor = ValoresExtrato.valor(matcher.group("valor"));
+        LocalDateTime dataHora = recebidoEm;
+        if (regra.temData && matcher.group("data") != null) {
+            LocalDate data = LocalDate.parse(matcher.group("data"), DATA);
+            String hora = regra.temHora ? matcher.group("hora") : null;
+            dataHora = hora != null ? data.atTime(LocalTime.parse(hora)) : data.atStartOfDay();
+        }
+        String estabelecimento = regra.regra.estabelecimento();
+        if (regra.temEstabelecimento && matcher.group("estabelecimento") != null) {
+            estabelecimento = limparEstabelecimento(matcher.group("estabelecimento"), regra.regra.sufixosRemover());
+        }
+        return new MensagemInterpretada(regra.regra.nome(), regra.regra.tipo(), valor, dataHora, estabelecimento,
+                regra.regra.descricao(), regra.regra.categoria(), texto.strip());
+    }
+
+    // Tira o ponto final e a cidade que alguns bancos colam no nome do estabelecimento ("... SAO PAULO.")
+    private static String limparEstabelecimento(String bruto, List<String> sufixos) {
+        String estabelecimento = bruto.strip();
+        if (estabelecimento.endsWith(".")) {
+            estabelecimento = estabelecimento.substring(0, estabelecimento.length() - 1).strip();
+        }
+        String maiusculo = estabelecimento.toUpperCase(Locale.ROOT);
+        for (String sufixo : sufixos) {
+            String comEspaco = " " + sufixo.toUpperCase(Locale.ROOT);
+            if (maiusculo.endsWith(comEspaco)) {
+                return estabelecimento.substring(0, estabelecimento.length() - comEspaco.length()).strip();
+            }
+        }
+        return estabelecimento;
+    }
+
+    private static String normalizarRemetente(String remetente) {
+        return remetente.strip().toUpperCase(Locale.ROOT);
+    }
+
+    private static void validar(RegraSms regra) {
+        if (regra.nome() == null || regra.tipo() == null || regra.padrao() == null) {
+            throw new IllegalArgumentException("regra sem nome, tipo ou padrao: " + regra);
+        }
+        if (!regra.padrao().contains("?<valor>")) {
+            throw new IllegalArgumentException("o padrao da regra " + regra.nome() + " precisa do grupo (?<valor>...)");
+        }
+        if (regra.prefixos().isEmpty() && regra.remetentes().isEmpty()) {
+            throw new IllegalArgumentException("a regra " + regra.nome() + " precisa de ao menos um prefixo ou remetente");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.gastos.financeiro.save_money.sms;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Árvore de prefixos (trie) sem diferenciar maiúsculas: acha a regra do prefixo mais longo que
+// começa a mensagem olhando cada caractere uma vez, não importa quantos bancos estejam cadastrados.
+class PrefixosRegra<T> {
+
+    private static final class No<T> {
+        private final Map<Character, No<T>> filhos = new HashMap<>(4);
+        private T valor;
+    }
+
+    private final No<T> raiz = new No<>();
+
+    // Retorna o valor que já estava no prefixo, se houver
+    T adicionar(String prefixo, T valor) {
+        No<T> atual = raiz;
+        for (int i = 0; i < prefixo.length(); i++) {
+            atual = atual.filhos.computeIfAbsent(normalizar(prefixo.charAt(i)), c -> new No<>());
+        }
+        T anterior = atual.valor;
+        atual.valor = valor;
+        return anterior;
+    }
+
+    T buscarMaisLongo(String texto, int inicio) {
+        No<T> atual = raiz;
+        T encontrado = null;
+        for (int i = inicio; i < texto.length(); i++) {
+            atual = atual.filhos.get(normalizar(texto.charAt(i)));
+            if (atual == null) {
+                break;
+            }
+            if (atual.valor != null) {
+                encontrado = atual.valor;
+            }
+        }
+        return encontrado;
+    }
+
+    private static char normalizar(char c) {
+        return Character.toUpperCase(c);
+    }
+}
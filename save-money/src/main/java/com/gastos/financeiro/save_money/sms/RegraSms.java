@@ -0,0 +1,31 @@
+package com.gastos.financeiro.save_money.sms;
+
+import java.util.List;
+
+// Uma regra do arquivo regras-sms.json. O padrão usa grupos nomeados:
+// valor (obrigatório), data, hora e estabelecimento. Quando o texto não traz data, vale o horário do recebimento.
+// prefixos e remetentes decidem qual regra roda; cada mensagem passa por no máximo um padrão.
+public record RegraSms(String nome,
+                       TipoLancamento tipo,
+                       List<String> prefixos,
+                       List<String> remetentes,
+                       String padrao,
+                       String categoria,
+                       String estabelecimento,
+                       String descricao,
+                       List<String> sufixosRemover) {
+
+    public enum TipoLancamento { GASTO, RECEITA }
+
+    public List<String> prefixos() {
+        return prefixos != null ? prefixos : List.of();
+    }
+
+    public List<String> remetentes() {
+        return remetentes != null ? remetentes : List.of();
+    }
+
+    public List<String> sufixosRemover() {
+        return sufixosRemover != null ? sufixosRemover : List.of();
+    }
+}
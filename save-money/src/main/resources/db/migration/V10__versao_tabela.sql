@@ -0,0 +1,9 @@
+-- Versao de cada tabela para as ETags e para a invalidacao dos caches entre instancias.
+-- Sobe na mesma transacao da escrita (VersaoTabelas), entao todas as instancias enxergam o mesmo numero
+-- e uma escrita desfeita nao muda a versao. alterada_em usa o relogio do banco, comum a todas elas.
+CREATE TABLE IF NOT EXISTS versao_tabela (
+    tabela varchar(20) NOT NULL PRIMARY KEY,
+    versao bigint NOT NULL DEFAULT 0,
+    alterada_em timestamp NOT NULL DEFAULT now()
+);
+INSERT INTO versao_tabela (tabela) VALUES ('GASTOS'), ('RECEITAS'), ('METAS') ON CONFLICT DO NOTHING;
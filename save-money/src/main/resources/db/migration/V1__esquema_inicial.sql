@@ -0,0 +1,60 @@
+-- Esquema que o hibernate (ddl-auto=update) mantinha ate aqui.
+-- Em bancos novos cria tudo; em bancos existentes so completa o que faltar, sem mexer nos dados.
+
+CREATE SEQUENCE IF NOT EXISTS gasto_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS receita_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS meta_financeira_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS rollup_gasto_mensal_id_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS gastos (
+    id bigint NOT NULL PRIMARY KEY
+);
+ALTER TABLE gastos ADD COLUMN IF NOT EXISTS valor numeric(38,2) NOT NULL;
+ALTER TABLE gastos ADD COLUMN IF NOT EXISTS data_hora timestamp(6) NOT NULL;
+ALTER TABLE gastos ADD COLUMN IF NOT EXISTS descricao varchar(255);
+ALTER TABLE gastos ADD COLUMN IF NOT EXISTS estabelecimento varchar(100);
+ALTER TABLE gastos ADD COLUMN IF NOT EXISTS categoria varchar(255);
+ALTER TABLE gastos ADD COLUMN IF NOT EXISTS sms_original varchar(255);
+ALTER TABLE gastos ADD COLUMN IF NOT EXISTS hash_conteudo varchar(64) UNIQUE;
+ALTER TABLE gastos ADD COLUMN IF NOT EXISTS versao bigint DEFAULT 0 NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_gastos_data_hora_id ON gastos (data_hora, id);
+CREATE INDEX IF NOT EXISTS idx_gastos_categoria_data_hora ON gastos (categoria, data_hora);
+CREATE INDEX IF NOT EXISTS idx_gastos_estabelecimento_data_hora ON gastos (estabelecimento, data_hora);
+
+CREATE TABLE IF NOT EXISTS receitas (
+    id bigint NOT NULL PRIMARY KEY
+);
+ALTER TABLE receitas ADD COLUMN IF NOT EXISTS valor numeric(38,2) NOT NULL;
+ALTER TABLE receitas ADD COLUMN IF NOT EXISTS data_recebimento timestamp(6) NOT NULL;
+ALTER TABLE receitas ADD COLUMN IF NOT EXISTS descricao varchar(255);
+ALTER TABLE receitas ADD COLUMN IF NOT EXISTS fonte varchar(255);
+ALTER TABLE receitas ADD COLUMN IF NOT EXISTS categoria varchar(255);
+ALTER TABLE receitas ADD COLUMN IF NOT EXISTS notificacao varchar(255);
+ALTER TABLE receitas ADD COLUMN IF NOT EXISTS versao bigint DEFAULT 0 NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_receitas_data_recebimento_id ON receitas (data_recebimento, id);
+CREATE INDEX IF NOT EXISTS idx_receitas_categoria_data_recebimento ON receitas (categoria, data_recebimento);
+
+CREATE TABLE IF NOT EXISTS meta_financeira (
+    id bigint NOT NULL PRIMARY KEY
+);
+ALTER TABLE meta_financeira ADD COLUMN IF NOT EXISTS nome varchar(255) NOT NULL;
+ALTER TABLE meta_financeira ADD COLUMN IF NOT EXISTS valor_alvo numeric(38,2) NOT NULL;
+ALTER TABLE meta_financeira ADD COLUMN IF NOT EXISTS valor_atual numeric(38,2) NOT NULL;
+ALTER TABLE meta_financeira ADD COLUMN IF NOT EXISTS data_alvo date NOT NULL;
+ALTER TABLE meta_financeira ADD COLUMN IF NOT EXISTS data_criacao date;
+ALTER TABLE meta_financeira ADD COLUMN IF NOT EXISTS status varchar(255);
+ALTER TABLE meta_financeira ADD COLUMN IF NOT EXISTS descricao varchar(255);
+ALTER TABLE meta_financeira ADD COLUMN IF NOT EXISTS tipo_vinculo varchar(30);
+ALTER TABLE meta_financeira ADD COLUMN IF NOT EXISTS vinculo varchar(255);
+ALTER TABLE meta_financeira ADD COLUMN IF NOT EXISTS valor_aportado numeric(38,2) DEFAULT 0 NOT NULL;
+ALTER TABLE meta_financeira ADD COLUMN IF NOT EXISTS versao bigint DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS rollup_gasto_mensal (
+    id bigint NOT NULL PRIMARY KEY,
+    ano integer NOT NULL,
+    mes integer NOT NULL,
+    categoria varchar(255) NOT NULL,
+    total numeric(38,2) NOT NULL,
+    quantidade bigint NOT NULL,
+    UNIQUE (ano, mes, categoria)
+);
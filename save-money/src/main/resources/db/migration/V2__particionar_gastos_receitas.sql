@@ -0,0 +1,105 @@
+-- gastos e receitas passam a ser tabelas particionadas por mes (RANGE em data_hora / data_recebimento).
+-- Consultas por periodo so leem as particoes do intervalo, e meses antigos saem com DETACH PARTITION,
+-- sem DELETE linha a linha. Uma particao padrao recebe o que cair fora dos meses ja criados.
+--
+-- Em tabela particionada a chave primaria e os indices unicos precisam conter a coluna de particao.
+-- O id continua unico (vem da sequencia), mas a unicidade do hash_conteudo, que a deduplicacao usa
+-- para barrar o mesmo SMS enviado duas vezes ao mesmo tempo, passa para a tabela gasto_hash,
+-- mantida por trigger. O hash usa a data truncada no minuto, entao (hash, data_hora) nao bastaria.
+
+-- Cria as particoes mensais de [inicio, fim] que ainda nao existirem; retorna quantas criou.
+-- Se a particao padrao tiver linhas do mes, o mes fica de fora (com aviso) e os dados continuam na padrao.
+CREATE OR REPLACE FUNCTION criar_particoes_mensais(tabela text, inicio date, fim date) RETURNS integer AS $$
+DECLARE
+    mes date := date_trunc('month', inicio)::date;
+    nome text;
+    criadas integer := 0;
+BEGIN
+    WHILE mes <= fim LOOP
+        nome := format('%s_%s', tabela, to_char(mes, 'YYYY_MM'));
+        IF to_regclass(nome) IS NULL THEN
+            BEGIN
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                               nome, tabela, mes, (mes + interval '1 month')::date);
+                criadas := criadas + 1;
+            EXCEPTION WHEN check_violation THEN
+                RAISE WARNING 'particao % nao criada: a particao padrao de % tem linhas desse mes', nome, tabela;
+            END;
+        END IF;
+        mes := (mes + interval '1 month')::date;
+    END LOOP;
+    RETURN criadas;
+END
+$$ LANGUAGE plpgsql;
+
+-- gastos
+
+ALTER TABLE gastos RENAME TO gastos_legado;
+ALTER TABLE gastos_legado DROP CONSTRAINT IF EXISTS gastos_pkey;
+DROP INDEX IF EXISTS idx_gastos_data_hora_id;
+DROP INDEX IF EXISTS idx_gastos_categoria_data_hora;
+DROP INDEX IF EXISTS idx_gastos_estabelecimento_data_hora;
+
+CREATE TABLE gastos (LIKE gastos_legado INCLUDING DEFAULTS) PARTITION BY RANGE (data_hora);
+ALTER TABLE gastos ADD CONSTRAINT gastos_pkey PRIMARY KEY (id, data_hora);
+CREATE INDEX idx_gastos_data_hora_id ON gastos (data_hora, id);
+CREATE INDEX idx_gastos_categoria_data_hora ON gastos (categoria, data_hora);
+CREATE INDEX idx_gastos_estabelecimento_data_hora ON gastos (estabelecimento, data_hora);
+CREATE INDEX idx_gastos_hash_conteudo ON gastos (hash_conteudo);
+CREATE TABLE gastos_padrao PARTITION OF gastos DEFAULT;
+
+SELECT criar_particoes_mensais('gastos',
+                               COALESCE((SELECT min(data_hora) FROM gastos_legado), now())::date,
+                               (GREATEST(now(), COALESCE((SELECT max(data_hora) FROM gastos_legado), now())) + interval '3 months')::date);
+
+INSERT INTO gastos SELECT * FROM gastos_legado;
+
+CREATE TABLE gasto_hash (
+    hash_conteudo varchar(64) NOT NULL PRIMARY KEY,
+    gasto_id bigint NOT NULL
+);
+INSERT INTO gasto_hash (hash_conteudo, gasto_id)
+SELECT hash_conteudo, id FROM gastos WHERE hash_conteudo IS NOT NULL;
+
+-- Mudanca de mes num UPDATE vira DELETE + INSERT entre particoes: o hash sai e volta na mesma instrucao
+CREATE OR REPLACE FUNCTION gastos_hash_unico() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' AND OLD.hash_conteudo IS NOT NULL
+            AND (TG_OP = 'DELETE' OR NEW.hash_conteudo IS DISTINCT FROM OLD.hash_conteudo) THEN
+        DELETE FROM gasto_hash WHERE hash_conteudo = OLD.hash_conteudo;
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.hash_conteudo IS NOT NULL
+            AND (TG_OP = 'INSERT' OR NEW.hash_conteudo IS DISTINCT FROM OLD.hash_conteudo) THEN
+        -- viola a chave de gasto_hash (23505) quando o mesmo SMS ja foi gravado
+        INSERT INTO gasto_hash (hash_conteudo, gasto_id) VALUES (NEW.hash_conteudo, NEW.id);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_gastos_hash_unico
+    AFTER INSERT OR DELETE OR UPDATE OF hash_conteudo ON gastos
+    FOR EACH ROW EXECUTE FUNCTION gastos_hash_unico();
+
+DROP TABLE gastos_legado;
+
+-- receitas
+
+ALTER TABLE receitas RENAME TO receitas_legado;
+ALTER TABLE receitas_legado DROP CONSTRAINT IF EXISTS receitas_pkey;
+DROP INDEX IF EXISTS idx_receitas_data_recebimento_id;
+DROP INDEX IF EXISTS idx_receitas_categoria_data_recebimento;
+
+CREATE TABLE receitas (LIKE receitas_legado INCLUDING DEFAULTS) PARTITION BY RANGE (data_recebimento);
+ALTER TABLE receitas ADD CONSTRAINT receitas_pkey PRIMARY KEY (id, data_recebimento);
+CREATE INDEX idx_receitas_data_recebimento_id ON receitas (data_recebimento, id);
+CREATE INDEX idx_receitas_categoria_data_recebimento ON receitas (categoria, data_recebimento);
+CREATE TABLE receitas_padrao PARTITION OF receitas DEFAULT;
+
+SELECT criar_particoes_mensais('receitas',
+                               COALESCE((SELECT min(data_recebimento) FROM receitas_legado), now())::date,
+                               (GREATEST(now(), COALESCE((SELECT max(data_recebimento) FROM receitas_legado), now())) + interval '3 months')::date);
+
+INSERT INTO receitas SELECT * FROM receitas_legado;
+
+DROP TABLE receitas_legado;
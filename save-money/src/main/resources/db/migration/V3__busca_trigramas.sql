@@ -0,0 +1,8 @@
+-- Busca de gastos por estabelecimento e descricao (GET /api/gastos/busca).
+-- Os indices GIN de trigramas do pg_trgm atendem ILIKE 'termo%' e ILIKE '%termo%' sem varrer a tabela
+-- (o termo pode estar no meio, como ENEL em FLEXPAG*ENELSP) e o operador <% da busca aproximada.
+-- Criados na tabela particionada, valem para todas as particoes, inclusive as criadas depois.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_gastos_estabelecimento_trgm ON gastos USING gin (estabelecimento gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_gastos_descricao_trgm ON gastos USING gin (descricao gin_trgm_ops);
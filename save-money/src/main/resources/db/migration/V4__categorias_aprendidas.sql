@@ -0,0 +1,10 @@
+-- Correcoes de categoria feitas pelo usuario, por estabelecimento (normalizado: maiusculas, sem acento).
+-- O CategorizacaoService grava aqui a cada correcao e, ao subir, carrega as mais recentes no cache em memoria;
+-- a categorizacao na ingestao consulta so o cache, nunca esta tabela.
+CREATE TABLE IF NOT EXISTS categoria_aprendida (
+    estabelecimento varchar(100) NOT NULL PRIMARY KEY,
+    categoria varchar(255) NOT NULL,
+    correcoes bigint NOT NULL DEFAULT 1,
+    atualizada_em timestamp NOT NULL DEFAULT now()
+);
+CREATE INDEX IF NOT EXISTS idx_categoria_aprendida_atualizada_em ON categoria_aprendida (atualizada_em);
@@ -0,0 +1,6 @@
+-- As entidades usam allocationSize = 50 (otimizador pooled): cada nextval reserva 50 ids.
+-- O V1 ja cria as sequencias com INCREMENT BY 50; bancos criados quando as entidades usavam
+-- allocationSize = 1 ficaram com INCREMENT BY 1 e sao ajustados aqui. Em bancos novos nao muda nada.
+ALTER SEQUENCE gasto_id_seq INCREMENT BY 50;
+ALTER SEQUENCE receita_id_seq INCREMENT BY 50;
+ALTER SEQUENCE meta_financeira_id_seq INCREMENT BY 50;
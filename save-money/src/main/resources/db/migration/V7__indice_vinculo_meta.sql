@@ -0,0 +1,4 @@
+-- O MetaProgressoService procura as metas vinculadas aos lancamentos de cada escrita, dentro da transacao dela.
+-- Indice parcial: metas sem vinculo nunca entram nessa busca.
+CREATE INDEX IF NOT EXISTS idx_meta_financeira_vinculo ON meta_financeira (vinculo, tipo_vinculo)
+    WHERE tipo_vinculo IS NOT NULL;
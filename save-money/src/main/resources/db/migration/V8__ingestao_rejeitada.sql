@@ -0,0 +1,10 @@
+-- Itens da ingestao assincrona que nao foram gravados (invalidos, recusados pelo banco ou com o banco fora
+-- depois de todas as tentativas). O POST ja respondeu 202, entao o item fica aqui para ser conferido.
+CREATE TABLE IF NOT EXISTS ingestao_rejeitada (
+    id bigserial PRIMARY KEY,
+    tipo varchar(10) NOT NULL,
+    conteudo jsonb NOT NULL,
+    erro text,
+    criada_em timestamp NOT NULL DEFAULT now()
+);
+CREATE INDEX IF NOT EXISTS idx_ingestao_rejeitada_criada_em ON ingestao_rejeitada (criada_em);
@@ -0,0 +1,33 @@
+-- receitas ganham hash de conteudo como os gastos: a importacao de extratos grava nele a chave de cada
+-- lancamento (FITID do OFX, ou a posicao do registro no arquivo), para reimportar o mesmo arquivo sem
+-- duplicar nada e sem juntar dois lancamentos iguais do mesmo dia.
+-- Como em gastos (V2), a unicidade fica numa tabela a parte mantida por trigger, ja que receitas e
+-- particionada por data_recebimento.
+
+ALTER TABLE receitas ADD COLUMN IF NOT EXISTS hash_conteudo varchar(64);
+CREATE INDEX IF NOT EXISTS idx_receitas_hash_conteudo ON receitas (hash_conteudo);
+
+CREATE TABLE IF NOT EXISTS receita_hash (
+    hash_conteudo varchar(64) NOT NULL PRIMARY KEY,
+    receita_id bigint NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION receitas_hash_unico() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' AND OLD.hash_conteudo IS NOT NULL
+            AND (TG_OP = 'DELETE' OR NEW.hash_conteudo IS DISTINCT FROM OLD.hash_conteudo) THEN
+        DELETE FROM receita_hash WHERE hash_conteudo = OLD.hash_conteudo;
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.hash_conteudo IS NOT NULL
+            AND (TG_OP = 'INSERT' OR NEW.hash_conteudo IS DISTINCT FROM OLD.hash_conteudo) THEN
+        -- viola a chave de receita_hash (23505) quando o mesmo lancamento ja foi gravado
+        INSERT INTO receita_hash (hash_conteudo, receita_id) VALUES (NEW.hash_conteudo, NEW.id);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_receitas_hash_unico ON receitas;
+CREATE TRIGGER trg_receitas_hash_unico
+    AFTER INSERT OR DELETE OR UPDATE OF hash_conteudo ON receitas
+    FOR EACH ROW EXECUTE FUNCTION receitas_hash_unico();
@@ -0,0 +1,103 @@
+package com.gastos.financeiro.save_money.analitico;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TabelaColunarTests {
+
+    private final TabelaColunar tabela = new TabelaColunar();
+
+    @Test
+    void insercaoForaDeOrdemMantemOsDiasOrdenados() {
+        tabela.inserir(1, 100, 20, 0, 0);
+        tabela.inserir(2, 200, 10, 0, 0);
+        tabela.inserir(3, 300, 30, 0, 0);
+        tabela.inserir(4, 400, 20, 0, 0);
+
+        assertThat(tabela.primeiroDia()).isEqualTo(10);
+        assertThat(tabela.ultimoDia()).isEqualTo(30);
+        assertThat(tabela.contar(20, 20)).isEqualTo(2);
+        assertThat(tabela.somarCentavos(20, 20)).isEqualTo(500);
+    }
+
+    @Test
+    void periodoIncluiOsDoisExtremos() {
+        tabela.inserir(1, 1, 9, 0, 0);
+        tabela.inserir(2, 10, 10, 0, 0);
+        tabela.inserir(3, 100, 15, 0, 0);
+        tabela.inserir(4, 1000, 20, 0, 0);
+        tabela.inserir(5, 10000, 21, 0, 0);
+
+        assertThat(tabela.contar(10, 20)).isEqualTo(3);
+        assertThat(tabela.somarCentavos(10, 20)).isEqualTo(1110);
+        assertThat(tabela.contar(11, 14)).isZero();
+        assertThat(tabela.somarCentavos(22, Integer.MAX_VALUE)).isZero();
+        assertThat(tabela.somarCentavos(Integer.MIN_VALUE, Integer.MAX_VALUE)).isEqualTo(11111);
+        assertThat(tabela.contar(20, 10)).isZero();
+    }
+
+    @Test
+    void remocaoSoProcuraNoDiaInformado() {
+        tabela.inserir(7, 100, 10, 0, 0);
+        tabela.inserir(8, 200, 11, 0, 0);
+
+        // O id existe, mas em outro dia: um evento com a data antiga errada não apaga nada
+        assertThat(tabela.remover(7, 11)).isFalse();
+        assertThat(tabela.tamanho()).isEqualTo(2);
+
+        assertThat(tabela.remover(7, 10)).isTrue();
+        assertThat(tabela.remover(7, 10)).isFalse();
+        assertThat(tabela.tamanho()).isEqualTo(1);
+        assertThat(tabela.somarCentavos(0, 100)).isEqualTo(200);
+    }
+
+    @Test
+    void reaplicarRemoverEInserirNaoDuplica() {
+        tabela.inserir(1, 100, 10, 0, 0);
+
+        // O que a recarga faz com uma alteração que a leitura do banco já trouxe
+        for (int i = 0; i < 3; i++) {
+            tabela.remover(1, 10);
+            tabela.inserir(1, 100, 10, 0, 0);
+        }
+
+        assertThat(tabela.tamanho()).isEqualTo(1);
+        assertThat(tabela.somarCentavos(10, 10)).isEqualTo(100);
+    }
+
+    @Test
+    void somaPorCodigoIgnoraOrigemNaoInformada() {
+        tabela.inserir(1, 100, 10, 0, 1);
+        tabela.inserir(2, 200, 10, 1, -1);
+        tabela.inserir(3, 300, 11, 0, 1);
+        tabela.inserir(4, 400, 12, 1, 0);
+
+        long[] totais = new long[2];
+        long[] quantidades = new long[2];
+        tabela.somarPorOrigem(10, 11, totais, quantidades);
+        assertThat(totais).containsExactly(0, 400);
+        assertThat(quantidades).containsExactly(0, 2);
+
+        long[] porCategoria = new long[2];
+        long[] quantidadesCategoria = new long[2];
+        tabela.somarPorCategoria(10, 12, porCategoria, quantidadesCategoria);
+        assertThat(porCategoria).containsExactly(400, 600);
+        assertThat(quantidadesCategoria).containsExactly(2, 2);
+    }
+
+    @Test
+    void cresceAlemDaCapacidadeInicial() {
+        for (int i = 0; i < 5000; i++) {
+            // Dias em ordem decrescente: cada inserção desloca as anteriores
+            tabela.inserir(i, 1, 5000 - i, 0, 0);
+        }
+
+        assertThat(tabela.tamanho()).isEqualTo(5000);
+        assertThat(tabela.primeiroDia()).isEqualTo(1);
+        assertThat(tabela.ultimoDia()).isEqualTo(5000);
+        assertThat(tabela.contar(100, 199)).isEqualTo(100);
+        assertThat(tabela.remover(4999, 1)).isTrue();
+        assertThat(tabela.primeiroDia()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,136 @@
+package com.gastos.financeiro.save_money.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sem Spring: relógio controlado pelo teste e carregadores que contam quantas vezes foram ao "banco"
+class CacheLeituraTests {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong agora = new AtomicLong();
+    private final AtomicInteger carregamentos = new AtomicInteger();
+
+    @Test
+    void despejaAMenosUsadaRecentemente() {
+        CacheLeitura<Integer, String> cache = new CacheLeitura<>("teste", 2, 60, agora::get);
+        cache.buscar(1, this::carregar);
+        cache.buscar(2, this::carregar);
+        // Ler a 1 a torna a mais recente: a 2 é que sai quando a 3 entra
+        cache.buscar(1, this::carregar);
+        cache.buscar(3, this::carregar);
+
+        carregamentos.set(0);
+        cache.buscar(1, this::carregar);
+        cache.buscar(3, this::carregar);
+        assertThat(carregamentos).hasValue(0);
+        cache.buscar(2, this::carregar);
+        assertThat(carregamentos).hasValue(1);
+        assertThat(cache.estatisticas().despejados()).isEqualTo(2);
+        assertThat(cache.estatisticas().tamanho()).isEqualTo(2);
+    }
+
+    @Test
+    void expiraDepoisDoTtl() {
+        CacheLeitura<Integer, String> cache = new CacheLeitura<>("teste", 10, 30, agora::get);
+        cache.buscar(1, this::carregar);
+
+        agora.addAndGet(30 * SEGUNDO - 1);
+        cache.buscar(1, this::carregar);
+        assertThat(carregamentos).hasValue(1);
+
+        agora.addAndGet(1);
+        cache.buscar(1, this::carregar);
+        assertThat(carregamentos).hasValue(2);
+        assertThat(cache.estatisticas().expirados()).isEqualTo(1);
+    }
+
+    @Test
+    void nullNaoEhGuardado() {
+        CacheLeitura<Integer, String> cache = new CacheLeitura<>("teste", 10, 60, agora::get);
+
+        assertThat(cache.buscar(1, chave -> null)).isNull();
+        assertThat(cache.buscar(1, this::carregar)).isEqualTo("valor 1");
+        assertThat(carregamentos).hasValue(1);
+    }
+
+    @Test
+    void invalidacaoDuranteOCarregamentoNaoDeixaOValorVelho() {
+        CacheLeitura<Integer, String> cache = new CacheLeitura<>("teste", 10, 60, agora::get);
+
+        // O banco foi lido, e uma escrita invalidou a chave antes do carregamento terminar
+        String lido = cache.buscar(1, chave -> {
+            cache.invalidar(chave);
+            return "velho";
+        });
+
+        assertThat(lido).isEqualTo("velho");
+        assertThat(cache.buscar(1, chave -> "novo")).isEqualTo("novo");
+    }
+
+    @Test
+    void invalidacaoDeOutraChaveTambemDescartaOCarregamento() {
+        CacheLeitura<Integer, String> cache = new CacheLeitura<>("teste", 10, 60, agora::get);
+
+        // A geração é do cache inteiro: descarta a mais, nunca guarda um valor velho
+        cache.buscar(1, chave -> {
+            cache.invalidarSe(outra -> outra == 2);
+            return "lido";
+        });
+
+        assertThat(cache.buscar(1, this::carregar)).isEqualTo("valor 1");
+    }
+
+    @Test
+    void gravarDuranteOCarregamentoVence() {
+        CacheLeitura<Integer, String> cache = new CacheLeitura<>("teste", 10, 60, agora::get);
+
+        cache.buscar(1, chave -> {
+            cache.gravar(chave, "gravado");
+            return "lido antes";
+        });
+
+        assertThat(cache.buscar(1, this::carregar)).isEqualTo("gravado");
+    }
+
+    @Test
+    void limparEmOutraThreadDuranteOCarregamento() throws Exception {
+        CacheLeitura<Integer, String> cache = new CacheLeitura<>("teste", 10, 60, agora::get);
+        CountDownLatch carregando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        CompletableFuture<String> leitura = CompletableFuture.supplyAsync(() -> cache.buscar(1, chave -> {
+            carregando.countDown();
+            aguardar(liberar);
+            return "velho";
+        }));
+        assertThat(carregando.await(5, TimeUnit.SECONDS)).isTrue();
+        // O carregador roda fora do lock: limpar não espera por ele
+        cache.limpar();
+        liberar.countDown();
+
+        assertThat(leitura.get(5, TimeUnit.SECONDS)).isEqualTo("velho");
+        assertThat(cache.buscar(1, chave -> "novo")).isEqualTo("novo");
+    }
+
+    private String carregar(Integer chave) {
+        carregamentos.incrementAndGet();
+        return "valor " + chave;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.gastos.financeiro.save_money.cache;
+
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import com.gastos.financeiro.save_money.service.GastoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class VersaoTabelasTests {
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
+    @Autowired
+    private CacheLeitura<Long, Gasto> cacheGastos;
+
+    @Autowired
+    private GastoService gastoService;
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void versaoSobeUmaVezNoCommitENadaNoRollback() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        long antes = versao(VersaoTabelas.Tabela.RECEITAS);
+
+        transacao.executeWithoutResult(status -> {
+            versaoTabelas.incrementar(VersaoTabelas.Tabela.RECEITAS);
+            versaoTabelas.incrementar(VersaoTabelas.Tabela.RECEITAS);
+            status.setRollbackOnly();
+        });
+        versaoTabelas.publicar();
+        assertThat(versao(VersaoTabelas.Tabela.RECEITAS)).isEqualTo(antes);
+
+        transacao.executeWithoutResult(status -> {
+            versaoTabelas.incrementar(VersaoTabelas.Tabela.RECEITAS);
+            versaoTabelas.incrementar(VersaoTabelas.Tabela.RECEITAS);
+        });
+        // Pode ter subido já na thread do verificador; publicar espera por ela
+        versaoTabelas.publicar();
+        assertThat(versao(VersaoTabelas.Tabela.RECEITAS)).isEqualTo(antes + 1);
+        assertThat(emMemoria(VersaoTabelas.Tabela.RECEITAS)).isEqualTo(antes + 1);
+    }
+
+    @Test
+    void variasTransacoesAntesDaRodadaSobemUmaVez() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        versaoTabelas.verificar();
+        long antes = versao(VersaoTabelas.Tabela.METAS);
+
+        // Segura a thread do verificador: as três escritas ficam pendentes juntas
+        synchronized (versaoTabelas) {
+            for (int i = 0; i < 3; i++) {
+                transacao.executeWithoutResult(status -> versaoTabelas.incrementar(VersaoTabelas.Tabela.METAS));
+            }
+            // Nenhuma transação de escrita tocou a linha
+            assertThat(versao(VersaoTabelas.Tabela.METAS)).isEqualTo(antes);
+            versaoTabelas.publicar();
+        }
+
+        assertThat(versao(VersaoTabelas.Tabela.METAS)).isEqualTo(antes + 1);
+    }
+
+    @Test
+    void escritaDeOutraInstanciaLimpaOCache() {
+        long etagAntes;
+        // Segura a thread do verificador até o fim das asserções do meio
+        synchronized (versaoTabelas) {
+            versaoTabelas.verificar();
+            cacheGastos.gravar(-1L, new Gasto());
+            etagAntes = emMemoria(VersaoTabelas.Tabela.GASTOS);
+
+            // Outra instância gravou e subiu a versão; esta não recebeu evento nenhum
+            jdbcTemplate.update("UPDATE versao_tabela SET versao = versao + 1 WHERE tabela = 'GASTOS'");
+            // A ETag não vê a escrita enquanto o cache ainda guarda o valor velho
+            assertThat(emMemoria(VersaoTabelas.Tabela.GASTOS)).isEqualTo(etagAntes);
+            assertThat(cacheGastos.buscar(-1L, id -> null)).isNotNull();
+
+            versaoTabelas.verificar();
+        }
+
+        assertThat(cacheGastos.buscar(-1L, id -> null)).isNull();
+        assertThat(emMemoria(VersaoTabelas.Tabela.GASTOS)).isGreaterThan(etagAntes);
+    }
+
+    @Test
+    void escritaLocalNaoLimpaOCache() {
+        versaoTabelas.verificar();
+        Gasto emCache = new Gasto();
+        cacheGastos.gravar(-2L, emCache);
+
+        Gasto gasto = new Gasto();
+        gasto.setValor(new BigDecimal("3.00"));
+        gasto.setDataHora(LocalDateTime.of(2025, 6, 10, 12, 0));
+        gasto.setEstabelecimento("TESTE VERSAO");
+        gasto.setCategoria("Mercado");
+        Gasto criado = gastoService.criar(gasto);
+        try {
+            versaoTabelas.verificar();
+            assertThat(cacheGastos.buscar(-2L, id -> null)).isSameAs(emCache);
+            assertThat(emMemoria(VersaoTabelas.Tabela.GASTOS)).isEqualTo(versao(VersaoTabelas.Tabela.GASTOS));
+        } finally {
+            gastoRepository.deleteById(criado.getId());
+            cacheGastos.invalidar(-2L);
+        }
+    }
+
+    private long versao(VersaoTabelas.Tabela tabela) {
+        return jdbcTemplate.queryForObject("SELECT versao FROM versao_tabela WHERE tabela = ?", Long.class, tabela.name());
+    }
+
+    private long emMemoria(VersaoTabelas.Tabela tabela) {
+        return versaoTabelas.versoes(tabela).get(0).numero();
+    }
+}
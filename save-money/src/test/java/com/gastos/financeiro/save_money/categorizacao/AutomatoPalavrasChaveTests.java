@@ -0,0 +1,81 @@
+package com.gastos.financeiro.save_money.categorizacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AutomatoPalavrasChaveTests {
+
+    @Test
+    void ligacaoDeFalhaAchaPalavraQueComecaNoMeioDeOutra() {
+        AutomatoPalavrasChave<String> automato = new AutomatoPalavrasChave<>(Map.of(
+                "POSTO SHELL", "posto",
+                "SHELL BOX APP", "app"));
+
+        // Depois de "POSTO SHELL", o " BOX APP" só é achado seguindo a falha para o ramo de "SHELL BOX APP"
+        assertThat(automato.buscar("POSTO SHELL BOX APP")).isEqualTo("app");
+        assertThat(automato.buscar("POSTO SHELL BOX")).isEqualTo("posto");
+        assertThat(automato.buscar("POSTO SHEL")).isNull();
+    }
+
+    @Test
+    void falhaDentroDaMesmaPalavraRespeitaOInicioDePalavra() {
+        AutomatoPalavrasChave<String> automato = new AutomatoPalavrasChave<>(Map.of("AAB", "x"));
+
+        // "AAAB": a falha leva a "AA" e acha AAB, mas começando no meio de uma palavra do texto
+        assertThat(automato.buscar("AAAB")).isNull();
+        assertThat(automato.buscar("A AAB")).isEqualTo("x");
+        assertThat(automato.buscar("A-AAB")).isEqualTo("x");
+    }
+
+    @Test
+    void sobrepostasVenceAMaisLonga() {
+        AutomatoPalavrasChave<String> automato = new AutomatoPalavrasChave<>(Map.of(
+                "UBER", "Transporte",
+                "UBER EATS", "Alimentação",
+                "EATS", "outra"));
+
+        assertThat(automato.buscar("UBER EATS PENDING")).isEqualTo("Alimentação");
+        assertThat(automato.buscar("UBER TRIP")).isEqualTo("Transporte");
+        // A mais longa vence mesmo quando a curta aparece antes no texto
+        assertThat(automato.buscar("EATS E UBER EATS")).isEqualTo("Alimentação");
+    }
+
+    @Test
+    void sufixoMaisCurtoValeQuandoOMaisLongoNaoComecaPalavra() {
+        AutomatoPalavrasChave<String> automato = new AutomatoPalavrasChave<>(Map.of(
+                "B*PIX", "longa",
+                "PIX", "curta"));
+
+        // B*PIX termina no mesmo ponto, mas começa no meio de "AB"; PIX começa depois do '*'
+        assertThat(automato.buscar("AB*PIX")).isEqualTo("curta");
+        assertThat(automato.buscar("A B*PIX")).isEqualTo("longa");
+    }
+
+    @Test
+    void ignoraAcentosMaiusculasEEspacosDaPalavra() {
+        AutomatoPalavrasChave<String> automato = new AutomatoPalavrasChave<>(Map.of(
+                "Açougue", "Alimentação",
+                "  pão   de açúcar ", "Mercado"));
+
+        assertThat(automato.buscar("acougue do ze")).isEqualTo("Alimentação");
+        assertThat(automato.buscar("AÇOUGUE")).isEqualTo("Alimentação");
+        assertThat(automato.buscar("PAO DE ACUCAR 123")).isEqualTo("Mercado");
+        assertThat(automato.buscar("Pão de Açúcar")).isEqualTo("Mercado");
+        // Caracteres fora do alfabeto das palavras (ñ, dígitos) só levam de volta à raiz
+        assertThat(automato.buscar("ñ9 açougue")).isEqualTo("Alimentação");
+        assertThat(automato.buscar(null)).isNull();
+    }
+
+    @Test
+    void palavraRepetidaOuVaziaNaoMontaOAutomato() {
+        assertThatThrownBy(() -> new AutomatoPalavrasChave<>(Map.of("Uber", "a", "UBER", "b")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("UBER");
+        assertThatThrownBy(() -> new AutomatoPalavrasChave<>(Map.of("   ", "a")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,44 @@
+package com.gastos.financeiro.save_money.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTests {
+
+    @Test
+    void idaEVoltaPreservaDataEId() {
+        Cursor cursor = new Cursor(LocalDateTime.of(2025, 6, 10, 12, 0, 7, 123_456_000), 42L);
+
+        assertThat(Cursor.decodificar(cursor.codificar())).isEqualTo(cursor);
+        // Hora cheia: o toString de LocalDateTime omite os segundos, e o parse tem de aceitar
+        Cursor horaCheia = new Cursor(LocalDateTime.of(2025, 6, 10, 12, 0), 1L);
+        assertThat(Cursor.decodificar(horaCheia.codificar())).isEqualTo(horaCheia);
+        assertThat(Cursor.decodificar(Cursor.INICIO.codificar())).isEqualTo(Cursor.INICIO);
+    }
+
+    @Test
+    void codificadoServeNaUrlSemEscapar() {
+        String codificado = new Cursor(LocalDateTime.of(2025, 6, 10, 23, 59, 59), Long.MAX_VALUE).codificar();
+
+        assertThat(codificado).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void cursorQueNaoVeioDoBackendEhRecusado() {
+        assertThatThrownBy(() -> Cursor.decodificar("não é base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Cursor.decodificar(base64("2025-06-10T12:00"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Cursor.decodificar(base64("ontem|42"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Cursor.decodificar(base64("2025-06-10T12:00|x"))).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Cursor inválido");
+    }
+
+    private static String base64(String bruto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package com.gastos.financeiro.save_money.dto;
+
+import com.gastos.financeiro.save_money.model.MetaFinanceira;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjecaoMetaTests {
+
+    private static final LocalDate HOJE = LocalDate.of(2025, 6, 15);
+
+    @Test
+    void projetaPeloRitmoDesdeACriacao() {
+        // 100 aportados em 10 dias (contando hoje): 10 por dia, faltam 900
+        MetaFinanceira meta = meta("1000", "100", "100", HOJE.minusDays(9));
+
+        ProjecaoMeta projecao = ProjecaoMeta.de(meta, HOJE);
+
+        assertThat(projecao.restante()).isEqualByComparingTo("900");
+        assertThat(projecao.percentual()).isEqualByComparingTo("10.00");
+        assertThat(projecao.ritmoDiario()).isEqualByComparingTo("10.00");
+        assertThat(projecao.dataEstimada()).isEqualTo(HOJE.plusDays(90));
+        assertThat(projecao.noPrazo()).isNull();
+        assertThat(projecao.aporteMensalNecessario()).isNull();
+    }
+
+    @Test
+    void diaParcialContaComoDiaInteiro() {
+        // Faltam 95 a 10 por dia: o último dia ainda é preciso
+        MetaFinanceira meta = meta("105", "10", "10", HOJE);
+
+        assertThat(ProjecaoMeta.de(meta, HOJE).dataEstimada()).isEqualTo(HOJE.plusDays(10));
+    }
+
+    @Test
+    void metaAtingidaTerminaHoje() {
+        MetaFinanceira meta = meta("500", "650", "0", HOJE.minusDays(30));
+
+        ProjecaoMeta projecao = ProjecaoMeta.de(meta, HOJE);
+
+        assertThat(projecao.restante()).isEqualByComparingTo("0");
+        assertThat(projecao.dataEstimada()).isEqualTo(HOJE);
+        assertThat(projecao.percentual()).isEqualByComparingTo("130.00");
+    }
+
+    @Test
+    void semAportesNaoHaProjecao() {
+        MetaFinanceira meta = meta("1000", "300", "0", HOJE.minusDays(30));
+        meta.setDataAlvo(HOJE.plusMonths(6));
+
+        ProjecaoMeta projecao = ProjecaoMeta.de(meta, HOJE);
+
+        assertThat(projecao.ritmoDiario()).isEqualByComparingTo("0");
+        assertThat(projecao.dataEstimada()).isNull();
+        assertThat(projecao.noPrazo()).isFalse();
+    }
+
+    @Test
+    void prazoEAporteMensalPelaDataAlvo() {
+        // De junho a agosto são 3 meses, contando o atual
+        MetaFinanceira meta = meta("1000", "100", "100", HOJE.minusDays(9));
+        meta.setDataAlvo(LocalDate.of(2025, 8, 1));
+
+        ProjecaoMeta projecao = ProjecaoMeta.de(meta, HOJE);
+
+        assertThat(projecao.aporteMensalNecessario()).isEqualByComparingTo("300.00");
+        assertThat(projecao.noPrazo()).isFalse();
+
+        meta.setDataAlvo(HOJE.plusDays(90));
+        assertThat(ProjecaoMeta.de(meta, HOJE).noPrazo()).isTrue();
+    }
+
+    @Test
+    void dataAlvoNoPassadoPedeTudoNumMes() {
+        MetaFinanceira meta = meta("1000", "400", "0", HOJE.minusDays(30));
+        meta.setDataAlvo(HOJE.minusMonths(2));
+
+        assertThat(ProjecaoMeta.de(meta, HOJE).aporteMensalNecessario()).isEqualByComparingTo("600.00");
+    }
+
+    @Test
+    void ritmoDeCentavosContraAlvoEnormeNaoEstoura() {
+        // 0,01 por dia até 10^30 passaria do long e do LocalDate.MAX
+        MetaFinanceira meta = meta("1000000000000000000000000000000", "0.01", "0.01", HOJE);
+        meta.setDataAlvo(HOJE.plusYears(1));
+
+        ProjecaoMeta projecao = ProjecaoMeta.de(meta, HOJE);
+
+        assertThat(projecao.ritmoDiario()).isEqualByComparingTo("0.01");
+        assertThat(projecao.dataEstimada()).isNull();
+        assertThat(projecao.noPrazo()).isFalse();
+    }
+
+    @Test
+    void semCamposPreenchidos() {
+        ProjecaoMeta projecao = ProjecaoMeta.de(new MetaFinanceira(), HOJE);
+
+        assertThat(projecao.percentual()).isEqualByComparingTo("0");
+        assertThat(projecao.dataEstimada()).isEqualTo(HOJE);
+    }
+
+    private static MetaFinanceira meta(String alvo, String atual, String aportado, LocalDate criacao) {
+        MetaFinanceira meta = new MetaFinanceira();
+        meta.setId(1L);
+        meta.setValorAlvo(new BigDecimal(alvo));
+        meta.setValorAtual(new BigDecimal(atual));
+        meta.setValorAportado(new BigDecimal(aportado));
+        meta.setDataCriacao(criacao);
+        return meta;
+    }
+}
@@ -0,0 +1,96 @@
+package com.gastos.financeiro.save_money.importacao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ValoresExtratoTests {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "1.234,56;1234.56",
+            "1,234.56;1234.56",
+            "R$ 1.234;1234",
+            "1.234.567;1234567",
+            "1,234,567;1234567",
+            "1.234.567,89;1234567.89",
+            "12.00;12.00",
+            "12.5;12.5",
+            "0,14;0.14",
+            "R$ 0,14.;0.14",
+            "1,234;1.234",
+            "(50,00);-50.00",
+            "50,00 D;-50.00",
+            "50,00d;-50.00",
+            "50,00 C;50.00",
+            "50,00-;-50.00",
+            "-50,00;-50.00",
+            "+7;7",
+            "(-3,00);3.00"
+    })
+    void valorNosFormatosDosBancos(String texto, String esperado) {
+        assertThat(ValoresExtrato.valor(texto)).isEqualByComparingTo(esperado);
+    }
+
+    @Test
+    void valorComEspacoInseparavel() {
+        assertThat(ValoresExtrato.valor("R$\u00A012,30")).isEqualByComparingTo("12.30");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "   ", "abc", "R$", "-", "()", "1,2,3.4.5"})
+    void valorInvalido(String texto) {
+        assertThatThrownBy(() -> ValoresExtrato.valor(texto)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "10/06/2025;2025-06-10T00:00",
+            "10/06/25;2025-06-10T00:00",
+            "2025-06-10;2025-06-10T00:00",
+            "2025-06-10T14:30;2025-06-10T14:30",
+            "10/06/2025 14:30:15;2025-06-10T14:30:15",
+            " 1/6/2025 ;2025-06-01T00:00"
+    })
+    void dataComOuSemHora(String texto, LocalDateTime esperada) {
+        assertThat(ValoresExtrato.data(texto)).isEqualTo(esperada);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "31/02/2025", "10/06", "2025-13-01", "10/06/2025 25:00", "ontem"})
+    void dataInvalida(String texto) {
+        assertThatThrownBy(() -> ValoresExtrato.data(texto)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "20250610;2025-06-10T00:00",
+            "20250610143015;2025-06-10T14:30:15",
+            "20250610143015.000[-3:BRT];2025-06-10T14:30:15",
+            "202506101430;2025-06-10T00:00"
+    })
+    void dataDoOfx(String texto, LocalDateTime esperada) {
+        assertThat(ValoresExtrato.dataOfx(texto)).isEqualTo(esperada);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"202506", "20251310", "20250610256000"})
+    void dataDoOfxInvalida(String texto) {
+        assertThatThrownBy(() -> ValoresExtrato.dataOfx(texto)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cabecalhoETruncamento() {
+        assertThat(ValoresExtrato.normalizarCabecalho(" Histórico ")).isEqualTo("historico");
+        assertThat(ValoresExtrato.normalizarCabecalho("DESCRIÇÃO")).isEqualTo("descricao");
+        assertThat(ValoresExtrato.truncar("  abcdef  ", 3)).isEqualTo("abc");
+        assertThat(ValoresExtrato.truncar("   ", 3)).isNull();
+        assertThat(ValoresExtrato.truncar(null, 3)).isNull();
+    }
+}
@@ -0,0 +1,126 @@
+package com.gastos.financeiro.save_money.limite;
+
+import com.gastos.financeiro.save_money.replica.RoteamentoLeituraInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sem Spring: o relógio é um AtomicLong que o teste avança, então nada dorme
+class LimitadorIngestaoTests {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong agora = new AtomicLong(1_000 * SEGUNDO);
+
+    // 5 por segundo (uma ficha a cada 200 ms), rajada de 3
+    private final LimitadorIngestao limitador = new LimitadorIngestao(true, 5, 3, agora::get);
+
+    @Test
+    void rajadaPassaEAProximaEspera() {
+        assertThat(limitador.consumir("celular")).isZero();
+        assertThat(limitador.consumir("celular")).isZero();
+        assertThat(limitador.consumir("celular")).isZero();
+
+        assertThat(limitador.consumir("celular")).isEqualTo(SEGUNDO / 5);
+    }
+
+    @Test
+    void fichasVoltamComOTempoSemPassarDaRajada() {
+        esgotar("celular");
+
+        agora.addAndGet(SEGUNDO / 5);
+        assertThat(limitador.consumir("celular")).isZero();
+        assertThat(limitador.consumir("celular")).isPositive();
+
+        // Parado muito tempo, o balde enche só até a rajada
+        agora.addAndGet(60 * SEGUNDO);
+        esgotar("celular");
+        assertThat(limitador.consumir("celular")).isEqualTo(SEGUNDO / 5);
+    }
+
+    @Test
+    void esperaDiminuiConformeOTempoPassa() {
+        esgotar("celular");
+        agora.addAndGet(SEGUNDO / 20);
+
+        assertThat(limitador.consumir("celular")).isEqualTo(SEGUNDO / 5 - SEGUNDO / 20);
+    }
+
+    @Test
+    void desligadoNuncaRecusa() {
+        LimitadorIngestao desligado = new LimitadorIngestao(false, 5, 1, agora::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(desligado.consumir("celular")).isZero();
+        }
+    }
+
+    @Test
+    void clientesNaMesmaFaixaDividemOBalde() {
+        String[] colididos = colidindo();
+
+        esgotar(colididos[0]);
+        assertThat(limitador.consumir(colididos[1])).isPositive();
+
+        String outro = "tablet";
+        assertThat(LimitadorIngestao.faixa(outro)).isNotEqualTo(LimitadorIngestao.faixa(colididos[0]));
+        assertThat(limitador.consumir(outro)).isZero();
+    }
+
+    @Test
+    void retryAfterEmSegundosArredondadoParaCima() {
+        // Uma ficha a cada 1,5 s: a espera depois da rajada não é um número inteiro de segundos
+        LimitadorIngestao lento = new LimitadorIngestao(true, 1 / 1.5, 1, agora::get);
+        LimiteIngestaoInterceptor interceptor = new LimiteIngestaoInterceptor();
+        ReflectionTestUtils.setField(interceptor, "limitadorIngestao", lento);
+
+        assertThat(interceptor.preHandle(escrita(), new MockHttpServletResponse(), null)).isTrue();
+
+        MockHttpServletResponse recusada = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(escrita(), recusada, null)).isFalse();
+        assertThat(recusada.getStatus()).isEqualTo(429);
+        assertThat(recusada.getHeader("Retry-After")).isEqualTo("2");
+
+        // Faltando menos de um segundo, ainda pede 1, nunca 0
+        agora.addAndGet(SEGUNDO + SEGUNDO / 4);
+        MockHttpServletResponse quase = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(escrita(), quase, null)).isFalse();
+        assertThat(quase.getHeader("Retry-After")).isEqualTo("1");
+
+        // Leituras não gastam fichas
+        MockHttpServletRequest leitura = new MockHttpServletRequest("GET", "/api/gastos");
+        assertThat(interceptor.preHandle(leitura, new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    private void esgotar(String cliente) {
+        while (limitador.consumir(cliente) == 0) {
+            // consome até a primeira recusa
+        }
+    }
+
+    private static MockHttpServletRequest escrita() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/gastos");
+        request.addHeader(RoteamentoLeituraInterceptor.CABECALHO_DISPOSITIVO, "celular");
+        return request;
+    }
+
+    // Dois nomes diferentes que caem na mesma faixa do AtomicLongArray
+    private static String[] colidindo() {
+        Map<Integer, String> vistos = new HashMap<>();
+        for (int i = 0; ; i++) {
+            String cliente = "dispositivo-" + i;
+            String anterior = vistos.putIfAbsent(LimitadorIngestao.faixa(cliente), cliente);
+            if (anterior != null) {
+                return new String[] { anterior, cliente };
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.gastos.financeiro.save_money.repository;
+
+import com.gastos.financeiro.save_money.dto.Cursor;
+import com.gastos.financeiro.save_money.dto.GastoResumo;
+import com.gastos.financeiro.save_money.dto.Periodo;
+import com.gastos.financeiro.save_money.model.Gasto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Grava direto pelo repositório (sem eventos): só a consulta da paginação está em teste
+@SpringBootTest
+class GastoRepositoryTests {
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String categoria = "TESTE CURSOR " + UUID.randomUUID();
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM gastos WHERE categoria = ?", categoria);
+    }
+
+    @Test
+    void paginasPorCursorNaoRepetemNemPulamComDatasIguais() {
+        LocalDateTime mesmaHora = LocalDateTime.of(2025, 6, 10, 12, 0);
+        List<Gasto> gravados = new ArrayList<>();
+        // Cinco no mesmo instante (o id desempata), um antes e um depois
+        for (int i = 0; i < 5; i++) {
+            gravados.add(gasto(mesmaHora));
+        }
+        gravados.add(gasto(mesmaHora.minusSeconds(1)));
+        gravados.add(gasto(mesmaHora.plusSeconds(1)));
+        gastoRepository.saveAll(gravados);
+
+        List<Long> esperados = gravados.stream()
+                .sorted(Comparator.comparing(Gasto::getDataHora).thenComparing(Gasto::getId).reversed())
+                .map(Gasto::getId)
+                .toList();
+
+        List<Long> lidos = new ArrayList<>();
+        Cursor posicao = Cursor.INICIO;
+        Periodo periodo = Periodo.de(LocalDate.of(2025, 6, 10), LocalDate.of(2025, 6, 10));
+        for (int pagina = 0; pagina < 10; pagina++) {
+            List<GastoResumo> itens = gastoRepository.buscarPaginaPorCategoria(categoria, periodo.inicioOuMinimo(),
+                    periodo.fimOuMaximo(), posicao.data(), posicao.id(), PageRequest.of(0, 2));
+            if (itens.isEmpty()) {
+                break;
+            }
+            itens.forEach(item -> lidos.add(item.id()));
+            GastoResumo ultimo = itens.get(itens.size() - 1);
+            // Pela forma codificada, como o cliente devolve
+            posicao = Cursor.decodificar(new Cursor(ultimo.dataHora(), ultimo.id()).codificar());
+        }
+
+        assertThat(lidos).containsExactlyElementsOf(esperados);
+    }
+
+    private Gasto gasto(LocalDateTime dataHora) {
+        Gasto gasto = new Gasto();
+        gasto.setValor(new BigDecimal("1.00"));
+        gasto.setDataHora(dataHora);
+        gasto.setEstabelecimento("TESTE CURSOR");
+        gasto.setCategoria(categoria);
+        return gasto;
+    }
+}
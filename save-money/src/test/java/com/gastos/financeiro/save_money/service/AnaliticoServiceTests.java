@@ -0,0 +1,152 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.dto.ParticipacaoCategoria;
+import com.gastos.financeiro.save_money.dto.ResumoFinanceiro;
+import com.gastos.financeiro.save_money.dto.ResumoMensal;
+import com.gastos.financeiro.save_money.dto.TotalOrigem;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// O motor em memória contra as somas do banco (ResumoService, totalizarPorMes) sobre os mesmos lançamentos.
+// As datas ficam em 2041 para nenhum outro dado cair no período.
+@SpringBootTest
+class AnaliticoServiceTests {
+
+    private static final LocalDate INICIO = LocalDate.of(2041, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2041, 3, 31);
+
+    @Autowired
+    private AnaliticoService analiticoService;
+
+    @Autowired
+    private ResumoService resumoService;
+
+    @Autowired
+    private GastoService gastoService;
+
+    @Autowired
+    private ReceitaService receitaService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String sufixo = UUID.randomUUID().toString();
+    private final String mercado = "TESTE MERCADO " + sufixo;
+    private final String lazer = "TESTE LAZER " + sufixo;
+
+    private Gasto fimDeJaneiro;
+    private Gasto inicioDeMarco;
+
+    @BeforeEach
+    void carregar() {
+        // Espera a carga de depois da subida, se ainda estiver rodando, e parte do banco atual
+        analiticoService.recarregar();
+
+        fimDeJaneiro = gastoService.criar(gasto("10.10", LocalDateTime.of(2041, 1, 31, 23, 59), "LOJA A", mercado));
+        // Meio centavo: o banco arredonda para cima, o motor tem de fazer o mesmo
+        gastoService.criar(gasto("1.005", LocalDateTime.of(2041, 2, 1, 0, 0), "LOJA B", lazer));
+        gastoService.criar(gasto("0.125", LocalDateTime.of(2041, 2, 28, 12, 0), "LOJA A", mercado));
+        inicioDeMarco = gastoService.criar(gasto("5.00", LocalDateTime.of(2041, 3, 1, 0, 0), "LOJA C", lazer));
+
+        receitaService.criar(receita("100.00", LocalDateTime.of(2041, 2, 1, 0, 0), "FONTE 1"));
+        receitaService.criar(receita("2.675", LocalDateTime.of(2041, 2, 28, 23, 59, 59), "FONTE 2"));
+    }
+
+    @AfterEach
+    void limpar() {
+        // Pelos serviços, para o motor também esquecer as linhas
+        jdbcTemplate.queryForList("SELECT id FROM gastos WHERE estabelecimento LIKE ?", Long.class, "% " + sufixo)
+                .forEach(gastoService::remover);
+        jdbcTemplate.queryForList("SELECT id FROM receitas WHERE fonte LIKE ?", Long.class, "% " + sufixo)
+                .forEach(receitaService::remover);
+    }
+
+    @Test
+    void resumoBateComOBancoMesAMes() {
+        ResumoFinanceiro analitico = analiticoService.resumir(INICIO, FIM);
+
+        assertThat(analitico.meses()).extracting(ResumoMensal::mes).containsExactly(1, 2, 3);
+        assertThat(analitico.meses()).extracting(ResumoMensal::quantidadeGastos).containsExactly(1L, 2L, 1L);
+        assertThat(analitico.meses().get(1).totalGastos()).isEqualByComparingTo("1.14");
+        assertThat(analitico.meses().get(1).totalReceitas()).isEqualByComparingTo("102.68");
+        assertIgualAoBanco(INICIO, FIM);
+        // Período que corta os meses no meio
+        assertIgualAoBanco(LocalDate.of(2041, 1, 31), LocalDate.of(2041, 2, 1));
+        assertIgualAoBanco(LocalDate.of(2041, 2, 2), LocalDate.of(2041, 2, 27));
+    }
+
+    @Test
+    void alteracaoERemocaoMudamOMotorComoOBanco() {
+        // Muda o dia: o motor tem de remover pelo dia antigo e inserir no novo
+        Gasto movido = gasto("20.00", LocalDateTime.of(2041, 3, 2, 8, 0), "LOJA A", mercado);
+        gastoService.atualizar(fimDeJaneiro.getId(), movido, fimDeJaneiro.getVersao());
+        gastoService.remover(inicioDeMarco.getId());
+
+        ResumoFinanceiro analitico = analiticoService.resumir(INICIO, FIM);
+        assertThat(analitico.meses()).extracting(ResumoMensal::mes).containsExactly(2, 3);
+        assertThat(analitico.meses().get(1).totalGastos()).isEqualByComparingTo("20.00");
+        assertIgualAoBanco(INICIO, FIM);
+
+        // A recarga do banco chega ao mesmo estado que os eventos
+        analiticoService.recarregar();
+        assertIgualAoBanco(INICIO, FIM);
+    }
+
+    @Test
+    void maioresEstabelecimentosECategorias() {
+        assertThat(analiticoService.maioresEstabelecimentos(INICIO, FIM, 2))
+                .extracting(TotalOrigem::origem, total -> total.total().toPlainString(), TotalOrigem::quantidade)
+                .containsExactly(
+                        tuple("LOJA A " + sufixo, "10.23", 2L),
+                        tuple("LOJA C " + sufixo, "5.00", 1L));
+        assertThat(analiticoService.maioresEstabelecimentos(INICIO, FIM, 1)).extracting(TotalOrigem::origem)
+                .containsExactly("LOJA A " + sufixo);
+        assertThat(analiticoService.maioresFontes(INICIO, FIM, 10)).extracting(TotalOrigem::origem)
+                .containsExactly("FONTE 1 " + sufixo, "FONTE 2 " + sufixo);
+
+        List<ParticipacaoCategoria> categorias = analiticoService.participacaoCategorias(INICIO, FIM);
+        assertThat(categorias).extracting(ParticipacaoCategoria::categoria).containsExactly(mercado, lazer);
+        // 10,23 de 16,24
+        assertThat(categorias.get(0).percentual()).isEqualTo(62.99);
+    }
+
+    private void assertIgualAoBanco(LocalDate inicio, LocalDate fim) {
+        assertThat(analiticoService.resumir(inicio, fim))
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(resumoService.resumir(inicio, fim));
+    }
+
+    private Gasto gasto(String valor, LocalDateTime dataHora, String estabelecimento, String categoria) {
+        Gasto gasto = new Gasto();
+        gasto.setValor(new BigDecimal(valor));
+        gasto.setDataHora(dataHora);
+        gasto.setEstabelecimento(estabelecimento + " " + sufixo);
+        gasto.setCategoria(categoria);
+        return gasto;
+    }
+
+    private Receita receita(String valor, LocalDateTime dataRecebimento, String fonte) {
+        Receita receita = new Receita();
+        receita.setValor(new BigDecimal(valor));
+        receita.setDataRecebimento(dataRecebimento);
+        receita.setFonte(fonte + " " + sufixo);
+        receita.setCategoria("Salário");
+        return receita;
+    }
+}
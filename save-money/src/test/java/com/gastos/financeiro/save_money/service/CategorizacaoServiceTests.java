@@ -0,0 +1,77 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.categorizacao.AutomatoPalavrasChave;
+import com.gastos.financeiro.save_money.model.Gasto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CategorizacaoServiceTests {
+
+    @Autowired
+    private CategorizacaoService categorizacaoService;
+
+    @Autowired
+    private GastoService gastoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // PADARIA é palavra-chave de Alimentação em categorias.json
+    private final String padaria = "PADARIA TESTE " + UUID.randomUUID();
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM gastos WHERE estabelecimento = ?", padaria);
+        jdbcTemplate.update("DELETE FROM categoria_aprendida WHERE estabelecimento = ?",
+                AutomatoPalavrasChave.normalizar(padaria));
+    }
+
+    @Test
+    void correcaoDoUsuarioValeAntesDaPalavraChave() {
+        Gasto criado = gastoService.criar(gasto(padaria));
+        assertThat(criado.getCategoria()).isEqualTo("Alimentação");
+
+        Gasto corrigido = gasto(padaria);
+        corrigido.setCategoria("Lazer");
+        gastoService.atualizar(criado.getId(), corrigido, criado.getVersao());
+
+        Gasto proximo = gasto(padaria.toLowerCase());
+        categorizacaoService.categorizar(proximo);
+        assertThat(proximo.getCategoria()).isEqualTo("Lazer");
+        assertThat(jdbcTemplate.queryForObject("SELECT categoria FROM categoria_aprendida WHERE estabelecimento = ?",
+                String.class, AutomatoPalavrasChave.normalizar(padaria))).isEqualTo("Lazer");
+
+        // A correção é só daquele estabelecimento; outra padaria continua pela palavra-chave
+        assertThat(categorizacaoService.sugerir("PADARIA OUTRA " + UUID.randomUUID(), null)).isEqualTo("Alimentação");
+    }
+
+    @Test
+    void trocaParaUmCanalNaoEhAprendida() {
+        Gasto criado = gastoService.criar(gasto(padaria));
+
+        Gasto paraCanal = gasto(padaria);
+        paraCanal.setCategoria("PIX");
+        gastoService.atualizar(criado.getId(), paraCanal, criado.getVersao());
+
+        assertThat(categorizacaoService.sugerir(padaria, null)).isEqualTo("Alimentação");
+    }
+
+    private static Gasto gasto(String estabelecimento) {
+        Gasto gasto = new Gasto();
+        gasto.setValor(new BigDecimal("8.50"));
+        gasto.setDataHora(LocalDateTime.of(2025, 6, 10, 7, 30));
+        gasto.setEstabelecimento(estabelecimento);
+        gasto.setCategoria("PIX");
+        return gasto;
+    }
+}
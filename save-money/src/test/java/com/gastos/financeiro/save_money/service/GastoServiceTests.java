@@ -0,0 +1,126 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import com.gastos.financeiro.save_money.repository.RollupGastoMensalRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+
+// Sem @Transactional de teste: cada chamada ao serviço precisa confirmar ou desfazer a própria transação
+@SpringBootTest
+class GastoServiceTests {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2025, 6, 10, 12, 0);
+
+    @Autowired
+    private GastoService gastoService;
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @MockitoBean
+    private RollupGastoMensalRepository rollupRepository;
+
+    @Test
+    void falhaNoRollupDesfazOGastoCriado() {
+        falharRollup();
+        String estabelecimento = estabelecimentoUnico();
+
+        assertThatThrownBy(() -> gastoService.criar(gasto(estabelecimento, "12.34")))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(gravados(estabelecimento)).isEmpty();
+    }
+
+    @Test
+    void falhaNoRollupDesfazAAtualizacao() {
+        String estabelecimento = estabelecimentoUnico();
+        Gasto criado = gastoService.criar(gasto(estabelecimento, "10.00"));
+        try {
+            falharRollup();
+
+            assertThatThrownBy(() -> gastoService.atualizar(criado.getId(), gasto(estabelecimento, "99.00"), criado.getVersao()))
+                    .isInstanceOf(IllegalStateException.class);
+
+            assertThat(gastoRepository.findById(criado.getId())).get()
+                    .satisfies(gasto -> assertThat(gasto.getValor()).isEqualByComparingTo("10.00"))
+                    .satisfies(gasto -> assertThat(gasto.getVersao()).isEqualTo(criado.getVersao()));
+        } finally {
+            gastoRepository.deleteById(criado.getId());
+        }
+    }
+
+    @Test
+    void versaoVelhaNaoSobrescreveOGasto() {
+        String estabelecimento = estabelecimentoUnico();
+        Gasto criado = gastoService.criar(gasto(estabelecimento, "10.00"));
+        try {
+            // Outro cliente editou primeiro; este ainda tem a versão da criação
+            gastoService.atualizar(criado.getId(), gasto(estabelecimento, "20.00"), criado.getVersao());
+
+            assertThatThrownBy(() -> gastoService.atualizar(criado.getId(), gasto(estabelecimento, "99.00"), criado.getVersao()))
+                    .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+            assertThat(gastoRepository.findById(criado.getId())).get()
+                    .satisfies(gasto -> assertThat(gasto.getValor()).isEqualByComparingTo("20.00"))
+                    .satisfies(gasto -> assertThat(gasto.getVersao()).isEqualTo(criado.getVersao() + 1));
+        } finally {
+            gastoRepository.deleteById(criado.getId());
+        }
+    }
+
+    @Test
+    void falhaNoRollupMantemOGastoRemovido() {
+        String estabelecimento = estabelecimentoUnico();
+        Gasto criado = gastoService.criar(gasto(estabelecimento, "10.00"));
+        try {
+            falharRollup();
+
+            assertThatThrownBy(() -> gastoService.remover(criado.getId()))
+                    .isInstanceOf(IllegalStateException.class);
+
+            assertThat(gastoRepository.existsById(criado.getId())).isTrue();
+        } finally {
+            gastoRepository.deleteById(criado.getId());
+        }
+    }
+
+    private void falharRollup() {
+        doThrow(new IllegalStateException("rollup indisponível"))
+                .when(rollupRepository).acumular(anyInt(), anyInt(), anyString(), any(), anyLong());
+    }
+
+    private List<Gasto> gravados(String estabelecimento) {
+        return gastoRepository.findByEstabelecimentoAndDataHoraGreaterThanEqualAndDataHoraLessThanOrderByDataHoraDescIdDesc(
+                estabelecimento, DATA.minusDays(1), DATA.plusDays(1));
+    }
+
+    private static String estabelecimentoUnico() {
+        return "TESTE ROLLUP " + UUID.randomUUID();
+    }
+
+    private static Gasto gasto(String estabelecimento, String valor) {
+        Gasto gasto = new Gasto();
+        gasto.setValor(new BigDecimal(valor));
+        gasto.setDataHora(DATA);
+        gasto.setEstabelecimento(estabelecimento);
+        gasto.setCategoria("Mercado");
+        return gasto;
+    }
+}
@@ -0,0 +1,95 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.importacao.FormatoImportacao;
+import com.gastos.financeiro.save_money.importacao.Importacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ImportacaoServiceTests {
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String origem = "TESTE EXTRATO " + UUID.randomUUID();
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM gastos WHERE estabelecimento = ?", origem);
+        jdbcTemplate.update("DELETE FROM receitas WHERE fonte = ?", origem);
+    }
+
+    @Test
+    void linhasIguaisNoMesmoDiaSaoLancamentosDiferentes() throws Exception {
+        String csv = """
+                data;valor;descricao;origem
+                10/06/2025;-5,00;CAFE;%1$s
+                10/06/2025;-5,00;CAFE;%1$s
+                10/06/2025;100,00;PIX RECEBIDO;%1$s
+                10/06/2025;100,00;PIX RECEBIDO;%1$s
+                """.formatted(origem);
+
+        Importacao primeira = importar(FormatoImportacao.CSV, csv);
+        assertThat(primeira.getInseridos()).isEqualTo(4);
+        assertThat(primeira.getDuplicados()).isZero();
+        assertThat(gastos()).isEqualTo(2);
+        assertThat(receitas()).isEqualTo(2);
+
+        Importacao segunda = importar(FormatoImportacao.CSV, csv);
+        assertThat(segunda.getInseridos()).isZero();
+        assertThat(segunda.getDuplicados()).isEqualTo(4);
+        assertThat(gastos()).isEqualTo(2);
+        assertThat(receitas()).isEqualTo(2);
+    }
+
+    @Test
+    void ofxNumaLinhaSoUsaOFitid() throws Exception {
+        String transacao = "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20250610<TRNAMT>-5.00<FITID>%s<NAME>" + origem + "</STMTTRN>";
+        String ofx = "<OFX><BANKTRANLIST>" + transacao.formatted("A1") + transacao.formatted("A2")
+                + "</BANKTRANLIST></OFX>";
+
+        assertThat(importar(FormatoImportacao.OFX, ofx).getInseridos()).isEqualTo(2);
+        // O mesmo lançamento num arquivo de outro período, em outra posição: o FITID não muda
+        String outroPeriodo = "<OFX><BANKTRANLIST>" + transacao.formatted("A0") + transacao.formatted("A2")
+                + "</BANKTRANLIST></OFX>";
+        Importacao segunda = importar(FormatoImportacao.OFX, outroPeriodo);
+        assertThat(segunda.getInseridos()).isEqualTo(1);
+        assertThat(segunda.getDuplicados()).isEqualTo(1);
+        assertThat(gastos()).isEqualTo(3);
+    }
+
+    private Importacao importar(FormatoImportacao formato, String conteudo) throws IOException, InterruptedException {
+        Importacao importacao = importacaoService.importar("teste." + formato.name().toLowerCase(), formato,
+                StandardCharsets.UTF_8, new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)));
+        long limite = System.nanoTime() + 10_000_000_000L;
+        while (importacao.getEstado() == Importacao.Estado.AGUARDANDO
+                || importacao.getEstado() == Importacao.Estado.PROCESSANDO) {
+            assertThat(System.nanoTime()).as("tempo esgotado esperando a importação").isLessThan(limite);
+            Thread.sleep(20);
+        }
+        assertThat(importacao.getEstado()).isEqualTo(Importacao.Estado.CONCLUIDA);
+        assertThat(importacao.getRejeitados()).isZero();
+        return importacao;
+    }
+
+    private long gastos() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM gastos WHERE estabelecimento = ?", Long.class, origem);
+    }
+
+    private long receitas() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM receitas WHERE fonte = ?", Long.class, origem);
+    }
+}
@@ -0,0 +1,118 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.model.Gasto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = {
+        "save-money.ingestao.assincrona.habilitada=true",
+        "save-money.ingestao.assincrona.espera-inicial-ms=10"
+})
+class IngestaoAssincronaServiceTests {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2025, 6, 10, 12, 0);
+
+    @Autowired
+    private IngestaoAssincronaService ingestaoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private LoteService loteService;
+
+    private final String estabelecimento = "TESTE INGESTAO " + UUID.randomUUID();
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM gastos WHERE estabelecimento = ?", estabelecimento);
+        jdbcTemplate.update("DELETE FROM ingestao_rejeitada WHERE conteudo ->> 'estabelecimento' = ?", estabelecimento);
+    }
+
+    @Test
+    void falhaPassageiraENovaTentativa() {
+        doThrow(new QueryTimeoutException("banco lento")).doCallRealMethod().when(loteService).salvarGastos(anyList());
+        long gravados = ingestaoService.gravados();
+        long falhas = ingestaoService.falhas();
+
+        assertThat(ingestaoService.enfileirar(gasto("12.00"))).isTrue();
+
+        aguardar(() -> ingestaoService.gravados() > gravados);
+        assertThat(ingestaoService.falhas()).isEqualTo(falhas);
+        assertThat(gastosGravados()).isEqualTo(1);
+    }
+
+    @Test
+    void itemInvalidoVaiParaRejeitadosSemDerrubarOsOutros() {
+        long gravados = ingestaoService.gravados();
+        long falhas = ingestaoService.falhas();
+
+        ingestaoService.enfileirar(gasto("5.00"));
+        ingestaoService.enfileirar(gasto(null));
+
+        aguardar(() -> ingestaoService.gravados() > gravados && ingestaoService.falhas() > falhas);
+        assertThat(ingestaoService.falhas() - falhas).isEqualTo(1);
+        assertThat(gastosGravados()).isEqualTo(1);
+        assertThat(errosRejeitados()).containsExactly("valor é obrigatório");
+    }
+
+    @Test
+    void bancoForaDepoisDasTentativasGuardaCadaItem() {
+        doThrow(new QueryTimeoutException("banco fora")).when(loteService).salvarGastos(anyList());
+        long falhas = ingestaoService.falhas();
+
+        ingestaoService.enfileirar(gasto("1.00"));
+        ingestaoService.enfileirar(gasto("2.00"));
+
+        aguardar(() -> ingestaoService.falhas() - falhas >= 2);
+        assertThat(gastosGravados()).isZero();
+        assertThat(errosRejeitados()).hasSize(2).allMatch(erro -> erro.contains("banco fora"));
+    }
+
+    private long gastosGravados() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM gastos WHERE estabelecimento = ?", Long.class,
+                estabelecimento);
+    }
+
+    private List<String> errosRejeitados() {
+        return jdbcTemplate.queryForList("SELECT erro FROM ingestao_rejeitada WHERE conteudo ->> 'estabelecimento' = ?",
+                String.class, estabelecimento);
+    }
+
+    private Gasto gasto(String valor) {
+        Gasto gasto = new Gasto();
+        gasto.setValor(valor != null ? new BigDecimal(valor) : null);
+        gasto.setDataHora(DATA);
+        gasto.setEstabelecimento(estabelecimento);
+        gasto.setCategoria("Mercado");
+        return gasto;
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        long limite = System.nanoTime() + 10_000_000_000L;
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tempo esgotado esperando os workers").isLessThan(limite);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.cache.VersaoTabelas;
+import com.gastos.financeiro.save_money.dto.ResultadoItem;
+import com.gastos.financeiro.save_money.dto.ResultadoLote;
+import com.gastos.financeiro.save_money.event.TabelaAlteradaEvent;
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import com.gastos.financeiro.save_money.repository.ReceitaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class LoteServiceTests {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2025, 6, 10, 12, 0);
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void itemRecusadoPeloBancoNaoDerrubaOLote() {
+        // estabelecimento é varchar(100): só o banco recusa o segundo item
+        List<Gasto> gastos = List.of(gasto("TESTE LOTE A"), gasto("X".repeat(150)), gasto("TESTE LOTE C"));
+
+        ResultadoLote resultado = loteService.salvarGastos(gastos);
+        try {
+            assertThat(resultado.inseridos()).isEqualTo(2);
+            assertThat(resultado.rejeitados()).isEqualTo(1);
+            assertThat(resultado.itens()).extracting(ResultadoItem::status).containsExactly(
+                    ResultadoItem.Status.CRIADO, ResultadoItem.Status.REJEITADO, ResultadoItem.Status.CRIADO);
+            assertThat(resultado.itens().get(1).erro()).startsWith("recusado pelo banco");
+            assertThat(gastoRepository.findAllById(ids(resultado))).hasSize(2);
+        } finally {
+            gastoRepository.deleteAllById(ids(resultado));
+        }
+    }
+
+    @Test
+    void loteSemRecusaContinuaNumaPassada() {
+        List<Gasto> gastos = List.of(gasto("TESTE LOTE D"), gasto("TESTE LOTE E"));
+
+        ResultadoLote resultado = loteService.salvarGastos(gastos);
+        try {
+            assertThat(resultado.inseridos()).isEqualTo(2);
+            assertThat(resultado.rejeitados()).isZero();
+        } finally {
+            gastoRepository.deleteAllById(ids(resultado));
+        }
+    }
+
+    @Test
+    void receitaRecusadaPeloBancoFicaSozinhaComoRejeitada() {
+        List<Receita> receitas = List.of(receita("Salário"), receita("F".repeat(300)));
+
+        ResultadoLote resultado = loteService.salvarReceitas(receitas);
+        try {
+            assertThat(resultado.itens()).extracting(ResultadoItem::status).containsExactly(
+                    ResultadoItem.Status.CRIADO, ResultadoItem.Status.REJEITADO);
+            assertThat(receitaRepository.findAllById(ids(resultado))).hasSize(1);
+        } finally {
+            receitaRepository.deleteAllById(ids(resultado));
+        }
+    }
+
+    @Test
+    void mesmaNotificacaoDePixViraUmaReceitaSo() {
+        Receita pix = receita("PIX");
+        pix.setNotificacao("PIX recebido em 10/06/2025 as 12:00 no valor de R$ 100,00. " + UUID.randomUUID());
+        Receita reenvio = receita("PIX");
+        reenvio.setNotificacao(pix.getNotificacao());
+
+        ResultadoLote resultado = loteService.salvarReceitas(List.of(pix, reenvio));
+        try {
+            assertThat(resultado.itens()).extracting(ResultadoItem::status).containsExactly(
+                    ResultadoItem.Status.CRIADO, ResultadoItem.Status.DUPLICADO);
+            assertThat(resultado.itens().get(1).id()).isEqualTo(resultado.itens().get(0).id());
+
+            Receita outroEnvio = receita("PIX");
+            outroEnvio.setNotificacao(pix.getNotificacao());
+            ResultadoItem item = loteService.salvarReceitas(List.of(outroEnvio)).itens().get(0);
+            assertThat(item.status()).isEqualTo(ResultadoItem.Status.DUPLICADO);
+            assertThat(item.id()).isEqualTo(resultado.itens().get(0).id());
+        } finally {
+            receitaRepository.deleteAllById(ids(resultado));
+        }
+    }
+
+    @Test
+    void smsDeGastoApagadoEmOutraInstanciaEntraDeNovo() {
+        Gasto gasto = gasto("TESTE LOTE SMS");
+        gasto.setSmsOriginal("Compra aprovada R$ 9,90 TESTE LOTE SMS " + UUID.randomUUID());
+        Long id = loteService.salvarGastos(List.of(gasto)).itens().get(0).id();
+        Long reinserido = null;
+        try {
+            // Apagado sem passar por esta instância: o verificador de versões avisa com TabelaAlteradaEvent
+            jdbcTemplate.update("DELETE FROM gastos WHERE id = ?", id);
+            eventPublisher.publishEvent(new TabelaAlteradaEvent(VersaoTabelas.Tabela.GASTOS));
+
+            Gasto reenvio = gasto("TESTE LOTE SMS");
+            reenvio.setSmsOriginal(gasto.getSmsOriginal());
+            ResultadoItem item = loteService.salvarGastos(List.of(reenvio)).itens().get(0);
+            reinserido = item.id();
+            assertThat(item.status()).isEqualTo(ResultadoItem.Status.CRIADO);
+            assertThat(gastoRepository.findById(reinserido)).isPresent();
+        } finally {
+            gastoRepository.deleteAllById(Stream.of(id, reinserido).filter(Objects::nonNull).toList());
+        }
+    }
+
+    private static List<Long> ids(ResultadoLote resultado) {
+        return resultado.itens().stream().map(ResultadoItem::id).filter(Objects::nonNull).distinct().toList();
+    }
+
+    private static Gasto gasto(String estabelecimento) {
+        Gasto gasto = new Gasto();
+        gasto.setValor(new BigDecimal("9.90"));
+        gasto.setDataHora(DATA);
+        gasto.setEstabelecimento(estabelecimento);
+        gasto.setCategoria("Mercado");
+        return gasto;
+    }
+
+    private static Receita receita(String fonte) {
+        Receita receita = new Receita();
+        receita.setValor(new BigDecimal("100.00"));
+        receita.setDataRecebimento(DATA);
+        receita.setFonte(fonte);
+        receita.setCategoria("Salário");
+        return receita;
+    }
+}
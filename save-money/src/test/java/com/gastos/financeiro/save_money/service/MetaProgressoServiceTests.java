@@ -0,0 +1,125 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.model.Gasto;
+import com.gastos.financeiro.save_money.model.MetaFinanceira;
+import com.gastos.financeiro.save_money.model.TipoVinculoMeta;
+import com.gastos.financeiro.save_money.repository.GastoRepository;
+import com.gastos.financeiro.save_money.repository.MetaFinanceiraRepository;
+import com.gastos.financeiro.save_money.repository.RollupGastoMensalRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+
+// Mesmo contexto do GastoServiceTests (rollup simulado), sem @Transactional de teste
+@SpringBootTest
+class MetaProgressoServiceTests {
+
+    @Autowired
+    private MetaService metaService;
+
+    @Autowired
+    private GastoService gastoService;
+
+    @Autowired
+    private MetaFinanceiraRepository metaFinanceiraRepository;
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @MockitoBean
+    private RollupGastoMensalRepository rollupRepository;
+
+    @Test
+    void gastoDaCategoriaVinculadaSomaNaMeta() {
+        String categoria = categoriaUnica();
+        MetaFinanceira meta = metaService.criar(meta(categoria));
+        Gasto gasto = gastoService.criar(gasto(categoria, "25.50"));
+        try {
+            assertThat(metaFinanceiraRepository.findById(meta.getId())).get()
+                    .satisfies(salva -> assertThat(salva.getValorAtual()).isEqualByComparingTo("25.50"))
+                    .satisfies(salva -> assertThat(salva.getValorAportado()).isEqualByComparingTo("25.50"));
+        } finally {
+            gastoRepository.deleteById(gasto.getId());
+            metaFinanceiraRepository.deleteById(meta.getId());
+        }
+    }
+
+    @Test
+    void vinculoNovoValeNaEscritaSeguinte() {
+        String categoria = categoriaUnica();
+        MetaFinanceira meta = metaService.criar(meta(null));
+        try {
+            MetaFinanceira alteracao = new MetaFinanceira();
+            alteracao.setTipoVinculo(TipoVinculoMeta.CATEGORIA_GASTO);
+            alteracao.setVinculo(categoria);
+            metaService.alterar(meta.getId(), alteracao);
+
+            Gasto gasto = gastoService.criar(gasto(categoria, "7.00"));
+            gastoRepository.deleteById(gasto.getId());
+
+            assertThat(metaFinanceiraRepository.findById(meta.getId())).get()
+                    .satisfies(salva -> assertThat(salva.getValorAtual()).isEqualByComparingTo("7.00"));
+        } finally {
+            metaFinanceiraRepository.deleteById(meta.getId());
+        }
+    }
+
+    @Test
+    void falhaNaEscritaDesfazOAporte() {
+        String categoria = categoriaUnica();
+        MetaFinanceira meta = metaService.criar(meta(categoria));
+        try {
+            doThrow(new IllegalStateException("rollup indisponível"))
+                    .when(rollupRepository).acumular(anyInt(), anyInt(), anyString(), any(), anyLong());
+
+            assertThatThrownBy(() -> gastoService.criar(gasto(categoria, "40.00")))
+                    .isInstanceOf(IllegalStateException.class);
+
+            assertThat(metaFinanceiraRepository.findById(meta.getId())).get()
+                    .satisfies(salva -> assertThat(salva.getValorAtual()).isEqualByComparingTo("0"))
+                    .satisfies(salva -> assertThat(salva.getVersao()).isEqualTo(meta.getVersao()));
+        } finally {
+            metaFinanceiraRepository.deleteById(meta.getId());
+        }
+    }
+
+    private static String categoriaUnica() {
+        return "Teste meta " + UUID.randomUUID();
+    }
+
+    private static MetaFinanceira meta(String categoria) {
+        MetaFinanceira meta = new MetaFinanceira();
+        meta.setNome("Meta de teste");
+        meta.setValorAlvo(new BigDecimal("1000.00"));
+        meta.setValorAtual(BigDecimal.ZERO);
+        meta.setDataAlvo(LocalDate.now().plusYears(1));
+        if (categoria != null) {
+            meta.setTipoVinculo(TipoVinculoMeta.CATEGORIA_GASTO);
+            meta.setVinculo(categoria);
+        }
+        return meta;
+    }
+
+    private static Gasto gasto(String categoria, String valor) {
+        Gasto gasto = new Gasto();
+        gasto.setValor(new BigDecimal(valor));
+        gasto.setDataHora(LocalDateTime.now());
+        gasto.setEstabelecimento("TESTE META");
+        gasto.setCategoria(categoria);
+        return gasto;
+    }
+}
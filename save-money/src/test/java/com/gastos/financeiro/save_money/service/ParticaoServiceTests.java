@@ -0,0 +1,78 @@
+package com.gastos.financeiro.save_money.service;
+
+import com.gastos.financeiro.save_money.dto.ResultadoItem;
+import com.gastos.financeiro.save_money.model.Receita;
+import com.gastos.financeiro.save_money.repository.ReceitaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Um mês bem à frente, criado e desanexado só pelo teste
+@SpringBootTest
+class ParticaoServiceTests {
+
+    private static final YearMonth MES = YearMonth.of(2099, 1);
+
+    @Autowired
+    private ParticaoService particaoService;
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private PainelEventosService painelEventosService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM receitas WHERE fonte = 'TESTE PARTICAO'");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS receitas_2099_01");
+    }
+
+    @Test
+    void receitaDeMesDesanexadoPodeSerImportadaDeNovo() {
+        jdbcTemplate.queryForObject("SELECT criar_particoes_mensais('receitas', ?, ?)", Integer.class,
+                LocalDate.of(2099, 1, 1), LocalDate.of(2099, 1, 1));
+        String notificacao = "PIX recebido de TESTE PARTICAO " + UUID.randomUUID();
+        ResultadoItem gravada = loteService.salvarReceitas(List.of(receita(notificacao))).itens().get(0);
+        assertThat(gravada.status()).isEqualTo(ResultadoItem.Status.CRIADO);
+
+        long eventosAntes = (long) painelEventosService.estatisticas().get("ultimaSequencia");
+        assertThat(particaoService.desanexar("receitas", MES)).isTrue();
+        // Os painéis recebem um "recarregar" das receitas
+        assertThat((long) painelEventosService.estatisticas().get("ultimaSequencia")).isGreaterThan(eventosAntes);
+
+        Integer hashes = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM receita_hash WHERE receita_id = ?", Integer.class, gravada.id());
+        assertThat(hashes).isZero();
+        ResultadoItem reimportada = loteService.salvarReceitas(List.of(receita(notificacao))).itens().get(0);
+        assertThat(reimportada.status()).isEqualTo(ResultadoItem.Status.CRIADO);
+        assertThat(receitaRepository.findById(reimportada.id())).isPresent();
+    }
+
+    private static Receita receita(String notificacao) {
+        Receita receita = new Receita();
+        receita.setValor(new BigDecimal("50.00"));
+        receita.setDataRecebimento(LocalDateTime.of(2099, 1, 10, 9, 0));
+        receita.setFonte("TESTE PARTICAO");
+        receita.setCategoria("Outros");
+        receita.setNotificacao(notificacao);
+        return receita;
+    }
+}
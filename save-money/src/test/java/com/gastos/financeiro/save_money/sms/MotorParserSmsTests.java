@@ -0,0 +1,149 @@
+package com.gastos.financeiro.save_money.sms;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sem Spring: carrega o regras-sms.json de verdade e confere cada exemplo que está nos comentários dele
+class MotorParserSmsTests {
+
+    private static final LocalDateTime RECEBIDO_EM = LocalDateTime.of(2025, 1, 1, 8, 0);
+    private static final Pattern NOME = Pattern.compile("\"nome\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern EXEMPLO = Pattern.compile("//\\s*Ex\\.:\\s*(.+)");
+
+    private record Esperado(RegraSms.TipoLancamento tipo, String valor, LocalDateTime dataHora, String estabelecimento) {
+    }
+
+    // Um exemplo novo no JSON sem entrada aqui faz o teste falhar
+    private static final Map<String, Esperado> ESPERADOS = Map.of(
+            "bradesco-cartao", new Esperado(RegraSms.TipoLancamento.GASTO, "205.05",
+                    LocalDateTime.of(2025, 7, 14, 14, 19), "FLEXPAG*ENELSP"),
+            "santander-cartao", new Esperado(RegraSms.TipoLancamento.GASTO, "54.34",
+                    LocalDateTime.of(2025, 9, 21, 11, 36), "AUTO POSTO"),
+            "santander-cartao-antigo", new Esperado(RegraSms.TipoLancamento.GASTO, "75.90",
+                    LocalDateTime.of(2025, 7, 20, 15, 30), "MERCADO X"),
+            "pix-enviado", new Esperado(RegraSms.TipoLancamento.GASTO, "0.14",
+                    LocalDateTime.of(2025, 9, 19, 16, 9), "SANTANDER"),
+            "pix-recebido", new Esperado(RegraSms.TipoLancamento.RECEITA, "0.14",
+                    LocalDateTime.of(2025, 9, 19, 16, 9), "PIX"),
+            "pix-recebido-pagador", new Esperado(RegraSms.TipoLancamento.RECEITA, "50.00",
+                    LocalDateTime.of(2025, 7, 20, 11, 0), "FULANO DA SILVA"));
+
+    private static List<RegraSms> regras;
+    private static Map<String, String> exemplos;
+
+    @BeforeAll
+    static void carregar() throws IOException {
+        try (InputStream entrada = MotorParserSmsTests.class.getResourceAsStream("/regras-sms.json")) {
+            assertThat(entrada).as("regras-sms.json no classpath").isNotNull();
+            String json = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+            regras = new ObjectMapper().reader()
+                    .with(JsonParser.Feature.ALLOW_COMMENTS)
+                    .forType(new TypeReference<List<RegraSms>>() { })
+                    .readValue(json);
+            exemplos = exemplosPorRegra(json);
+        }
+    }
+
+    @Test
+    void cadaExemploDoArquivoEhReconhecidoPelaPropriaRegra() {
+        MotorParserSms motor = new MotorParserSms(regras);
+        assertThat(exemplos.keySet()).containsExactlyInAnyOrderElementsOf(ESPERADOS.keySet());
+
+        exemplos.forEach((regra, texto) -> {
+            Esperado esperado = ESPERADOS.get(regra);
+            assertThat(motor.interpretar(null, texto, RECEBIDO_EM)).as(texto).get()
+                    .satisfies(mensagem -> {
+                        assertThat(mensagem.regra()).isEqualTo(regra);
+                        assertThat(mensagem.tipo()).isEqualTo(esperado.tipo());
+                        assertThat(mensagem.valor()).isEqualByComparingTo(new BigDecimal(esperado.valor()));
+                        assertThat(mensagem.dataHora()).isEqualTo(esperado.dataHora());
+                        assertThat(mensagem.estabelecimento()).isEqualTo(esperado.estabelecimento());
+                    });
+        });
+        assertThat(motor.naoReconhecidas()).isZero();
+        assertThat(motor.estatisticas()).allSatisfy(estatistica -> assertThat(estatistica.falhas()).isZero());
+    }
+
+    @Test
+    void prefixoMaisLongoGanha() {
+        MotorParserSms motor = new MotorParserSms(List.of(
+                regra("pix-generico", List.of("PIX"), List.of(), "R\\$ (?<valor>[\\d.,]+)"),
+                regra("pix-enviado", List.of("PIX enviado"), List.of(), "R\\$ (?<valor>[\\d.,]+)")));
+
+        assertThat(motor.interpretar(null, "  pix ENVIADO no valor de R$ 3,00", RECEBIDO_EM)).get()
+                .satisfies(mensagem -> assertThat(mensagem.regra()).isEqualTo("pix-enviado"));
+        assertThat(motor.interpretar(null, "PIX agendado no valor de R$ 3,00", RECEBIDO_EM)).get()
+                .satisfies(mensagem -> assertThat(mensagem.regra()).isEqualTo("pix-generico"));
+    }
+
+    @Test
+    void semPrefixoUsaORemetente() {
+        MotorParserSms motor = new MotorParserSms(regras);
+        String semPrefixo = "COMPRA APROVADA NO CARTAO FINAL 7904 EM 14/07/2025 14:19. VALOR DE R$ 12.00 PADARIA SP.";
+
+        assertThat(motor.interpretar(" 27888 ", semPrefixo, RECEBIDO_EM)).get()
+                .satisfies(mensagem -> {
+                    assertThat(mensagem.regra()).isEqualTo("bradesco-cartao");
+                    assertThat(mensagem.estabelecimento()).isEqualTo("PADARIA");
+                });
+        assertThat(motor.interpretar("99999", semPrefixo, RECEBIDO_EM)).isEmpty();
+        assertThat(motor.naoReconhecidas()).isEqualTo(1);
+    }
+
+    @Test
+    void prefixoVemAntesDoRemetente() {
+        MotorParserSms motor = new MotorParserSms(regras);
+
+        assertThat(motor.interpretar("27888", "PIX enviado em 19/09/2025 as 16:09 no valor de R$ 0,14.", RECEBIDO_EM))
+                .get().satisfies(mensagem -> assertThat(mensagem.regra()).isEqualTo("pix-enviado"));
+    }
+
+    @Test
+    void semDataNoTextoUsaORecebimento() {
+        MotorParserSms motor = new MotorParserSms(List.of(
+                regra("pix-sem-data", List.of("PIX"), List.of(), "R\\$ (?<valor>[\\d.,]+)")));
+
+        assertThat(motor.interpretar(null, "PIX recebido no valor de R$ 3,00", RECEBIDO_EM)).get()
+                .satisfies(mensagem -> assertThat(mensagem.dataHora()).isEqualTo(RECEBIDO_EM));
+        // Sem recebidoEm não há horário que se repita num reenvio: o controller recusa
+        assertThat(motor.interpretar(null, "PIX recebido no valor de R$ 3,00", null)).get()
+                .satisfies(mensagem -> assertThat(mensagem.dataHora()).isNull());
+    }
+
+    // Cada "// Ex.:" pertence à regra do "nome" mais recente no arquivo
+    private static Map<String, String> exemplosPorRegra(String json) {
+        Map<String, String> encontrados = new LinkedHashMap<>();
+        String regraAtual = null;
+        for (String linha : json.lines().toList()) {
+            Matcher nome = NOME.matcher(linha);
+            if (nome.find()) {
+                regraAtual = nome.group(1);
+            }
+            Matcher exemplo = EXEMPLO.matcher(linha);
+            if (exemplo.find() && regraAtual != null) {
+                encontrados.put(regraAtual, exemplo.group(1).strip());
+            }
+        }
+        return encontrados;
+    }
+
+    private static RegraSms regra(String nome, List<String> prefixos, List<String> remetentes, String padrao) {
+        return new RegraSms(nome, RegraSms.TipoLancamento.GASTO, prefixos, remetentes, padrao, null, null, null, null);
+    }
+}